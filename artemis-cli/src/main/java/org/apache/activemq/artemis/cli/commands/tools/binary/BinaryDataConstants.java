@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.cli.commands.tools.binary;
+
+/**
+ * The constants shared by {@link BinaryDataExporter} and {@link BinaryDataImporter}.
+ * <p>
+ * An export starts with {@link #MAGIC}, {@link #VERSION} and a boolean telling whether the chunks are compressed. It is
+ * followed by chunks, each one made of its uncompressed size, its stored size and the stored bytes, and it ends with a
+ * chunk whose uncompressed size is {@code 0}. A chunk holds a sequence of records, each one starting with its type:
+ * <ul>
+ * <li>{@link #ADDRESS_RECORD}: name, comma separated routing types
+ * <li>{@link #QUEUE_RECORD}: name, address, nullable filter, routing type
+ * <li>{@link #MESSAGE_RECORD}: message ID, queue names, large flag and the persisted core message or, for large
+ * messages, the size of the encoded headers and properties, the headers and properties and the size of the body
+ * <li>{@link #LARGE_BODY_RECORD}: message ID and a piece of the body of a large message
+ * </ul>
+ * The bindings always come first. Every chunk of messages is written by a single reader, so the messages of an address
+ * keep their order while the chunks of different addresses may be interleaved.
+ */
+public final class BinaryDataConstants {
+
+   private BinaryDataConstants() {
+      // Utility
+   }
+
+   public static final int MAGIC = 0x414D5142; // AMQB
+
+   public static final int VERSION = 1;
+
+   public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+   static final byte ADDRESS_RECORD = 1;
+
+   static final byte QUEUE_RECORD = 2;
+
+   static final byte MESSAGE_RECORD = 3;
+
+   static final byte LARGE_BODY_RECORD = 4;
+}
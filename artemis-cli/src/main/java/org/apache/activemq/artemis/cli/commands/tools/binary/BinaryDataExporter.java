@@ -0,0 +1,644 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.cli.commands.tools.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.cli.commands.ActionContext;
+import org.apache.activemq.artemis.cli.commands.tools.DBOption;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.journal.Journal;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.message.LargeBodyReader;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
+import org.apache.activemq.artemis.core.paging.cursor.impl.PagePositionImpl;
+import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.paging.impl.PageTransactionInfoImpl;
+import org.apache.activemq.artemis.core.persistence.impl.journal.AckDescribe;
+import org.apache.activemq.artemis.core.persistence.impl.journal.DescribeJournal;
+import org.apache.activemq.artemis.core.persistence.impl.journal.DescribeJournal.MessageDescribe;
+import org.apache.activemq.artemis.core.persistence.impl.journal.DescribeJournal.ReferenceDescribe;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CursorAckRecordEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PageUpdateTXEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentAddressBindingEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentQueueBindingEncoding;
+import org.apache.activemq.artemis.core.server.LargeServerMessage;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Export all message-data using the chunked binary format described on {@link BinaryDataConstants}.
+ * <p>
+ * Once the journal is loaded the messages are split by address and every address is read, encoded and optionally
+ * compressed by its own task on a pool of {@code --threads} readers, the messages from the journal first and then the
+ * ones from the paging store of the address. A single writer copies the chunks to the output as they become available.
+ */
+@Command(name = "exp-binary", description = "Export all message-data using a chunked and optionally compressed binary format, reading the addresses in parallel.")
+public final class BinaryDataExporter extends DBOption {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final int LARGE_BODY_PIECE_SIZE = 100 * 1024;
+
+   // sent by every reader once it is done with its address
+   private static final Chunk END = new Chunk(new byte[0], 0, 0);
+
+   @Option(names = "--threads", description = "The number of threads reading and encoding the addresses in parallel. Default: the number of available processors.")
+   private int threads = Runtime.getRuntime().availableProcessors();
+
+   @Option(names = "--chunk-size", description = "The size in bytes of every chunk of the export. Default: 1048576.")
+   private int chunkSize = BinaryDataConstants.DEFAULT_CHUNK_SIZE;
+
+   @Option(names = "--compress", description = "Compress every chunk of the export. Default: false.")
+   private boolean compress;
+
+   @Option(names = "--log-interval", description = "How often to print progress and throughput in the console, in messages. Set to <= 0 to disable it. Default: 10000.")
+   private int logInterval = 10_000;
+
+   @Option(names = "--undefined-prefix", description = "In case a queue does not exist, this will define the prefix to be used on the message export. Default: 'UndefinedQueue_'")
+   private String undefinedPrefix = "UndefinedQueue_";
+
+   // an inner map of message refs hashed by the record ID of the message and then hashed by the queue ID
+   private final Map<Long, Map<Long, ReferenceDescribe>> messageRefs = new HashMap<>();
+
+   // map of all message records hashed by their record ID (which will match the record ID of the message refs)
+   private final Map<Long, Message> messages = new TreeMap<>();
+
+   private final Map<Long, Set<PagePosition>> cursorRecords = new HashMap<>();
+
+   private final Set<Long> pgTXs = new HashSet<>();
+
+   private final Map<Long, PersistentQueueBindingEncoding> queueBindings = new HashMap<>();
+
+   private final Map<Long, PersistentAddressBindingEncoding> addressBindings = new HashMap<>();
+
+   private BinaryDataProgress progress;
+
+   public int getThreads() {
+      return threads;
+   }
+
+   public BinaryDataExporter setThreads(int threads) {
+      this.threads = threads;
+      return this;
+   }
+
+   public int getChunkSize() {
+      return chunkSize;
+   }
+
+   public BinaryDataExporter setChunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+   }
+
+   public boolean isCompress() {
+      return compress;
+   }
+
+   public BinaryDataExporter setCompress(boolean compress) {
+      this.compress = compress;
+      return this;
+   }
+
+   public int getLogInterval() {
+      return logInterval;
+   }
+
+   public BinaryDataExporter setLogInterval(int logInterval) {
+      this.logInterval = logInterval;
+      return this;
+   }
+
+   public String getUndefinedPrefix() {
+      return undefinedPrefix;
+   }
+
+   public BinaryDataExporter setUndefinedPrefix(String undefinedPrefix) {
+      this.undefinedPrefix = undefinedPrefix;
+      return this;
+   }
+
+   @Override
+   public Object execute(ActionContext context) throws Exception {
+      super.execute(context);
+
+      try {
+         process(context.out, getParameterConfiguration());
+         done();
+      } catch (Exception e) {
+         treatError(e, "data", "exp-binary");
+      }
+      return null;
+   }
+
+   public void process(OutputStream out, Configuration configuration) throws Exception {
+      initializeJournal(configuration);
+      try {
+         writeOutput(out);
+      } finally {
+         cleanup();
+      }
+   }
+
+   private void writeOutput(OutputStream out) throws Exception {
+      final long start = System.currentTimeMillis();
+      progress = new BinaryDataProgress(getActionContext().err, "Exported", logInterval);
+
+      getBindings();
+      processMessageJournal();
+
+      final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+      output.writeInt(BinaryDataConstants.MAGIC);
+      output.writeInt(BinaryDataConstants.VERSION);
+      output.writeBoolean(compress);
+
+      final ChunkEncoder bindingsEncoder = new ChunkEncoder(chunk -> writeChunk(output, chunk));
+      try {
+         encodeBindings(bindingsEncoder);
+      } finally {
+         bindingsEncoder.close();
+      }
+
+      writeMessages(output);
+
+      output.writeInt(0);
+      output.flush();
+
+      progress.done();
+      logger.debug("Exporting {} messages took {}ms", progress.getMessages(), System.currentTimeMillis() - start);
+   }
+
+   private void writeMessages(DataOutputStream output) throws Exception {
+      final Map<SimpleString, List<JournalMessage>> journalMessages = groupJournalMessages();
+
+      pagingmanager.start();
+
+      final Map<SimpleString, PagingStore> pageStores = new LinkedHashMap<>();
+      for (SimpleString store : pagingmanager.getStoreNames()) {
+         final PagingStore pageStore = pagingmanager.getPageStore(store);
+         if (pageStore != null) {
+            pageStores.put(store, pageStore);
+         } else {
+            logger.debug("Page store {} was null", store);
+         }
+      }
+
+      final Set<SimpleString> addresses = new HashSet<>(journalMessages.keySet());
+      addresses.addAll(pageStores.keySet());
+
+      final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(Math.max(2, threads * 2));
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      final ExecutorService readers = Executors.newFixedThreadPool(Math.max(1, threads), ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try {
+         for (SimpleString address : addresses) {
+            readers.execute(() -> {
+               try {
+                  exportAddress(address, journalMessages.get(address), pageStores.get(address), chunks);
+               } catch (Throwable e) {
+                  logger.warn("Failed to export address {}", address, e);
+                  error.compareAndSet(null, e);
+               } finally {
+                  try {
+                     chunks.put(END);
+                  } catch (InterruptedException e) {
+                     Thread.currentThread().interrupt();
+                  }
+               }
+            });
+         }
+
+         int pendingReaders = addresses.size();
+         while (pendingReaders > 0) {
+            final Chunk chunk = chunks.take();
+            if (chunk == END) {
+               pendingReaders--;
+            } else {
+               writeChunk(output, chunk);
+            }
+         }
+      } finally {
+         readers.shutdownNow();
+      }
+
+      if (error.get() != null) {
+         throw new IOException("Failed to export the message data", error.get());
+      }
+   }
+
+   private void writeChunk(DataOutputStream output, Chunk chunk) throws IOException {
+      output.writeInt(chunk.size);
+      output.writeInt(chunk.data.length);
+      output.write(chunk.data);
+      progress.addBytes(chunk.data.length);
+      progress.addMessages(chunk.messages);
+   }
+
+   private void encodeBindings(ChunkEncoder encoder) throws Exception {
+      final ActiveMQBuffer buffer = encoder.buffer;
+      for (PersistentAddressBindingEncoding bindingEncoding : addressBindings.values()) {
+         final String routingTypes = bindingEncoding.getRoutingTypes().stream().map(Enum::toString).collect(Collectors.joining(","));
+         buffer.writeByte(BinaryDataConstants.ADDRESS_RECORD);
+         buffer.writeSimpleString(bindingEncoding.getName());
+         buffer.writeSimpleString(SimpleString.of(routingTypes));
+         encoder.flushIfFull();
+      }
+      for (PersistentQueueBindingEncoding bindingEncoding : queueBindings.values()) {
+         final QueueConfiguration queueConfig = bindingEncoding.getQueueConfiguration();
+         buffer.writeByte(BinaryDataConstants.QUEUE_RECORD);
+         buffer.writeSimpleString(queueConfig.getName());
+         buffer.writeSimpleString(queueConfig.getAddress());
+         buffer.writeNullableSimpleString(queueConfig.getFilterString());
+         buffer.writeSimpleString(SimpleString.of(queueConfig.getRoutingType().toString()));
+         encoder.flushIfFull();
+      }
+      encoder.flush();
+   }
+
+   /**
+    * Split the messages from the journal by the address of their first queue, keeping the order of their records.
+    */
+   private Map<SimpleString, List<JournalMessage>> groupJournalMessages() {
+      final Map<SimpleString, List<JournalMessage>> journalMessages = new HashMap<>();
+      for (Map.Entry<Long, Message> messageEntry : messages.entrySet()) {
+         final Map<Long, ReferenceDescribe> refs = messageRefs.get(messageEntry.getKey());
+         if (refs == null || refs.isEmpty()) {
+            continue;
+         }
+         final List<SimpleString> queues = new ArrayList<>(refs.size());
+         SimpleString address = null;
+         for (ReferenceDescribe ref : refs.values()) {
+            final QueueConfiguration queueConfig = getQueueConfiguration(ref.refEncoding.queueID);
+            if (address == null) {
+               address = queueConfig.getAddress();
+            }
+            queues.add(queueConfig.getName());
+         }
+         journalMessages.computeIfAbsent(address, a -> new ArrayList<>()).add(new JournalMessage(messageEntry.getValue(), queues));
+      }
+      return journalMessages;
+   }
+
+   private QueueConfiguration getQueueConfiguration(long queueID) {
+      PersistentQueueBindingEncoding bindingEncoding = queueBindings.get(queueID);
+      if (bindingEncoding == null) {
+         final String name = undefinedPrefix + queueID;
+         bindingEncoding = new PersistentQueueBindingEncoding(QueueConfiguration.of(name).setAddress(name));
+         queueBindings.put(queueID, bindingEncoding);
+         getActionContext().err.println("Queue ID " + queueID + " not defined. Exporting it as " + name);
+      }
+      return bindingEncoding.getQueueConfiguration();
+   }
+
+   private void exportAddress(SimpleString address,
+                              List<JournalMessage> journalMessages,
+                              PagingStore pageStore,
+                              BlockingQueue<Chunk> chunks) throws Exception {
+      logger.debug("Exporting address {}", address);
+      final ChunkEncoder encoder = new ChunkEncoder(chunks::put);
+      try {
+         // the messages from the journal are always older than the ones on the paging store of the same address
+         if (journalMessages != null) {
+            for (JournalMessage journalMessage : journalMessages) {
+               encodeMessage(encoder, journalMessage.message, journalMessage.queues);
+            }
+         }
+         if (pageStore != null) {
+            exportPages(encoder, pageStore);
+         }
+         encoder.flush();
+      } finally {
+         encoder.close();
+      }
+   }
+
+   /**
+    * Reads the page files of a store, making sure to skip the messages acknowledged or belonging to transactions that
+    * were never committed.
+    */
+   private void exportPages(ChunkEncoder encoder, PagingStore pageStore) throws Exception {
+      logger.debug("Reading page store {} folder = {}", pageStore.getAddress(), pageStore.getFolder());
+
+      long pageId = pageStore.getFirstPage();
+      final long numberOfPages = pageStore.getNumberOfPages();
+      for (long i = 0; i < numberOfPages; i++, pageId++) {
+         logger.debug("Reading page {}", pageId);
+         final Page page = pageStore.newPageObject(pageId);
+         page.open(false);
+         final org.apache.activemq.artemis.utils.collections.LinkedList<PagedMessage> pagedMessages = page.read(storageManager);
+         page.close(false, false);
+
+         int messageNumber = 0;
+         try (LinkedListIterator<PagedMessage> iterator = pagedMessages.iterator()) {
+            while (iterator.hasNext()) {
+               final PagedMessage pagedMessage = iterator.next();
+               pagedMessage.initMessage(storageManager);
+               final PagePosition position = new PagePositionImpl(pageId, messageNumber);
+               final List<SimpleString> queues = new ArrayList<>();
+               for (long queueID : pagedMessage.getQueueIDs()) {
+                  final Set<PagePosition> positions = cursorRecords.get(queueID);
+                  if (positions != null && positions.contains(position)) {
+                     continue;
+                  }
+                  final PersistentQueueBindingEncoding queueBinding = queueBindings.get(queueID);
+                  if (queueBinding != null) {
+                     queues.add(queueBinding.getQueueConfiguration().getName());
+                  }
+               }
+
+               if (!queues.isEmpty() && (pagedMessage.getTransactionID() == -1 || pgTXs.contains(pagedMessage.getTransactionID()))) {
+                  encodeMessage(encoder, pagedMessage.getMessage(), queues);
+               }
+               messageNumber++;
+            }
+         }
+      }
+   }
+
+   private void encodeMessage(ChunkEncoder encoder, Message message, List<SimpleString> queues) throws Exception {
+      final boolean large = message.isLargeMessage() && message instanceof LargeServerMessage;
+      final ICoreMessage coreMessage = large ? ((LargeServerMessage) message).toMessage().toCore() : message.toCore();
+
+      final ActiveMQBuffer buffer = encoder.buffer;
+      buffer.writeByte(BinaryDataConstants.MESSAGE_RECORD);
+      buffer.writeLong(coreMessage.getMessageID());
+      buffer.writeInt(queues.size());
+      for (SimpleString queue : queues) {
+         buffer.writeSimpleString(queue);
+      }
+      buffer.writeBoolean(large);
+      if (large) {
+         // the body of a large message is not part of its buffer, so only the headers and properties are encoded
+         buffer.writeInt(coreMessage.getHeadersAndPropertiesEncodeSize());
+         ((CoreMessage) coreMessage).encodeHeadersAndProperties(buffer.byteBuf());
+         encodeLargeBody(encoder, coreMessage);
+      } else {
+         coreMessage.persist(buffer);
+      }
+      encoder.messageEncoded();
+   }
+
+   private void encodeLargeBody(ChunkEncoder encoder, ICoreMessage coreMessage) throws Exception {
+      final ActiveMQBuffer buffer = encoder.buffer;
+      final LargeBodyReader reader = coreMessage.getLargeBodyReader();
+      reader.open();
+      try {
+         final long bodySize = reader.getSize();
+         buffer.writeLong(bodySize);
+
+         final ByteBuffer piece = ByteBuffer.allocate((int) Math.min(LARGE_BODY_PIECE_SIZE, bodySize));
+         long remaining = bodySize;
+         while (remaining > 0) {
+            piece.clear().limit((int) Math.min(piece.capacity(), remaining));
+            final int read = reader.readInto(piece);
+            if (read <= 0) {
+               throw new IOException("Unexpected end of the body of large message " + coreMessage.getMessageID());
+            }
+            buffer.writeByte(BinaryDataConstants.LARGE_BODY_RECORD);
+            buffer.writeLong(coreMessage.getMessageID());
+            buffer.writeInt(read);
+            buffer.writeBytes(piece.array(), 0, read);
+            remaining -= read;
+            encoder.flushIfFull();
+         }
+      } finally {
+         reader.close();
+      }
+   }
+
+   /**
+    * Read through the message journal and stuff all the events/data we care about into local data structures.
+    *
+    * @throws Exception will be thrown if anything goes wrong reading the journal
+    */
+   private void processMessageJournal() throws Exception {
+      final List<RecordInfo> acks = new ArrayList<>();
+      final List<RecordInfo> records = new LinkedList<>();
+      final List<PreparedTransactionInfo> preparedTransactions = new LinkedList<>();
+
+      final Journal messageJournal = storageManager.getMessageJournal();
+
+      logger.debug("Reading journal from {}", config.getJournalDirectory());
+
+      messageJournal.start();
+
+      messageJournal.load(records, preparedTransactions, (transactionID, records1, recordsToDelete) -> logger.debug("Encountered failed journal transaction: {}", transactionID), false);
+
+      for (RecordInfo info : records) {
+         final ActiveMQBuffer buff = ActiveMQBuffers.wrappedBuffer(info.data);
+
+         final Object o = DescribeJournal.newObjectEncoding(info, storageManager);
+         if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE || info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_PROTOCOL) {
+            messages.put(info.id, ((MessageDescribe) o).getMsg().toCore());
+         } else if (info.getUserRecordType() == JournalRecordIds.ADD_LARGE_MESSAGE) {
+            messages.put(info.id, ((MessageDescribe) o).getMsg());
+         } else if (info.getUserRecordType() == JournalRecordIds.ADD_REF) {
+            final ReferenceDescribe ref = (ReferenceDescribe) o;
+            messageRefs.computeIfAbsent(info.id, id -> new HashMap<>()).put(ref.refEncoding.queueID, ref);
+         } else if (info.getUserRecordType() == JournalRecordIds.ACKNOWLEDGE_REF) {
+            acks.add(info);
+         } else if (info.userRecordType == JournalRecordIds.ACKNOWLEDGE_CURSOR) {
+            final CursorAckRecordEncoding encoding = new CursorAckRecordEncoding();
+            encoding.decode(buff);
+            cursorRecords.computeIfAbsent(encoding.queueID, id -> new HashSet<>()).add(encoding.position);
+         } else if (info.userRecordType == JournalRecordIds.PAGE_TRANSACTION) {
+            if (info.isUpdate) {
+               final PageUpdateTXEncoding pageUpdate = new PageUpdateTXEncoding();
+               pageUpdate.decode(buff);
+               pgTXs.add(pageUpdate.pageTX);
+            } else {
+               final PageTransactionInfoImpl pageTransactionInfo = new PageTransactionInfoImpl();
+               pageTransactionInfo.decode(buff);
+               pageTransactionInfo.setRecordID(info.id);
+               pgTXs.add(pageTransactionInfo.getTransactionID());
+            }
+         }
+      }
+
+      messageJournal.stop();
+
+      for (RecordInfo info : acks) {
+         final AckDescribe ack = (AckDescribe) DescribeJournal.newObjectEncoding(info, null);
+         final Map<Long, ReferenceDescribe> refs = messageRefs.get(info.id);
+         if (refs != null) {
+            refs.remove(ack.refEncoding.queueID);
+            if (refs.isEmpty()) {
+               messages.remove(info.id);
+               messageRefs.remove(info.id);
+            }
+         }
+      }
+   }
+
+   /**
+    * Open the bindings journal and extract all bindings data.
+    *
+    * @throws Exception will be thrown if anything goes wrong reading the bindings journal
+    */
+   private void getBindings() throws Exception {
+      final List<RecordInfo> records = new LinkedList<>();
+
+      final Journal bindingsJournal = storageManager.getBindingsJournal();
+
+      bindingsJournal.start();
+
+      logger.debug("Reading bindings journal from {}", config.getBindingsDirectory());
+
+      bindingsJournal.load(records, null, null);
+
+      for (RecordInfo info : records) {
+         if (info.getUserRecordType() == JournalRecordIds.QUEUE_BINDING_RECORD) {
+            final PersistentQueueBindingEncoding bindingEncoding = (PersistentQueueBindingEncoding) DescribeJournal.newObjectEncoding(info, null);
+            queueBindings.put(bindingEncoding.getQueueConfiguration().getId(), bindingEncoding);
+         } else if (info.getUserRecordType() == JournalRecordIds.ADDRESS_BINDING_RECORD) {
+            final PersistentAddressBindingEncoding bindingEncoding = (PersistentAddressBindingEncoding) DescribeJournal.newObjectEncoding(info, null);
+            addressBindings.put(bindingEncoding.getId(), bindingEncoding);
+         }
+      }
+
+      bindingsJournal.stop();
+   }
+
+   private static final class JournalMessage {
+
+      private final Message message;
+
+      private final List<SimpleString> queues;
+
+      private JournalMessage(Message message, List<SimpleString> queues) {
+         this.message = message;
+         this.queues = queues;
+      }
+   }
+
+   private static final class Chunk {
+
+      private final byte[] data;
+
+      // the uncompressed size of the chunk
+      private final int size;
+
+      private final int messages;
+
+      private Chunk(byte[] data, int size, int messages) {
+         this.data = data;
+         this.size = size;
+         this.messages = messages;
+      }
+   }
+
+   private interface ChunkSink {
+
+      void accept(Chunk chunk) throws Exception;
+   }
+
+   /**
+    * Encodes the records of a single reader, handing them over to the writer every {@code chunkSize} bytes.
+    */
+   private final class ChunkEncoder {
+
+      private final ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(chunkSize);
+
+      private final Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+
+      private final ChunkSink sink;
+
+      private int messageCount;
+
+      private ChunkEncoder(ChunkSink sink) {
+         this.sink = sink;
+      }
+
+      void messageEncoded() throws Exception {
+         messageCount++;
+         flushIfFull();
+      }
+
+      void flushIfFull() throws Exception {
+         if (buffer.writerIndex() >= chunkSize) {
+            flush();
+         }
+      }
+
+      void flush() throws Exception {
+         final int size = buffer.writerIndex();
+         if (size == 0) {
+            return;
+         }
+         final byte[] data = new byte[size];
+         buffer.readBytes(data);
+         buffer.clear();
+         sink.accept(new Chunk(deflater == null ? data : deflate(data), size, messageCount));
+         messageCount = 0;
+      }
+
+      private byte[] deflate(byte[] data) {
+         deflater.reset();
+         deflater.setInput(data);
+         deflater.finish();
+         final ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+         final byte[] piece = new byte[64 * 1024];
+         while (!deflater.finished()) {
+            compressed.write(piece, 0, deflater.deflate(piece));
+         }
+         return compressed.toByteArray();
+      }
+
+      void close() {
+         if (deflater != null) {
+            deflater.end();
+         }
+      }
+   }
+}
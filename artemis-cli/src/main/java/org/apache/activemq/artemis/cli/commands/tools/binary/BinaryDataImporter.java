@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.cli.commands.tools.binary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientRequestor;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.api.core.management.ManagementHelper;
+import org.apache.activemq.artemis.api.core.management.ResourceNames;
+import org.apache.activemq.artemis.cli.commands.ActionContext;
+import org.apache.activemq.artemis.cli.commands.messages.ConnectionConfigurationAbtract;
+import org.apache.activemq.artemis.core.client.impl.ClientMessageImpl;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.ListUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Read the output of {@link BinaryDataExporter} and send the messages to a running broker.
+ * <p>
+ * The bindings and the routing of every message are resolved by the thread reading the input, while the messages are
+ * sent by {@code --threads} sessions, each one committing every {@code --commit-interval} messages. The messages of an
+ * address are always sent by the same session so they keep the order they had on the exporting broker.
+ */
+@Command(name = "imp-binary", description = "Import all message-data exported by exp-binary, sending over several sessions in parallel.")
+public final class BinaryDataImporter extends ConnectionConfigurationAbtract {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   // sent to every session once the input is over
+   private static final PendingMessage END = new PendingMessage(null, null);
+
+   @Option(names = "--input", description = "The input file name. Default: exp.bin.", required = true)
+   public String input = "exp.bin";
+
+   @Option(names = "--threads", description = "The number of sessions sending messages in parallel. Default: 4.")
+   public int threads = 4;
+
+   @Option(names = "--commit-interval", description = "How many messages each session sends before committing. Default: 1000.")
+   public int commitInterval = 1000;
+
+   @Option(names = "--log-interval", description = "How often to print progress and throughput in the console, in messages. Set to <= 0 to disable it. Default: 10000.")
+   public int logInterval = 10_000;
+
+   // used for the bindings and the management queries, always auto-committing
+   private ClientSession managementSession;
+
+   private final Map<SimpleString, SimpleString> addressMap = new HashMap<>();
+
+   private final Map<SimpleString, Long> queueIDs = new HashMap<>();
+
+   // the large messages still waiting for the rest of their body, hashed by their exported message ID
+   private final Map<Long, PendingMessage> largeMessages = new HashMap<>();
+
+   private ImportSession[] sessions;
+
+   private BinaryDataProgress progress;
+
+   @Override
+   public Object execute(ActionContext context) throws Exception {
+      super.execute(context);
+
+      try (ServerLocator serverLocator = ActiveMQClient.createServerLocator(brokerURL);
+           ClientSessionFactory sessionFactory = serverLocator.createSessionFactory();
+           InputStream inputStream = new FileInputStream(input)) {
+         process(inputStream, sessionFactory);
+      }
+      return null;
+   }
+
+   /**
+    * Import the output of {@link BinaryDataExporter} using sessions created from the given factory.
+    *
+    * @param inputStream    the stream from which to read the export
+    * @param sessionFactory used to create a session for the management operations and one for every thread
+    */
+   public void process(InputStream inputStream, ClientSessionFactory sessionFactory) throws Exception {
+      Objects.requireNonNull(inputStream);
+      final DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, 64 * 1024));
+      if (in.readInt() != BinaryDataConstants.MAGIC) {
+         throw new IOException("The input is not a binary export");
+      }
+      final int version = in.readInt();
+      if (version != BinaryDataConstants.VERSION) {
+         throw new IOException("Unsupported binary export version " + version);
+      }
+      final boolean compressed = in.readBoolean();
+
+      progress = new BinaryDataProgress(getActionContext().err, "Imported", logInterval);
+      sessions = new ImportSession[Math.max(1, threads)];
+
+      final ExecutorService executor = Executors.newFixedThreadPool(sessions.length, ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try {
+         managementSession = createSession(sessionFactory, true);
+         managementSession.start();
+         for (int i = 0; i < sessions.length; i++) {
+            sessions[i] = new ImportSession(createSession(sessionFactory, false));
+            sessions[i].future = executor.submit(sessions[i]);
+         }
+
+         readChunks(in, compressed);
+
+         if (!largeMessages.isEmpty()) {
+            throw new IOException("The input ended before the body of " + largeMessages.size() + " large messages");
+         }
+         for (ImportSession session : sessions) {
+            enqueue(session, END);
+         }
+         for (ImportSession session : sessions) {
+            session.future.get();
+         }
+      } finally {
+         executor.shutdownNow();
+         for (ImportSession session : sessions) {
+            if (session != null) {
+               closeSession(session.session);
+               session.messages.forEach(PendingMessage::release);
+            }
+         }
+         closeSession(managementSession);
+         largeMessages.values().forEach(PendingMessage::release);
+         largeMessages.clear();
+      }
+
+      progress.done();
+   }
+
+   private ClientSession createSession(ClientSessionFactory sessionFactory, boolean autoCommitSends) throws Exception {
+      if (user != null || password != null) {
+         return sessionFactory.createSession(user, password, false, autoCommitSends, true, false, 0);
+      } else {
+         return sessionFactory.createSession(false, autoCommitSends, true);
+      }
+   }
+
+   private static void closeSession(ClientSession session) {
+      if (session != null) {
+         try {
+            session.close();
+         } catch (Throwable e) {
+            logger.debug(e.getMessage(), e);
+         }
+      }
+   }
+
+   private void readChunks(DataInputStream in, boolean compressed) throws Exception {
+      final Inflater inflater = compressed ? new Inflater() : null;
+      try {
+         int size;
+         while ((size = in.readInt()) != 0) {
+            final byte[] stored = new byte[in.readInt()];
+            in.readFully(stored);
+            progress.addBytes(stored.length);
+            processChunk(ActiveMQBuffers.wrappedBuffer(inflater == null ? stored : inflate(inflater, stored, size)));
+         }
+      } finally {
+         if (inflater != null) {
+            inflater.end();
+         }
+      }
+   }
+
+   private static byte[] inflate(Inflater inflater, byte[] stored, int size) throws DataFormatException, IOException {
+      inflater.reset();
+      inflater.setInput(stored);
+      final byte[] data = new byte[size];
+      int inflated = 0;
+      while (inflated < size && !inflater.finished()) {
+         final int read = inflater.inflate(data, inflated, size - inflated);
+         if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            break;
+         }
+         inflated += read;
+      }
+      if (inflated != size) {
+         throw new IOException("Corrupted chunk, expected " + size + " bytes but inflated " + inflated);
+      }
+      return data;
+   }
+
+   private void processChunk(ActiveMQBuffer buffer) throws Exception {
+      while (buffer.readableBytes() > 0) {
+         final byte recordType = buffer.readByte();
+         switch (recordType) {
+            case BinaryDataConstants.ADDRESS_RECORD -> {
+               final SimpleString address = buffer.readSimpleString();
+               final String routingTypes = buffer.readSimpleString().toString();
+               bindAddress(address, routingTypes);
+            }
+            case BinaryDataConstants.QUEUE_RECORD -> {
+               final SimpleString queue = buffer.readSimpleString();
+               final SimpleString address = buffer.readSimpleString();
+               final SimpleString filter = buffer.readNullableSimpleString();
+               final RoutingType routingType = RoutingType.valueOf(buffer.readSimpleString().toString());
+               bindQueue(queue, address, filter, routingType);
+            }
+            case BinaryDataConstants.MESSAGE_RECORD -> readMessage(buffer);
+            case BinaryDataConstants.LARGE_BODY_RECORD -> readLargeBody(buffer);
+            default -> throw new IOException("Invalid record type " + recordType);
+         }
+      }
+   }
+
+   private void readMessage(ActiveMQBuffer buffer) throws Exception {
+      final long messageID = buffer.readLong();
+      final int queueCount = buffer.readInt();
+      final List<SimpleString> queues = new ArrayList<>(queueCount);
+      for (int i = 0; i < queueCount; i++) {
+         queues.add(buffer.readSimpleString());
+      }
+      final boolean large = buffer.readBoolean();
+
+      final ClientMessageImpl message;
+      if (large) {
+         message = new ClientMessageImpl(Message.DEFAULT_TYPE, true, 0, 0, (byte) 4, ActiveMQClient.DEFAULT_INITIAL_MESSAGE_PACKET_SIZE);
+         buffer.readInt();
+         message.decodeHeadersAndProperties(buffer.byteBuf());
+      } else {
+         message = new ClientMessageImpl();
+         message.reloadPersistence(buffer, null);
+      }
+
+      final PendingMessage pending = new PendingMessage(message, route(queues, message));
+
+      if (large) {
+         final long bodySize = buffer.readLong();
+         pending.startBody(bodySize);
+         if (bodySize > 0) {
+            largeMessages.put(messageID, pending);
+            return;
+         }
+         pending.completeBody();
+      }
+      dispatch(pending);
+   }
+
+   private void readLargeBody(ActiveMQBuffer buffer) throws Exception {
+      final long messageID = buffer.readLong();
+      final int length = buffer.readInt();
+      final PendingMessage pending = largeMessages.get(messageID);
+      if (pending == null) {
+         throw new IOException("Unexpected body for large message " + messageID);
+      }
+      final byte[] piece = new byte[length];
+      buffer.readBytes(piece);
+      if (pending.writeBody(piece)) {
+         largeMessages.remove(messageID);
+         pending.completeBody();
+         dispatch(pending);
+      }
+   }
+
+   /**
+    * Resolve the address of the message and the IDs of the queues it has to be routed to, creating the queues that did
+    * not exist when the data was exported.
+    *
+    * @return the address the message has to be sent to
+    */
+   private SimpleString route(List<SimpleString> queues, ClientMessage message) throws Exception {
+      SimpleString destination = addressMap.get(queues.get(0));
+      if (destination == null) {
+         createUndefinedQueue(queues.get(0), message.getRoutingType());
+         destination = queues.get(0);
+         addressMap.put(destination, destination);
+      }
+
+      final ByteBuffer routeIDs = ByteBuffer.allocate(queues.size() * Long.BYTES);
+      for (SimpleString queue : queues) {
+         final long queueID = getQueueID(queue);
+         if (queueID != -1) {
+            routeIDs.putLong(queueID);
+         }
+      }
+      message.putBytesProperty(Message.HDR_ROUTE_TO_IDS, Arrays.copyOf(routeIDs.array(), routeIDs.position()));
+
+      logger.debug("Sending {} to address: {}; routed to queues: {}", message, destination, queues);
+
+      return destination;
+   }
+
+   private long getQueueID(SimpleString queue) throws Exception {
+      final Long cachedID = queueIDs.get(queue);
+      if (cachedID != null) {
+         return cachedID;
+      }
+
+      // we cannot send directly to a queue, so the message is sent to the address and routed to the IDs of its queues
+      long queueID = -1;
+      try (ClientRequestor requestor = new ClientRequestor(managementSession, "activemq.management")) {
+         final ClientMessage managementMessage = managementSession.createMessage(false);
+         ManagementHelper.putAttribute(managementMessage, ResourceNames.QUEUE + queue, "ID");
+         final ClientMessage reply = requestor.request(managementMessage);
+         if (ManagementHelper.hasOperationSucceeded(reply)) {
+            queueID = ((Number) ManagementHelper.getResult(reply)).longValue();
+         } else {
+            logger.debug("Failed to get ID for {}, reply: {}", queue, ManagementHelper.getResult(reply, String.class));
+         }
+      }
+
+      logger.debug("ID for {} is: {}", queue, queueID);
+      if (queueID != -1) {
+         queueIDs.put(queue, queueID);
+      }
+      return queueID;
+   }
+
+   private void createUndefinedQueue(SimpleString name, RoutingType routingType) throws Exception {
+      if (!managementSession.queueQuery(name).isExists()) {
+         managementSession.createQueue(QueueConfiguration.of(name).setRoutingType(routingType).setDurable(true).setAutoCreateAddress(true));
+      }
+   }
+
+   private void bindQueue(SimpleString queue, SimpleString address, SimpleString filter, RoutingType routingType) throws Exception {
+      if (!managementSession.queueQuery(queue).isExists()) {
+         managementSession.createQueue(QueueConfiguration.of(queue).setAddress(address).setRoutingType(routingType).setFilterString(filter));
+         logger.debug("Binding queue(name={}, address={}, filter={})", queue, address, filter);
+      } else {
+         logger.debug("Binding {} already exists so won't re-bind.", queue);
+      }
+
+      addressMap.put(queue, address);
+   }
+
+   private void bindAddress(SimpleString address, String routingTypes) throws Exception {
+      if (!managementSession.addressQuery(address).isExists()) {
+         final EnumSet<RoutingType> set = EnumSet.noneOf(RoutingType.class);
+         for (String routingType : ListUtil.toList(routingTypes)) {
+            set.add(RoutingType.valueOf(routingType));
+         }
+         managementSession.createAddress(address, set, false);
+         logger.debug("Binding address(name={}, routingTypes={})", address, routingTypes);
+      } else {
+         logger.debug("Binding {} already exists so won't re-bind.", address);
+      }
+   }
+
+   private void dispatch(PendingMessage pending) throws Exception {
+      enqueue(sessions[Math.floorMod(pending.address.hashCode(), sessions.length)], pending);
+   }
+
+   private static void enqueue(ImportSession session, PendingMessage pending) throws Exception {
+      while (!session.messages.offer(pending, 1, TimeUnit.SECONDS)) {
+         if (session.future.isDone()) {
+            // rethrows the failure of the session
+            session.future.get();
+            throw new IllegalStateException("Import session stopped before the end of the input");
+         }
+      }
+   }
+
+   /**
+    * Sends the messages handed over by the thread reading the input, committing every {@code commitInterval}.
+    */
+   private final class ImportSession implements Callable<Void> {
+
+      private final BlockingQueue<PendingMessage> messages = new ArrayBlockingQueue<>(Math.max(1, commitInterval));
+
+      private final ClientSession session;
+
+      private final ClientProducer producer;
+
+      private Future<Void> future;
+
+      private ImportSession(ClientSession session) throws Exception {
+         this.session = session;
+         this.producer = session.createProducer();
+      }
+
+      @Override
+      public Void call() throws Exception {
+         long sent = 0;
+         PendingMessage pending;
+         while ((pending = messages.take()) != END) {
+            try {
+               producer.send(pending.address, pending.message);
+            } finally {
+               pending.release();
+            }
+            progress.addMessages(1);
+            if (commitInterval > 0 && ++sent % commitInterval == 0) {
+               session.commit();
+            }
+         }
+         session.commit();
+         return null;
+      }
+   }
+
+   /**
+    * A message ready to be sent or, for a large message, still waiting for the rest of its body in a temporary file.
+    */
+   private static final class PendingMessage {
+
+      private final ClientMessage message;
+
+      private final SimpleString address;
+
+      private File bodyFile;
+
+      private OutputStream bodyOutput;
+
+      private InputStream bodyInput;
+
+      private long bodyRemaining;
+
+      private PendingMessage(ClientMessage message, SimpleString address) {
+         this.message = message;
+         this.address = address;
+      }
+
+      void startBody(long bodySize) throws IOException {
+         bodyFile = File.createTempFile("artemis-import", ".body");
+         bodyOutput = new BufferedOutputStream(new FileOutputStream(bodyFile), 64 * 1024);
+         bodyRemaining = bodySize;
+      }
+
+      /**
+       * {@return whether the whole body has been written}
+       */
+      boolean writeBody(byte[] piece) throws IOException {
+         bodyOutput.write(piece);
+         bodyRemaining -= piece.length;
+         return bodyRemaining <= 0;
+      }
+
+      void completeBody() throws IOException {
+         bodyOutput.close();
+         bodyOutput = null;
+         bodyInput = new BufferedInputStream(new FileInputStream(bodyFile), 64 * 1024);
+         message.setBodyInputStream(bodyInput);
+      }
+
+      void release() {
+         try {
+            if (bodyOutput != null) {
+               bodyOutput.close();
+            }
+            if (bodyInput != null) {
+               bodyInput.close();
+            }
+         } catch (IOException e) {
+            logger.debug(e.getMessage(), e);
+         }
+         if (bodyFile != null && !bodyFile.delete()) {
+            logger.debug("Could not delete {}", bodyFile);
+         }
+      }
+   }
+}
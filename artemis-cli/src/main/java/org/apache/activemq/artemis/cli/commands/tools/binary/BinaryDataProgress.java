@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.cli.commands.tools.binary;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the messages and bytes processed by an export or an import, printing the throughput every
+ * {@code logInterval} messages. It can be updated concurrently.
+ */
+final class BinaryDataProgress {
+
+   private final PrintStream out;
+
+   private final String action;
+
+   private final long logInterval;
+
+   private final long start = System.nanoTime();
+
+   private final AtomicLong messages = new AtomicLong();
+
+   private final AtomicLong bytes = new AtomicLong();
+
+   BinaryDataProgress(PrintStream out, String action, long logInterval) {
+      this.out = out;
+      this.action = action;
+      this.logInterval = logInterval;
+   }
+
+   void addBytes(long byteCount) {
+      bytes.addAndGet(byteCount);
+   }
+
+   void addMessages(long messageCount) {
+      final long after = messages.addAndGet(messageCount);
+      final long before = after - messageCount;
+      if (logInterval > 0 && before / logInterval != after / logInterval) {
+         print(after);
+      }
+   }
+
+   long getMessages() {
+      return messages.get();
+   }
+
+   void done() {
+      if (logInterval > 0) {
+         print(messages.get());
+      }
+   }
+
+   private void print(long messageCount) {
+      final double seconds = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1) / 1000.0;
+      final double megabytes = bytes.get() / (1024.0 * 1024.0);
+      out.println(String.format("%s %d messages, %.1f MiB in %.1f seconds (%.0f messages/s, %.1f MiB/s)",
+                                action, messageCount, megabytes, seconds, messageCount / seconds, megabytes / seconds));
+   }
+}
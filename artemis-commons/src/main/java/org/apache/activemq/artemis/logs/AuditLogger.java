@@ -2880,4 +2880,60 @@ public interface AuditLogger {
 
    @LogMessage(id = 601800, value = "User {} is getting persisted pause property on target resource: {}", level = LogMessage.Level.INFO)
    void isPersistedPause(String user, Object source);
+
+   static void getJournalLiveRatio(Object source) {
+      BASE_LOGGER.getJournalLiveRatio(getCaller(), source);
+   }
+
+   @LogMessage(id = 601801, value = "User {} is getting journal live ratio on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalLiveRatio(String user, Object source);
+
+   static void getJournalReclaimableBytes(Object source) {
+      BASE_LOGGER.getJournalReclaimableBytes(getCaller(), source);
+   }
+
+   @LogMessage(id = 601802, value = "User {} is getting journal reclaimable bytes on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalReclaimableBytes(String user, Object source);
+
+   static void getJournalCompactCount(Object source) {
+      BASE_LOGGER.getJournalCompactCount(getCaller(), source);
+   }
+
+   @LogMessage(id = 601803, value = "User {} is getting journal compact count on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalCompactCount(String user, Object source);
+
+   static void getJournalCompactTime(Object source) {
+      BASE_LOGGER.getJournalCompactTime(getCaller(), source);
+   }
+
+   @LogMessage(id = 601804, value = "User {} is getting journal compact time on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalCompactTime(String user, Object source);
+
+   static void getJournalCompactedBytes(Object source) {
+      BASE_LOGGER.getJournalCompactedBytes(getCaller(), source);
+   }
+
+   @LogMessage(id = 601805, value = "User {} is getting journal compacted bytes on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalCompactedBytes(String user, Object source);
+
+   static void getJournalCompactStallTime(Object source) {
+      BASE_LOGGER.getJournalCompactStallTime(getCaller(), source);
+   }
+
+   @LogMessage(id = 601806, value = "User {} is getting journal compact stall time on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalCompactStallTime(String user, Object source);
+
+   static void listJournalDataFilesAsJSON(Object source) {
+      BASE_LOGGER.listJournalDataFilesAsJSON(getCaller(), source);
+   }
+
+   @LogMessage(id = 601807, value = "User {} is listing journal data files on target resource: {}", level = LogMessage.Level.INFO)
+   void listJournalDataFilesAsJSON(String user, Object source);
+
+   static void getAcceptorTransportsAsJSON(Object source) {
+      BASE_LOGGER.getAcceptorTransportsAsJSON(getCaller(), source);
+   }
+
+   @LogMessage(id = 601808, value = "User {} is getting acceptor transports as json on target resource: {}", level = LogMessage.Level.INFO)
+   void getAcceptorTransportsAsJSON(String user, Object source);
 }
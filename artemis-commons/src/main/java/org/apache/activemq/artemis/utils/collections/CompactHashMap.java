@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A map for a few entries, as the properties of a message, using open addressing with linear probing on a single array
+ * holding each key next to its value. Deletions implement compaction, so no tombstones are left behind.
+ * <p>
+ * A map with up to 3 entries takes a single array of 8 references, while a {@link java.util.HashMap} takes its table and
+ * a node for each entry. It doesn't allow {@code null} keys or values and it isn't thread-safe.
+ */
+final class CompactHashMap<K, V> {
+
+   static final int MIN_CAPACITY = 4;
+
+   // the keys on the even indexes and their values on the following odd indexes
+   private Object[] table;
+
+   private int size;
+
+   CompactHashMap() {
+      this(0);
+   }
+
+   CompactHashMap(int expectedSize) {
+      table = new Object[2 * capacityFor(expectedSize)];
+   }
+
+   CompactHashMap(CompactHashMap<K, V> other) {
+      table = other.table.clone();
+      size = other.size;
+   }
+
+   /**
+    * Returns the capacity needed to hold {@code expectedSize} entries with a load factor of at most 0.75.
+    */
+   static int capacityFor(int expectedSize) {
+      int capacity = MIN_CAPACITY;
+      while (capacity - (capacity >> 2) < expectedSize) {
+         capacity <<= 1;
+      }
+      return capacity;
+   }
+
+   int capacity() {
+      return table.length >> 1;
+   }
+
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+
+   private static int hashIndex(Object key, int mask) {
+      final int hash = key.hashCode() * 0x9E3779B9;
+      return (hash ^ (hash >>> 16)) & mask;
+   }
+
+   // the slot of key or the empty slot where key would be
+   private static int findSlot(Object[] table, Object key) {
+      final int mask = (table.length >> 1) - 1;
+      int slot = hashIndex(key, mask);
+      while (true) {
+         final Object existing = table[slot << 1];
+         if (existing == null || existing == key || existing.equals(key)) {
+            return slot;
+         }
+         slot = (slot + 1) & mask;
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   V get(Object key) {
+      final Object[] table = this.table;
+      return (V) table[(findSlot(table, key) << 1) + 1];
+   }
+
+   boolean containsKey(Object key) {
+      final Object[] table = this.table;
+      return table[findSlot(table, key) << 1] != null;
+   }
+
+   /**
+    * @return the previous value of {@code key} or {@code null} if there was none
+    */
+   @SuppressWarnings("unchecked")
+   V put(K key, V value) {
+      Objects.requireNonNull(key);
+      Objects.requireNonNull(value);
+      int index = findSlot(table, key) << 1;
+      final Object oldValue = table[index + 1];
+      if (oldValue != null) {
+         table[index + 1] = value;
+         return (V) oldValue;
+      }
+      if (size + 1 > capacity() - (capacity() >> 2)) {
+         rehash(capacity() << 1);
+         index = findSlot(table, key) << 1;
+      }
+      table[index] = key;
+      table[index + 1] = value;
+      size++;
+      return null;
+   }
+
+   /**
+    * @return the removed value of {@code key} or {@code null} if there was none
+    */
+   @SuppressWarnings("unchecked")
+   V remove(Object key) {
+      final Object[] table = this.table;
+      final int slot = findSlot(table, key);
+      final Object oldValue = table[(slot << 1) + 1];
+      if (oldValue != null) {
+         compact(table, slot);
+         size--;
+      }
+      return (V) oldValue;
+   }
+
+   // moves back the entries following the removed one which would not be found anymore otherwise
+   private static void compact(Object[] table, int removedSlot) {
+      final int mask = (table.length >> 1) - 1;
+      int gap = removedSlot;
+      for (int slot = (gap + 1) & mask; ; slot = (slot + 1) & mask) {
+         final Object key = table[slot << 1];
+         if (key == null) {
+            break;
+         }
+         final int home = hashIndex(key, mask);
+         if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+            table[gap << 1] = key;
+            table[(gap << 1) + 1] = table[(slot << 1) + 1];
+            gap = slot;
+         }
+      }
+      table[gap << 1] = null;
+      table[(gap << 1) + 1] = null;
+   }
+
+   private void rehash(int newCapacity) {
+      final Object[] oldTable = table;
+      final Object[] newTable = new Object[newCapacity << 1];
+      for (int i = 0; i < oldTable.length; i += 2) {
+         final Object key = oldTable[i];
+         if (key != null) {
+            final int index = findSlot(newTable, key) << 1;
+            newTable[index] = key;
+            newTable[index + 1] = oldTable[i + 1];
+         }
+      }
+      table = newTable;
+   }
+
+   void clear() {
+      Arrays.fill(table, null);
+      size = 0;
+   }
+
+   @SuppressWarnings("unchecked")
+   void forEach(BiConsumer<? super K, ? super V> action) {
+      final Object[] table = this.table;
+      for (int i = 0; i < table.length; i += 2) {
+         final Object key = table[i];
+         if (key != null) {
+            action.accept((K) key, (V) table[i + 1]);
+         }
+      }
+   }
+}
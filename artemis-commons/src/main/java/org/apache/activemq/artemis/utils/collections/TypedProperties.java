@@ -17,12 +17,12 @@
 package org.apache.activemq.artemis.utils.collections;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -62,7 +62,7 @@ import static org.apache.activemq.artemis.utils.DataConstants.STRING;
  */
 public class TypedProperties {
 
-   private Map<SimpleString, PropertyValue> properties;
+   private CompactHashMap<SimpleString, PropertyValue> properties;
 
    private int size;
 
@@ -113,7 +113,7 @@ public class TypedProperties {
    public TypedProperties(final TypedProperties other) {
       other.lock.readLock().lock();
       try {
-         properties = other.properties == null ? null : new HashMap<>(other.properties);
+         properties = other.properties == null ? null : new CompactHashMap<>(other.properties);
          size = other.size;
          internalPropertyPredicate = other.internalPropertyPredicate;
          internalProperties = other.internalProperties;
@@ -341,6 +341,64 @@ public class TypedProperties {
       throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
    }
 
+   /**
+    * Like {@link #getBooleanProperty(SimpleString)} without boxing, returning {@code defaultValue} if there is no
+    * {@code key} property or it is {@code null}.
+    */
+   public boolean getBooleanProperty(final SimpleString key, final boolean defaultValue) throws ActiveMQPropertyConversionException {
+      final PropertyValue value = doGetPropertyValue(key);
+      if (value == null || value == NullValue.INSTANCE) {
+         return defaultValue;
+      } else if (value instanceof BooleanValue booleanValue) {
+         return booleanValue.val;
+      } else if (value instanceof StringValue stringValue) {
+         return Boolean.parseBoolean(stringValue.val.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   /**
+    * Like {@link #getIntProperty(SimpleString)} without boxing, returning {@code defaultValue} if there is no
+    * {@code key} property or it is {@code null}.
+    */
+   public int getIntProperty(final SimpleString key, final int defaultValue) throws ActiveMQPropertyConversionException {
+      final PropertyValue value = doGetPropertyValue(key);
+      if (value == null || value == NullValue.INSTANCE) {
+         return defaultValue;
+      } else if (value instanceof IntValue intValue) {
+         return intValue.val;
+      } else if (value instanceof ByteValue byteValue) {
+         return byteValue.val;
+      } else if (value instanceof ShortValue shortValue) {
+         return shortValue.val;
+      } else if (value instanceof StringValue stringValue) {
+         return Integer.parseInt(stringValue.val.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   /**
+    * Like {@link #getLongProperty(SimpleString)} without boxing, returning {@code defaultValue} if there is no
+    * {@code key} property or it is {@code null}.
+    */
+   public long getLongProperty(final SimpleString key, final long defaultValue) throws ActiveMQPropertyConversionException {
+      final PropertyValue value = doGetPropertyValue(key);
+      if (value == null || value == NullValue.INSTANCE) {
+         return defaultValue;
+      } else if (value instanceof LongValue longValue) {
+         return longValue.val;
+      } else if (value instanceof IntValue intValue) {
+         return intValue.val;
+      } else if (value instanceof ByteValue byteValue) {
+         return byteValue.val;
+      } else if (value instanceof ShortValue shortValue) {
+         return shortValue.val;
+      } else if (value instanceof StringValue stringValue) {
+         return Long.parseLong(stringValue.val.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
    public Object removeProperty(final SimpleString key) {
       return doRemoveProperty(key);
    }
@@ -365,7 +423,9 @@ public class TypedProperties {
          if (properties == null) {
             return Collections.emptySet();
          } else {
-            return new HashSet<>(properties.keySet());
+            Set<SimpleString> names = new HashSet<>(properties.size());
+            properties.forEach((name, value) -> names.add(name));
+            return names;
          }
       } finally {
          lock.readLock().unlock();
@@ -431,21 +491,17 @@ public class TypedProperties {
    }
 
    private boolean removePredicate(Predicate<SimpleString> predicate) {
-      int removedBytes = 0;
-      boolean removed = false;
-      final Iterator<Entry<SimpleString, PropertyValue>> keyNameIterator = properties.entrySet().iterator();
-      while (keyNameIterator.hasNext()) {
-         final Entry<SimpleString, PropertyValue> entry = keyNameIterator.next();
-         final SimpleString propertyName = entry.getKey();
+      final List<SimpleString> propertyNames = new ArrayList<>();
+      properties.forEach((propertyName, propertyValue) -> {
          if (predicate.test(propertyName)) {
-            final PropertyValue propertyValue = entry.getValue();
-            removedBytes += propertyName.sizeof() + propertyValue.encodeSize();
-            keyNameIterator.remove();
-            removed = true;
+            propertyNames.add(propertyName);
          }
+      });
+      for (SimpleString propertyName : propertyNames) {
+         final PropertyValue propertyValue = properties.remove(propertyName);
+         size -= propertyName.sizeof() + propertyValue.encodeSize();
       }
-      size -= removedBytes;
-      return removed;
+      return !propertyNames.isEmpty();
    }
 
    /**
@@ -457,7 +513,7 @@ public class TypedProperties {
       lock.readLock().lock();
       try {
          if (properties != null) {
-            properties.keySet().forEach(action::accept);
+            properties.forEach((key, value) -> action.accept(key));
          }
       } finally {
          lock.readLock().unlock();
@@ -523,52 +579,142 @@ public class TypedProperties {
          if (i == numHeaders - 1) {
             return false;
          }
-         index += keyLength;
-         byte type = buffer.getByte(index);
-         index++;
-         switch (type) {
-            case NULL: {
-               break;
-            }
-            case CHAR:
-            case SHORT: {
-               index += Short.BYTES;
-               break;
-            }
-            case BOOLEAN:
-            case BYTE: {
-               index += Byte.BYTES;
-               break;
-            }
-            case BYTES:
-            case STRING: {
-               index += (Integer.BYTES + buffer.getInt(index));
-               break;
-            }
-            case INT: {
-               index += Integer.BYTES;
-               break;
-            }
-            case LONG: {
-               index += Long.BYTES;
-               break;
-            }
-            case FLOAT: {
-               index += Float.BYTES;
-               break;
-            }
-            case DOUBLE: {
-               index += Double.BYTES;
-               break;
-            }
-            default: {
-               throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
-            }
-         }
+         index = skipPropertyValue(buffer, index + keyLength);
       }
       return false;
    }
 
+   /**
+    * Like {@link #searchProperty(SimpleString, ByteBuf, int)} but returning the index of the {@code key} property value
+    * in {@code buffer}, to be read with {@link #readPropertyValue(ByteBuf, int)} or compared with
+    * {@link #propertyValueEquals(ByteBuf, int, SimpleString)} without decoding the other properties.
+    *
+    * @return the index of the type of the {@code key} property value or {@code -1} if there is no {@code key} property
+    * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
+    */
+   public static int findProperty(SimpleString key, ByteBuf buffer, int startIndex) {
+      int index = startIndex;
+      if (buffer.getByte(index) == DataConstants.NULL) {
+         return -1;
+      }
+      index++;
+      final int numHeaders = buffer.getInt(index);
+      index += Integer.BYTES;
+      for (int i = 0; i < numHeaders; i++) {
+         final int keyLength = buffer.getInt(index);
+         index += Integer.BYTES;
+         if (key.equals(buffer, index, keyLength)) {
+            return index + keyLength;
+         }
+         if (i == numHeaders - 1) {
+            return -1;
+         }
+         index = skipPropertyValue(buffer, index + keyLength);
+      }
+      return -1;
+   }
+
+   /**
+    * Reads the property value at {@code index} of {@code buffer}, as returned by
+    * {@link #findProperty(SimpleString, ByteBuf, int)}, into the same type {@link #getProperty(SimpleString)} would
+    * return.
+    */
+   public static Object readPropertyValue(ByteBuf buffer, int index) {
+      final byte type = buffer.getByte(index);
+      index++;
+      switch (type) {
+         case NULL:
+            return null;
+         case CHAR:
+            return (char) buffer.getShort(index);
+         case BOOLEAN:
+            return buffer.getBoolean(index);
+         case BYTE:
+            return buffer.getByte(index);
+         case BYTES: {
+            final byte[] bytes = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, bytes);
+            return bytes;
+         }
+         case SHORT:
+            return buffer.getShort(index);
+         case INT:
+            return buffer.getInt(index);
+         case LONG:
+            return buffer.getLong(index);
+         case FLOAT:
+            return Float.intBitsToFloat(buffer.getInt(index));
+         case DOUBLE:
+            return Double.longBitsToDouble(buffer.getLong(index));
+         case STRING: {
+            final byte[] data = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, data);
+            return SimpleString.of(data);
+         }
+         default:
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+      }
+   }
+
+   /**
+    * Compares the property value at {@code index} of {@code buffer}, as returned by
+    * {@link #findProperty(SimpleString, ByteBuf, int)}, with {@code value} without reading it.
+    *
+    * @return {@code true} if the property value is a {@link SimpleString} equal to {@code value}
+    */
+   public static boolean propertyValueEquals(ByteBuf buffer, int index, SimpleString value) {
+      if (buffer.getByte(index) != STRING) {
+         return false;
+      }
+      index++;
+      return value.equals(buffer, index + Integer.BYTES, buffer.getInt(index));
+   }
+
+   private static int skipPropertyValue(ByteBuf buffer, int index) {
+      byte type = buffer.getByte(index);
+      index++;
+      switch (type) {
+         case NULL: {
+            break;
+         }
+         case CHAR:
+         case SHORT: {
+            index += Short.BYTES;
+            break;
+         }
+         case BOOLEAN:
+         case BYTE: {
+            index += Byte.BYTES;
+            break;
+         }
+         case BYTES:
+         case STRING: {
+            index += (Integer.BYTES + buffer.getInt(index));
+            break;
+         }
+         case INT: {
+            index += Integer.BYTES;
+            break;
+         }
+         case LONG: {
+            index += Long.BYTES;
+            break;
+         }
+         case FLOAT: {
+            index += Float.BYTES;
+            break;
+         }
+         case DOUBLE: {
+            index += Double.BYTES;
+            break;
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+      return index;
+   }
+
    public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
       lock.writeLock().lock();
       try {
@@ -579,8 +725,8 @@ public class TypedProperties {
          } else {
             int numHeaders = buffer.readInt();
 
-            //optimize the case of no collisions to avoid any resize (it doubles the map size!!!) when load factor is reached
-            properties = new HashMap<>(numHeaders, 1.0f);
+            // sized upfront to avoid any resize while decoding
+            properties = new CompactHashMap<>(numHeaders);
             size = 0;
 
             for (int i = 0; i < numHeaders; i++) {
@@ -726,23 +872,20 @@ public class TypedProperties {
          StringBuilder sb = new StringBuilder("TypedProperties[");
 
          if (properties != null) {
-            Iterator<Entry<SimpleString, PropertyValue>> iter = properties.entrySet().iterator();
-
-            while (iter.hasNext()) {
-               Entry<SimpleString, PropertyValue> iterItem = iter.next();
-               sb.append(iterItem.getKey() + "=");
+            properties.forEach((key, value) -> {
+               if (sb.length() > "TypedProperties[".length()) {
+                  sb.append(", ");
+               }
+               sb.append(key + "=");
 
-               // it seems weird but it's right!!
-               // The first getValue is from the EntrySet
-               // The second is to convert the PropertyValue into the actual value
-               Object theValue = iterItem.getValue().getValue();
+               Object theValue = value.getValue();
 
                if (theValue == null) {
                   sb.append("NULL-value");
                } else if (theValue instanceof byte[] bytes) {
                   sb.append("[" + ByteUtil.maxString(ByteUtil.bytesToHex(bytes, 2), 150) + "]");
 
-                  if (iterItem.getKey().toString().startsWith("_AMQ_ROUTE_TO")) {
+                  if (key.toString().startsWith("_AMQ_ROUTE_TO")) {
                      sb.append(", bytesAsLongs[");
                      try {
                         ByteBuffer buff = ByteBuffer.wrap(bytes);
@@ -761,11 +904,7 @@ public class TypedProperties {
                } else {
                   sb.append(theValue.toString());
                }
-
-               if (iter.hasNext()) {
-                  sb.append(", ");
-               }
-            }
+            });
          }
 
          return sb.append("]").toString();
@@ -786,7 +925,7 @@ public class TypedProperties {
          }
 
          if (properties == null) {
-            properties = new HashMap<>();
+            properties = new CompactHashMap<>();
          }
 
          PropertyValue oldValue = properties.put(key, value);
@@ -820,18 +959,22 @@ public class TypedProperties {
    }
 
    private Object doGetProperty(final SimpleString key) {
+      final PropertyValue val = doGetPropertyValue(key);
+      if (val == null) {
+         return null;
+      } else {
+         return val.getValue();
+      }
+   }
+
+   private PropertyValue doGetPropertyValue(final SimpleString key) {
       lock.readLock().lock();
       try {
          if (properties == null) {
             return null;
          }
 
-         PropertyValue val = properties.get(key);
-         if (val == null) {
-            return null;
-         } else {
-            return val.getValue();
-         }
+         return properties.get(key);
       } finally {
          lock.readLock().unlock();
       }
@@ -1308,9 +1451,7 @@ public class TypedProperties {
             return Collections.emptySet();
          } else {
             Set<String> names = new HashSet<>(properties.size());
-            for (SimpleString name : properties.keySet()) {
-               names.add(name.toString());
-            }
+            properties.forEach((name, value) -> names.add(name.toString()));
             return names;
          }
       } finally {
@@ -1325,14 +1466,14 @@ public class TypedProperties {
             return Collections.emptyMap();
          } else {
             Map<String, Object> m = new HashMap<>(properties.size());
-            for (Entry<SimpleString, PropertyValue> entry : properties.entrySet()) {
-               Object val = entry.getValue().getValue();
+            properties.forEach((key, value) -> {
+               Object val = value.getValue();
                if (val instanceof SimpleString simpleString) {
-                  m.put(entry.getKey().toString(), simpleString.toString());
+                  m.put(key.toString(), simpleString.toString());
                } else {
-                  m.put(entry.getKey().toString(), val);
+                  m.put(key.toString(), val);
                }
-            }
+            });
             return m;
          }
       } finally {
@@ -16,6 +16,9 @@
  */
 package org.apache.activemq.artemis.utils;
 
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.findProperty;
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.propertyValueEquals;
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.readPropertyValue;
 import static org.apache.activemq.artemis.utils.collections.TypedProperties.searchProperty;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -28,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -35,6 +39,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ActiveMQPropertyConversionException;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.junit.jupiter.api.BeforeEach;
@@ -312,6 +317,88 @@ public class TypedPropertiesTest {
       });
    }
 
+   @Test
+   public void testUnboxedProperties() throws Exception {
+      SimpleString missing = RandomUtil.randomUUIDSimpleString();
+      SimpleString intKey = RandomUtil.randomUUIDSimpleString();
+      SimpleString longKey = RandomUtil.randomUUIDSimpleString();
+      SimpleString shortKey = RandomUtil.randomUUIDSimpleString();
+      SimpleString booleanKey = RandomUtil.randomUUIDSimpleString();
+      SimpleString stringKey = RandomUtil.randomUUIDSimpleString();
+      SimpleString nullKey = RandomUtil.randomUUIDSimpleString();
+      props.putIntProperty(intKey, 10);
+      props.putLongProperty(longKey, Long.MAX_VALUE);
+      props.putShortProperty(shortKey, (short) 3);
+      props.putBooleanProperty(booleanKey, true);
+      props.putSimpleStringProperty(stringKey, SimpleString.of("12"));
+      props.putNullValue(nullKey);
+
+      assertEquals(-1, props.getIntProperty(missing, -1));
+      assertEquals(-1, props.getIntProperty(nullKey, -1));
+      assertEquals(10, props.getIntProperty(intKey, -1));
+      assertEquals(3, props.getIntProperty(shortKey, -1));
+      assertEquals(12, props.getIntProperty(stringKey, -1));
+      assertEquals(Long.MAX_VALUE, props.getLongProperty(longKey, -1));
+      assertEquals(10, props.getLongProperty(intKey, -1));
+      assertEquals(12, props.getLongProperty(stringKey, -1));
+      assertEquals(-1, props.getLongProperty(missing, -1));
+      assertTrue(props.getBooleanProperty(booleanKey, false));
+      assertFalse(props.getBooleanProperty(stringKey, true));
+      assertTrue(props.getBooleanProperty(missing, true));
+      assertThrows(ActiveMQPropertyConversionException.class, () -> props.getIntProperty(longKey, -1));
+      assertThrows(ActiveMQPropertyConversionException.class, () -> props.getBooleanProperty(intKey, false));
+   }
+
+   @Test
+   public void testManyProperties() throws Exception {
+      for (int i = 0; i < 100; i++) {
+         props.putIntProperty(SimpleString.of("key" + i), i);
+      }
+      for (int i = 0; i < 100; i += 2) {
+         assertEquals(i, props.removeProperty(SimpleString.of("key" + i)));
+      }
+      assertEquals(50, props.size());
+      for (int i = 0; i < 100; i++) {
+         assertEquals(i % 2 == 0 ? null : i, props.getProperty(SimpleString.of("key" + i)));
+      }
+
+      ByteBuf buf = Unpooled.buffer();
+      props.encode(buf);
+      assertEquals(props.getEncodeSize(), buf.readableBytes());
+      TypedProperties decoded = new TypedProperties();
+      decoded.decode(buf);
+      assertEquals(props.getMap(), decoded.getMap());
+   }
+
+   @Test
+   public void findAndReadProperties() {
+      TypedProperties props = new TypedProperties();
+      props.putNullValue(RandomUtil.randomUUIDSimpleString());
+      props.putBooleanProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBoolean());
+      props.putByteProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomByte());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBytes());
+      props.putShortProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomShort());
+      props.putIntProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomInt());
+      props.putLongProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomLong());
+      props.putFloatProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomFloat());
+      props.putDoubleProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomDouble());
+      props.putCharProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomChar());
+      final SimpleString stringKey = RandomUtil.randomUUIDSimpleString();
+      final SimpleString value = RandomUtil.randomUUIDSimpleString();
+      props.putSimpleStringProperty(stringKey, value);
+      ByteBuf buf = Unpooled.buffer();
+      props.encode(buf);
+      assertEquals(-1, findProperty(value, buf, 0));
+      props.forEachKey(key -> {
+         final int index = findProperty(key, buf, 0);
+         assertTrue(index > 0);
+         assertTrue(Objects.deepEquals(props.getProperty(key), readPropertyValue(buf, index)), "Wrong value of " + key);
+         assertEquals(key.equals(stringKey), propertyValueEquals(buf, index, value));
+      });
+      assertFalse(propertyValueEquals(buf, findProperty(stringKey, buf, 0), value.concat(" ")));
+      assertEquals(0, buf.readerIndex(), "The buffer is not read");
+   }
+
    @Test
    public void testSearchPartiallyEncodedBuffer() {
       assertThrows(IndexOutOfBoundsException.class, () -> {
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CompactHashMapTest {
+
+   @Test
+   public void capacityKeepsLoadFactor() {
+      assertEquals(CompactHashMap.MIN_CAPACITY, CompactHashMap.capacityFor(0));
+      assertEquals(4, CompactHashMap.capacityFor(3));
+      assertEquals(8, CompactHashMap.capacityFor(4));
+      assertEquals(8, CompactHashMap.capacityFor(6));
+      assertEquals(16, CompactHashMap.capacityFor(7));
+   }
+
+   @Test
+   public void putGetRemove() {
+      CompactHashMap<String, Integer> map = new CompactHashMap<>();
+      assertTrue(map.isEmpty());
+      assertNull(map.put("a", 1));
+      assertNull(map.put("b", 2));
+      assertEquals(1, map.put("a", 3));
+      assertEquals(2, map.size());
+      assertEquals(3, map.get("a"));
+      assertTrue(map.containsKey("b"));
+      assertFalse(map.containsKey("c"));
+      assertNull(map.get("c"));
+      assertEquals(2, map.remove("b"));
+      assertNull(map.remove("b"));
+      assertEquals(1, map.size());
+      map.clear();
+      assertTrue(map.isEmpty());
+      assertNull(map.get("a"));
+   }
+
+   @Test
+   public void copyIsIndependent() {
+      CompactHashMap<String, Integer> map = new CompactHashMap<>();
+      map.put("a", 1);
+      CompactHashMap<String, Integer> copy = new CompactHashMap<>(map);
+      copy.put("b", 2);
+      map.remove("a");
+      assertEquals(1, copy.get("a"));
+      assertEquals(2, copy.size());
+      assertEquals(0, map.size());
+   }
+
+   @Test
+   public void behavesLikeHashMap() {
+      final Random random = new Random(42);
+      final CompactHashMap<Integer, Integer> map = new CompactHashMap<>();
+      final Map<Integer, Integer> expected = new HashMap<>();
+      for (int i = 0; i < 100_000; i++) {
+         // few keys with the same low bits to exercise the collisions and the compaction on remove
+         final Integer key = random.nextInt(64) << 4;
+         switch (random.nextInt(3)) {
+            case 0:
+               assertEquals(expected.put(key, i), map.put(key, i));
+               break;
+            case 1:
+               assertEquals(expected.remove(key), map.remove(key));
+               break;
+            default:
+               assertEquals(expected.get(key), map.get(key));
+               assertEquals(expected.containsKey(key), map.containsKey(key));
+         }
+         assertEquals(expected.size(), map.size());
+      }
+      final Map<Integer, Integer> entries = new HashMap<>();
+      map.forEach(entries::put);
+      assertEquals(expected, entries);
+   }
+}
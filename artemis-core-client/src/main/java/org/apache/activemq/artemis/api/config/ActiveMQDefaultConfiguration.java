@@ -711,6 +711,8 @@ public final class ActiveMQDefaultConfiguration {
    private static final boolean DEFAULT_MIRROR_ACK_MANAGER_WARN_UNACKED = false;
    private static final boolean DEFAULT_MIRROR_PAGE_TRANSACTION = false;
 
+   private static final boolean DEFAULT_OFF_HEAP_MESSAGE_BODIES = false;
+
 
    private static final int DEFAULT_CLUSTER_TOPOLOGY_SCANNER_ATTEMPTS = 30;
 
@@ -1995,6 +1997,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_MIRROR_PAGE_TRANSACTION;
    }
 
+   /**
+    * whether the messages sent by core clients are held in direct memory
+    */
+   public static boolean getDefaultOffHeapMessageBodies() {
+      return DEFAULT_OFF_HEAP_MESSAGE_BODIES;
+   }
+
    /**
     * the initial size of the intermediate message buffer used for queues
     */
@@ -793,6 +793,18 @@ public interface Message {
     */
    int usageDown();
 
+   /**
+    * Same as {@link #usageUp()}, for a message read without holding a reference to it, e.g. by a browser, which may
+    * be released concurrently.
+    *
+    * @return {@code false} if the message was released already and must not be read. The usage has to be given back
+    * with {@link #usageDown()} either way.
+    */
+   default boolean usageUpIfNotReleased() {
+      usageUp();
+      return true;
+   }
+
    int refUp();
 
    int refDown();
@@ -39,6 +39,12 @@ public interface ActiveMQServerControl {
    String AUTHENTICATION_FAILURE_COUNT = "Number of failed authentication attempts";
    String AUTHORIZATION_SUCCESS_COUNT = "Number of successful authorization attempts";
    String AUTHORIZATION_FAILURE_COUNT = "Number of failed authorization attempts";
+   String JOURNAL_LIVE_RATIO_DESCRIPTION = "Fraction of the message journal data files taken by live records";
+   String JOURNAL_RECLAIMABLE_BYTES_DESCRIPTION = "Bytes of the message journal data files not taken by live records, i.e. what compacting could reclaim";
+   String JOURNAL_COMPACT_COUNT_DESCRIPTION = "Number of compactions of the message journal";
+   String JOURNAL_COMPACT_TIME_DESCRIPTION = "Total time spent compacting the message journal, in milliseconds";
+   String JOURNAL_COMPACTED_BYTES_DESCRIPTION = "Total bytes of the records rewritten compacting the message journal";
+   String JOURNAL_COMPACT_STALL_TIME_DESCRIPTION = "Total time the appends to the message journal were blocked by compacting, in milliseconds";
 
    /**
     * {@return this server's name.}
@@ -446,6 +452,13 @@ public interface ActiveMQServerControl {
    @Attribute(desc = "Acceptors configured for this server using JSON serialization")
    String getAcceptorsAsJSON() throws Exception;
 
+   /**
+    * {@return the transport (e.g. NIO, EPOLL, KQUEUE or IO_URING) used by each started Netty acceptor using JSON
+    * serialization.}
+    */
+   @Attribute(desc = "Transport used by each started Netty acceptor using JSON serialization")
+   String getAcceptorTransportsAsJSON() throws Exception;
+
    /**
     * {@return the number of addresses created on this server.}
     */
@@ -525,6 +538,48 @@ public interface ActiveMQServerControl {
    @Attribute(desc = ADDRESS_MEMORY_USAGE_PERCENTAGE_DESCRIPTION)
    int getAddressMemoryUsagePercentage();
 
+   /**
+    * {@return the fraction of the message journal data files taken by live records}
+    */
+   @Attribute(desc = JOURNAL_LIVE_RATIO_DESCRIPTION)
+   double getJournalLiveRatio();
+
+   /**
+    * {@return the bytes of the message journal data files which compacting could reclaim}
+    */
+   @Attribute(desc = JOURNAL_RECLAIMABLE_BYTES_DESCRIPTION)
+   long getJournalReclaimableBytes();
+
+   /**
+    * {@return the number of compactions of the message journal}
+    */
+   @Attribute(desc = JOURNAL_COMPACT_COUNT_DESCRIPTION)
+   long getJournalCompactCount();
+
+   /**
+    * {@return the total time spent compacting the message journal, in milliseconds}
+    */
+   @Attribute(desc = JOURNAL_COMPACT_TIME_DESCRIPTION)
+   long getJournalCompactTime();
+
+   /**
+    * {@return the total bytes of the records rewritten compacting the message journal}
+    */
+   @Attribute(desc = JOURNAL_COMPACTED_BYTES_DESCRIPTION)
+   long getJournalCompactedBytes();
+
+   /**
+    * {@return the total time the appends to the message journal were blocked by compacting, in milliseconds}
+    */
+   @Attribute(desc = JOURNAL_COMPACT_STALL_TIME_DESCRIPTION)
+   long getJournalCompactStallTime();
+
+   /**
+    * List the data files of the message journal, oldest first, with the size of their live records in JSON format.
+    */
+   @Operation(desc = "List the data files of the message journal, oldest first, with the size of their live records in JSON format", impact = MBeanOperationInfo.INFO)
+   String listJournalDataFilesAsJSON() throws Exception;
+
    @Attribute(desc = "Returns the HA Policy of this broker as a String")
    String getHAPolicy();
 
@@ -319,6 +319,11 @@ public final class AddressSettingsInfo {
    }
    private int initialQueueBufferSize;
 
+   static {
+      META_BEAN.add(Boolean.class, "concurrentDelivery", (o, p) -> o.concurrentDelivery = p, o -> o.concurrentDelivery);
+   }
+   private boolean concurrentDelivery;
+
 
    public static AddressSettingsInfo fromJSON(final String jsonString) {
       AddressSettingsInfo newInfo = new AddressSettingsInfo();
@@ -572,5 +577,9 @@ public final class AddressSettingsInfo {
    public int getInitialQueueBufferSize() {
       return initialQueueBufferSize;
    }
+
+   public boolean isConcurrentDelivery() {
+      return concurrentDelivery;
+   }
 }
 
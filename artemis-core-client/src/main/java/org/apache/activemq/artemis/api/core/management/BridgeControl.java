@@ -135,9 +135,10 @@ public interface BridgeControl extends ActiveMQComponentControl {
     * <p>
     * The messagesPendingAcknowledgement counter is incremented when the bridge is has forwarded a message but is
     * waiting acknowledgement from the other broker. The messagesAcknowledged counter is the number of messages actually
-    * received by the remote broker.
+    * received by the remote broker. The messagesInFlight gauge is the number of messages forwarded and not acknowledged
+    * yet, and messagesAcknowledgedRate the number of messages acknowledged per second.
     */
-   @Attribute(desc = "The metrics for this bridge. The messagesPendingAcknowledgement counter is incremented when the bridge is has forwarded a message but is waiting acknowledgement from the remote broker. The messagesAcknowledged counter is the number of messages actually received by the remote broker.")
+   @Attribute(desc = "The metrics for this bridge. The messagesPendingAcknowledgement counter is incremented when the bridge is has forwarded a message but is waiting acknowledgement from the remote broker. The messagesAcknowledged counter is the number of messages actually received by the remote broker. The messagesInFlight gauge is the number of messages forwarded and not acknowledged yet. The messagesAcknowledgedRate is the number of messages acknowledged per second.")
    Map<String, Object> getMetrics();
 
 
@@ -74,6 +74,13 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    // There's an integer with the number of bytes for the body
    public static final int BODY_OFFSET = DataConstants.SIZE_INT;
 
+   /**
+    * The allocator of the message buffers held off-heap. Its direct buffers are released as soon as the message isn't
+    * referenced anymore, see {@link #releaseComplete()}, and are otherwise reclaimed by the garbage collector as any
+    * {@link java.nio.ByteBuffer#allocateDirect(int) direct byte buffer}, e.g. for a message never routed to a queue.
+    */
+   public static final UnpooledByteBufAllocator OFF_HEAP_BODY_ALLOCATOR = new UnpooledByteBufAllocator(true, true, false);
+
    /**
     * That is the readInto for the whole message, including properties. It does not include the buffer for the Packet
     * send and receive header on core protocol
@@ -111,6 +118,18 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    private int propertiesLocation = -1;
 
+   // returned by peekProperty when the properties are already decoded or cannot be read from the buffer
+   private static final Object PROPERTIES_DECODED = new Object();
+
+   /**
+    * How many times the encoded properties are scanned for a single property before they are decoded, as reading
+    * many properties costs more scans than one decoding.
+    */
+   protected static final int MAX_PROPERTY_PEEKS = 4;
+
+   // the number of scans of the encoded properties since they were last decoded
+   private int propertyPeeks;
+
    protected volatile TypedProperties properties;
 
    private final CoreMessageObjectPools coreMessageObjectPools;
@@ -195,7 +214,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public RoutingType getRoutingType() {
-      final Byte maybeByte = getProperties().getByteProperty(Message.HDR_ROUTING_TYPE, () -> null);
+      final Object value = peekProperty(Message.HDR_ROUTING_TYPE);
+      final Byte maybeByte = value == null || value instanceof Byte ? (Byte) value : getProperties().getByteProperty(Message.HDR_ROUTING_TYPE, () -> null);
       if (maybeByte == null) {
          return null;
       }
@@ -223,6 +243,40 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return this;
    }
 
+   /**
+    * {@return whether the encoded message is held in a buffer of {@link #OFF_HEAP_BODY_ALLOCATOR}, which is freed once
+    * the message is released}
+    */
+   public boolean isBodyOffHeap() {
+      final ByteBuf buffer = this.buffer;
+      return buffer != null && buffer.alloc() == OFF_HEAP_BODY_ALLOCATOR;
+   }
+
+   /**
+    * Releases the buffer if held off-heap, as the message isn't referenced anymore.
+    * <p>
+    * The buffer is left to the garbage collector if the message is paged, as it is still read from the page being
+    * written, or if a reader took a usage while the message was being released.
+    */
+   @Override
+   protected synchronized void releaseComplete() {
+      final ByteBuf buffer = this.buffer;
+      if (buffer != null && buffer.alloc() == OFF_HEAP_BODY_ALLOCATOR && buffer.refCnt() > 0 && !paged && getUsage() <= 0) {
+         buffer.release();
+      }
+   }
+
+   /**
+    * Only an off-heap buffer is freed on release, and not the one of a paged message, so the message can't be read
+    * anymore only when such a buffer was released.
+    */
+   @Override
+   public boolean usageUpIfNotReleased() {
+      usageUp();
+      final ByteBuf buffer = this.buffer;
+      return paged || buffer == null || buffer.alloc() != OFF_HEAP_BODY_ALLOCATOR || !isReleased();
+   }
+
    @Override
    public void receiveBuffer(ByteBuf buffer) {
       this.buffer = buffer;
@@ -383,7 +437,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Long getScheduledDeliveryTime() {
-      Object property = getProperties().getProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
+      Object property = peekProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
+      if (property == PROPERTIES_DECODED) {
+         property = getProperties().getProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
+      }
 
       if (property != null && property instanceof Number number) {
          return number.longValue();
@@ -631,6 +688,58 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return properties;
    }
 
+   /**
+    * Reads the {@code key} property straight from the encoded properties while they aren't decoded yet, saving the
+    * decoding of all the other properties and the allocation of their keys and values.
+    *
+    * @return the property value or {@link #PROPERTIES_DECODED} if the properties have to be read from
+    * {@link #getProperties()}
+    */
+   private Object peekProperty(final SimpleString key) {
+      if (this.properties == null) {
+         synchronized (this) {
+            if (canPeekProperties() && ++propertyPeeks <= MAX_PROPERTY_PEEKS) {
+               try {
+                  final int index = TypedProperties.findProperty(key, buffer, propertiesLocation);
+                  return index < 0 ? null : TypedProperties.readPropertyValue(buffer, index);
+               } catch (Exception e) {
+                  // the full decoding reports the error
+                  logger.debug("Could not peek the property {} of CoreMessage[messageID={}]", key, messageID, e);
+               }
+            }
+         }
+      }
+      return PROPERTIES_DECODED;
+   }
+
+   private boolean canPeekProperties() {
+      return properties == null && buffer != null && propertiesLocation >= 0;
+   }
+
+   /**
+    * Compares the {@code key} property with {@code value}, without decoding the properties if they aren't decoded yet.
+    *
+    * @return {@code true} if the {@code key} property is a string equal to {@code value}
+    */
+   public boolean isPropertyEqual(final SimpleString key, final SimpleString value) {
+      Objects.requireNonNull(key, "key cannot be null");
+      Objects.requireNonNull(value, "value cannot be null");
+      if (this.properties == null) {
+         synchronized (this) {
+            if (canPeekProperties() && ++propertyPeeks <= MAX_PROPERTY_PEEKS) {
+               try {
+                  final int index = TypedProperties.findProperty(key, buffer, propertiesLocation);
+                  return index >= 0 && TypedProperties.propertyValueEquals(buffer, index, value);
+               } catch (Exception e) {
+                  // the full decoding reports the error
+                  logger.debug("Could not peek the property {} of CoreMessage[messageID={}]", key, messageID, e);
+               }
+            }
+         }
+      }
+      return value.equals(getProperties().getProperty(key));
+   }
+
    private synchronized TypedProperties getOrInitializeTypedProperties() {
       try {
          TypedProperties properties = this.properties;
@@ -750,6 +859,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       if (lazyProperties) {
          properties = null;
          propertiesLocation = buffer.readerIndex();
+         propertyPeeks = 0;
       } else {
          properties = new TypedProperties(INTERNAL_PROPERTY_NAMES_PREDICATE, AMQP_PROPERTY_PREDICATE);
          properties.decode(buffer, pools == null ? null : pools.getPropertiesDecoderPools());
@@ -919,6 +1029,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Boolean getBooleanProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Boolean peeked) {
+         return peeked;
+      }
       return getProperties().getBooleanProperty(key);
    }
 
@@ -941,6 +1055,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Byte getByteProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Byte peeked) {
+         return peeked;
+      }
       return getProperties().getByteProperty(key);
    }
 
@@ -963,6 +1081,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public byte[] getBytesProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value == null || value instanceof byte[]) {
+         return (byte[]) value;
+      }
       return getProperties().getBytesProperty(key);
    }
 
@@ -1009,6 +1131,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Integer getIntProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Integer peeked) {
+         return peeked;
+      }
       return getProperties().getIntProperty(key);
    }
 
@@ -1031,6 +1157,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Long getLongProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Long peeked) {
+         return peeked;
+      }
       return getProperties().getLongProperty(key);
    }
 
@@ -1065,6 +1195,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Double getDoubleProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Double peeked) {
+         return peeked;
+      }
       return getProperties().getDoubleProperty(key);
    }
 
@@ -1105,6 +1239,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Object getObjectProperty(final SimpleString key) {
+      final Object value = peekProperty(key);
+      if (value != PROPERTIES_DECODED) {
+         return value;
+      }
       return getProperties().getProperty(key);
    }
 
@@ -1115,6 +1253,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Short getShortProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Short peeked) {
+         return peeked;
+      }
       return getProperties().getShortProperty(key);
    }
 
@@ -1125,6 +1267,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Float getFloatProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value instanceof Float peeked) {
+         return peeked;
+      }
       return getProperties().getFloatProperty(key);
    }
 
@@ -1151,6 +1297,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public SimpleString getSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      final Object value = peekProperty(key);
+      if (value == null || value instanceof SimpleString) {
+         return (SimpleString) value;
+      }
       return getProperties().getSimpleStringProperty(key);
    }
 
@@ -1206,6 +1356,18 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public boolean containsProperty(final SimpleString key) {
+      if (this.properties == null) {
+         synchronized (this) {
+            if (canPeekProperties() && ++propertyPeeks <= MAX_PROPERTY_PEEKS) {
+               try {
+                  return TypedProperties.searchProperty(key, buffer, propertiesLocation);
+               } catch (Exception e) {
+                  // the full decoding reports the error
+                  logger.debug("Could not peek the property {} of CoreMessage[messageID={}]", key, messageID, e);
+               }
+            }
+         }
+      }
       return getProperties().containsProperty(key);
    }
 
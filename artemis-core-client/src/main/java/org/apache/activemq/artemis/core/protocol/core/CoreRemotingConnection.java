@@ -81,6 +81,11 @@ public interface CoreRemotingConnection extends RemotingConnection {
       return version < PacketImpl.ARTEMIS_2_28_0_VERSION;
    }
 
+   default boolean isVersionSupportReplicationBatch() {
+      int version = getChannelVersion();
+      return version >= PacketImpl.ARTEMIS_2_42_0_VERSION;
+   }
+
    /**
     * Sets the client protocol used on the communication. This will determine if the client has support for certain
     * packet types
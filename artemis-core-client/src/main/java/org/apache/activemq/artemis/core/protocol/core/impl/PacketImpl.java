@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -56,6 +57,9 @@ public class PacketImpl implements Packet {
    // 2.37.0
    public static final int ARTEMIS_2_37_0_VERSION = 136;
 
+   // 2.42.0
+   public static final int ARTEMIS_2_42_0_VERSION = 137;
+
    public static final SimpleString OLD_QUEUE_PREFIX = SimpleString.of("jms.queue.");
    public static final SimpleString OLD_TEMP_QUEUE_PREFIX = SimpleString.of("jms.tempqueue.");
    public static final SimpleString OLD_TOPIC_PREFIX = SimpleString.of("jms.topic.");
@@ -308,6 +312,10 @@ public class PacketImpl implements Packet {
 
    public static final byte SESS_BINDINGQUERY_RESP_V5 = -22;
 
+   public static final byte REPLICATION_BATCH = -23;
+
+   public static final byte REPLICATION_BATCH_RESPONSE = -24;
+
    public PacketImpl(final byte type) {
       this.type = type;
    }
@@ -391,8 +399,17 @@ public class PacketImpl implements Packet {
    }
 
    protected static ByteBuf copyMessageBuffer(ByteBuf buffer, int skipBytes) {
+      return copyMessageBuffer(buffer, skipBytes, null);
+   }
+
+   /**
+    * Copies the message out of the packet buffer into a heap buffer, or into a direct buffer of
+    * {@code directAllocator} if not {@code null}.
+    */
+   protected static ByteBuf copyMessageBuffer(ByteBuf buffer, int skipBytes, ByteBufAllocator directAllocator) {
 
-      ByteBuf newNettyBuffer = Unpooled.buffer(buffer.capacity() - PACKET_HEADERS_SIZE - skipBytes);
+      final int size = buffer.capacity() - PACKET_HEADERS_SIZE - skipBytes;
+      ByteBuf newNettyBuffer = directAllocator == null ? Unpooled.buffer(size) : directAllocator.directBuffer(size);
 
       int read = buffer.readerIndex();
       int writ = buffer.writerIndex();
@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionReceiveContinuationMessage extends SessionContinuationMessage {
@@ -64,6 +65,32 @@ public class SessionReceiveContinuationMessage extends SessionContinuationMessag
       buffer.writeLong(consumerID);
    }
 
+   /**
+    * Encodes the headers of {@code this} packet up to the size of a body of {@code bodySize} bytes, which the transport
+    * writes right after from elsewhere, e.g. a file, followed by the {@link #encodeTrailer(CoreRemotingConnection)
+    * trailer}.
+    */
+   public ActiveMQBuffer encodeHeader(final CoreRemotingConnection connection, final int bodySize) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(PACKET_HEADERS_SIZE + DataConstants.SIZE_INT);
+      encodeHeader(buffer);
+      size = SESSION_RECEIVE_CONTINUATION_BASE_SIZE + bodySize;
+      buffer.setInt(0, size - DataConstants.SIZE_INT);
+      buffer.writeInt(bodySize);
+      return buffer;
+   }
+
+   /**
+    * Encodes the rest of {@code this} packet following its body.
+    *
+    * @see #encodeHeader(CoreRemotingConnection, int)
+    */
+   public ActiveMQBuffer encodeTrailer(final CoreRemotingConnection connection) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG);
+      buffer.writeBoolean(continues);
+      buffer.writeLong(consumerID);
+      return buffer;
+   }
+
    @Override
    public int getPacketSize() {
       if (size == -1) {
@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.client.SendAcknowledgementHandler;
@@ -39,6 +40,15 @@ public class SessionSendMessage extends MessagePacket {
     */
    private final transient SendAcknowledgementHandler handler;
 
+   /**
+    * The allocator of the direct buffer holding the message received, or {@code null} to hold it on a heap buffer.
+    * <p>
+    * This field is only used at the server side.
+    *
+    * @see CoreMessage#OFF_HEAP_BODY_ALLOCATOR
+    */
+   private transient ByteBufAllocator bodyAllocator;
+
    /**
     * This will be using the CoreMessage because it is meant for the core-protocol
     */
@@ -82,6 +92,11 @@ public class SessionSendMessage extends MessagePacket {
       return handler;
    }
 
+   public SessionSendMessage setBodyAllocator(ByteBufAllocator bodyAllocator) {
+      this.bodyAllocator = bodyAllocator;
+      return this;
+   }
+
    @Override
    public int expectedEncodeSize() {
       return message.getEncodeSize() + PACKET_HEADERS_SIZE + fieldsEncodeSize();
@@ -97,8 +112,12 @@ public class SessionSendMessage extends MessagePacket {
    public void decodeRest(final ActiveMQBuffer buffer) {
       // Buffer comes in after having read standard headers and positioned at Beginning of body part
 
-      ByteBuf messageBuffer = copyMessageBuffer(buffer.byteBuf(), fieldsEncodeSize());
+      ByteBuf messageBuffer = copyMessageBuffer(buffer.byteBuf(), fieldsEncodeSize(), bodyAllocator);
       receiveMessage(messageBuffer);
+      if (bodyAllocator != null) {
+         // the message retained its own reference, released once it isn't referenced anymore
+         messageBuffer.release();
+      }
 
       buffer.readerIndex(buffer.capacity() - fieldsEncodeSize());
 
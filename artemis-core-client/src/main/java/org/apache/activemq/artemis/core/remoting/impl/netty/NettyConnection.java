@@ -16,10 +16,12 @@
  */
 package org.apache.activemq.artemis.core.remoting.impl.netty;
 
+import java.io.File;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
@@ -27,9 +29,16 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.FastThreadLocal;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -381,6 +390,60 @@ public class NettyConnection implements Connection {
       }
    }
 
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The contents of the file are transferred by the kernel, e.g. with {@code sendfile}, which requires a plain TCP
+    * socket of the NIO, epoll or kqueue transports and no outbound handler in the pipeline, as TLS, HTTP or WebSocket
+    * would need to read them.
+    */
+   @Override
+   public boolean isFileRegionSupported() {
+      final Channel channel = this.channel;
+      if (!(channel instanceof NioSocketChannel || channel instanceof EpollSocketChannel || channel instanceof KQueueSocketChannel)) {
+         return false;
+      }
+      for (Map.Entry<String, ChannelHandler> entry : channel.pipeline()) {
+         final ChannelHandler handler = entry.getValue();
+         if (handler instanceof ChannelOutboundHandler && !(handler instanceof ActiveMQChannelHandler)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public void write(ActiveMQBuffer header,
+                     File file,
+                     long position,
+                     int count,
+                     ActiveMQBuffer trailer,
+                     ChannelFutureListener futureListener) {
+      final Channel channel = this.channel;
+      final FileRegion region = new DefaultFileRegion(file, position, count);
+      final ChannelPromise promise = channel.newPromise();
+      promise.addListener(futureListener);
+      // a single task of the event loop performs the writes, so that the ones of other threads can't get in between
+      final Runnable writes = () -> {
+         channel.write(header.byteBuf(), channel.voidPromise());
+         channel.write(region, promise);
+         channel.writeAndFlush(trailer.byteBuf(), channel.voidPromise());
+      };
+      final EventLoop eventLoop = channel.eventLoop();
+      if (eventLoop.inEventLoop()) {
+         writes.run();
+      } else {
+         try {
+            eventLoop.execute(writes);
+         } catch (RejectedExecutionException e) {
+            header.byteBuf().release();
+            region.release();
+            trailer.byteBuf().release();
+            promise.setFailure(e);
+         }
+      }
+   }
+
    private static void flushAndWait(final Channel channel, final ChannelPromise promise) {
       if (!channel.eventLoop().inEventLoop()) {
          waitFor(promise, DEFAULT_WAIT_MILLIS);
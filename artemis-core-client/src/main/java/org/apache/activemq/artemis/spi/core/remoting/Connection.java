@@ -16,6 +16,13 @@
  */
 package org.apache.activemq.artemis.spi.core.remoting;
 
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.ChannelFutureListener;
@@ -119,6 +126,58 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * {@return whether {@link #write(ActiveMQBuffer, File, long, int, ActiveMQBuffer, ChannelFutureListener)} is
+    * supported, i.e. the contents of a file can be transferred straight to the connection without copying them}
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * writes {@code count} bytes of {@code file} from {@code position} between the {@code header} and {@code trailer}
+    * buffers and flushes them, without any other write in between. The file is only opened once it's transferred, so it
+    * must not be removed before {@code futureListener} is notified of the write of its contents.
+    * <p>
+    * Unless {@link #isFileRegionSupported()} the contents of the file are read into a buffer, written and flushed with
+    * the header and trailer instead.
+    *
+    * @param header         the buffer to write before the contents of the file
+    * @param file           the file to transfer the contents of
+    * @param position       the position of the contents in the file
+    * @param count          the number of bytes to transfer
+    * @param trailer        the buffer to write after the contents of the file
+    * @param futureListener notified once the contents of the file are written or failed to be
+    * @throws UncheckedIOException if the contents of the file couldn't be read
+    */
+   default void write(ActiveMQBuffer header,
+                      File file,
+                      long position,
+                      int count,
+                      ActiveMQBuffer trailer,
+                      ChannelFutureListener futureListener) {
+      final ActiveMQBuffer buffer;
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+         final ByteBuffer contents = ByteBuffer.allocate(count);
+         while (contents.hasRemaining()) {
+            if (channel.read(contents, position + contents.position()) < 0) {
+               throw new EOFException("Missing " + contents.remaining() + " bytes of " + file);
+            }
+         }
+         contents.flip();
+         buffer = createTransportBuffer(header.readableBytes() + count + trailer.readableBytes());
+         buffer.writeBytes(header, header.readableBytes());
+         buffer.writeBytes(contents);
+         buffer.writeBytes(trailer, trailer.readableBytes());
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      } finally {
+         header.release();
+         trailer.release();
+      }
+      write(buffer, true, false, futureListener);
+   }
+
    /**
     * This should close the internal channel without calling any listeners. This is to avoid a situation where the
     * broker is busy writing on an internal thread. This should close the socket releasing any pending threads.
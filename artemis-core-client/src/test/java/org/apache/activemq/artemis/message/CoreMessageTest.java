@@ -18,7 +18,10 @@ package org.apache.activemq.artemis.message;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -27,9 +30,11 @@ import java.util.LinkedList;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.util.IllegalReferenceCountException;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.client.impl.ClientMessageImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
@@ -127,6 +132,54 @@ public class CoreMessageTest {
       assertEquals(TEXT, TextMessageUtil.readBodyText(sendMessageReceivedSent.getMessage().getReadOnlyBodyBuffer()).toString());
    }
 
+   @Test
+   public void sendThroughPacketsOffHeap() {
+      CoreMessage decodedMessage = decodeMessage();
+
+      SessionSendMessage sendMessage = new SessionSendMessage(decodedMessage, true, null);
+      sendMessage.setChannelID(777);
+
+      ActiveMQBuffer buffer = sendMessage.encode(null);
+      buffer.readerIndex(5);
+
+      SessionSendMessage received = new SessionSendMessage(new CoreMessage());
+      received.setBodyAllocator(CoreMessage.OFF_HEAP_BODY_ALLOCATOR);
+      received.decode(buffer);
+
+      CoreMessage message = (CoreMessage) received.getMessage();
+      ByteBuf body = message.getBuffer();
+      assertTrue(body.isDirect());
+      assertTrue(message.isBodyOffHeap());
+      assertFalse(decodedMessage.isBodyOffHeap());
+      assertEquals(1, body.refCnt());
+      assertEquals(decodedMessage.getEncodeSize(), message.getEncodeSize());
+      assertEquals(TEXT, TextMessageUtil.readBodyText(message.getReadOnlyBodyBuffer()).toString());
+
+      CoreMessage copy = (CoreMessage) message.copy();
+      assertTrue(copy.getBuffer().isDirect());
+
+      // routed to two queues, one of them durable
+      message.refUp();
+      message.refUp();
+      message.durableUp();
+      message.refDown();
+      message.durableDown();
+      assertEquals(1, body.refCnt());
+      message.refDown();
+      assertEquals(0, body.refCnt(), "The body should be released once the message isn't referenced anymore");
+      assertThrows(IllegalReferenceCountException.class, () -> message.getReadOnlyBodyBuffer().readByte());
+
+      assertEquals(TEXT, TextMessageUtil.readBodyText(copy.getReadOnlyBodyBuffer()).toString());
+      copy.refUp();
+      copy.refDown();
+      assertEquals(0, copy.getBuffer().refCnt());
+
+      // the buffers not held off-heap are left to the garbage collector
+      decodedMessage.refUp();
+      decodedMessage.refDown();
+      assertEquals(TEXT, TextMessageUtil.readBodyText(decodedMessage.getReadOnlyBodyBuffer()).toString());
+   }
+
    /**
     * The message is received, then sent to the other side untouched
     */
@@ -401,6 +454,110 @@ public class CoreMessageTest {
       assertEquals(copy.getEncodeSize(), copy.getBuffer().capacity());
    }
 
+   @Test
+   public void testPropertiesReadWithoutDecoding() {
+      final SimpleString groupID = SimpleString.of("group");
+      final byte[] duplicateID = new byte[] {1, 2, 3};
+      final CoreMessage msg = new CoreMessage(1, 100);
+      msg.setAddress("a");
+      msg.setGroupID(groupID);
+      msg.setRoutingType(RoutingType.ANYCAST);
+      msg.putBytesProperty(Message.HDR_DUPLICATE_DETECTION_ID, duplicateID);
+      msg.putLongProperty(Message.HDR_SCHEDULED_DELIVERY_TIME, 123L);
+      msg.putIntProperty("count", 10);
+      msg.putStringProperty(Message.HDR_LAST_VALUE_NAME, "last");
+      final ByteBuf buffer = Unpooled.buffer(msg.getEncodeSize());
+      msg.sendBuffer(buffer, 0);
+
+      // a single property is read from the encoded properties
+      assertEquals(groupID, receive(buffer).getGroupID());
+      assertEquals(RoutingType.ANYCAST, receive(buffer).getRoutingType());
+      assertArrayEquals(duplicateID, (byte[]) receive(buffer).getDuplicateProperty());
+      assertEquals(123L, receive(buffer).getScheduledDeliveryTime());
+      assertEquals(10, receive(buffer).getIntProperty("count"));
+      assertEquals(SimpleString.of("last"), receive(buffer).getLastValueProperty());
+      assertNull(receive(buffer).getObjectProperty("missing"));
+      assertNull(receive(buffer).getSimpleStringProperty("missing"));
+      assertTrue(receive(buffer).containsProperty(Message.HDR_GROUP_ID));
+      assertFalse(receive(buffer).containsProperty("missing"));
+      assertTrue(receive(buffer).isPropertyEqual(Message.HDR_GROUP_ID, groupID));
+      assertFalse(receive(buffer).isPropertyEqual(Message.HDR_GROUP_ID, SimpleString.of("other")));
+      assertFalse(receive(buffer).isPropertyEqual(SimpleString.of("count"), SimpleString.of("10")));
+
+      // a few properties are read from the encoded properties, more of them decode the properties once for all
+      final LazyCoreMessage received = receive(buffer);
+      for (int i = 0; i < LazyCoreMessage.maxPropertyPeeks(); i++) {
+         assertEquals(groupID, received.getGroupID());
+      }
+      assertFalse(received.isDecoded(), "The properties shouldn't be decoded to read a few of them");
+      assertTrue(received.isPropertyEqual(Message.HDR_GROUP_ID, groupID));
+      assertTrue(received.isDecoded());
+      assertEquals(groupID, received.getGroupID());
+      assertEquals(10, received.getIntProperty("count"));
+
+      // a conversion needs the decoded properties
+      final LazyCoreMessage converted = receive(buffer);
+      assertEquals(SimpleString.of("10"), converted.getSimpleStringProperty("count"));
+      assertTrue(converted.isDecoded());
+      assertEquals(groupID, converted.getGroupID());
+      assertTrue(converted.isPropertyEqual(Message.HDR_GROUP_ID, groupID));
+
+      // a modification is encoded with the other properties
+      converted.putIntProperty("count", 11);
+      final ByteBuf resent = Unpooled.buffer(converted.getEncodeSize());
+      converted.sendBuffer(resent, 0);
+      final LazyCoreMessage receivedAgain = receive(resent);
+      assertEquals(11, receivedAgain.getIntProperty("count"));
+      assertEquals(groupID, receivedAgain.getGroupID());
+      assertFalse(receivedAgain.isDecoded());
+   }
+
+   @Test
+   public void testPropertyPeeksDecodeCorruptProperties() {
+      final int[] values = new int[] {0x12345678, 0x23456789};
+      final CoreMessage msg = new CoreMessage(1, 100);
+      msg.setAddress("a");
+      for (int i = 0; i < values.length; i++) {
+         msg.putIntProperty("count" + i, values[i]);
+      }
+      final ByteBuf buffer = Unpooled.buffer(msg.getEncodeSize());
+      msg.sendBuffer(buffer, 0);
+
+      // the types of the values can't be read anymore, whichever property is scanned first
+      for (int value : values) {
+         int index = buffer.readerIndex();
+         while (buffer.getInt(index) != value) {
+            index++;
+         }
+         buffer.setByte(index - 1, Byte.MAX_VALUE);
+      }
+
+      final LazyCoreMessage received = receive(buffer);
+      // the full decoding reports the error instead of the scan of the encoded properties
+      final Exception e = assertThrows(Exception.class, () -> received.isPropertyEqual(SimpleString.of("missing"), SimpleString.of("x")));
+      assertEquals(RuntimeException.class, e.getClass());
+
+      final LazyCoreMessage receivedAgain = receive(buffer);
+      final Exception containsError = assertThrows(Exception.class, () -> receivedAgain.containsProperty("missing"));
+      assertEquals(RuntimeException.class, containsError.getClass());
+   }
+
+   private static LazyCoreMessage receive(ByteBuf buffer) {
+      final LazyCoreMessage message = new LazyCoreMessage();
+      message.receiveBuffer(buffer.duplicate());
+      return message;
+   }
+
+   private static final class LazyCoreMessage extends CoreMessage {
+      static int maxPropertyPeeks() {
+         return MAX_PROPERTY_PEEKS;
+      }
+
+      boolean isDecoded() {
+         return properties != null;
+      }
+   }
+
    private void printVariable(String body, String encode) {
       System.out.println("// body = \"" + body + "\";");
       System.out.println("private final String STRING_ENCODE = \"" + encode + "\";");
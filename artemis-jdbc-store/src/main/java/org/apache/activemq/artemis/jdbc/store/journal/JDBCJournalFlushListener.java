@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.jdbc.store.journal;
+
+/**
+ * Notified by the {@link JDBCJournalImpl} every time a batch of records is committed to the database.
+ * <p>
+ * It is called from the thread flushing the batch, so implementations are supposed to be quick and thread safe.
+ */
+@FunctionalInterface
+public interface JDBCJournalFlushListener {
+
+   /**
+    * @param records     the number of journal records committed by the batch
+    * @param commitNanos the time spent executing and committing the batch statements, in nanoseconds
+    */
+   void flushed(int records, long commitNanos);
+}
@@ -21,12 +21,23 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -53,6 +64,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQScheduledComponent;
 import org.apache.activemq.artemis.jdbc.store.drivers.AbstractJDBCDriver;
 import org.apache.activemq.artemis.jdbc.store.drivers.JDBCConnectionProvider;
 import org.apache.activemq.artemis.jdbc.store.sql.SQLProvider;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.collections.SparseArrayLinkedList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,6 +121,35 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
 
    private final IOCriticalErrorListener criticalIOErrorListener;
 
+   /**
+    * How many flush batches can be executed at the same time, on different connections. With the default of 1 every
+    * sync is executed and committed by the sync thread itself before looking at the following records.
+    */
+   public static final int DEFAULT_PIPELINE_DEPTH = Integer.parseInt(System.getProperty("artemis.jdbc.journal.pipeline.depth", "1"));
+
+   private int pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+
+   private volatile JDBCJournalFlushListener flushListener;
+
+   // Only used when pipelining, all the following fields are guarded by this unless said otherwise
+
+   private ExecutorService flushExecutor;
+
+   private Semaphore flushPermits;
+
+   private final ArrayDeque<FlushBatch> inFlightBatches = new ArrayDeque<>();
+
+   private long batchSequence;
+
+   // batches committed by the flush threads, waiting for their transactions to be cleaned up by the next sync
+   private final Queue<FlushBatch> committedBatches = new ConcurrentLinkedQueue<>();
+
+   // guarded by itself: the batches done out of order, waiting for the previous ones before completing their callbacks
+   private final Map<Long, FlushBatch> completedBatches = new HashMap<>();
+
+   // guarded by completedBatches
+   private long nextCompletion;
+
    public JDBCJournalImpl(JDBCConnectionProvider connectionProvider,
                           SQLProvider provider,
                           ScheduledExecutorService scheduledExecutorService,
@@ -133,10 +174,38 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
       // Nothing to be done
    }
 
+   public int getPipelineDepth() {
+      return pipelineDepth;
+   }
+
+   /**
+    * Sets how many flush batches can be committed concurrently. It only takes effect on the next start.
+    */
+   public JDBCJournalImpl setPipelineDepth(int pipelineDepth) {
+      if (pipelineDepth < 1) {
+         throw new IllegalArgumentException("pipelineDepth must be >= 1: " + pipelineDepth);
+      }
+      this.pipelineDepth = pipelineDepth;
+      return this;
+   }
+
+   public JDBCJournalFlushListener getFlushListener() {
+      return flushListener;
+   }
+
+   public JDBCJournalImpl setFlushListener(JDBCJournalFlushListener flushListener) {
+      this.flushListener = flushListener;
+      return this;
+   }
+
    @Override
-   public void start() throws SQLException {
+   public synchronized void start() throws SQLException {
       super.start();
       syncTimer = new JDBCJournalSync(scheduledExecutorService, completeExecutor, syncDelay, TimeUnit.MILLISECONDS, this);
+      if (pipelineDepth > 1) {
+         flushExecutor = Executors.newFixedThreadPool(pipelineDepth, new ActiveMQThreadFactory("jdbc-journal-flush", true, JDBCJournalImpl.class.getClassLoader()));
+         flushPermits = new Semaphore(pipelineDepth);
+      }
       started = true;
    }
 
@@ -181,11 +250,29 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
       if (started) {
          if (sync)
             sync();
+         if (flushExecutor != null) {
+            awaitInFlightBatches();
+            if (sync) {
+               // cleaning up the transactions committed by the last batches
+               sync();
+               awaitInFlightBatches();
+            }
+            flushExecutor.shutdown();
+            flushExecutor = null;
+            flushPermits = null;
+         }
          started = false;
          super.stop();
       }
    }
 
+   private void awaitInFlightBatches() {
+      FlushBatch batch;
+      while ((batch = inFlightBatches.poll()) != null) {
+         batch.done.join();
+      }
+   }
+
    @Override
    public synchronized void destroy() throws Exception {
       super.destroy();
@@ -194,6 +281,10 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
 
    public synchronized int sync() {
 
+      if (flushExecutor != null) {
+         return pipelinedSync();
+      }
+
       List<JDBCJournalRecord> recordRef;
       synchronized (records) {
          if (records.isEmpty()) {
@@ -256,12 +347,14 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
             }
          }
 
+         final long start = System.nanoTime();
          insertJournalRecords.executeBatch();
          deleteJournalRecords.executeBatch();
          deleteJournalTxRecords.executeBatch();
 
          connection.commit();
          logger.trace("JDBC commit worked");
+         flushed(recordRef.size(), System.nanoTime() - start);
 
          if (cleanupTxRecords(deletedRecords, committedTransactions, deleteJournalTxRecords)) {
             deleteJournalTxRecords.executeBatch();
@@ -277,6 +370,162 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
       }
    }
 
+   /**
+    * Pipelined version of {@link #sync()}: the records are turned into a {@link FlushBatch} that is executed and
+    * committed on its own connection by the flush executor, while the sync thread moves on to the next records.
+    * <p>
+    * A batch touching record or transaction IDs of a batch still in flight waits for it before executing, so the
+    * statements on the same records reach the database in the same order they were appended. The callbacks of the
+    * batches are always completed in the order the batches were created, whatever the order they are committed.
+    */
+   private int pipelinedSync() {
+      final List<Long> cleanedUpTransactions = cleanupCommittedBatches();
+
+      List<JDBCJournalRecord> recordRef;
+      synchronized (records) {
+         if (records.isEmpty() && cleanedUpTransactions.isEmpty()) {
+            return 0;
+         }
+         recordRef = new ArrayList<>(records);
+         records.clear();
+      }
+
+      final FlushBatch batch = new FlushBatch(batchSequence++, recordRef);
+
+      if (!started || failed.get()) {
+         batchCompleted(batch, false);
+         return 0;
+      }
+
+      batch.prepare(cleanedUpTransactions);
+
+      try {
+         // back pressure: the sync thread (and the producers behind it) waits if too many batches are in flight
+         flushPermits.acquire();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         batchCompleted(batch, false);
+         return 0;
+      }
+
+      final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+      inFlightBatches.removeIf(inFlight -> inFlight.done.isDone());
+      for (FlushBatch inFlight : inFlightBatches) {
+         if (batch.conflictsWith(inFlight)) {
+            dependencies.add(inFlight.done);
+         }
+      }
+      inFlightBatches.add(batch);
+
+      if (dependencies.isEmpty()) {
+         flushExecutor.execute(() -> flush(batch));
+      } else {
+         CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0])).whenCompleteAsync((v, t) -> flush(batch), flushExecutor);
+      }
+      return recordRef.size();
+   }
+
+   /**
+    * Executed by the flush executor, it must not take the journal monitor as the sync thread may be holding it while
+    * waiting for a permit.
+    */
+   private void flush(FlushBatch batch) {
+      boolean success = false;
+      try {
+         if (!failed.get()) {
+            try (Connection connection = connectionProvider.getConnection();
+                 PreparedStatement deleteJournalRecords = connection.prepareStatement(this.deleteJournalRecords);
+                 PreparedStatement deleteJournalTxRecords = connection.prepareStatement(this.deleteJournalTxRecords);
+                 PreparedStatement insertJournalRecords = connection.prepareStatement(this.insertJournalRecords)) {
+
+               connection.setAutoCommit(false);
+
+               for (JDBCJournalRecord record : batch.inserts) {
+                  logger.trace("flush::preparing JDBC statement for {}", record);
+                  record.writeRecord(insertJournalRecords);
+               }
+               for (Long id : batch.deletes) {
+                  deleteJournalRecords.setLong(1, id);
+                  deleteJournalRecords.addBatch();
+               }
+               for (Long txId : batch.deletedTransactions) {
+                  deleteJournalTxRecords.setLong(1, txId);
+                  deleteJournalTxRecords.addBatch();
+               }
+
+               final long start = System.nanoTime();
+               if (!batch.inserts.isEmpty()) {
+                  insertJournalRecords.executeBatch();
+               }
+               if (!batch.deletes.isEmpty()) {
+                  deleteJournalRecords.executeBatch();
+               }
+               if (!batch.deletedTransactions.isEmpty()) {
+                  deleteJournalTxRecords.executeBatch();
+               }
+               connection.commit();
+               logger.trace("JDBC commit worked for batch {}", batch.sequence);
+               flushed(batch.records.size(), System.nanoTime() - start);
+               success = true;
+            }
+         }
+      } catch (Throwable e) {
+         handleException(null, e);
+      } finally {
+         if (success && (!batch.deletedRecords.isEmpty() || !batch.committedTransactions.isEmpty())) {
+            committedBatches.add(batch);
+         }
+         flushPermits.release();
+         batchCompleted(batch, success);
+         batch.done.complete(null);
+         if (success && !transactions.isEmpty()) {
+            // the next sync will clean up the transactions
+            syncTimer.delay();
+         }
+      }
+   }
+
+   private List<Long> cleanupCommittedBatches() {
+      List<Long> deletedRecords = null;
+      List<Long> committedTransactions = null;
+      FlushBatch batch;
+      while ((batch = committedBatches.poll()) != null) {
+         if (deletedRecords == null) {
+            deletedRecords = new ArrayList<>();
+            committedTransactions = new ArrayList<>();
+         }
+         deletedRecords.addAll(batch.deletedRecords);
+         committedTransactions.addAll(batch.committedTransactions);
+      }
+      if (deletedRecords == null) {
+         return List.of();
+      }
+      return cleanupTxRecords(deletedRecords, committedTransactions);
+   }
+
+   private void batchCompleted(FlushBatch batch, boolean success) {
+      batch.success = success;
+      synchronized (completedBatches) {
+         completedBatches.put(batch.sequence, batch);
+         FlushBatch next;
+         while ((next = completedBatches.remove(nextCompletion)) != null) {
+            executeCallbacks(next.records, next.success);
+            nextCompletion++;
+         }
+      }
+   }
+
+   private void flushed(int records, long commitNanos) {
+      final JDBCJournalFlushListener listener = this.flushListener;
+      if (listener != null) {
+         try {
+            listener.flushed(records, commitNanos);
+         } catch (Throwable e) {
+            logger.debug("Flush listener failed", e);
+         }
+      }
+   }
+
    /**
     * public for tests only, not through API
     */
@@ -298,6 +547,18 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
     */
    private synchronized boolean cleanupTxRecords(List<Long> deletedRecords, List<Long> committedTx,
                                                  PreparedStatement deleteJournalTxRecords) throws SQLException {
+      final List<Long> cleanedUpTransactions = cleanupTxRecords(deletedRecords, committedTx);
+      for (Long txId : cleanedUpTransactions) {
+         deleteJournalTxRecords.setLong(1, txId);
+         deleteJournalTxRecords.addBatch();
+      }
+      return !cleanedUpTransactions.isEmpty();
+   }
+
+   /**
+    * @return the transactions with no more records left, whose records can be deleted
+    */
+   private synchronized List<Long> cleanupTxRecords(List<Long> deletedRecords, List<Long> committedTx) {
       List<RecordInfo> iterableCopy;
       List<TransactionHolder> iterableCopyTx = new ArrayList<>();
       iterableCopyTx.addAll(transactions.values());
@@ -305,7 +566,7 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
       for (Long txId : committedTx) {
          transactions.get(txId).committed = true;
       }
-      boolean hasDeletedJournalTxRecords = false;
+      List<Long> cleanedUpTransactions = new ArrayList<>();
       // TODO (mtaylor) perhaps we could store a reverse mapping of IDs to prevent this O(n) loop
       for (TransactionHolder h : iterableCopyTx) {
 
@@ -319,13 +580,11 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
          }
 
          if (h.recordInfos.isEmpty() && h.committed) {
-            deleteJournalTxRecords.setLong(1, h.transactionID);
-            deleteJournalTxRecords.addBatch();
-            hasDeletedJournalTxRecords = true;
+            cleanedUpTransactions.add(h.transactionID);
             transactions.remove(h.transactionID);
          }
       }
-      return hasDeletedJournalTxRecords;
+      return cleanedUpTransactions;
    }
 
    private void executeCallbacks(final List<JDBCJournalRecord> records, final boolean success) {
@@ -996,6 +1255,106 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
       return started;
    }
 
+   /**
+    * The statements of a pipelined sync, built by the sync thread (holding the journal monitor) and executed by the
+    * flush executor.
+    */
+   private final class FlushBatch {
+
+      final long sequence;
+
+      // every record of the batch, to complete their callbacks
+      final List<JDBCJournalRecord> records;
+
+      final List<JDBCJournalRecord> inserts = new ArrayList<>();
+
+      // coalesced, the same id is deleted just once per batch
+      final Set<Long> deletes = new LinkedHashSet<>();
+
+      final List<Long> deletedTransactions = new ArrayList<>();
+
+      // used for cleaning up old transaction data, once committed
+      final List<Long> deletedRecords = new ArrayList<>();
+
+      final List<Long> committedTransactions = new ArrayList<>();
+
+      // the record and transaction IDs touched by the batch
+      final Set<Long> ids = new HashSet<>();
+
+      final Set<Long> txIds = new HashSet<>();
+
+      final CompletableFuture<Void> done = new CompletableFuture<>();
+
+      volatile boolean success;
+
+      FlushBatch(long sequence, List<JDBCJournalRecord> records) {
+         this.sequence = sequence;
+         this.records = records;
+      }
+
+      void prepare(List<Long> cleanedUpTransactions) {
+         for (JDBCJournalRecord record : records) {
+            final byte recordType = record.getRecordType();
+            if (recordType == JDBCJournalRecord.COMMIT_RECORD || recordType == JDBCJournalRecord.ROLLBACK_RECORD || recordType == JDBCJournalRecord.PREPARE_RECORD) {
+               // these are only ever looked up (and deleted) by their transaction
+               txIds.add(record.getTxId());
+            } else {
+               ids.add(record.getId());
+               if (record.isTransactional()) {
+                  txIds.add(record.getTxId());
+               }
+            }
+            switch (recordType) {
+               case JDBCJournalRecord.DELETE_RECORD:
+                  deletedRecords.add(record.getId());
+                  deletes.add(record.getId());
+                  break;
+               case JDBCJournalRecord.ROLLBACK_RECORD:
+                  deletedTransactions.add(record.getTxId());
+                  break;
+               case JDBCJournalRecord.COMMIT_RECORD:
+                  TransactionHolder holder = transactions.get(record.getTxId());
+                  for (RecordInfo info : holder.recordsToDelete) {
+                     deletedRecords.add(record.getId());
+                     deletedRecords.add(info.id);
+                     deletes.add(info.id);
+                     ids.add(info.id);
+                  }
+                  inserts.add(record);
+                  committedTransactions.add(record.getTxId());
+                  break;
+               default:
+                  inserts.add(record);
+                  break;
+            }
+         }
+         // the deletes are executed after the inserts: a non transactional add or update deleted within the same
+         // batch would be gone by the commit anyway
+         if (!deletes.isEmpty()) {
+            inserts.removeIf(record -> !record.isTransactional() && deletes.contains(record.getId()) &&
+               (record.getRecordType() == JDBCJournalRecord.ADD_RECORD || record.getRecordType() == JDBCJournalRecord.UPDATE_RECORD));
+         }
+         deletedTransactions.addAll(cleanedUpTransactions);
+         txIds.addAll(cleanedUpTransactions);
+      }
+
+      boolean conflictsWith(FlushBatch other) {
+         return intersects(ids, other.ids) || intersects(txIds, other.txIds);
+      }
+
+      private boolean intersects(Set<Long> set, Set<Long> other) {
+         if (set.size() > other.size()) {
+            return intersects(other, set);
+         }
+         for (Long id : set) {
+            if (other.contains(id)) {
+               return true;
+            }
+         }
+         return false;
+      }
+   }
+
    private static class JDBCJournalSync extends ActiveMQScheduledComponent {
 
       private final JDBCJournalImpl journal;
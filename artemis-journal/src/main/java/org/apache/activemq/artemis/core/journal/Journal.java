@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.core.journal;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -376,4 +377,66 @@ public interface Journal extends ActiveMQComponent {
    long getMaxRecordSize();
 
    long getWarningRecordSize();
+
+   /**
+    * {@return the size of the live records on each data file, keyed by file name from the oldest to the newest file}
+    */
+   default Map<String, Integer> getDataFilesLiveSize() {
+      return Collections.emptyMap();
+   }
+
+   /**
+    * {@return the size of the live records on the data files over their size, {@code 1} if there are no data files}
+    */
+   default double getLiveRatio() {
+      final Map<String, Integer> dataFilesLiveSize = getDataFilesLiveSize();
+      if (dataFilesLiveSize.isEmpty()) {
+         return 1;
+      }
+      long liveSize = 0;
+      for (int fileLiveSize : dataFilesLiveSize.values()) {
+         liveSize += fileLiveSize;
+      }
+      return liveSize / ((double) dataFilesLiveSize.size() * getFileSize());
+   }
+
+   /**
+    * {@return the bytes of the data files not taken by live records, i.e. what compacting could reclaim}
+    */
+   default long getReclaimableBytes() {
+      final Map<String, Integer> dataFilesLiveSize = getDataFilesLiveSize();
+      long reclaimableBytes = 0;
+      for (int fileLiveSize : dataFilesLiveSize.values()) {
+         reclaimableBytes += getFileSize() - fileLiveSize;
+      }
+      return reclaimableBytes;
+   }
+
+   /**
+    * {@return the number of compactions completed since the journal was created}
+    */
+   default long getCompactCount() {
+      return 0;
+   }
+
+   /**
+    * {@return the total time spent compacting, in milliseconds}
+    */
+   default long getCompactTime() {
+      return 0;
+   }
+
+   /**
+    * {@return the total bytes of the records rewritten by compacting}
+    */
+   default long getCompactedBytes() {
+      return 0;
+   }
+
+   /**
+    * {@return the total time appends were blocked by compacting, in milliseconds}
+    */
+   default long getCompactStallTime() {
+      return 0;
+   }
 }
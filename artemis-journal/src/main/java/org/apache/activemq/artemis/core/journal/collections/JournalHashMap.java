@@ -20,12 +20,12 @@ package org.apache.activemq.artemis.core.journal.collections;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.LongFunction;
 import java.util.function.LongSupplier;
@@ -38,6 +38,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * A map whose entries are stored on the journal as records, one record per entry.
+ * <p>
+ * The entries are kept on a {@link ConcurrentHashMap}, so producers adding and removing entries concurrently don't
+ * serialize on the map. Replacing or removing an entry deletes exactly the record it was stored with: concurrent
+ * updates of the same key may be applied in any order, but the journal always ends up with the record of the entry
+ * left on the map.
+ * <p>
  * K = Key
  * V = Value
  * C = Context
@@ -120,7 +127,7 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
       this.contextProvider = contextProvider;
    }
 
-   C context;
+   volatile C context;
 
    LongFunction<C> contextProvider;
 
@@ -138,14 +145,14 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
 
    private final IOCriticalErrorListener exceptionListener;
 
-   private final Map<K, MapRecord<K, V>> map = new HashMap<>();
+   private final Map<K, MapRecord<K, V>> map = new ConcurrentHashMap<>();
 
    public long getCollectionId() {
       return collectionId;
    }
 
    @Override
-   public synchronized int size() {
+   public int size() {
       return map.size();
    }
 
@@ -162,17 +169,17 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
    }
 
    @Override
-   public synchronized boolean isEmpty() {
+   public boolean isEmpty() {
       return map.isEmpty();
    }
 
    @Override
-   public synchronized boolean containsKey(Object key) {
+   public boolean containsKey(Object key) {
       return map.containsKey(key);
    }
 
    @Override
-   public synchronized boolean containsValue(Object value) {
+   public boolean containsValue(Object value) {
       for (Entry<K, MapRecord<K, V>> entry : map.entrySet()) {
          if (value.equals(entry.getValue().value)) {
             return true;
@@ -182,7 +189,7 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
    }
 
    @Override
-   public synchronized V get(Object key) {
+   public V get(Object key) {
       MapRecord<K, V> record = map.get(key);
       if (record == null) {
          return null;
@@ -192,14 +199,14 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
    }
 
    /**
-    * This is to be called from a single thread during reload, no need to be synchronized
+    * This is to be called from a single thread during reload
     */
    public void reload(MapRecord<K, V> reloadValue) {
       map.put(reloadValue.getKey(), reloadValue);
    }
 
    @Override
-   public synchronized V put(K key, V value) {
+   public V put(K key, V value) {
       logger.debug("adding {} = {}", key, value);
       long id = idGenerator.getAsLong();
       MapRecord<K, V> record = new MapRecord<>(collectionId, id, key, value);
@@ -215,7 +222,7 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
 
    }
 
-   private synchronized void store(MapRecord<K, V> record) {
+   private void store(MapRecord<K, V> record) {
       try {
          IOCompletion callback = null;
          if (completionSupplier != null) {
@@ -233,7 +240,6 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
       }
    }
 
-   // callers must be synchronized
    private void removed(MapRecord<K, V> record) {
       if (logger.isTraceEnabled()) {
          logger.trace("Removing record {}", record);
@@ -245,7 +251,6 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
       }
    }
 
-   // callers must be synchronized
    private void removed(MapRecord<K, V> record, long txid) {
       try {
          journal.deleteMapRecordTx(txid, record.id);
@@ -255,8 +260,11 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
    }
 
    @Override
-   public synchronized V remove(Object key) {
+   public V remove(Object key) {
       MapRecord<K, V> record = map.remove(key);
+      if (record == null) {
+         return null;
+      }
       this.removed(record);
       return record.value;
    }
@@ -267,21 +275,23 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
     * back. This is intended to make sure the operation would be atomic in case of a failure, while an appendRollback is
     * not expected.
     */
-   public synchronized V remove(Object key, long transactionID) {
+   public V remove(Object key, long transactionID) {
       MapRecord<K, V> record = map.remove(key);
+      if (record == null) {
+         return null;
+      }
       this.removed(record, transactionID);
       return record.value;
    }
 
    @Override
-   public synchronized void putAll(Map<? extends K, ? extends V> m) {
+   public void putAll(Map<? extends K, ? extends V> m) {
       m.forEach(this::put);
    }
 
    @Override
-   public synchronized void clear() {
-      map.values().forEach(this::remove);
-      map.clear();
+   public void clear() {
+      map.keySet().forEach(this::remove);
    }
 
    @Override
@@ -297,7 +307,7 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
       throw new UnsupportedOperationException("not implemented yet. You may use valuesCopy");
    }
 
-   public synchronized Collection<V> valuesCopy() {
+   public Collection<V> valuesCopy() {
       List<V> values = new ArrayList<>(map.size());
       map.values().forEach(v -> values.add(v.value));
       return values;
@@ -307,16 +317,16 @@ public class JournalHashMap<K, V, C> implements Map<K, V> {
     * Not implemented yet, you may use entrySetCoy
     */
    @Override
-   public synchronized Set<Entry<K, V>> entrySet() {
+   public Set<Entry<K, V>> entrySet() {
       throw new UnsupportedOperationException("not implemented yet. You may use entrySetCopy");
    }
 
-   public synchronized Set<Entry<K, V>> entrySetCopy() {
+   public Set<Entry<K, V>> entrySetCopy() {
       return new HashSet<>(map.values());
    }
 
    @Override
-   public synchronized void forEach(BiConsumer<? super K, ? super V> action) {
+   public void forEach(BiConsumer<? super K, ? super V> action) {
       Objects.requireNonNull(action);
       map.forEach((a, b) -> action.accept(b.key, b.value));
    }
@@ -17,24 +17,23 @@
 
 package org.apache.activemq.artemis.core.journal.collections;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.LongFunction;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
-import io.netty.util.collection.LongObjectHashMap;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.journal.IOCompletion;
 import org.apache.activemq.artemis.core.journal.RecordInfo;
 import org.apache.activemq.artemis.core.persistence.Persister;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 
 public class JournalHashMapProvider<K, V, C> {
 
    final MapStorageManager journal;
    final Persister<JournalHashMap.MapRecord<K, V>> persister;
-   final LongObjectHashMap<JournalHashMap<K, V, C>> journalMaps = new LongObjectHashMap<>();
+   final ConcurrentLongHashMap<JournalHashMap<K, V, C>> journalMaps = new ConcurrentLongHashMap<>();
    final LongSupplier idSupplier;
    final byte recordType;
    final IOCriticalErrorListener ioExceptionListener;
@@ -52,9 +51,7 @@ public class JournalHashMapProvider<K, V, C> {
    }
 
    public List<JournalHashMap<K, V, C>> getMaps() {
-      List<JournalHashMap<K, V, C>> maps = new ArrayList<>();
-      journalMaps.values().forEach(maps::add);
-      return maps;
+      return journalMaps.values();
    }
 
    public void clear() {
@@ -70,11 +67,10 @@ public class JournalHashMapProvider<K, V, C> {
       return journalMaps.values().iterator();
    }
 
-   public synchronized JournalHashMap<K, V, C> getMap(long collectionID, C context) {
+   public JournalHashMap<K, V, C> getMap(long collectionID, C context) {
       JournalHashMap<K, V, C> journalHashMap = journalMaps.get(collectionID);
       if (journalHashMap == null) {
-         journalHashMap = new JournalHashMap<>(collectionID, journal, idSupplier, persister, recordType, ioCompletionSupplier, contextProvider, ioExceptionListener).setContext(context);
-         journalMaps.put(collectionID, journalHashMap);
+         journalHashMap = journalMaps.computeIfAbsent(collectionID, id -> new JournalHashMap<>(id, journal, idSupplier, persister, recordType, ioCompletionSupplier, contextProvider, ioExceptionListener).setContext(context));
       }
       return journalHashMap;
    }
@@ -60,6 +60,8 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
 
    protected final List<JournalFile> newDataFiles = new ArrayList<>();
 
+   private long writtenBytes;
+
 
    protected AbstractJournalUpdateTask(final SequentialFileFactory fileFactory,
                                        final JournalImpl journal,
@@ -287,6 +289,14 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
    protected void writeEncoder(final JournalInternalRecord record) throws Exception {
       record.setFileID(currentFile.getRecordID());
       record.encode(getWritingChannel());
+      writtenBytes += record.getEncodeSize();
+   }
+
+   /**
+    * {@return the bytes of the records written so far}
+    */
+   public long getWrittenBytes() {
+      return writtenBytes;
    }
 
    protected void writeEncoder(final JournalInternalRecord record, final int txcounter) throws Exception {
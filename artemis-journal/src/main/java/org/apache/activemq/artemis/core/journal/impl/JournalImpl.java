@@ -24,6 +24,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -37,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
@@ -145,6 +147,24 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       UPDATE_FACTOR = value;
    }
 
+   /**
+    * The number of data files read ahead, in parallel, of the one being compacted: {@code 0} reads each file only
+    * when the compactor gets to it.
+    * <p>
+    * To update this value, define a System Property
+    * org.apache.activemq.artemis.core.journal.impl.JournalImpl.COMPACT_READ_AHEAD=YOUR VALUE
+    */
+   public static final int COMPACT_READ_AHEAD = Math.max(0, Integer.getInteger(JournalImpl.class.getName() + ".COMPACT_READ_AHEAD", 2));
+
+   /**
+    * The number of data files read and parsed ahead, in parallel, of the one being loaded: {@code 0} reads and parses
+    * each file only when the load gets to it.
+    * <p>
+    * To update this value, define a System Property
+    * org.apache.activemq.artemis.core.journal.impl.JournalImpl.LOAD_READ_AHEAD=YOUR VALUE
+    */
+   public static final int LOAD_READ_AHEAD = Math.max(0, Integer.getInteger(JournalImpl.class.getName() + ".LOAD_READ_AHEAD", Math.min(4, Runtime.getRuntime().availableProcessors())));
+
    public static final int FORMAT_VERSION = 2;
 
    private static final int[] COMPATIBLE_VERSIONS = new int[]{1};
@@ -212,6 +232,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile boolean autoReclaim = true;
 
+   private volatile int loadReadAhead = LOAD_READ_AHEAD;
+
+   private volatile int compactReadAhead = COMPACT_READ_AHEAD;
+
    private final int userVersion;
 
    private final int minFiles;
@@ -297,7 +321,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
 
    // Compacting may replace this structure
-   private final ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
+   // replaced (under the journal write lock) when compacting, to avoid copying all the records while the journal is locked
+   private volatile ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
 
    // Compacting may replace this structure
    private final ConcurrentLongHashMap<JournalTransaction> transactions = new ConcurrentLongHashMap<>();
@@ -348,7 +373,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile JournalState state = JournalState.STOPPED;
 
-   private volatile int compactCount = 0;
+   // compacting statistics, only written by compact()
+   private volatile long compactCount = 0;
+
+   private volatile long compactTime = 0;
+
+   private volatile long compactedBytes = 0;
+
+   private volatile long compactStallTime = 0;
 
    public float getCompactPercentage() {
       return compactPercentage;
@@ -609,294 +641,347 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             throw new RuntimeException("Invalid read! The system couldn't read the entire file into memory");
          }
 
-         // First long is the ordering timestamp, we just jump its position
-         wholeFileBuffer.position(JournalImpl.SIZE_HEADER);
+         return parseJournalFile(file, wholeFileBuffer, journalFileSize, reader, reclaimed, replaceableRecords);
+      } catch (Throwable e) {
+         ActiveMQJournalLogger.LOGGER.errorReadingFile(e);
+         throw new Exception(e.getMessage(), e);
+      } finally {
+         if (wholeFileBufferReference == null && wholeFileBuffer != null) {
+            fileFactory.releaseDirectBuffer(wholeFileBuffer);
+         }
+         try {
+            file.getFile().close(false, false);
+         } catch (Throwable ignored) {
+         }
+      }
+   }
 
-         int lastDataPos = JournalImpl.SIZE_HEADER;
+   /**
+    * Reads the whole {@code file} into a new direct buffer, to be {@link #parseJournalFile parsed} later on.
+    *
+    * @return {@code null} if the file is damaged, otherwise a buffer to be released through
+    * {@link SequentialFileFactory#releaseDirectBuffer(ByteBuffer)}
+    */
+   private static ByteBuffer readWholeJournalFile(final SequentialFileFactory fileFactory,
+                                                  final JournalFile file) throws Exception {
+      file.getFile().open(1, false);
+      ByteBuffer wholeFileBuffer = null;
+      try {
+         final int filesize = (int) file.getFile().size();
 
-         while (wholeFileBuffer.hasRemaining()) {
-            final int pos = wholeFileBuffer.position();
+         if (filesize < JournalImpl.SIZE_HEADER) {
+            // the file is damaged or the system crash before it was able to write
+            return null;
+         }
+         wholeFileBuffer = fileFactory.allocateDirectBuffer(filesize);
 
-            byte recordType = wholeFileBuffer.get();
+         final int journalFileSize = file.getFile().read(wholeFileBuffer);
 
-            if (recordType < JournalImpl.EVENT_RECORD || recordType > JournalImpl.ROLLBACK_RECORD) {
-               // I - We scan for any valid record on the file. If a hole
-               // happened on the middle of the file we keep looking until all
-               // the possibilities are gone
-               continue;
-            }
+         if (journalFileSize != filesize) {
+            throw new RuntimeException("Invalid read! The system couldn't read the entire file into memory");
+         }
+         final ByteBuffer result = wholeFileBuffer;
+         wholeFileBuffer = null;
+         return result;
+      } finally {
+         if (wholeFileBuffer != null) {
+            fileFactory.releaseDirectBuffer(wholeFileBuffer);
+         }
+         try {
+            file.getFile().close(false, false);
+         } catch (Throwable ignored) {
+         }
+      }
+   }
 
-            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
-               reader.markAsDataFile(file);
+   /**
+    * Feeds {@code reader} with the records of {@code file}, already read into {@code wholeFileBuffer}: no I/O is
+    * performed.
+    *
+    * @return the position after the last valid record
+    */
+   private static int parseJournalFile(final JournalFile file,
+                                       final ByteBuffer wholeFileBuffer,
+                                       final int journalFileSize,
+                                       final JournalReaderCallback reader,
+                                       final boolean reclaimed,
+                                       final ByteObjectHashMap<Boolean> replaceableRecords) throws Exception {
+      // First long is the ordering timestamp, we just jump its position
+      wholeFileBuffer.position(JournalImpl.SIZE_HEADER);
 
-               wholeFileBuffer.position(pos + 1);
-               // II - Ignore this record, let's keep looking
-               continue;
-            }
+      int lastDataPos = JournalImpl.SIZE_HEADER;
+
+      while (wholeFileBuffer.hasRemaining()) {
+         final int pos = wholeFileBuffer.position();
+
+         byte recordType = wholeFileBuffer.get();
+
+         if (recordType < JournalImpl.EVENT_RECORD || recordType > JournalImpl.ROLLBACK_RECORD) {
+            // I - We scan for any valid record on the file. If a hole
+            // happened on the middle of the file we keep looking until all
+            // the possibilities are gone
+            continue;
+         }
+
+         if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
+            reader.markAsDataFile(file);
+
+            wholeFileBuffer.position(pos + 1);
+            // II - Ignore this record, let's keep looking
+            continue;
+         }
+
+         // III - Every record has the file-id.
+         // This is what supports us from not re-filling the whole file
+         int readFileId = wholeFileBuffer.getInt();
 
-            // III - Every record has the file-id.
-            // This is what supports us from not re-filling the whole file
-            int readFileId = wholeFileBuffer.getInt();
+         // This record is from a previous file-usage. The file was
+         // reused and we need to ignore this record
+         if (readFileId != file.getRecordID() && !reclaimed) {
+            wholeFileBuffer.position(pos + 1);
+            continue;
+         }
+
+         short compactCount = 0;
+
+         if (file.getJournalVersion() >= 2) {
+            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_BYTE)) {
+               reader.markAsDataFile(file);
 
-            // This record is from a previous file-usage. The file was
-            // reused and we need to ignore this record
-            if (readFileId != file.getRecordID() && !reclaimed) {
                wholeFileBuffer.position(pos + 1);
                continue;
             }
 
-            short compactCount = 0;
-
-            if (file.getJournalVersion() >= 2) {
-               if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_BYTE)) {
-                  reader.markAsDataFile(file);
+            compactCount = wholeFileBuffer.get();
+         }
 
-                  wholeFileBuffer.position(pos + 1);
-                  continue;
-               }
+         long transactionID = 0;
 
-               compactCount = wholeFileBuffer.get();
+         if (JournalImpl.isTransaction(recordType)) {
+            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_LONG)) {
+               wholeFileBuffer.position(pos + 1);
+               reader.markAsDataFile(file);
+               continue;
             }
 
-            long transactionID = 0;
+            transactionID = wholeFileBuffer.getLong();
+         }
 
-            if (JournalImpl.isTransaction(recordType)) {
-               if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_LONG)) {
-                  wholeFileBuffer.position(pos + 1);
-                  reader.markAsDataFile(file);
-                  continue;
-               }
+         long recordID = 0;
 
-               transactionID = wholeFileBuffer.getLong();
+         // If prepare or commit
+         if (!JournalImpl.isCompleteTransaction(recordType)) {
+            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_LONG)) {
+               wholeFileBuffer.position(pos + 1);
+               reader.markAsDataFile(file);
+               continue;
             }
 
-            long recordID = 0;
+            recordID = wholeFileBuffer.getLong();
+         }
 
-            // If prepare or commit
-            if (!JournalImpl.isCompleteTransaction(recordType)) {
-               if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_LONG)) {
-                  wholeFileBuffer.position(pos + 1);
-                  reader.markAsDataFile(file);
-                  continue;
-               }
+         // We use the size of the record to validate the health of the
+         // record.
+         // (V) We verify the size of the record
 
-               recordID = wholeFileBuffer.getLong();
-            }
+         // The variable record portion used on Updates and Appends
+         int variableSize = 0;
 
-            // We use the size of the record to validate the health of the
-            // record.
-            // (V) We verify the size of the record
+         // Used to hold extra data on transaction prepares
+         int preparedTransactionExtraDataSize = 0;
 
-            // The variable record portion used on Updates and Appends
-            int variableSize = 0;
+         byte userRecordType = 0;
 
-            // Used to hold extra data on transaction prepares
-            int preparedTransactionExtraDataSize = 0;
+         byte[] record = null;
 
-            byte userRecordType = 0;
+         if (JournalImpl.isContainsBody(recordType)) {
+            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
+               wholeFileBuffer.position(pos + 1);
+               reader.markAsDataFile(file);
+               continue;
+            }
 
-            byte[] record = null;
+            variableSize = wholeFileBuffer.getInt();
 
-            if (JournalImpl.isContainsBody(recordType)) {
-               if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
+            if (recordType != JournalImpl.DELETE_RECORD_TX) {
+               if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), 1)) {
                   wholeFileBuffer.position(pos + 1);
-                  reader.markAsDataFile(file);
                   continue;
                }
 
-               variableSize = wholeFileBuffer.getInt();
+               userRecordType = wholeFileBuffer.get();
+            }
 
-               if (recordType != JournalImpl.DELETE_RECORD_TX) {
-                  if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), 1)) {
-                     wholeFileBuffer.position(pos + 1);
-                     continue;
-                  }
+            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), variableSize)) {
+               wholeFileBuffer.position(pos + 1);
+               continue;
+            }
 
-                  userRecordType = wholeFileBuffer.get();
-               }
+            record = new byte[variableSize];
 
-               if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), variableSize)) {
-                  wholeFileBuffer.position(pos + 1);
-                  continue;
-               }
+            wholeFileBuffer.get(record);
+         }
 
-               record = new byte[variableSize];
+         // Case this is a transaction, this will contain the number of pendingTransactions on a transaction, at the
+         // currentFile
+         int transactionCheckNumberOfRecords = 0;
 
-               wholeFileBuffer.get(record);
+         if (recordType == JournalImpl.PREPARE_RECORD || recordType == JournalImpl.COMMIT_RECORD) {
+            if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
+               wholeFileBuffer.position(pos + 1);
+               continue;
             }
 
-            // Case this is a transaction, this will contain the number of pendingTransactions on a transaction, at the
-            // currentFile
-            int transactionCheckNumberOfRecords = 0;
+            transactionCheckNumberOfRecords = wholeFileBuffer.getInt();
 
-            if (recordType == JournalImpl.PREPARE_RECORD || recordType == JournalImpl.COMMIT_RECORD) {
+            if (recordType == JournalImpl.PREPARE_RECORD) {
                if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
                   wholeFileBuffer.position(pos + 1);
                   continue;
                }
-
-               transactionCheckNumberOfRecords = wholeFileBuffer.getInt();
-
-               if (recordType == JournalImpl.PREPARE_RECORD) {
-                  if (JournalImpl.isInvalidSize(journalFileSize, wholeFileBuffer.position(), DataConstants.SIZE_INT)) {
-                     wholeFileBuffer.position(pos + 1);
-                     continue;
-                  }
-                  // Add the variable size required for preparedTransactions
-                  preparedTransactionExtraDataSize = wholeFileBuffer.getInt();
-               }
-               variableSize = 0;
+               // Add the variable size required for preparedTransactions
+               preparedTransactionExtraDataSize = wholeFileBuffer.getInt();
             }
+            variableSize = 0;
+         }
 
-            int recordSize = JournalImpl.getRecordSize(recordType, file.getJournalVersion());
-
-            // VI - this is completing V, We will validate the size at the end
-            // of the record,
-            // But we avoid buffer overflows by damaged data
-            if (JournalImpl.isInvalidSize(journalFileSize, pos, recordSize + variableSize +
-               preparedTransactionExtraDataSize)) {
-               // Avoid a buffer overflow caused by damaged data... continue
-               // scanning for more pendingTransactions...
-               if (logger.isTraceEnabled()) {
-                  logger.trace("Record at position {} recordType = {} file:{} recordSize: {} variableSize: {} preparedTransactionExtraDataSize: {} is corrupted and it is being ignored (II)",
-                               pos, recordType, file.getFile().getFileName(), recordSize, variableSize, preparedTransactionExtraDataSize);
-               }
-               // If a file has damaged pendingTransactions, we make it a dataFile, and the
-               // next reclaiming will fix it
-               reader.markAsDataFile(file);
-               wholeFileBuffer.position(pos + 1);
+         int recordSize = JournalImpl.getRecordSize(recordType, file.getJournalVersion());
 
-               continue;
+         // VI - this is completing V, We will validate the size at the end
+         // of the record,
+         // But we avoid buffer overflows by damaged data
+         if (JournalImpl.isInvalidSize(journalFileSize, pos, recordSize + variableSize +
+            preparedTransactionExtraDataSize)) {
+            // Avoid a buffer overflow caused by damaged data... continue
+            // scanning for more pendingTransactions...
+            if (logger.isTraceEnabled()) {
+               logger.trace("Record at position {} recordType = {} file:{} recordSize: {} variableSize: {} preparedTransactionExtraDataSize: {} is corrupted and it is being ignored (II)",
+                            pos, recordType, file.getFile().getFileName(), recordSize, variableSize, preparedTransactionExtraDataSize);
             }
+            // If a file has damaged pendingTransactions, we make it a dataFile, and the
+            // next reclaiming will fix it
+            reader.markAsDataFile(file);
+            wholeFileBuffer.position(pos + 1);
 
-            int oldPos = wholeFileBuffer.position();
+            continue;
+         }
 
-            wholeFileBuffer.position(pos + variableSize +
-                                        recordSize +
-                                        preparedTransactionExtraDataSize - DataConstants.SIZE_INT);
+         int oldPos = wholeFileBuffer.position();
 
-            int checkSize = wholeFileBuffer.getInt();
+         wholeFileBuffer.position(pos + variableSize +
+                                     recordSize +
+                                     preparedTransactionExtraDataSize - DataConstants.SIZE_INT);
 
-            // VII - The checkSize at the end has to match with the size
-            // informed at the beginning.
-            // This is like testing a hash for the record. (We could replace the
-            // checkSize by some sort of calculated hash)
-            if (checkSize != variableSize + recordSize + preparedTransactionExtraDataSize) {
-               if (logger.isTraceEnabled()) {
-                  logger.trace("Record at position {} recordType = {} possible transactionID = {} possible recordID = {} file:{} is corrupted and it is being ignored (III)",
-                               pos, recordType, transactionID, recordID, file.getFile().getFileName());
-               }
+         int checkSize = wholeFileBuffer.getInt();
 
-               // If a file has damaged pendingTransactions, we make it a dataFile, and the
-               // next reclaiming will fix it
-               reader.markAsDataFile(file);
+         // VII - The checkSize at the end has to match with the size
+         // informed at the beginning.
+         // This is like testing a hash for the record. (We could replace the
+         // checkSize by some sort of calculated hash)
+         if (checkSize != variableSize + recordSize + preparedTransactionExtraDataSize) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("Record at position {} recordType = {} possible transactionID = {} possible recordID = {} file:{} is corrupted and it is being ignored (III)",
+                            pos, recordType, transactionID, recordID, file.getFile().getFileName());
+            }
 
-               wholeFileBuffer.position(pos + DataConstants.SIZE_BYTE);
+            // If a file has damaged pendingTransactions, we make it a dataFile, and the
+            // next reclaiming will fix it
+            reader.markAsDataFile(file);
 
-               continue;
-            }
+            wholeFileBuffer.position(pos + DataConstants.SIZE_BYTE);
 
-            wholeFileBuffer.position(oldPos);
+            continue;
+         }
 
-            // At this point everything is checked. So we relax and just load
-            // the data now.
+         wholeFileBuffer.position(oldPos);
 
-            if (logger.isTraceEnabled()) {
-               logger.trace("reading {}, userRecordType={}, compactCount={}", recordID, userRecordType, compactCount);
-            }
+         // At this point everything is checked. So we relax and just load
+         // the data now.
 
-            boolean replaceableUpdate =  replaceableRecords != null ? replaceableRecords.containsKey(userRecordType) : false;
+         if (logger.isTraceEnabled()) {
+            logger.trace("reading {}, userRecordType={}, compactCount={}", recordID, userRecordType, compactCount);
+         }
 
-            switch (recordType) {
-               case EVENT_RECORD: {
-                  reader.onReadEventRecord(new RecordInfo(recordID, userRecordType, record, false, replaceableUpdate, compactCount));
-                  break;
-               }
+         boolean replaceableUpdate =  replaceableRecords != null ? replaceableRecords.containsKey(userRecordType) : false;
 
-               case ADD_RECORD: {
-                  reader.onReadAddRecord(new RecordInfo(recordID, userRecordType, record, false, false, compactCount));
-                  break;
-               }
+         switch (recordType) {
+            case EVENT_RECORD: {
+               reader.onReadEventRecord(new RecordInfo(recordID, userRecordType, record, false, replaceableUpdate, compactCount));
+               break;
+            }
 
-               case UPDATE_RECORD: {
-                  reader.onReadUpdateRecord(new RecordInfo(recordID, userRecordType, record, true, replaceableUpdate, compactCount));
-                  break;
-               }
+            case ADD_RECORD: {
+               reader.onReadAddRecord(new RecordInfo(recordID, userRecordType, record, false, false, compactCount));
+               break;
+            }
 
-               case DELETE_RECORD: {
-                  reader.onReadDeleteRecord(recordID);
-                  break;
-               }
+            case UPDATE_RECORD: {
+               reader.onReadUpdateRecord(new RecordInfo(recordID, userRecordType, record, true, replaceableUpdate, compactCount));
+               break;
+            }
 
-               case ADD_RECORD_TX: {
-                  reader.onReadAddRecordTX(transactionID, new RecordInfo(recordID, userRecordType, record, false, false, compactCount));
-                  break;
-               }
+            case DELETE_RECORD: {
+               reader.onReadDeleteRecord(recordID);
+               break;
+            }
 
-               case UPDATE_RECORD_TX: {
-                  reader.onReadUpdateRecordTX(transactionID, new RecordInfo(recordID, userRecordType, record, true, replaceableUpdate, compactCount));
-                  break;
-               }
+            case ADD_RECORD_TX: {
+               reader.onReadAddRecordTX(transactionID, new RecordInfo(recordID, userRecordType, record, false, false, compactCount));
+               break;
+            }
 
-               case DELETE_RECORD_TX: {
-                  reader.onReadDeleteRecordTX(transactionID, new RecordInfo(recordID, (byte) 0, record, true, false, compactCount));
-                  break;
-               }
+            case UPDATE_RECORD_TX: {
+               reader.onReadUpdateRecordTX(transactionID, new RecordInfo(recordID, userRecordType, record, true, replaceableUpdate, compactCount));
+               break;
+            }
 
-               case PREPARE_RECORD: {
+            case DELETE_RECORD_TX: {
+               reader.onReadDeleteRecordTX(transactionID, new RecordInfo(recordID, (byte) 0, record, true, false, compactCount));
+               break;
+            }
 
-                  byte[] extraData = new byte[preparedTransactionExtraDataSize];
+            case PREPARE_RECORD: {
 
-                  wholeFileBuffer.get(extraData);
+               byte[] extraData = new byte[preparedTransactionExtraDataSize];
 
-                  reader.onReadPrepareRecord(transactionID, extraData, transactionCheckNumberOfRecords);
+               wholeFileBuffer.get(extraData);
 
-                  break;
-               }
-               case COMMIT_RECORD: {
+               reader.onReadPrepareRecord(transactionID, extraData, transactionCheckNumberOfRecords);
 
-                  reader.onReadCommitRecord(transactionID, transactionCheckNumberOfRecords);
-                  break;
-               }
-               case ROLLBACK_RECORD: {
-                  reader.onReadRollbackRecord(transactionID);
-                  break;
-               }
-               default: {
-                  throw new IllegalStateException("Journal " + file.getFile().getFileName() +
-                                                     " is corrupt, invalid record type " +
-                                                     recordType);
-               }
+               break;
             }
+            case COMMIT_RECORD: {
 
-            checkSize = wholeFileBuffer.getInt();
-
-            // This is a sanity check about the loading code itself.
-            // If this checkSize doesn't match, it means the reading method is
-            // not doing what it was supposed to do
-            if (checkSize != variableSize + recordSize + preparedTransactionExtraDataSize) {
-               throw new IllegalStateException("Internal error on loading file. Position doesn't match with checkSize, file = " + file.getFile() +
-                                                  ", pos = " +
-                                                  pos);
+               reader.onReadCommitRecord(transactionID, transactionCheckNumberOfRecords);
+               break;
+            }
+            case ROLLBACK_RECORD: {
+               reader.onReadRollbackRecord(transactionID);
+               break;
+            }
+            default: {
+               throw new IllegalStateException("Journal " + file.getFile().getFileName() +
+                                                  " is corrupt, invalid record type " +
+                                                  recordType);
             }
+         }
 
-            lastDataPos = wholeFileBuffer.position();
+         checkSize = wholeFileBuffer.getInt();
 
+         // This is a sanity check about the loading code itself.
+         // If this checkSize doesn't match, it means the reading method is
+         // not doing what it was supposed to do
+         if (checkSize != variableSize + recordSize + preparedTransactionExtraDataSize) {
+            throw new IllegalStateException("Internal error on loading file. Position doesn't match with checkSize, file = " + file.getFile() +
+                                               ", pos = " +
+                                               pos);
          }
-         reader.done();
-         return lastDataPos;
-      } catch (Throwable e) {
-         ActiveMQJournalLogger.LOGGER.errorReadingFile(e);
-         throw new Exception(e.getMessage(), e);
-      } finally {
-         if (wholeFileBufferReference == null && wholeFileBuffer != null) {
-            fileFactory.releaseDirectBuffer(wholeFileBuffer);
-         }
-         try {
-            file.getFile().close(false, false);
-         } catch (Throwable ignored) {
-         }
+
+         lastDataPos = wholeFileBuffer.position();
+
       }
+      reader.done();
+      return lastDataPos;
    }
 
    /**
@@ -1738,6 +1823,9 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    }
 
    /**
+    * Compacts all the data files: a subset can't be compacted on its own, as a transaction committed in a file that
+    * isn't compacted would lose the records it added in the compacted ones.
+    * <p>
     * Note: This method can't be called from the main executor, as it will invoke other methods depending on it.
     * <p>
     * Note: only synchronized methods on journal are methods responsible for the life-cycle such as stop, start records
@@ -1750,12 +1838,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       }
 
       if (logger.isDebugEnabled()) {
-         ++compactCount;  // Member used only for logging state when debug enabled
-         logger.debug("JournalImpl::compact {} for its {} time", JournalImpl.this, compactCount);
+         logger.debug("JournalImpl::compact {} for its {} time", JournalImpl.this, compactCount + 1);
       }
 
       compactorLock.writeLock().lock();
       try {
+         final long compactStart = System.nanoTime();
          List<JournalFile> dataFilesToProcess;
 
          boolean previousReclaimValue = isAutoReclaim();
@@ -1778,20 +1866,25 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             // Read the files, and use the JournalCompactor class to create the new outputFiles, and the new collections as
             // well
             // this AtomicReference is not used for thread-safety, but just as a reference
-            final AtomicReference<ByteBuffer> wholeFileBufferRef = dataFilesToProcess.isEmpty() ? null : new AtomicReference<>();
-            try {
-               for (final JournalFile file : dataFilesToProcess) {
-                  try {
-                     JournalImpl.readJournalFile(fileFactory, file, compactor, wholeFileBufferRef, false, this.replaceableRecords);
-                  } catch (Throwable e) {
-                     ActiveMQJournalLogger.LOGGER.compactReadError(file);
-                     throw new Exception("Error on reading compacting for " + file, e);
+            final int compactReadAhead = this.compactReadAhead;
+            if (compactReadAhead > 0 && dataFilesToProcess.size() > 1) {
+               readFilesToCompactAhead(dataFilesToProcess, compactReadAhead);
+            } else {
+               final AtomicReference<ByteBuffer> wholeFileBufferRef = dataFilesToProcess.isEmpty() ? null : new AtomicReference<>();
+               try {
+                  for (final JournalFile file : dataFilesToProcess) {
+                     try {
+                        JournalImpl.readJournalFile(fileFactory, file, compactor, wholeFileBufferRef, false, this.replaceableRecords);
+                     } catch (Throwable e) {
+                        ActiveMQJournalLogger.LOGGER.compactReadError(file);
+                        throw new Exception("Error on reading compacting for " + file, e);
+                     }
+                  }
+               } finally {
+                  ByteBuffer wholeFileBuffer;
+                  if (wholeFileBufferRef != null && (wholeFileBuffer = wholeFileBufferRef.get()) != null) {
+                     fileFactory.releaseDirectBuffer(wholeFileBuffer);
                   }
-               }
-            } finally {
-               ByteBuffer wholeFileBuffer;
-               if (wholeFileBufferRef != null && (wholeFileBuffer = wholeFileBufferRef.get()) != null) {
-                  fileFactory.releaseDirectBuffer(wholeFileBuffer);
                }
             }
 
@@ -1810,6 +1903,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
             journalLock.writeLock().lock();
+            final long lockedTime = System.nanoTime();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
                compactor = null;
@@ -1818,10 +1912,11 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                newDatafiles = localCompactor.getNewDataFiles();
 
-               // Restore newRecords created during compacting
-               localCompactor.getNewRecords().forEach((id, newRecord) -> {
-                  records.put(id, newRecord);
-               });
+               // Restore newRecords created during compacting: the records added while compacting are usually
+               // way less than the compacted ones, hence they're moved instead, keeping the journal locked for less time
+               final ConcurrentLongHashMap<JournalRecord> newRecords = localCompactor.getNewRecords();
+               records.forEach(newRecords::putIfAbsent);
+               records = newRecords;
 
                // Restore compacted dataFiles
                for (int i = newDatafiles.size() - 1; i >= 0; i--) {
@@ -1858,6 +1953,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                fileFactory.onIOError(e, e.getMessage());
                return;
             } finally {
+               compactStallTime += System.nanoTime() - lockedTime;
                journalLock.writeLock().unlock();
             }
 
@@ -1869,6 +1965,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             setAutoReclaim(previousReclaimValue);
 
+            compactedBytes += localCompactor.getWrittenBytes();
+            compactTime += System.nanoTime() - compactStart;
+            compactCount++;
+
             logger.debug("Finished compacting on journal {}", this);
 
          } catch (Throwable e) {
@@ -1882,6 +1982,257 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    }
 
+   /**
+    * Feeds the compactor with {@code files}, in order, while up to {@code readAhead} of the next files are read in
+    * parallel: the compactor doesn't wait for the disk unless it's faster than it.
+    */
+   private void readFilesToCompactAhead(final List<JournalFile> files, final int readAhead) throws Exception {
+      final Executor[] readers = new Executor[Math.min(readAhead, files.size())];
+      for (int i = 0; i < readers.length; i++) {
+         readers[i] = ioExecutorFactory.getExecutor();
+      }
+      final ArrayDeque<SimpleFuture<ByteBuffer>> pendingReads = new ArrayDeque<>(readers.length + 1);
+      int nextRead = 0;
+      try {
+         for (final JournalFile file : files) {
+            // the file to be compacted next plus the ones read ahead
+            while (nextRead < files.size() && pendingReads.size() <= readers.length) {
+               final JournalFile fileToRead = files.get(nextRead);
+               final SimpleFuture<ByteBuffer> read = new SimpleFutureImpl<>();
+               readers[nextRead % readers.length].execute(() -> {
+                  try {
+                     read.set(readWholeJournalFile(fileFactory, fileToRead));
+                  } catch (Throwable e) {
+                     read.fail(e);
+                  }
+               });
+               pendingReads.add(read);
+               nextRead++;
+            }
+            ByteBuffer wholeFileBuffer = null;
+            try {
+               wholeFileBuffer = pendingReads.poll().get();
+               if (wholeFileBuffer != null) {
+                  parseJournalFile(file, wholeFileBuffer, wholeFileBuffer.limit(), compactor, false, this.replaceableRecords);
+               }
+            } catch (Throwable e) {
+               ActiveMQJournalLogger.LOGGER.compactReadError(file);
+               throw new Exception("Error on reading compacting for " + file, e);
+            } finally {
+               if (wholeFileBuffer != null) {
+                  fileFactory.releaseDirectBuffer(wholeFileBuffer);
+               }
+            }
+         }
+      } finally {
+         // on failure, wait for the files read ahead so their buffers aren't leaked
+         SimpleFuture<ByteBuffer> read;
+         while ((read = pendingReads.poll()) != null) {
+            try {
+               final ByteBuffer wholeFileBuffer = read.get();
+               if (wholeFileBuffer != null) {
+                  fileFactory.releaseDirectBuffer(wholeFileBuffer);
+               }
+            } catch (Throwable ignored) {
+            }
+         }
+      }
+   }
+
+   /**
+    * Reads and parses the data files to be loaded on a few threads of its own, up to {@code readAhead} files ahead of
+    * the one being loaded, so that the load itself only replays the records of each file in order.
+    * <p>
+    * The threads are only kept for the duration of the load, as a journal could be loaded and never stopped (e.g. by
+    * tools reading it): the IO executors of the journal would then keep their threads around.
+    * <p>
+    * The records of the files parsed ahead are kept in memory until loaded, so the memory needed is bounded by the
+    * records of {@code readAhead} files.
+    */
+   private final class LoadReadAhead {
+
+      private final int readAhead;
+
+      private final ArrayDeque<SimpleFuture<ParsedJournalFile>> pendingReads;
+
+      private List<JournalFile> files;
+
+      private ThreadPoolExecutor readers;
+
+      private int parallelism;
+
+      private int nextRead;
+
+      LoadReadAhead(int readAhead) {
+         this.readAhead = readAhead;
+         this.pendingReads = new ArrayDeque<>(readAhead + 1);
+      }
+
+      void start(List<JournalFile> files) {
+         this.files = files;
+         if (readAhead > 0 && files.size() > 1) {
+            parallelism = Math.min(readAhead, files.size());
+            ThreadFactory factory = AccessController.doPrivileged((PrivilegedAction<ThreadFactory>) () -> new ActiveMQThreadFactory("ArtemisLoadThread", true, JournalImpl.class.getClassLoader()));
+            readers = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), factory);
+         }
+      }
+
+      /**
+       * Feeds {@code reader} with the records of {@code file}, that has to be the next one of the files to load.
+       */
+      int read(JournalFile file,
+               JournalReaderCallback reader,
+               AtomicReference<ByteBuffer> wholeFileBufferRef) throws Exception {
+         if (readers == null) {
+            return readJournalFile(fileFactory, file, reader, wholeFileBufferRef, false, replaceableRecords);
+         }
+         // the file to be loaded next plus the ones read ahead
+         while (nextRead < files.size() && pendingReads.size() <= parallelism) {
+            final JournalFile fileToRead = files.get(nextRead);
+            final SimpleFuture<ParsedJournalFile> read = new SimpleFutureImpl<>();
+            readers.execute(() -> {
+               try {
+                  read.set(parse(fileToRead));
+               } catch (Throwable e) {
+                  read.fail(e);
+               }
+            });
+            pendingReads.add(read);
+            nextRead++;
+         }
+         final ParsedJournalFile parsed;
+         try {
+            parsed = pendingReads.poll().get();
+         } catch (Throwable e) {
+            ActiveMQJournalLogger.LOGGER.errorReadingFile(e);
+            throw new Exception(e.getMessage(), e);
+         }
+         return parsed.replay(reader);
+      }
+
+      private ParsedJournalFile parse(JournalFile file) throws Exception {
+         final ParsedJournalFile parsed = new ParsedJournalFile();
+         final ByteBuffer wholeFileBuffer = readWholeJournalFile(fileFactory, file);
+         if (wholeFileBuffer != null) {
+            try {
+               parsed.lastDataPos = parseJournalFile(file, wholeFileBuffer, wholeFileBuffer.limit(), parsed, false, replaceableRecords);
+            } finally {
+               fileFactory.releaseDirectBuffer(wholeFileBuffer);
+            }
+         }
+         return parsed;
+      }
+
+      /**
+       * Waits for the files still being read, if the load failed, so that they aren't touched after it.
+       */
+      void close() {
+         SimpleFuture<ParsedJournalFile> read;
+         while ((read = pendingReads.poll()) != null) {
+            try {
+               read.get();
+            } catch (Throwable ignored) {
+            }
+         }
+         if (readers != null) {
+            readers.shutdown();
+         }
+      }
+   }
+
+   /**
+    * The records of a data file parsed ahead of the load, in the order they were read.
+    */
+   private static final class ParsedJournalFile implements JournalReaderCallback {
+
+      @FunctionalInterface
+      private interface ReadRecord {
+
+         void replay(JournalReaderCallback reader) throws Exception;
+      }
+
+      private final List<ReadRecord> readRecords = new ArrayList<>();
+
+      private boolean dataFile;
+
+      private JournalFile file;
+
+      // -1 if the file is damaged, as readJournalFile
+      private int lastDataPos = -1;
+
+      int replay(JournalReaderCallback reader) throws Exception {
+         for (ReadRecord readRecord : readRecords) {
+            readRecord.replay(reader);
+         }
+         if (dataFile) {
+            reader.markAsDataFile(file);
+         }
+         return lastDataPos;
+      }
+
+      @Override
+      public void done() {
+         readRecords.add(JournalReaderCallback::done);
+      }
+
+      @Override
+      public void onReadEventRecord(RecordInfo info) {
+         readRecords.add(reader -> reader.onReadEventRecord(info));
+      }
+
+      @Override
+      public void onReadAddRecord(RecordInfo info) {
+         readRecords.add(reader -> reader.onReadAddRecord(info));
+      }
+
+      @Override
+      public void onReadUpdateRecord(RecordInfo info) {
+         readRecords.add(reader -> reader.onReadUpdateRecord(info));
+      }
+
+      @Override
+      public void onReadDeleteRecord(long recordID) {
+         readRecords.add(reader -> reader.onReadDeleteRecord(recordID));
+      }
+
+      @Override
+      public void onReadAddRecordTX(long transactionID, RecordInfo info) {
+         readRecords.add(reader -> reader.onReadAddRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadUpdateRecordTX(long transactionID, RecordInfo info) {
+         readRecords.add(reader -> reader.onReadUpdateRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadDeleteRecordTX(long transactionID, RecordInfo info) {
+         readRecords.add(reader -> reader.onReadDeleteRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadPrepareRecord(long transactionID, byte[] extraData, int numberOfRecords) {
+         readRecords.add(reader -> reader.onReadPrepareRecord(transactionID, extraData, numberOfRecords));
+      }
+
+      @Override
+      public void onReadCommitRecord(long transactionID, int numberOfRecords) {
+         readRecords.add(reader -> reader.onReadCommitRecord(transactionID, numberOfRecords));
+      }
+
+      @Override
+      public void onReadRollbackRecord(long transactionID) {
+         readRecords.add(reader -> reader.onReadRollbackRecord(transactionID));
+      }
+
+      @Override
+      public void markAsDataFile(JournalFile file) {
+         // it only matters whether the file has data or not
+         this.dataFile = true;
+         this.file = file;
+      }
+   }
+
    /**
     * this private method will return a list of data files that need to be cleaned up. It will get the list, and replace
     * it on the journal structure, while a separate thread would be able to read it, and append to a new list that will
@@ -1892,6 +2243,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // We need to guarantee that the journal is frozen for this short time
       // We don't freeze the journal as we compact, only for the short time where we replace records
       journalLock.writeLock().lock();
+      final long lockedTime = System.nanoTime();
       try {
          if (state != JournalState.LOADED) {
             return null;
@@ -1928,8 +2280,9 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          // We will calculate the new records during compacting, what will take the position the records will take
          // after compacting
-         records.clear();
+         records = new ConcurrentLongHashMap<>();
       } finally {
+         compactStallTime += System.nanoTime() - lockedTime;
          journalLock.writeLock().unlock();
       }
 
@@ -1982,7 +2335,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    private synchronized JournalLoadInformation load(final LoaderCallback loadManager,
                                                     final boolean changeData,
                                                     final JournalState replicationSync,
-                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef) throws Exception {
+                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef,
+                                                    final LoadReadAhead readAhead) throws Exception {
       JournalState state;
       assert (state = this.state) != JournalState.STOPPED &&
          state != JournalState.LOADED &&
@@ -2008,12 +2362,16 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // AtomicLong is used only as a reference, not as an Atomic value
       final AtomicLong maxID = new AtomicLong(-1);
 
+      final long loadStart = System.nanoTime();
+
+      readAhead.start(orderedFiles);
+
       for (final JournalFile file : orderedFiles) {
          logger.trace("Loading file {}", file.getFile().getFileName());
 
          final AtomicBoolean hasData = new AtomicBoolean(false);
 
-         int resultLastPost = JournalImpl.readJournalFile(fileFactory, file, new JournalReaderCallback() {
+         int resultLastPost = readAhead.read(file, new JournalReaderCallback() {
 
             private void checkID(final long id) {
                if (id > maxID.longValue()) {
@@ -2235,7 +2593,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                hasData.lazySet(true);
             }
 
-         }, wholeFileBufferRef, false, this.replaceableRecords);
+         }, wholeFileBufferRef);
 
          if (hasData.get()) {
             lastDataPos = resultLastPost;
@@ -2248,6 +2606,11 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          }
       }
 
+      if (logger.isDebugEnabled()) {
+         logger.debug("Journal {} read {} files with {} records in {} ms, reading ahead {} files", this, orderedFiles.size(),
+                      records.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart), readAhead.readAhead);
+      }
+
       if (replicationSync == JournalState.SYNCING) {
          assert filesRepository.getDataFiles().isEmpty();
          setJournalState(JournalState.SYNCING);
@@ -2305,9 +2668,13 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       }
       // AtomicReference is used only as a reference, not as an Atomic value
       final AtomicReference<ByteBuffer> wholeFileBufferRef = new AtomicReference<>();
+      // the backup loads its journal in the middle of the synchronization with the primary, only to replace its files:
+      // nothing to gain there, while keeping the replication thread waiting on other threads
+      final LoadReadAhead readAhead = new LoadReadAhead(replicationSync != null ? 0 : loadReadAhead);
       try {
-         return load(loadManager, changeData, replicationSync, wholeFileBufferRef);
+         return load(loadManager, changeData, replicationSync, wholeFileBufferRef, readAhead);
       } finally {
+         readAhead.close();
          final ByteBuffer wholeFileBuffer = wholeFileBufferRef.get();
          if (wholeFileBuffer != null) {
             fileFactory.releaseDirectBuffer(wholeFileBuffer);
@@ -2635,6 +3002,28 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return autoReclaim;
    }
 
+   /**
+    * Overrides {@link #LOAD_READ_AHEAD} for the next loads of this journal.
+    */
+   public void setLoadReadAhead(final int loadReadAhead) {
+      this.loadReadAhead = Math.max(0, loadReadAhead);
+   }
+
+   public int getLoadReadAhead() {
+      return loadReadAhead;
+   }
+
+   /**
+    * Overrides {@link #COMPACT_READ_AHEAD} for the next compactions of this journal.
+    */
+   public void setCompactReadAhead(final int compactReadAhead) {
+      this.compactReadAhead = Math.max(0, compactReadAhead);
+   }
+
+   public int getCompactReadAhead() {
+      return compactReadAhead;
+   }
+
    // Only meant to be used in tests.
    @Override
    public String debug() throws Exception {
@@ -2749,6 +3138,36 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return files;
    }
 
+   @Override
+   public Map<String, Integer> getDataFilesLiveSize() {
+      final JournalFile[] dataFiles = filesRepository.getDataFilesArray();
+      final Map<String, Integer> dataFilesLiveSize = new LinkedHashMap<>(dataFiles.length * 2);
+      for (JournalFile file : dataFiles) {
+         dataFilesLiveSize.put(file.getFile().getFileName(), file.getLiveSize());
+      }
+      return dataFilesLiveSize;
+   }
+
+   @Override
+   public long getCompactCount() {
+      return compactCount;
+   }
+
+   @Override
+   public long getCompactTime() {
+      return TimeUnit.NANOSECONDS.toMillis(compactTime);
+   }
+
+   @Override
+   public long getCompactedBytes() {
+      return compactedBytes;
+   }
+
+   @Override
+   public long getCompactStallTime() {
+      return TimeUnit.NANOSECONDS.toMillis(compactStallTime);
+   }
+
    @Override
    public int getFreeFilesCount() {
       return filesRepository.getFreeFilesCount();
@@ -3501,11 +3920,4 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          throw new RuntimeException(e);
       }
    }
-
-   /**
-    * For tests only
-    */
-   public int getCompactCount() {
-      return compactCount;
-   }
 }
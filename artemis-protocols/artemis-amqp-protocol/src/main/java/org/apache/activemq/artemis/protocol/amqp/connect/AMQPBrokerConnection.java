@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.protocol.amqp.connect;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -324,6 +325,15 @@ public class AMQPBrokerConnection implements ClientConnectionLifeCycleListener,
                logger.warn("Error caught while stopping bridge managers instance.", e);
             }
          }
+
+         if (mirrorControllerSource != null) {
+            try {
+               // sends any acks still waiting for a batch to the SNF queue
+               mirrorControllerSource.stop();
+            } catch (Exception e) {
+               logger.warn("Error caught while stopping mirror controller source.", e);
+            }
+         }
       }
    }
 
@@ -538,15 +548,17 @@ public class AMQPBrokerConnection implements ClientConnectionLifeCycleListener,
 
                   final Queue queue = server.locateQueue(getMirrorSNF(replica));
 
-                  final boolean coreTunnelingEnabled = isCoreMessageTunnelingEnabled(replica);
-                  final Symbol[] desiredCapabilities;
+                  final List<Symbol> capabilities = new ArrayList<>(3);
+                  capabilities.add(AMQPMirrorControllerSource.MIRROR_CAPABILITY);
 
-                  if (coreTunnelingEnabled) {
-                     desiredCapabilities = new Symbol[] {AMQPMirrorControllerSource.MIRROR_CAPABILITY,
-                                                         AmqpSupport.CORE_MESSAGE_TUNNELING_SUPPORT};
-                  } else {
-                     desiredCapabilities = new Symbol[] {AMQPMirrorControllerSource.MIRROR_CAPABILITY};
+                  if (isCoreMessageTunnelingEnabled(replica)) {
+                     capabilities.add(AmqpSupport.CORE_MESSAGE_TUNNELING_SUPPORT);
                   }
+                  if (AMQPMirrorControllerSource.isAckBatchingEnabled(replica)) {
+                     capabilities.add(AMQPMirrorControllerSource.ACK_BATCH_CAPABILITY);
+                  }
+
+                  final Symbol[] desiredCapabilities = capabilities.toArray(new Symbol[0]);
 
                   final Symbol[] requiredOfferedCapabilities = new Symbol[] {AMQPMirrorControllerSource.MIRROR_CAPABILITY};
 
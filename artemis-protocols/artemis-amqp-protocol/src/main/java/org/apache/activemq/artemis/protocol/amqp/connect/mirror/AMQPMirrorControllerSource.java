@@ -59,6 +59,7 @@ import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerTarget.getControllerInUse;
+import static org.apache.activemq.artemis.protocol.amqp.proton.AmqpSupport.verifyOfferedCapabilities;
 
 public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> implements MirrorController, ActiveMQComponent {
 
@@ -77,6 +78,7 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
    public static final Symbol CREATE_QUEUE = Symbol.getSymbol("createQueue");
    public static final Symbol DELETE_QUEUE = Symbol.getSymbol("deleteQueue");
    public static final Symbol POST_ACK = Symbol.getSymbol("postAck");
+   public static final Symbol POST_ACK_BATCH = Symbol.getSymbol("postAckBatch");
 
    // Delivery annotation property used on mirror control routing and Ack
    public static final Symbol INTERNAL_ID = Symbol.getSymbol("x-opt-amq-mr-id");
@@ -91,6 +93,20 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
    // Capabilities
    public static final Symbol MIRROR_CAPABILITY = Symbol.getSymbol("amq.mirror");
    public static final Symbol QPID_DISPATCH_WAYPOINT_CAPABILITY = Symbol.valueOf("qd.waypoint");
+   public static final Symbol ACK_BATCH_CAPABILITY = Symbol.getSymbol("amq.mirror.ack.batch");
+
+   /**
+    * Mirror property with the maximum number of acknowledgements sent together in a single
+    * {@link #POST_ACK_BATCH} command. Acknowledgements are sent one by one unless it is greater than 1.
+    */
+   public static final String ACK_BATCH_SIZE = "ack-batch-size";
+
+   /**
+    * Mirror property with the maximum time in milliseconds an acknowledgement waits for a batch to fill.
+    */
+   public static final String ACK_BATCH_WINDOW = "ack-batch-window";
+
+   public static final long DEFAULT_ACK_BATCH_WINDOW = 10;
 
    public static final SimpleString INTERNAL_ID_EXTRA_PROPERTY = SimpleString.of(INTERNAL_ID.toString());
    public static final SimpleString INTERNAL_BROKER_ID_EXTRA_PROPERTY = SimpleString.of(BROKER_ID.toString());
@@ -109,6 +125,12 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
    private final PagedRouteContext pagedRouteContext;
 
+   // null unless acks are configured to be sent in batches
+   private final AckBatcher ackBatcher;
+
+   // only batching acks when the target offered to take them
+   private volatile boolean ackBatching;
+
    final AMQPMirrorBrokerConnectionElement replicaConfig;
 
    boolean started;
@@ -158,6 +180,9 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
    @Override
    public void stop() throws Exception {
+      if (ackBatcher != null) {
+         ackBatcher.flush();
+      }
    }
 
    @Override
@@ -185,6 +210,13 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
       this.sync = replicaConfig.isSync();
       this.pagedRouteContext = new PagedRouteContext(snfQueue);
 
+      if (isAckBatchingEnabled(replicaConfig)) {
+         logger.debug("Mirror {} sending acks in batches of up to {} acks", snfQueue.getName(), getAckBatchSize(replicaConfig));
+         this.ackBatcher = new AckBatcher(server, snfQueue.getAddress().toString(), getAckBatchSize(replicaConfig), getAckBatchWindow(replicaConfig));
+      } else {
+         this.ackBatcher = null;
+      }
+
       if (sync) {
          logger.debug("Mirror is configured to sync, so pageStore={} being enforced to BLOCK, and not page", snfQueue.getName());
          snfQueue.getPagingStore().enforceAddressFullMessagePolicy(AddressFullMessagePolicy.BLOCK);
@@ -198,6 +230,45 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
       return snfQueue;
    }
 
+   @Override
+   public AMQPMirrorControllerSource setLink(Sender link) {
+      super.setLink(link);
+      // a target not offering it would not understand the batches
+      this.ackBatching = ackBatcher != null && link != null && verifyOfferedCapabilities(link, ACK_BATCH_CAPABILITY);
+      return this;
+   }
+
+   /**
+    * Acks are only batched on asynchronous mirrors, as a sync mirror holds every ack until the target confirms it.
+    */
+   public static boolean isAckBatchingEnabled(AMQPMirrorBrokerConnectionElement configuration) {
+      return !configuration.isSync() && getAckBatchSize(configuration) > 1;
+   }
+
+   public static int getAckBatchSize(AMQPMirrorBrokerConnectionElement configuration) {
+      final Object property = configuration.getProperties().get(ACK_BATCH_SIZE);
+
+      if (property instanceof Number number) {
+         return number.intValue();
+      } else if (property instanceof String string) {
+         return Integer.parseInt(string);
+      } else {
+         return 0;
+      }
+   }
+
+   public static long getAckBatchWindow(AMQPMirrorBrokerConnectionElement configuration) {
+      final Object property = configuration.getProperties().get(ACK_BATCH_WINDOW);
+
+      if (property instanceof Number number) {
+         return number.longValue();
+      } else if (property instanceof String string) {
+         return Long.parseLong(string);
+      } else {
+         return DEFAULT_ACK_BATCH_WINDOW;
+      }
+   }
+
    public AMQPBrokerConnection getBrokerConnection() {
       return brokerConnection;
    }
@@ -584,6 +655,12 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
       String nodeID = idSupplier.getServerID(ref); // notice the brokerID will be null for any message generated on this broker.
       long internalID = idSupplier.getID(ref);
+
+      if (ackBatching) {
+         batchAck(tx, ref, nodeID, internalID, reason);
+         return;
+      }
+
       Message messageCommand = createMessage(ref.getQueue().getAddress(), ref.getQueue().getName(), POST_ACK, nodeID, internalID, reason);
       if (sync) {
          OperationContext operationContext;
@@ -619,6 +696,41 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
       }
    }
 
+   /**
+    * The ack joins a batch once it is committed (or stored when not transactional), so the target never gets an ack
+    * that was rolled back. Until the batch is routed to the SNF queue the ack is only held in memory.
+    */
+   private void batchAck(Transaction tx, MessageReference ref, String nodeID, long internalID, AckReason reason) {
+      final SimpleString address = ref.getQueue().getAddress();
+      final SimpleString queue = ref.getQueue().getName();
+      if (tx != null) {
+         getAckBatchOperation(tx).add(ackBatcher, address, queue, nodeID, internalID, reason);
+      } else {
+         server.getStorageManager().afterStoreOperations(new IOCallback() {
+            @Override
+            public void done() {
+               ackBatcher.add(address, queue, nodeID, internalID, reason);
+            }
+
+            @Override
+            public void onError(int errorCode, String errorMessage) {
+            }
+         });
+      }
+   }
+
+   private static MirrorACKBatchOperation getAckBatchOperation(Transaction tx) {
+      MirrorACKBatchOperation batchOperation = (MirrorACKBatchOperation) tx.getProperty(TransactionPropertyIndexes.MIRROR_ACK_BATCH_OPERATION);
+      if (batchOperation == null) {
+         logger.trace("getAckBatchOperation::setting operation on transaction {}", tx);
+         batchOperation = new MirrorACKBatchOperation();
+         tx.putProperty(TransactionPropertyIndexes.MIRROR_ACK_BATCH_OPERATION, batchOperation);
+         tx.addOperation(batchOperation);
+      }
+
+      return batchOperation;
+   }
+
    private MirrorACKOperation getAckOperation(Transaction tx) {
       MirrorACKOperation ackOperation = (MirrorACKOperation) tx.getProperty(TransactionPropertyIndexes.MIRROR_ACK_OPERATION);
       if (ackOperation == null) {
@@ -683,6 +795,44 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
    }
 
+   /**
+    * Holds the acks of a transaction until it is committed. The acks may belong to the batchers of different mirrors
+    * when more than one mirror is configured.
+    */
+   private static final class MirrorACKBatchOperation extends TransactionOperationAbstract {
+      final List<PendingAck> acks = new ArrayList<>();
+
+      void add(AckBatcher batcher, SimpleString address, SimpleString queue, String nodeID, long messageID, AckReason reason) {
+         acks.add(new PendingAck(batcher, address, queue, nodeID, messageID, reason));
+      }
+
+      @Override
+      public void afterCommit(Transaction tx) {
+         logger.debug("MirrorACKBatchOperation::afterCommit batching {} acks", acks.size());
+         for (PendingAck ack : acks) {
+            ack.batcher.add(ack.address, ack.queue, ack.nodeID, ack.messageID, ack.reason);
+         }
+      }
+   }
+
+   private static final class PendingAck {
+      final AckBatcher batcher;
+      final SimpleString address;
+      final SimpleString queue;
+      final String nodeID;
+      final long messageID;
+      final AckReason reason;
+
+      PendingAck(AckBatcher batcher, SimpleString address, SimpleString queue, String nodeID, long messageID, AckReason reason) {
+         this.batcher = batcher;
+         this.address = address;
+         this.queue = queue;
+         this.nodeID = nodeID;
+         this.messageID = messageID;
+         this.reason = reason;
+      }
+   }
+
    private static final class MirrorSendOperation extends TransactionOperationAbstract {
       final List<MessageReference> refs = new ArrayList<>();
 
@@ -16,8 +16,10 @@
  */
 package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 
 import org.apache.activemq.artemis.api.core.ActiveMQAddressDoesNotExistException;
 import org.apache.activemq.artemis.api.core.ActiveMQNonExistentQueueException;
@@ -56,6 +58,7 @@ import org.apache.activemq.artemis.protocol.amqp.proton.AmqpSupport;
 import org.apache.activemq.artemis.protocol.amqp.proton.ProtonAbstractReceiver;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import org.apache.activemq.artemis.utils.pools.MpscPool;
+import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
@@ -80,6 +83,7 @@ import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirro
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_DESTINATION;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.POST_ACK;
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.POST_ACK_BATCH;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.QUEUE;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID_EXTRA_PROPERTY;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.TARGET_QUEUES;
@@ -336,6 +340,19 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
                   if (postAcknowledge(queueName, nodeID, messageID, messageAckOperation, ackReason)) {
                      messageAckOperation = null;
                   }
+               } else if (eventType.equals(POST_ACK_BATCH)) {
+                  String nodeID = (String) AMQPMessageBrokerAccessor.getMessageAnnotationProperty(amqpMessage, BROKER_ID);
+                  AckReason ackReason = AMQPMessageBrokerAccessor.getMessageAnnotationAckReason(amqpMessage);
+
+                  if (nodeID == null) {
+                     nodeID = getRemoteMirrorId();
+                  }
+                  String queueName = (String) AMQPMessageBrokerAccessor.getMessageAnnotationProperty(amqpMessage, QUEUE);
+                  AmqpValue value = (AmqpValue) amqpMessage.getBody();
+                  Binary messageIDs = (Binary) value.getValue();
+                  if (postAcknowledge(queueName, nodeID, messageIDs.getArray(), messageAckOperation, ackReason)) {
+                     messageAckOperation = null;
+                  }
                }
             } else {
                if (sendMessage(amqpMessage, deliveryAnnotations, messageAckOperation)) {
@@ -379,14 +396,20 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
 
       // We need to check if the remote desires to send us tunneled core messages or not, and if
       // we support that we need to offer that back so it knows it can actually do core tunneling.
+      final List<Symbol> offeredCapabilities = new ArrayList<>(3);
+      offeredCapabilities.add(AMQPMirrorControllerSource.MIRROR_CAPABILITY);
+
       if (verifyDesiredCapability(receiver, AmqpSupport.CORE_MESSAGE_TUNNELING_SUPPORT)) {
-         receiver.setOfferedCapabilities(new Symbol[] {AMQPMirrorControllerSource.MIRROR_CAPABILITY,
-                                                       AmqpSupport.CORE_MESSAGE_TUNNELING_SUPPORT});
+         offeredCapabilities.add(AmqpSupport.CORE_MESSAGE_TUNNELING_SUPPORT);
          enableCoreTunneling(); // Sender requested so enable receipt here.
-      } else {
-         receiver.setOfferedCapabilities(new Symbol[]{AMQPMirrorControllerSource.MIRROR_CAPABILITY});
+      }
+      // the source only sends ack batches once we offer to take them
+      if (verifyDesiredCapability(receiver, AMQPMirrorControllerSource.ACK_BATCH_CAPABILITY)) {
+         offeredCapabilities.add(AMQPMirrorControllerSource.ACK_BATCH_CAPABILITY);
       }
 
+      receiver.setOfferedCapabilities(offeredCapabilities.toArray(new Symbol[0]));
+
       topUpCreditIfNeeded();
    }
 
@@ -481,6 +504,34 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
       return true;
    }
 
+   /**
+    * Acks the message IDs of a {@link AMQPMirrorControllerSource#POST_ACK_BATCH} command, encoded as by
+    * {@link AckBatcher#encode(long[], int)}, settling the command once all of them are done.
+    */
+   public boolean postAcknowledge(String queue,
+                                  String nodeID,
+                                  byte[] messageIDs,
+                                  ACKMessageOperation ackMessage,
+                                  AckReason reason) throws Exception {
+      final Queue targetQueue = server.locateQueue(queue);
+
+      if (targetQueue == null) {
+         logger.warn("Queue {} not found on mirror target, ignoring ack batch for queue={}, nodeID={}", queue, queue, nodeID);
+         return false;
+      }
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("Server {} with queue = {} being acked in batch from {} targetQueue = {} reason = {}",
+                      server.getIdentity(), queue, ackMessage, targetQueue, reason);
+      }
+
+      final AckManager localAckManager = getAckManager();
+      AckBatcher.decode(messageIDs, messageID -> localAckManager.ack(nodeID, targetQueue, messageID, reason, true));
+
+      OperationContextImpl.getContext().executeOnCompletion(ackMessage, OperationConsistencyLevel.FULL);
+      return true;
+   }
+
    private void performAck(String nodeID,
                            Queue targetQueue,
                            long messageID,
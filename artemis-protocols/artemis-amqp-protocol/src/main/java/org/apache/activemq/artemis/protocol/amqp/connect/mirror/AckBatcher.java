@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.impl.AckReason;
+import org.apache.qpid.proton.amqp.Binary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.POST_ACK_BATCH;
+
+/**
+ * Accumulates the acknowledgements to be mirrored for up to {@code batchSize} acknowledgements or {@code window}
+ * milliseconds, sending them as a single {@link AMQPMirrorControllerSource#POST_ACK_BATCH} command per queue, node and
+ * reason instead of one {@link AMQPMirrorControllerSource#POST_ACK} command per acknowledgement.
+ * <p>
+ * The message IDs of a command are sent as ranges of consecutive IDs, each range encoded as its distance from the end
+ * of the previous range and its length, both as variable length integers. Consumers acking in order usually ack IDs
+ * close to each other, so a batch takes a couple of bytes per acknowledgement.
+ */
+public class AckBatcher {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   // the maximum size of a long encoded as a variable length integer
+   private static final int MAX_VAR_LONG_SIZE = 10;
+
+   private final ActiveMQServer server;
+
+   private final String snfAddress;
+
+   private final int batchSize;
+
+   private final long window;
+
+   // the groups of acks by queue name, chained on the rare cases of different nodes or reasons on the same queue
+   private Map<SimpleString, Group> groups = new HashMap<>();
+
+   private int size;
+
+   private boolean flushScheduled;
+
+   public AckBatcher(ActiveMQServer server, String snfAddress, int batchSize, long window) {
+      this.server = server;
+      this.snfAddress = snfAddress;
+      this.batchSize = batchSize;
+      this.window = window;
+   }
+
+   public void add(SimpleString address, SimpleString queue, String nodeID, long messageID, AckReason reason) {
+      Map<SimpleString, Group> toSend = null;
+      synchronized (this) {
+         Group group = groups.get(queue);
+         while (group != null && !group.matches(address, nodeID, reason)) {
+            group = group.next;
+         }
+         if (group == null) {
+            group = new Group(address, queue, nodeID, reason);
+            group.next = groups.put(queue, group);
+         }
+         group.add(messageID);
+
+         if (++size >= batchSize) {
+            toSend = takeGroups();
+         } else if (!flushScheduled) {
+            flushScheduled = true;
+            try {
+               server.getScheduledPool().schedule(this::scheduledFlush, window, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+               // the server is stopping, nothing will flush the acks later
+               logger.debug("Sending acks straight away as the scheduled pool rejected the flush", e);
+               flushScheduled = false;
+               toSend = takeGroups();
+            }
+         }
+      }
+
+      if (toSend != null) {
+         send(toSend);
+      }
+   }
+
+   /**
+    * Sends all the acknowledgements currently pending.
+    */
+   public void flush() {
+      Map<SimpleString, Group> toSend;
+      synchronized (this) {
+         toSend = takeGroups();
+      }
+      send(toSend);
+   }
+
+   public synchronized int size() {
+      return size;
+   }
+
+   private void scheduledFlush() {
+      Map<SimpleString, Group> toSend;
+      synchronized (this) {
+         flushScheduled = false;
+         toSend = takeGroups();
+      }
+      send(toSend);
+   }
+
+   private Map<SimpleString, Group> takeGroups() {
+      if (size == 0) {
+         return null;
+      }
+      Map<SimpleString, Group> taken = groups;
+      groups = new HashMap<>();
+      size = 0;
+      return taken;
+   }
+
+   private void send(Map<SimpleString, Group> toSend) {
+      if (toSend == null) {
+         return;
+      }
+      for (Group group : toSend.values()) {
+         for (; group != null; group = group.next) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("Sending {} acks for queue={}, nodeID={}, reason={}", group.size, group.queue, group.nodeID, group.reason);
+            }
+            try {
+               Message message = AMQPMirrorMessageFactory.createMessage(snfAddress, group.address, group.queue, POST_ACK_BATCH, group.nodeID, new Binary(encode(group.ids, group.size)), group.reason);
+               AMQPMirrorControllerSource.routeMirrorCommand(server, message);
+            } catch (Exception e) {
+               logger.warn(e.getMessage(), e);
+            }
+         }
+      }
+   }
+
+   /**
+    * Encodes the given message IDs as ranges of consecutive IDs. The IDs are sorted in place and duplicates collapsed.
+    */
+   public static byte[] encode(long[] ids, int size) {
+      Arrays.sort(ids, 0, size);
+      ByteBuffer buffer = ByteBuffer.allocate(size * 2 * MAX_VAR_LONG_SIZE);
+      long previousEnd = 0;
+      int i = 0;
+      while (i < size) {
+         final long start = ids[i];
+         long end = start;
+         while (++i < size && (ids[i] == end || ids[i] == end + 1)) {
+            end = ids[i];
+         }
+         writeVarLong(buffer, start - previousEnd);
+         writeVarLong(buffer, end - start);
+         previousEnd = end;
+      }
+      return Arrays.copyOf(buffer.array(), buffer.position());
+   }
+
+   /**
+    * Decodes the message IDs encoded by {@link #encode(long[], int)}, in ascending order.
+    */
+   public static void decode(byte[] data, LongConsumer idConsumer) {
+      ByteBuffer buffer = ByteBuffer.wrap(data);
+      long previousEnd = 0;
+      while (buffer.hasRemaining()) {
+         final long start = previousEnd + readVarLong(buffer);
+         final long end = start + readVarLong(buffer);
+         for (long id = start; id != end; id++) {
+            idConsumer.accept(id);
+         }
+         idConsumer.accept(end);
+         previousEnd = end;
+      }
+   }
+
+   private static void writeVarLong(ByteBuffer buffer, long value) {
+      while ((value & ~0x7FL) != 0) {
+         buffer.put((byte) ((value & 0x7F) | 0x80));
+         value >>>= 7;
+      }
+      buffer.put((byte) value);
+   }
+
+   private static long readVarLong(ByteBuffer buffer) {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+         if (shift >= Long.SIZE) {
+            throw new IllegalArgumentException("Malformed variable length integer on ack batch");
+         }
+         b = buffer.get();
+         value |= (long) (b & 0x7F) << shift;
+         shift += 7;
+      }
+      while ((b & 0x80) != 0);
+      return value;
+   }
+
+   private static final class Group {
+
+      final SimpleString address;
+      final SimpleString queue;
+      final String nodeID;
+      final AckReason reason;
+
+      long[] ids = new long[16];
+      int size;
+
+      Group next;
+
+      Group(SimpleString address, SimpleString queue, String nodeID, AckReason reason) {
+         this.address = address;
+         this.queue = queue;
+         this.nodeID = nodeID;
+         this.reason = reason;
+      }
+
+      boolean matches(SimpleString address, String nodeID, AckReason reason) {
+         return this.reason == reason && Objects.equals(this.nodeID, nodeID) && Objects.equals(this.address, address);
+      }
+
+      void add(long id) {
+         if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+         }
+         ids[size++] = id;
+      }
+   }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.LongSupplier;
 
 import io.netty.util.collection.LongObjectHashMap;
@@ -69,6 +70,12 @@ public class AckManager implements ActiveMQComponent {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * How many addresses are retried at the same time, each one on its own paging store executor. With {@code 1} the
+    * addresses are retried one by one.
+    */
+   static final int RETRY_PARALLELISM = Math.max(1, Integer.getInteger(AckManager.class.getName() + ".retryParallelism", Math.min(4, Runtime.getRuntime().availableProcessors())));
+
    final Set<AMQPMirrorControllerTarget> mirrorControllerTargets = new HashSet<>();
    final LongSupplier sequenceGenerator;
    final JournalHashMapProvider<AckRetry, AckRetry, Queue> journalHashMapProvider;
@@ -77,7 +84,7 @@ public class AckManager implements ActiveMQComponent {
    final ReferenceIDSupplier referenceIDSupplier;
    final IOCriticalErrorListener ioCriticalErrorListener;
    volatile MultiStepProgress progress;
-   ActiveMQScheduledComponent scheduledComponent;
+   volatile ActiveMQScheduledComponent scheduledComponent;
 
    final MirrorRegistry mirrorRegistry;
 
@@ -431,17 +438,20 @@ public class AckManager implements ActiveMQComponent {
       return needScanOnPaging;
    }
 
-   public synchronized void addRetry(String nodeID, Queue queue, long messageID, AckReason reason) {
+   // not synchronized: the retries of each queue are on a concurrent map, so targets acking on different queues don't
+   // contend
+   public void addRetry(String nodeID, Queue queue, long messageID, AckReason reason) {
       if (nodeID == null) {
          nodeID = referenceIDSupplier.getDefaultNodeID();
       }
       AckRetry retry = new AckRetry(nodeID, messageID, reason);
       journalHashMapProvider.getMap(queue.getID(), queue).put(retry, retry);
       mirrorRegistry.incrementMirrorAckSize();
-      if (scheduledComponent != null) {
+      ActiveMQScheduledComponent scheduledComponentReference = scheduledComponent;
+      if (scheduledComponentReference != null) {
          // we set the retry delay again in case it was changed.
-         scheduledComponent.setPeriod(configuration.getMirrorAckManagerRetryDelay());
-         scheduledComponent.delay();
+         scheduledComponentReference.setPeriod(configuration.getMirrorAckManagerRetryDelay());
+         scheduledComponentReference.delay();
       }
    }
 
@@ -501,13 +511,18 @@ public class AckManager implements ActiveMQComponent {
    }
    /*
     * The ACKManager will perform the retry on each address's pageStore executor.
-    * It will perform each address individually, one by one.
+    * Up to RETRY_PARALLELISM addresses are retried at the same time, each address being retried by a single thread as
+    * its paging store executor is ordered: the journal records of the retries of a queue are still updated in order.
     */
    class MultiStepProgress {
       Map<SimpleString, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>>> retryList;
 
       Iterator<Map.Entry<SimpleString, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>>>> retryIterator;
 
+      // addresses being retried, plus one while there are more to start
+      final AtomicInteger pending = new AtomicInteger(1);
+
+      final AtomicBoolean done = new AtomicBoolean();
 
       MultiStepProgress(Map<SimpleString, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>>> retryList) {
          this.retryList = retryList;
@@ -515,31 +530,68 @@ public class AckManager implements ActiveMQComponent {
       }
 
       public void nextStep() {
+         for (int i = 0; i < RETRY_PARALLELISM; i++) {
+            startNext();
+         }
+      }
+
+      private void startNext() {
+         Map.Entry<SimpleString, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>>> entry = null;
          try {
-            if (!retryIterator.hasNext()) {
-               logger.trace("Iterator is done on retry, server={}", server);
-               AckManager.this.endRetry();
-            } else {
-               Map.Entry<SimpleString, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>>> entry = retryIterator.next();
-
-               //////////////////////////////////////////////////////////////////////
-               // Issue a deliverAsync on each queue before doing the retries
-               // to make it more likely to hit the ack retry on each queue
-               entry.getValue().values().forEach(this::deliveryAsync);
-
-               PagingStore pagingStore = server.getPagingManager().getPageStore(entry.getKey());
-               pagingStore.execute(() -> {
-                  AckManager.this.retryAddress(entry.getKey(), entry.getValue());
-                  nextStep();
-               });
+            synchronized (this) {
+               if (!done.get() && retryIterator.hasNext()) {
+                  entry = retryIterator.next();
+                  pending.incrementAndGet();
+               }
+            }
+            if (entry == null) {
+               finished();
+               return;
             }
+
+            retry(entry.getKey(), entry.getValue());
          } catch (Throwable e) {
             logger.warn(e.getMessage(), e);
             // there was an exception, I'm clearing the current progress to allow a new one
-            AckManager.this.endRetry();
+            done.set(true);
+            if (entry != null) {
+               pending.decrementAndGet();
+            }
+            finished();
+         }
+      }
+
+      private void retry(SimpleString address, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>> acksToRetry) throws Exception {
+         //////////////////////////////////////////////////////////////////////
+         // Issue a deliverAsync on each queue before doing the retries
+         // to make it more likely to hit the ack retry on each queue
+         acksToRetry.values().forEach(this::deliveryAsync);
+
+         PagingStore pagingStore = server.getPagingManager().getPageStore(address);
+         pagingStore.execute(() -> {
+            try {
+               AckManager.this.retryAddress(address, acksToRetry);
+            } finally {
+               pending.decrementAndGet();
+            }
+            startNext();
+         });
+      }
+
+      // the progress ends once there is nothing more to start and all the addresses started are done
+      private void finished() {
+         if (pending.get() == 1 && (done.get() || !hasNext())) {
+            if (pending.compareAndSet(1, 0)) {
+               logger.trace("Iterator is done on retry, server={}", server);
+               AckManager.this.endRetry();
+            }
          }
       }
 
+      private synchronized boolean hasNext() {
+         return retryIterator.hasNext();
+      }
+
       private void deliveryAsync(JournalHashMap<AckRetry, AckRetry, Queue> map) {
          Queue queue = map.getContext();
          if (queue != null) {
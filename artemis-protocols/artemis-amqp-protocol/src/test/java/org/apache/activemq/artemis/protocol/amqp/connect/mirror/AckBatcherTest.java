@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class AckBatcherTest {
+
+   @Test
+   public void testEncodeRanges() {
+      long[] ids = {1005, 1001, 1002, 1003, 1000, 1003, 2000, 1L << 40};
+      byte[] encoded = AckBatcher.encode(ids, ids.length);
+
+      assertArrayEquals(new long[] {1000, 1001, 1002, 1003, 1005, 2000, 1L << 40}, decode(encoded));
+      // 1000-1003, 1005, 2000 and the last one
+      assertTrue(encoded.length <= 2 + 1 + 1 + 1 + 2 + 1 + 6 + 1, "encoded on " + encoded.length + " bytes");
+   }
+
+   @Test
+   public void testEncodeRandom() {
+      Random random = new Random(1);
+      long[] ids = new long[1000];
+      long id = Math.abs(random.nextLong() >> 8);
+      for (int i = 0; i < ids.length; i++) {
+         id += 1 + random.nextInt(5);
+         ids[i] = id;
+      }
+      long[] expected = ids.clone();
+
+      byte[] encoded = AckBatcher.encode(ids, ids.length);
+
+      assertArrayEquals(expected, decode(encoded));
+      // a couple of bytes per ack on IDs close to each other
+      assertTrue(encoded.length < 3 * ids.length, "encoded on " + encoded.length + " bytes");
+   }
+
+   @Test
+   public void testEncodeEdges() {
+      long[] ids = {Long.MAX_VALUE, -1, Long.MIN_VALUE, 0};
+      assertArrayEquals(new long[] {Long.MIN_VALUE, -1, 0, Long.MAX_VALUE}, decode(AckBatcher.encode(ids, ids.length)));
+
+      assertEquals(0, AckBatcher.encode(new long[0], 0).length);
+      assertEquals(0, decode(new byte[0]).length);
+   }
+
+   private static long[] decode(byte[] encoded) {
+      List<Long> decoded = new ArrayList<>();
+      AckBatcher.decode(encoded, decoded::add);
+      return decoded.stream().mapToLong(Long::longValue).toArray();
+   }
+}
@@ -69,10 +69,14 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
    static class LikeExpression extends UnaryExpression implements BooleanExpression {
 
+      final String like;
+      final int escape;
       Pattern likePattern;
 
       LikeExpression(Expression right, String like, int escape) {
          super(right);
+         this.like = like;
+         this.escape = escape;
 
          StringBuilder regexp = new StringBuilder(like.length() * 2);
          regexp.append("\\A"); // The beginning of the input
@@ -204,64 +208,70 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
    }
 
    private static BooleanExpression doCreateEqual(Expression left, Expression right) {
-      return new ComparisonExpression(left, right) {
+      return new EqualExpression(left, right);
+   }
 
-         @Override
-         public Object evaluate(Filterable message) throws FilterException {
-            Object lv = left.evaluate(message);
-            Object rv = right.evaluate(message);
-
-            // Iff one of the values is null
-            if (lv == null ^ rv == null) {
-               if (lv == null) {
-                  return null;
-               }
-               return Boolean.FALSE;
-            }
-            if (lv == rv || lv.equals(rv)) {
-               return Boolean.TRUE;
-            }
-            if (lv instanceof Comparable l && rv instanceof Comparable r) {
-               return compare(l, r);
+   static class EqualExpression extends ComparisonExpression {
+
+      EqualExpression(Expression left, Expression right) {
+         super(left, right);
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object lv = left.evaluate(message);
+         Object rv = right.evaluate(message);
+
+         // Iff one of the values is null
+         if (lv == null ^ rv == null) {
+            if (lv == null) {
+               return null;
             }
             return Boolean.FALSE;
          }
+         if (lv == rv || lv.equals(rv)) {
+            return Boolean.TRUE;
+         }
+         if (lv instanceof Comparable l && rv instanceof Comparable r) {
+            return compare(l, r);
+         }
+         return Boolean.FALSE;
+      }
 
-         @Override
-         public boolean matches(Filterable message) throws FilterException {
-            Object lv = left.evaluate(message);
-            Object rv = right.evaluate(message);
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         Object lv = left.evaluate(message);
+         Object rv = right.evaluate(message);
 
-            // If one of the values is null
-            if (lv == null ^ rv == null) {
-               return false;
-            }
-            if (lv == rv || lv.equals(rv)) {
-               return true;
-            }
-            if (lv.getClass() == rv.getClass()) {
-               // same class, but 'equals' return false, and they are not the same object
-               // there is no point in doing 'compare'
-               // this case happens often while comparing non equals Strings
-               return false;
-            }
-            if (lv instanceof Comparable<?> l && rv instanceof Comparable<?> r) {
-               Boolean compareResult = compare(l, r);
-               return compareResult != null && compareResult;
-            }
+         // If one of the values is null
+         if (lv == null ^ rv == null) {
             return false;
          }
-
-         @Override
-         protected boolean asBoolean(int answer) {
-            return answer == 0;
+         if (lv == rv || lv.equals(rv)) {
+            return true;
          }
-
-         @Override
-         public String getExpressionSymbol() {
-            return "=";
+         if (lv.getClass() == rv.getClass()) {
+            // same class, but 'equals' return false, and they are not the same object
+            // there is no point in doing 'compare'
+            // this case happens often while comparing non equals Strings
+            return false;
          }
-      };
+         if (lv instanceof Comparable<?> l && rv instanceof Comparable<?> r) {
+            Boolean compareResult = compare(l, r);
+            return compareResult != null && compareResult;
+         }
+         return false;
+      }
+
+      @Override
+      protected boolean asBoolean(int answer) {
+         return answer == 0;
+      }
+
+      @Override
+      public String getExpressionSymbol() {
+         return "=";
+      }
    }
 
    public static BooleanExpression createGreaterThan(final Expression left, final Expression right) {
@@ -0,0 +1,795 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiles a parsed selector into a tree of immutable nodes which can be safely evaluated by many threads at once.
+ * <p>
+ * The compiled tree has the same semantic of the parsed one, but:
+ * <ul>
+ * <li>sub-expressions made only of constants are folded at compile time
+ * <li>{@code AND}/{@code OR} chains are flattened into arrays and their constant operands are pruned
+ * <li>comparisons against a numeric literal are specialized to not box the promoted operands
+ * <li>{@code LIKE} patterns which are a plain literal, prefix, suffix or infix don't use a regular expression
+ * </ul>
+ * Expressions the compiler doesn't know about (e.g. {@code XPATH}) are kept as they are.
+ */
+public final class ExpressionCompiler {
+
+   private ExpressionCompiler() {
+   }
+
+   public static BooleanExpression compile(BooleanExpression expression) {
+      if (expression == null) {
+         return null;
+      }
+      return compileBoolean(expression);
+   }
+
+   private static Expression compileValue(Expression expression) {
+      if (expression instanceof BooleanExpression booleanExpression) {
+         return compileBoolean(booleanExpression);
+      }
+      if (expression instanceof ConstantExpression || expression instanceof PropertyExpression) {
+         return expression;
+      }
+      if (expression instanceof UnaryExpression.NegateExpression negate) {
+         return compileNegate(negate);
+      }
+      if (expression instanceof ArithmeticExpression arithmetic) {
+         return compileArithmetic(arithmetic);
+      }
+      return expression;
+   }
+
+   private static BooleanExpression compileBoolean(BooleanExpression expression) {
+      if (expression instanceof ConstantExpression) {
+         return expression;
+      }
+      if (expression instanceof LogicExpression.ORExpression or) {
+         return compileOr(or);
+      }
+      if (expression instanceof LogicExpression.ANDExpression and) {
+         return compileAnd(and);
+      }
+      if (expression instanceof UnaryExpression.NotExpression not) {
+         return compileNot(not);
+      }
+      if (expression instanceof UnaryExpression.BooleanCastExpression cast) {
+         return compileBooleanCast(cast);
+      }
+      if (expression instanceof UnaryExpression.InExpression in) {
+         return compileIn(in);
+      }
+      if (expression instanceof ComparisonExpression.LikeExpression like) {
+         return compileLike(like);
+      }
+      if (expression instanceof ComparisonExpression.EqualExpression equal) {
+         return compileEqual(equal);
+      }
+      if (expression instanceof ComparisonExpression comparison) {
+         return compileComparison(comparison);
+      }
+      return expression;
+   }
+
+   private static boolean isConstant(Expression expression) {
+      return expression instanceof ConstantExpression;
+   }
+
+   private static Object constantValue(Expression expression) {
+      return ((ConstantExpression) expression).getValue();
+   }
+
+   /**
+    * {@return the constant the given expression evaluates to or {@code null} if it cannot be folded}
+    */
+   private static BooleanExpression foldBoolean(BooleanExpression expression) {
+      final Object value;
+      final boolean matches;
+      try {
+         value = expression.evaluate(null);
+         matches = expression.matches(null);
+      } catch (Exception e) {
+         // leave it to the evaluation to report the failure
+         return null;
+      }
+      if (value != null && !(value instanceof Boolean)) {
+         return null;
+      }
+      // folding is safe only if both evaluations agree
+      if (matches != (value != null && (Boolean) value)) {
+         return null;
+      }
+      return value == null ? ConstantExpression.NULL : (Boolean) value ? ConstantExpression.TRUE : ConstantExpression.FALSE;
+   }
+
+   private static Expression foldValue(Expression expression) {
+      try {
+         return new ConstantExpression(expression.evaluate(null));
+      } catch (Exception e) {
+         // leave it to the evaluation to report the failure
+         return null;
+      }
+   }
+
+   private static BooleanExpression compileOr(LogicExpression.ORExpression or) {
+      final List<BooleanExpression> operands = new ArrayList<>(or.expressions.size());
+      boolean someNulls = false;
+      for (BooleanExpression expression : or.expressions) {
+         final BooleanExpression operand = compileBoolean(expression);
+         if (isConstant(operand)) {
+            final Object value = constantValue(operand);
+            if (value == null) {
+               someNulls = true;
+               continue;
+            }
+            if (value == Boolean.FALSE) {
+               continue;
+            }
+            if (value == Boolean.TRUE) {
+               if (operands.isEmpty()) {
+                  return ConstantExpression.TRUE;
+               }
+               // the next operands would never be evaluated
+               operands.add(operand);
+               break;
+            }
+         }
+         operands.add(operand);
+      }
+      if (operands.isEmpty()) {
+         return someNulls ? ConstantExpression.NULL : ConstantExpression.FALSE;
+      }
+      if (operands.size() == 1 && !someNulls) {
+         return operands.get(0);
+      }
+      return new Or(or, operands.toArray(new BooleanExpression[0]), someNulls);
+   }
+
+   private static BooleanExpression compileAnd(LogicExpression.ANDExpression and) {
+      final List<BooleanExpression> operands = new ArrayList<>(and.expressions.size());
+      boolean someNulls = false;
+      for (BooleanExpression expression : and.expressions) {
+         final BooleanExpression operand = compileBoolean(expression);
+         if (isConstant(operand)) {
+            final Object value = constantValue(operand);
+            if (value == null) {
+               someNulls = true;
+               continue;
+            }
+            if (value == Boolean.TRUE) {
+               continue;
+            }
+            if (value == Boolean.FALSE) {
+               if (operands.isEmpty()) {
+                  return ConstantExpression.FALSE;
+               }
+               // the next operands would never be evaluated
+               operands.add(operand);
+               break;
+            }
+         }
+         operands.add(operand);
+      }
+      if (operands.isEmpty()) {
+         return someNulls ? ConstantExpression.NULL : ConstantExpression.TRUE;
+      }
+      if (operands.size() == 1 && !someNulls) {
+         return operands.get(0);
+      }
+      return new And(and, operands.toArray(new BooleanExpression[0]), someNulls);
+   }
+
+   private static BooleanExpression compileNot(UnaryExpression.NotExpression not) {
+      final BooleanExpression operand = compileBoolean((BooleanExpression) not.getRight());
+      if (isConstant(operand)) {
+         final BooleanExpression folded = foldBoolean(not);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      return new Not(not, operand);
+   }
+
+   private static BooleanExpression compileBooleanCast(UnaryExpression.BooleanCastExpression cast) {
+      final Expression operand = compileValue(cast.getRight());
+      if (isConstant(operand)) {
+         final BooleanExpression folded = foldBoolean(cast);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      return new BooleanCast(cast, operand);
+   }
+
+   private static BooleanExpression compileIn(UnaryExpression.InExpression in) {
+      return new In(in, compileValue(in.getRight()), new HashSet<>(in.inList), in.not);
+   }
+
+   private static BooleanExpression compileLike(ComparisonExpression.LikeExpression like) {
+      final Expression operand = compileValue(like.getRight());
+      if (isConstant(operand)) {
+         final BooleanExpression folded = foldBoolean(like);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      final String pattern = like.like;
+      // the escape character and single character wildcard require the regular expression
+      if (pattern.indexOf('_') >= 0 || (like.escape != -1 && pattern.indexOf((char) like.escape) >= 0)) {
+         return new Like(like, operand);
+      }
+      int start = 0;
+      while (start < pattern.length() && pattern.charAt(start) == '%') {
+         start++;
+      }
+      int end = pattern.length();
+      while (end > start && pattern.charAt(end - 1) == '%') {
+         end--;
+      }
+      final String literal = pattern.substring(start, end);
+      if (literal.indexOf('%') >= 0) {
+         return new Like(like, operand);
+      }
+      final boolean anyPrefix = start > 0;
+      final boolean anySuffix = end < pattern.length();
+      final int kind;
+      if (anyPrefix && anySuffix) {
+         kind = SimpleLike.CONTAINS;
+      } else if (anyPrefix) {
+         kind = SimpleLike.ENDS_WITH;
+      } else if (anySuffix) {
+         kind = SimpleLike.STARTS_WITH;
+      } else {
+         kind = SimpleLike.EQUALS;
+      }
+      return new SimpleLike(like, operand, literal, kind);
+   }
+
+   private static BooleanExpression compileEqual(ComparisonExpression.EqualExpression equal) {
+      final Expression left = compileValue(equal.getLeft());
+      final Expression right = compileValue(equal.getRight());
+      if (isConstant(left) && isConstant(right)) {
+         final BooleanExpression folded = foldBoolean(equal);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      if (isConstant(right) && constantValue(right) == null) {
+         return new IsNull(equal, left);
+      }
+      return new Equal(equal, left, right);
+   }
+
+   private static BooleanExpression compileComparison(ComparisonExpression comparison) {
+      final Expression left = compileValue(comparison.getLeft());
+      final Expression right = compileValue(comparison.getRight());
+      if (isConstant(left) && isConstant(right)) {
+         final BooleanExpression folded = foldBoolean(comparison);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      if (isConstant(right)) {
+         final Object value = constantValue(right);
+         if (value instanceof Integer || value instanceof Long || value instanceof Double) {
+            return new NumericComparison(comparison, left, (Number) value);
+         }
+      }
+      return new Comparison(comparison, left, right);
+   }
+
+   private static Expression compileNegate(UnaryExpression.NegateExpression negate) {
+      final Expression operand = compileValue(negate.getRight());
+      if (isConstant(operand)) {
+         final Expression folded = foldValue(negate);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      return new Negate(negate, operand);
+   }
+
+   private static Expression compileArithmetic(ArithmeticExpression arithmetic) {
+      final Expression left = compileValue(arithmetic.getLeft());
+      final Expression right = compileValue(arithmetic.getRight());
+      if (isConstant(left) && isConstant(right)) {
+         final Expression folded = foldValue(arithmetic);
+         if (folded != null) {
+            return folded;
+         }
+      }
+      return new Arithmetic(arithmetic, left, right);
+   }
+
+   /**
+    * Base class of the compiled nodes: they print as the expression they have been compiled from.
+    */
+   private abstract static class CompiledExpression implements Expression {
+
+      private final Expression source;
+
+      CompiledExpression(Expression source) {
+         this.source = source;
+      }
+
+      @Override
+      public String toString() {
+         return source.toString();
+      }
+   }
+
+   private abstract static class CompiledBooleanExpression extends CompiledExpression implements BooleanExpression {
+
+      CompiledBooleanExpression(Expression source) {
+         super(source);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return evaluate(message) == Boolean.TRUE;
+      }
+   }
+
+   private static final class Or extends CompiledBooleanExpression {
+
+      private final BooleanExpression[] operands;
+      private final boolean someNulls;
+
+      Or(Expression source, BooleanExpression[] operands, boolean someNulls) {
+         super(source);
+         this.operands = operands;
+         this.someNulls = someNulls;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         boolean someNulls = this.someNulls;
+         for (BooleanExpression operand : operands) {
+            Boolean lv = (Boolean) operand.evaluate(message);
+            if (lv != null && lv.booleanValue()) {
+               return Boolean.TRUE;
+            }
+            if (lv == null) {
+               someNulls = true;
+            }
+         }
+         if (someNulls) {
+            return null;
+         }
+         return Boolean.FALSE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         for (BooleanExpression operand : operands) {
+            if (operand.matches(message)) {
+               return true;
+            }
+         }
+         return false;
+      }
+   }
+
+   private static final class And extends CompiledBooleanExpression {
+
+      private final BooleanExpression[] operands;
+      private final boolean someNulls;
+
+      And(Expression source, BooleanExpression[] operands, boolean someNulls) {
+         super(source);
+         this.operands = operands;
+         this.someNulls = someNulls;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         boolean someNulls = this.someNulls;
+         for (BooleanExpression operand : operands) {
+            Boolean lv = (Boolean) operand.evaluate(message);
+            if (lv != null && !lv.booleanValue()) {
+               return Boolean.FALSE;
+            }
+            if (lv == null) {
+               someNulls = true;
+            }
+         }
+         if (someNulls) {
+            return null;
+         }
+         return Boolean.TRUE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         if (someNulls) {
+            // an unknown operand never matches
+            return false;
+         }
+         for (BooleanExpression operand : operands) {
+            if (!operand.matches(message)) {
+               return false;
+            }
+         }
+         return true;
+      }
+   }
+
+   private static final class Not extends CompiledBooleanExpression {
+
+      private final BooleanExpression operand;
+
+      Not(Expression source, BooleanExpression operand) {
+         super(source);
+         this.operand = operand;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Boolean lvalue = (Boolean) operand.evaluate(message);
+         if (lvalue == null) {
+            return null;
+         }
+         return !lvalue.booleanValue();
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         Boolean lvalue = (Boolean) operand.evaluate(message);
+         if (lvalue == null) {
+            return false;
+         }
+         return !lvalue;
+      }
+   }
+
+   private static final class BooleanCast extends CompiledBooleanExpression {
+
+      private final Expression operand;
+
+      BooleanCast(Expression source, Expression operand) {
+         super(source);
+         this.operand = operand;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object rvalue = operand.evaluate(message);
+         if (rvalue == null) {
+            return null;
+         }
+         if (rvalue.getClass() != Boolean.class) {
+            return Boolean.FALSE;
+         }
+         return ((Boolean) rvalue).booleanValue();
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         Object rvalue = operand.evaluate(message);
+         return rvalue != null && rvalue.getClass() == Boolean.class && (Boolean) rvalue;
+      }
+   }
+
+   private static final class In extends CompiledBooleanExpression {
+
+      private final Expression operand;
+      private final Set<Object> inList;
+      private final boolean not;
+
+      In(Expression source, Expression operand, Set<Object> inList, boolean not) {
+         super(source);
+         this.operand = operand;
+         this.inList = inList;
+         this.not = not;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object rvalue = operand.evaluate(message);
+         if (rvalue == null || rvalue.getClass() != String.class) {
+            return null;
+         }
+         return inList.contains(rvalue) ^ not;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         Object rvalue = operand.evaluate(message);
+         return rvalue != null && rvalue.getClass() == String.class && (inList.contains(rvalue) ^ not);
+      }
+   }
+
+   private static final class Like extends CompiledBooleanExpression {
+
+      private final ComparisonExpression.LikeExpression like;
+      private final Expression operand;
+
+      Like(ComparisonExpression.LikeExpression like, Expression operand) {
+         super(like);
+         this.like = like;
+         this.operand = operand;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object rv = operand.evaluate(message);
+         if (rv == null) {
+            return null;
+         }
+         if (!(rv instanceof String)) {
+            return Boolean.FALSE;
+         }
+         return like.likePattern.matcher((String) rv).matches() ? Boolean.TRUE : Boolean.FALSE;
+      }
+   }
+
+   private static final class SimpleLike extends CompiledBooleanExpression {
+
+      static final int EQUALS = 0;
+      static final int STARTS_WITH = 1;
+      static final int ENDS_WITH = 2;
+      static final int CONTAINS = 3;
+
+      private final Expression operand;
+      private final String literal;
+      private final int kind;
+
+      SimpleLike(Expression source, Expression operand, String literal, int kind) {
+         super(source);
+         this.operand = operand;
+         this.literal = literal;
+         this.kind = kind;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object rv = operand.evaluate(message);
+         if (rv == null) {
+            return null;
+         }
+         if (!(rv instanceof String)) {
+            return Boolean.FALSE;
+         }
+         return matches((String) rv) ? Boolean.TRUE : Boolean.FALSE;
+      }
+
+      private boolean matches(String value) {
+         return switch (kind) {
+            case EQUALS -> value.equals(literal);
+            case STARTS_WITH -> value.startsWith(literal);
+            case ENDS_WITH -> value.endsWith(literal);
+            default -> value.contains(literal);
+         };
+      }
+   }
+
+   private static final class IsNull extends CompiledBooleanExpression {
+
+      private final Expression operand;
+
+      IsNull(Expression source, Expression operand) {
+         super(source);
+         this.operand = operand;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         return operand.evaluate(message) == null ? Boolean.TRUE : Boolean.FALSE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return operand.evaluate(message) == null;
+      }
+   }
+
+   private static final class Equal extends CompiledBooleanExpression {
+
+      private final ComparisonExpression.EqualExpression equal;
+      private final Expression left;
+      private final Expression right;
+
+      Equal(ComparisonExpression.EqualExpression equal, Expression left, Expression right) {
+         super(equal);
+         this.equal = equal;
+         this.left = left;
+         this.right = right;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object lv = left.evaluate(message);
+         Object rv = right.evaluate(message);
+         if (lv == null ^ rv == null) {
+            if (lv == null) {
+               return null;
+            }
+            return Boolean.FALSE;
+         }
+         if (lv == rv || lv.equals(rv)) {
+            return Boolean.TRUE;
+         }
+         if (lv instanceof Comparable l && rv instanceof Comparable r) {
+            return equal.compare(l, r);
+         }
+         return Boolean.FALSE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         Object lv = left.evaluate(message);
+         Object rv = right.evaluate(message);
+         if (lv == null ^ rv == null) {
+            return false;
+         }
+         if (lv == rv || lv.equals(rv)) {
+            return true;
+         }
+         if (lv.getClass() == rv.getClass()) {
+            return false;
+         }
+         if (lv instanceof Comparable<?> l && rv instanceof Comparable<?> r) {
+            return equal.compare(l, r) == Boolean.TRUE;
+         }
+         return false;
+      }
+   }
+
+   private static final class Comparison extends CompiledBooleanExpression {
+
+      private final ComparisonExpression comparison;
+      private final Expression left;
+      private final Expression right;
+
+      Comparison(ComparisonExpression comparison, Expression left, Expression right) {
+         super(comparison);
+         this.comparison = comparison;
+         this.left = left;
+         this.right = right;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Comparable lv = (Comparable) left.evaluate(message);
+         if (lv == null) {
+            return null;
+         }
+         Comparable rv = (Comparable) right.evaluate(message);
+         if (rv == null) {
+            return null;
+         }
+         if (lv.getClass() == rv.getClass()) {
+            return comparison.asBoolean(lv.compareTo(rv)) ? Boolean.TRUE : Boolean.FALSE;
+         }
+         return comparison.compare(lv, rv);
+      }
+   }
+
+   /**
+    * A comparison against an {@link Integer}, {@link Long} or {@link Double} literal: it applies the same numeric
+    * promotion of {@link ComparisonExpression#compare(Comparable, Comparable)} on primitive values.
+    */
+   private static final class NumericComparison extends CompiledBooleanExpression {
+
+      private final ComparisonExpression comparison;
+      private final Expression left;
+      private final Comparable constant;
+      private final Class<?> constantClass;
+      private final long longConstant;
+      private final double doubleConstant;
+
+      NumericComparison(ComparisonExpression comparison, Expression left, Number constant) {
+         super(comparison);
+         this.comparison = comparison;
+         this.left = left;
+         this.constant = (Comparable) constant;
+         this.constantClass = constant.getClass();
+         this.longConstant = constant.longValue();
+         this.doubleConstant = constant.doubleValue();
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Comparable lv = (Comparable) left.evaluate(message);
+         if (lv == null) {
+            return null;
+         }
+         final Class<?> lc = lv.getClass();
+         if (lc == constantClass) {
+            return asBoolean(lv.compareTo(constant));
+         }
+         if (constantClass == Integer.class) {
+            if (lc == Long.class) {
+               return asBoolean(Long.compare((Long) lv, longConstant));
+            }
+            if (lc == Double.class) {
+               return asBoolean(Double.compare((Double) lv, doubleConstant));
+            }
+            if (lc == Short.class || lc == Byte.class) {
+               return asBoolean(Integer.compare(((Number) lv).intValue(), (int) longConstant));
+            }
+         } else if (constantClass == Long.class) {
+            if (lc == Integer.class || lc == Short.class || lc == Byte.class) {
+               return asBoolean(Long.compare(((Number) lv).longValue(), longConstant));
+            }
+            if (lc == Double.class) {
+               return asBoolean(Double.compare((Double) lv, doubleConstant));
+            }
+         } else if (lc == Integer.class || lc == Long.class || lc == Float.class || lc == Short.class || lc == Byte.class) {
+            return asBoolean(Double.compare(((Number) lv).doubleValue(), doubleConstant));
+         }
+         return comparison.compare(lv, constant);
+      }
+
+      private Boolean asBoolean(int answer) {
+         return comparison.asBoolean(answer) ? Boolean.TRUE : Boolean.FALSE;
+      }
+   }
+
+   private static final class Negate extends CompiledExpression {
+
+      private final Expression operand;
+
+      Negate(Expression source, Expression operand) {
+         super(source);
+         this.operand = operand;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object rvalue = operand.evaluate(message);
+         if (rvalue instanceof Number number) {
+            return UnaryExpression.negate(number);
+         }
+         return null;
+      }
+   }
+
+   private static final class Arithmetic extends CompiledExpression {
+
+      private final ArithmeticExpression arithmetic;
+      private final Expression left;
+      private final Expression right;
+
+      Arithmetic(ArithmeticExpression arithmetic, Expression left, Expression right) {
+         super(arithmetic);
+         this.arithmetic = arithmetic;
+         this.left = left;
+         this.right = right;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         Object lvalue = left.evaluate(message);
+         if (lvalue == null) {
+            return null;
+         }
+         Object rvalue = right.evaluate(message);
+         if (rvalue == null) {
+            return null;
+         }
+         return arithmetic.evaluate(lvalue, rvalue);
+      }
+   }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * A condition on a single message property which must hold for a selector to match, e.g. {@code region = 'EU'} for
+ * {@code region = 'EU' AND price > 10}.
+ * <p>
+ * It's either a set of {@code String} values the property must be equal to or a numeric range, whose bounds are always
+ * considered inclusive. Being a necessary (but not sufficient) condition it can be used to rule out selectors without
+ * evaluating them:
+ * <ul>
+ * <li>a missing property never matches
+ * <li>a {@code String} property which isn't one of the {@link #getValues() values} never matches
+ * <li>a numeric property outside of the range never matches
+ * </ul>
+ * Any other property value can still match, depending on the type conversions of the selector.
+ */
+public final class IndexablePredicate {
+
+   private final SimpleString property;
+   private final Set<String> values;
+   private final Number lowerBound;
+   private final Number upperBound;
+
+   private IndexablePredicate(SimpleString property, Set<String> values, Number lowerBound, Number upperBound) {
+      this.property = property;
+      this.values = values;
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+   }
+
+   public SimpleString getProperty() {
+      return property;
+   }
+
+   /**
+    * {@return the values a {@code String} property must be equal to or {@code null} if this is a range}
+    */
+   public Set<String> getValues() {
+      return values;
+   }
+
+   public boolean isRange() {
+      return values == null;
+   }
+
+   /**
+    * {@return the inclusive lower bound of the range or {@code null} if unbounded}
+    */
+   public Number getLowerBound() {
+      return lowerBound;
+   }
+
+   /**
+    * {@return the inclusive upper bound of the range or {@code null} if unbounded}
+    */
+   public Number getUpperBound() {
+      return upperBound;
+   }
+
+   /**
+    * Collects the predicates of the top-level conjunction of {@code expression}: equalities against a
+    * {@code String} literal, {@code IN} lists and comparisons against numeric literals. Ranges on the same property are
+    * merged.
+    *
+    * @return an empty list if the selector has no indexable predicate
+    */
+   public static List<IndexablePredicate> of(BooleanExpression expression) {
+      if (expression == null) {
+         return Collections.emptyList();
+      }
+      final List<IndexablePredicate> equalities = new ArrayList<>();
+      final Map<SimpleString, IndexablePredicate> ranges = new LinkedHashMap<>();
+      collect(expression, equalities, ranges);
+      if (equalities.isEmpty() && ranges.isEmpty()) {
+         return Collections.emptyList();
+      }
+      final List<IndexablePredicate> predicates = new ArrayList<>(equalities.size() + ranges.size());
+      predicates.addAll(equalities);
+      predicates.addAll(ranges.values());
+      return predicates;
+   }
+
+   private static void collect(BooleanExpression expression,
+                               List<IndexablePredicate> equalities,
+                               Map<SimpleString, IndexablePredicate> ranges) {
+      if (expression instanceof LogicExpression.ANDExpression and) {
+         for (BooleanExpression operand : and.expressions) {
+            collect(operand, equalities, ranges);
+         }
+      } else if (expression instanceof UnaryExpression.InExpression in) {
+         if (!in.not && in.getRight() instanceof PropertyExpression property) {
+            final Set<String> values = new HashSet<>();
+            for (Object value : in.inList) {
+               values.add((String) value);
+            }
+            equalities.add(new IndexablePredicate(property.getSimpleName(), Collections.unmodifiableSet(values), null, null));
+         }
+      } else if (expression instanceof ComparisonExpression comparison) {
+         final PropertyExpression property;
+         final Object literal;
+         final boolean reversed;
+         if (comparison.getLeft() instanceof PropertyExpression left && comparison.getRight() instanceof ConstantExpression right) {
+            property = left;
+            literal = right.getValue();
+            reversed = false;
+         } else if (comparison.getLeft() instanceof ConstantExpression left && comparison.getRight() instanceof PropertyExpression right) {
+            property = right;
+            literal = left.getValue();
+            reversed = true;
+         } else {
+            return;
+         }
+         if (comparison instanceof ComparisonExpression.EqualExpression) {
+            if (literal instanceof String value) {
+               equalities.add(new IndexablePredicate(property.getSimpleName(), Collections.singleton(value), null, null));
+            } else if (isIndexable(literal)) {
+               addRange(ranges, property.getSimpleName(), (Number) literal, (Number) literal);
+            }
+         } else if (isIndexable(literal)) {
+            final String symbol = comparison.getExpressionSymbol();
+            final boolean greater = symbol.startsWith(">");
+            if (!greater && !symbol.startsWith("<")) {
+               return;
+            }
+            // "literal < property" is a lower bound for property
+            if (greater ^ reversed) {
+               addRange(ranges, property.getSimpleName(), (Number) literal, null);
+            } else {
+               addRange(ranges, property.getSimpleName(), null, (Number) literal);
+            }
+         }
+      }
+   }
+
+   private static boolean isIndexable(Object literal) {
+      return literal instanceof Integer || literal instanceof Long || literal instanceof Double;
+   }
+
+   private static void addRange(Map<SimpleString, IndexablePredicate> ranges,
+                                SimpleString property,
+                                Number lowerBound,
+                                Number upperBound) {
+      final IndexablePredicate existing = ranges.get(property);
+      if (existing != null) {
+         lowerBound = narrower(existing.lowerBound, lowerBound, true);
+         upperBound = narrower(existing.upperBound, upperBound, false);
+      }
+      ranges.put(property, new IndexablePredicate(property, null, lowerBound, upperBound));
+   }
+
+   private static Number narrower(Number current, Number bound, boolean lower) {
+      if (current == null) {
+         return bound;
+      }
+      if (bound == null) {
+         return current;
+      }
+      final int compare = Double.compare(bound.doubleValue(), current.doubleValue());
+      return (lower ? compare > 0 : compare < 0) ? bound : current;
+   }
+
+   @Override
+   public String toString() {
+      if (values != null) {
+         return property + " IN " + values;
+      }
+      return property + " BETWEEN " + (lowerBound == null ? "-INF" : lowerBound) + " AND " + (upperBound == null ? "+INF" : upperBound);
+   }
+}
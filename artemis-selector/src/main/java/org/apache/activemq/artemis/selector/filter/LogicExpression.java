@@ -95,7 +95,7 @@ public abstract class LogicExpression implements BooleanExpression {
    @Override
    public abstract boolean matches(Filterable message) throws FilterException;
 
-   private static class ORExpression extends LogicExpression {
+   static class ORExpression extends LogicExpression {
 
       ORExpression(BooleanExpression lvalue, BooleanExpression rvalue) {
          super(lvalue, rvalue);
@@ -136,7 +136,7 @@ public abstract class LogicExpression implements BooleanExpression {
       }
    }
 
-   private static class ANDExpression extends LogicExpression {
+   static class ANDExpression extends LogicExpression {
 
       ANDExpression(BooleanExpression lvalue, BooleanExpression rvalue) {
          super(lvalue, rvalue);
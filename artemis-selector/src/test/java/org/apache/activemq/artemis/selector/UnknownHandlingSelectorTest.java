@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.selector;
 
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
 import org.junit.jupiter.api.BeforeEach;
@@ -169,6 +170,9 @@ public class UnknownHandlingSelectorTest {
       assertNotNull(selector, "Created a valid selector");
       boolean value = selector.matches(message);
       assertEquals(expected, value, "Selector for: " + text);
+      BooleanExpression compiled = ExpressionCompiler.compile(selector);
+      assertEquals(expected, compiled.matches(message), "Compiled selector for: " + text);
+      assertEquals(selector.evaluate(message), compiled.evaluate(message), "Compiled selector for: " + text);
    }
 
    private static String not(String selector) {
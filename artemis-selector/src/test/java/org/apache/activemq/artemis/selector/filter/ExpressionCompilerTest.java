@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionCompilerTest {
+
+   private static Filterable filterable(Map<String, Object> properties) {
+      return new Filterable() {
+         @Override
+         public <T> T getBodyAs(Class<T> type) {
+            return null;
+         }
+
+         @Override
+         public Object getProperty(SimpleString name) {
+            return properties.get(name.toString());
+         }
+
+         @Override
+         public Object getLocalConnectionId() {
+            return null;
+         }
+      };
+   }
+
+   private static void assertSameResult(String selector, Filterable message) throws Exception {
+      BooleanExpression interpreted = SelectorParser.parse(selector);
+      BooleanExpression compiled = ExpressionCompiler.compile(interpreted);
+      assertEquals(interpreted.matches(message), compiled.matches(message), selector);
+      assertEquals(interpreted.evaluate(message), compiled.evaluate(message), selector);
+   }
+
+   @Test
+   public void testConstantFolding() throws Exception {
+      assertSame(ConstantExpression.TRUE, ExpressionCompiler.compile(SelectorParser.parse("1 + 2 = 3")));
+      assertSame(ConstantExpression.FALSE, ExpressionCompiler.compile(SelectorParser.parse("2 * 3 < 5")));
+      assertSame(ConstantExpression.TRUE, ExpressionCompiler.compile(SelectorParser.parse("TRUE OR foo = 'bar'")));
+      assertSame(ConstantExpression.FALSE, ExpressionCompiler.compile(SelectorParser.parse("FALSE AND foo = 'bar'")));
+      assertSame(ConstantExpression.FALSE, ExpressionCompiler.compile(SelectorParser.parse("NOT (-1 < 0)")));
+      assertSame(ConstantExpression.TRUE, ExpressionCompiler.compile(SelectorParser.parse("'abc' LIKE 'a%'")));
+   }
+
+   @Test
+   public void testPrunedOperands() throws Exception {
+      Map<String, Object> properties = new HashMap<>();
+      properties.put("foo", "bar");
+      Filterable message = filterable(properties);
+      BooleanExpression compiled = ExpressionCompiler.compile(SelectorParser.parse("1 = 1 AND foo = 'bar'"));
+      assertEquals(SelectorParser.parse("foo = 'bar'").toString(), compiled.toString());
+      assertEquals(true, compiled.matches(message));
+      assertSameResult("foo = 'bar' OR 1 = 2", message);
+      assertSameResult("unknown = 'bar' OR 1 = 2", message);
+      assertSameResult("foo = 'bar' AND 1 = 2", message);
+   }
+
+   @Test
+   public void testNumericPromotion() throws Exception {
+      Map<String, Object> properties = new HashMap<>();
+      properties.put("byteProp", (byte) 10);
+      properties.put("shortProp", (short) 10);
+      properties.put("intProp", 10);
+      properties.put("longProp", 10L);
+      properties.put("floatProp", 10f);
+      properties.put("doubleProp", 10d);
+      properties.put("stringProp", "10");
+      Filterable message = filterable(properties);
+      for (String property : properties.keySet()) {
+         for (String constant : new String[]{"9", "10", "11", "10000000000", "9.5", "10.0", "10.5"}) {
+            for (String operator : new String[]{"=", "<>", "<", "<=", ">", ">="}) {
+               assertSameResult(property + " " + operator + " " + constant, message);
+               assertSameResult("convert_string_expressions:" + property + " " + operator + " " + constant, message);
+            }
+         }
+      }
+   }
+
+   @Test
+   public void testSimpleLike() throws Exception {
+      Map<String, Object> properties = new HashMap<>();
+      properties.put("text", "the quick\nbrown fox");
+      properties.put("number", 1);
+      Filterable message = filterable(properties);
+      for (String pattern : new String[]{"the quick\nbrown fox", "the%", "%fox", "%quick%", "%", "%%", "", "fox%", "%the", "%dog%", "the_quick%", "%!%%' ESCAPE '!"}) {
+         assertSameResult("text LIKE '" + pattern + "'", message);
+         assertSameResult("text NOT LIKE '" + pattern + "'", message);
+         assertSameResult("number LIKE '" + pattern + "'", message);
+         assertSameResult("unknown LIKE '" + pattern + "'", message);
+      }
+   }
+
+   @Test
+   public void testInAndNull() throws Exception {
+      Map<String, Object> properties = new HashMap<>();
+      properties.put("region", "EU");
+      properties.put("number", 1);
+      Filterable message = filterable(properties);
+      assertSameResult("region IN ('US', 'EU')", message);
+      assertSameResult("region NOT IN ('US', 'EU', 'APAC', 'LATAM', 'MEA', 'ANZ')", message);
+      assertSameResult("number IN ('US', 'EU')", message);
+      assertSameResult("unknown IN ('US', 'EU')", message);
+      assertSameResult("region IS NULL", message);
+      assertSameResult("unknown IS NULL", message);
+      assertSameResult("unknown IS NOT NULL", message);
+      assertSameResult("number BETWEEN 0 AND 2", message);
+      assertSameResult("number + 1 NOT BETWEEN 0 AND 2", message);
+      assertSameResult("-number > -2", message);
+   }
+}
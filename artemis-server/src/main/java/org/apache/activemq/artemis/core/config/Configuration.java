@@ -1280,6 +1280,15 @@ public interface Configuration {
 
    Configuration setGlobalMaxSize(long globalMaxSize);
 
+   /**
+    * Whether the messages sent by core clients are held in direct memory rather than on the heap, released as soon as
+    * they are acknowledged from every queue they were routed to. They are still accounted against
+    * {@link #getGlobalMaxSize()}, which should then be set explicitly as its default is relative to the heap size.
+    */
+   boolean isOffHeapMessageBodies();
+
+   Configuration setOffHeapMessageBodies(boolean offHeapMessageBodies);
+
    Configuration setGlobalMaxMessages(long globalMaxMessages);
 
    long getGlobalMaxMessages();
@@ -466,6 +466,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean mirrorPageTransaction = ActiveMQDefaultConfiguration.getMirrorPageTransaction();
 
+   private boolean offHeapMessageBodies = ActiveMQDefaultConfiguration.getDefaultOffHeapMessageBodies();
+
    private int globalMaxSizePercentOfJvmMaxMemory = ActiveMQDefaultConfiguration.DEFAULT_GLOBAL_MAX_MEMORY_PERCENT;
 
    /**
@@ -1265,6 +1267,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return globalMaxSize;
    }
 
+   @Override
+   public boolean isOffHeapMessageBodies() {
+      return offHeapMessageBodies;
+   }
+
+   @Override
+   public ConfigurationImpl setOffHeapMessageBodies(boolean offHeapMessageBodies) {
+      this.offHeapMessageBodies = offHeapMessageBodies;
+      return this;
+   }
+
    @Override
    public int getGlobalMaxSizePercentOfJvmMaxMemory() {
       return globalMaxSizePercentOfJvmMaxMemory;
@@ -23,6 +23,8 @@ public class CacheConfiguration implements Serializable {
 
    private int timeout = 0;
 
+   private int maxSize = 0;
+
    public CacheConfiguration() {
    }
 
@@ -43,4 +45,13 @@ public class CacheConfiguration implements Serializable {
       this.timeout = timeout;
       return this;
    }
+
+   public int getMaxSize() {
+      return maxSize;
+   }
+
+   public CacheConfiguration setMaxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+   }
 }
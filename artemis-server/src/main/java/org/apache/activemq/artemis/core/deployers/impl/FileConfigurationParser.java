@@ -365,6 +365,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String GLOBAL_MAX_SIZE_PERCENT_JVM_MAX_MEM = "global-max-size-percent-of-jvm-max-memory";
 
+   private static final String OFF_HEAP_MESSAGE_BODIES = "off-heap-message-bodies";
+
    private static final String GLOBAL_MAX_MESSAGES = "global-max-messages";
 
    public static final String MAX_DISK_USAGE = "max-disk-usage";
@@ -400,6 +402,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String INITIAL_QUEUE_BUFFER_SIZE = "initial-queue-buffer-size";
 
+   private static final String CONCURRENT_DELIVERY = "concurrent-delivery";
+
    private boolean validateAIO = false;
 
    private boolean printPageMaxSizeUsed = false;
@@ -525,6 +529,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setGlobalMaxMessages(globalMaxMessages);
 
+      config.setOffHeapMessageBodies(getBoolean(e, OFF_HEAP_MESSAGE_BODIES, config.isOffHeapMessageBodies()));
+
       config.setMinDiskFree(getTextBytesAsLongBytes(e, MIN_DISK_FREE, config.getMinDiskFree(), MINUS_ONE_OR_GT_ZERO));
 
       config.setMaxDiskUsage(getInteger(e, MAX_DISK_USAGE, config.getMaxDiskUsage(), PERCENTAGE_OR_MINUS_ONE));
@@ -1466,6 +1472,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setIDCacheSize(GE_ZERO.validate(ID_CACHE_SIZE, XMLUtil.parseInt(child)).intValue());
          } else if (INITIAL_QUEUE_BUFFER_SIZE.equalsIgnoreCase(name)) {
             addressSettings.setInitialQueueBufferSize(POSITIVE_POWER_OF_TWO.validate(INITIAL_QUEUE_BUFFER_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (CONCURRENT_DELIVERY.equalsIgnoreCase(name)) {
+            addressSettings.setConcurrentDelivery(XMLUtil.parseBoolean(child));
          }
       }
       return setting;
@@ -3042,6 +3050,9 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       cacheConfiguration.setTimeout(getInteger(e, "timeout",
          cacheConfiguration.getTimeout(), GE_ZERO));
+
+      cacheConfiguration.setMaxSize(getInteger(e, "max-size",
+         cacheConfiguration.getMaxSize(), GE_ZERO));
    }
 
    private void parsePolicyConfiguration(final Element e, final NamedPropertyConfiguration policyConfiguration) throws ClassNotFoundException {
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.filter.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -27,8 +28,10 @@ import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.federation.address.FederatedAddress;
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.IndexablePredicate;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import org.slf4j.Logger;
@@ -53,15 +56,30 @@ import static org.apache.activemq.artemis.api.core.FilterConstants.NATIVE_MESSAG
  * <li>Any other identifiers that appear in a filter expression represent header values for the message
  * </ul>
  * String values must be set as {@code SimpleString}, not {@code java.lang.String}
+ * <p>
+ * By default the parsed selector is interpreted and matches are serialized. When the {@code artemis.filter.compiled}
+ * system property is {@code true} the selector is compiled by {@link ExpressionCompiler} instead: the compiled form is
+ * immutable, hence concurrent matches don't need any lock.
  */
 public class FilterImpl implements Filter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   public static final String COMPILED_FILTERS_PROPERTY = "artemis.filter.compiled";
+
+   private static final boolean COMPILED_FILTERS = Boolean.parseBoolean(System.getProperty(COMPILED_FILTERS_PROPERTY, Boolean.FALSE.toString()));
+
+   // compiled filters reuse the same wrapper per thread instead of allocating one for each message
+   private static final ThreadLocal<FilterableServerMessage> FILTERABLE_SERVER_MESSAGE = ThreadLocal.withInitial(FilterableServerMessage::new);
+
    private final SimpleString sfilterString;
 
    private final BooleanExpression booleanExpression;
 
+   private final boolean compiled;
+
+   private final List<IndexablePredicate> indexablePredicates;
+
    /**
     * {@return null if {@code filterStr} is null or an empty String and a valid filter else}
     * @throws ActiveMQException if the string does not correspond to a valid filter
@@ -75,6 +93,15 @@ public class FilterImpl implements Filter {
     * @throws ActiveMQException if the string does not correspond to a valid filter
     */
    public static Filter createFilter(final SimpleString filterStr) throws ActiveMQException {
+      return createFilter(filterStr, COMPILED_FILTERS);
+   }
+
+   /**
+    * {@return null if {@code filterStr} is null or an empty String and a valid filter else}
+    * @param compiled if {@code true} the filter is compiled and can be matched concurrently, see {@link ExpressionCompiler}
+    * @throws ActiveMQException if the string does not correspond to a valid filter
+    */
+   public static Filter createFilter(final SimpleString filterStr, final boolean compiled) throws ActiveMQException {
       if (filterStr == null || filterStr.isEmpty()) {
          return null;
       }
@@ -87,12 +114,21 @@ public class FilterImpl implements Filter {
          logger.debug("Invalid filter", e);
          throw ActiveMQMessageBundle.BUNDLE.invalidFilter(filterStr, e);
       }
-      return new FilterImpl(filterStr, booleanExpression);
+      final List<IndexablePredicate> indexablePredicates = IndexablePredicate.of(booleanExpression);
+      if (compiled) {
+         booleanExpression = ExpressionCompiler.compile(booleanExpression);
+      }
+      return new FilterImpl(filterStr, booleanExpression, compiled, indexablePredicates);
    }
 
-   private FilterImpl(final SimpleString str, final BooleanExpression expression) {
+   private FilterImpl(final SimpleString str,
+                      final BooleanExpression expression,
+                      final boolean compiled,
+                      final List<IndexablePredicate> indexablePredicates) {
       sfilterString = str;
       this.booleanExpression = expression;
+      this.compiled = compiled;
+      this.indexablePredicates = indexablePredicates;
    }
 
    // Filter implementation ---------------------------------------------------------------------
@@ -102,9 +138,56 @@ public class FilterImpl implements Filter {
       return sfilterString;
    }
 
+   public boolean isCompiled() {
+      return compiled;
+   }
+
+   /**
+    * {@return the predicates which must hold for a message to match this filter, see {@link IndexablePredicate}}
+    */
+   public List<IndexablePredicate> getIndexablePredicates() {
+      return indexablePredicates;
+   }
+
+   /**
+    * {@return the value of the {@code id} property of {@code message}, as seen by the filter expression}
+    */
+   public static Object getProperty(final Message message, final SimpleString id) {
+      Object result = null;
+      if (id.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
+         result = getHeaderFieldValue(message, id);
+      }
+      if (id.startsWith(FederatedAddress.HDR_HOPS)) {
+         byte[] bytes = message.getExtraBytesProperty(FederatedAddress.HDR_HOPS);
+         result = bytes == null ? null : ByteUtil.bytesToInt(bytes);
+      }
+      if (result == null) {
+         result = message.getObjectPropertyForFilter(id);
+      }
+      if (result != null) {
+         if (result.getClass() == SimpleString.class) {
+            result = result.toString();
+         }
+      }
+      return result;
+   }
+
    @Override
    public boolean match(final Message message) {
-      return match(new FilterableServerMessage(message));
+      if (!compiled) {
+         return match(new FilterableServerMessage(message));
+      }
+      final FilterableServerMessage filterable = FILTERABLE_SERVER_MESSAGE.get();
+      if (filterable.message != null) {
+         // a match nested into another one on the same thread
+         return doMatch(new FilterableServerMessage(message));
+      }
+      filterable.message = message;
+      try {
+         return doMatch(filterable);
+      } finally {
+         filterable.message = null;
+      }
    }
 
    @Override
@@ -114,7 +197,16 @@ public class FilterImpl implements Filter {
 
 
    @Override
-   public synchronized boolean match(final Filterable filterable) {
+   public boolean match(final Filterable filterable) {
+      if (compiled) {
+         return doMatch(filterable);
+      }
+      synchronized (this) {
+         return doMatch(filterable);
+      }
+   }
+
+   private boolean doMatch(final Filterable filterable) {
       try {
          return booleanExpression.matches(filterable);
       } catch (Exception e) {
@@ -219,7 +311,10 @@ public class FilterImpl implements Filter {
 
    private static class FilterableServerMessage implements Filterable {
 
-      private final Message message;
+      private Message message;
+
+      private FilterableServerMessage() {
+      }
 
       private FilterableServerMessage(Message message) {
          this.message = message;
@@ -227,23 +322,7 @@ public class FilterImpl implements Filter {
 
       @Override
       public Object getProperty(SimpleString id) {
-         Object result = null;
-         if (id.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
-            result = getHeaderFieldValue(message, id);
-         }
-         if (id.startsWith(FederatedAddress.HDR_HOPS)) {
-            byte[] bytes = message.getExtraBytesProperty(FederatedAddress.HDR_HOPS);
-            result = bytes == null ? null : ByteUtil.bytesToInt(bytes);
-         }
-         if (result == null) {
-            result = message.getObjectPropertyForFilter(id);
-         }
-         if (result != null) {
-            if (result.getClass() == SimpleString.class) {
-               result = result.toString();
-            }
-         }
-         return result;
+         return FilterImpl.getProperty(message, id);
       }
 
       @Override
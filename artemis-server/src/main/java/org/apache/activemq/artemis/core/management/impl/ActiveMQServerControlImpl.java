@@ -78,6 +78,7 @@ import org.apache.activemq.artemis.core.config.DivertConfiguration;
 import org.apache.activemq.artemis.core.config.HAPolicyConfiguration;
 import org.apache.activemq.artemis.core.config.TransformerConfiguration;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.management.impl.view.AddressView;
 import org.apache.activemq.artemis.core.management.impl.view.ConnectionView;
 import org.apache.activemq.artemis.core.management.impl.view.ConsumerField;
@@ -96,6 +97,7 @@ import org.apache.activemq.artemis.core.postoffice.Bindings;
 import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
 import org.apache.activemq.artemis.core.security.CheckType;
 import org.apache.activemq.artemis.core.security.Role;
@@ -144,6 +146,7 @@ import org.apache.activemq.artemis.json.JsonObjectBuilder;
 import org.apache.activemq.artemis.logs.AuditLogger;
 import org.apache.activemq.artemis.marker.WebServerComponentMarker;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.spi.core.remoting.Acceptor;
 import org.apache.activemq.artemis.spi.core.security.ActiveMQBasicSecurityManager;
 import org.apache.activemq.artemis.spi.core.security.jaas.PropertiesLoginModuleConfigurator;
 import org.apache.activemq.artemis.utils.JsonLoader;
@@ -815,6 +818,91 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       }
    }
 
+   @Override
+   public double getJournalLiveRatio() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalLiveRatio(this.server);
+      }
+      checkStarted();
+      final Journal journal = getMessageJournal();
+      return journal == null ? 1 : journal.getLiveRatio();
+   }
+
+   @Override
+   public long getJournalReclaimableBytes() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalReclaimableBytes(this.server);
+      }
+      checkStarted();
+      final Journal journal = getMessageJournal();
+      return journal == null ? 0 : journal.getReclaimableBytes();
+   }
+
+   @Override
+   public long getJournalCompactCount() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalCompactCount(this.server);
+      }
+      checkStarted();
+      final Journal journal = getMessageJournal();
+      return journal == null ? 0 : journal.getCompactCount();
+   }
+
+   @Override
+   public long getJournalCompactTime() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalCompactTime(this.server);
+      }
+      checkStarted();
+      final Journal journal = getMessageJournal();
+      return journal == null ? 0 : journal.getCompactTime();
+   }
+
+   @Override
+   public long getJournalCompactedBytes() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalCompactedBytes(this.server);
+      }
+      checkStarted();
+      final Journal journal = getMessageJournal();
+      return journal == null ? 0 : journal.getCompactedBytes();
+   }
+
+   @Override
+   public long getJournalCompactStallTime() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalCompactStallTime(this.server);
+      }
+      checkStarted();
+      final Journal journal = getMessageJournal();
+      return journal == null ? 0 : journal.getCompactStallTime();
+   }
+
+   @Override
+   public String listJournalDataFilesAsJSON() throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.listJournalDataFilesAsJSON(this.server);
+      }
+      checkStarted();
+
+      JsonArrayBuilder array = JsonLoader.createArrayBuilder();
+      final Journal journal = getMessageJournal();
+      if (journal != null) {
+         final int fileSize = journal.getFileSize();
+         journal.getDataFilesLiveSize().forEach((fileName, liveSize) -> array.add(JsonLoader.createObjectBuilder()
+                                                                                     .add("fileName", fileName)
+                                                                                     .add("fileSize", fileSize)
+                                                                                     .add("liveSize", liveSize)
+                                                                                     .add("liveRatio", liveSize / (double) fileSize)));
+      }
+      return array.build().toString();
+   }
+
+   private Journal getMessageJournal() {
+      final StorageManager serverStorageManager = server.getStorageManager();
+      return serverStorageManager == null ? null : serverStorageManager.getMessageJournal();
+   }
+
    @Override
    public int  getAddressMemoryUsagePercentage() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -2898,6 +2986,27 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       return getNetworkConfigsAsJSON(configuration.getAcceptorConfigurations());
    }
 
+   @Override
+   public String getAcceptorTransportsAsJSON() throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getAcceptorTransportsAsJSON(this.server);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         JsonObjectBuilder obj = JsonLoader.createObjectBuilder();
+         for (Map.Entry<String, Acceptor> entry : server.getRemotingService().getAcceptors().entrySet()) {
+            if (entry.getValue() instanceof NettyAcceptor nettyAcceptor && nettyAcceptor.getAcceptorType() != null) {
+               obj.add(entry.getKey(), nettyAcceptor.getAcceptorType());
+            }
+         }
+         return obj.build().toString();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    private String getNetworkConfigsAsJSON(Collection<TransportConfiguration> configs) throws Exception {
       checkStarted();
 
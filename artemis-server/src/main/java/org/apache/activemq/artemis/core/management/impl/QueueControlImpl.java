@@ -21,6 +21,7 @@ import javax.management.MBeanOperationInfo;
 import javax.management.openmbean.CompositeData;
 import javax.transaction.xa.Xid;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -785,9 +786,42 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       int i = 0;
       for (MessageReference ref : refs) {
          Message message = ref.getMessage();
-         messages[i++] = message.toMap(attributeSizeLimit);
+         if (holdMessage(message)) {
+            try {
+               messages[i++] = message.toMap(attributeSizeLimit);
+            } finally {
+               message.usageDown();
+            }
+         }
+      }
+      return i == messages.length ? messages : Arrays.copyOf(messages, i);
+   }
+
+   /**
+    * Management doesn't hold a reference to the messages it lists, so they may be acknowledged and released while
+    * they are read. A message is held by taking a usage on it, unless it was released already.
+    *
+    * @return {@code true} if the message was held, the caller has to call {@link Message#usageDown()} once done with
+    * it
+    */
+   private static boolean holdMessage(Message message) {
+      if (message.usageUpIfNotReleased()) {
+         return true;
+      }
+      message.usageDown();
+      return false;
+   }
+
+   private static Map<String, Object> toMap(MessageReference ref, int attributeSizeLimit) {
+      final Message message = ref.getMessage();
+      if (!holdMessage(message)) {
+         return null;
+      }
+      try {
+         return message.toMap(attributeSizeLimit);
+      } finally {
+         message.usageDown();
       }
-      return messages;
    }
 
    @Override
@@ -847,10 +881,15 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
          try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
             try {
                while (iterator.hasNext() && count++ < limit) {
-                  MessageReference ref = iterator.next();
-                  if (filter == null || filter.match(ref.getMessage())) {
-                     Message message = ref.getMessage();
-                     messages.add(message.toMap(attributeSizeLimit));
+                  Message message = iterator.next().getMessage();
+                  if (holdMessage(message)) {
+                     try {
+                        if (filter == null || filter.match(message)) {
+                           messages.add(message.toMap(attributeSizeLimit));
+                        }
+                     } finally {
+                        message.usageDown();
+                     }
                   }
                }
             } catch (NoSuchElementException ignored) {
@@ -897,7 +936,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
          final int attributeSizeLimit = addressSettingsRepository.getMatch(address).getManagementMessageAttributeSizeLimit();
          MessageReference firstMessage = queue.peekFirstMessage();
          if (firstMessage != null) {
-            return firstMessage.getMessage().toMap(attributeSizeLimit);
+            return toMap(firstMessage, attributeSizeLimit);
          } else {
             return null;
          }
@@ -922,7 +961,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       try {
          MessageReference firstMessage = queue.peekFirstMessage();
          if (firstMessage != null) {
-            return firstMessage.getMessage().toMap();
+            return toMap(firstMessage, -1);
          } else {
             return null;
          }
@@ -947,7 +986,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       try {
          MessageReference firstScheduledMessage = queue.peekFirstScheduledMessage();
          if (firstScheduledMessage != null) {
-            return firstScheduledMessage.getMessage().toMap();
+            return toMap(firstScheduledMessage, -1);
          } else {
             return null;
          }
@@ -1096,8 +1135,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
                try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
                   try {
                      while (iterator.hasNext() && count++ < limit) {
-                        Message message = iterator.next().getMessage();
-                        internalComputeMessage(result, filter, groupByProperty, message);
+                        internalComputeMessage(result, filter, groupByProperty, iterator.next().getMessage());
                      }
                   } catch (NoSuchElementException ignored) {
                      // this could happen through paging browsing
@@ -1155,14 +1193,21 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
    }
 
    private void internalComputeMessage(Map<String, Long> result, Filter filter, SimpleString groupByProperty, Message message) {
-      if (filter == null || filter.match(message)) {
-         if (groupByProperty == null) {
-            result.compute(null, (k, v) -> v == null ? 1 : ++v);
-         } else {
-            Object value = message.getObjectPropertyForFilter(groupByProperty);
-            String valueStr = value == null ? null : value.toString();
-            result.compute(valueStr, (k, v) -> v == null ? 1 : ++v);
+      if (!holdMessage(message)) {
+         return;
+      }
+      try {
+         if (filter == null || filter.match(message)) {
+            if (groupByProperty == null) {
+               result.compute(null, (k, v) -> v == null ? 1 : ++v);
+            } else {
+               Object value = message.getObjectPropertyForFilter(groupByProperty);
+               String valueStr = value == null ? null : value.toString();
+               result.compute(valueStr, (k, v) -> v == null ? 1 : ++v);
+            }
          }
+      } finally {
+         message.usageDown();
       }
    }
 
@@ -1765,12 +1810,20 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
                try {
                   while (iterator.hasNext() && index < end) {
                      MessageReference ref = iterator.next();
-                     if (thefilter == null || thefilter.match(ref.getMessage())) {
-                        if (index >= start) {
-                           c.add(ref.getMessage().toCompositeData(attributeSizeLimit, ref.getDeliveryCount()));
+                     Message message = ref.getMessage();
+                     if (!holdMessage(message)) {
+                        continue;
+                     }
+                     try {
+                        if (thefilter == null || thefilter.match(message)) {
+                           if (index >= start) {
+                              c.add(message.toCompositeData(attributeSizeLimit, ref.getDeliveryCount()));
+                           }
+                           //we only increase the index if we add a message, otherwise we could stop before we get to a filtered message
+                           index++;
                         }
-                        //we only increase the index if we add a message, otherwise we could stop before we get to a filtered message
-                        index++;
+                     } finally {
+                        message.usageDown();
                      }
                   }
                } catch (NoSuchElementException ignored) {
@@ -1824,9 +1877,15 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
                try {
                   while (iterator.hasNext() && currentPageSize++ < limit) {
                      MessageReference ref = iterator.next();
-                     if (thefilter == null || thefilter.match(ref.getMessage())) {
-                        c.add(ref.getMessage().toCompositeData(attributeSizeLimit, ref.getDeliveryCount()));
-
+                     Message message = ref.getMessage();
+                     if (holdMessage(message)) {
+                        try {
+                           if (thefilter == null || thefilter.match(message)) {
+                              c.add(message.toCompositeData(attributeSizeLimit, ref.getDeliveryCount()));
+                           }
+                        } finally {
+                           message.usageDown();
+                        }
                      }
                   }
                } catch (NoSuchElementException ignored) {
@@ -22,6 +22,7 @@ import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
@@ -174,4 +175,11 @@ public interface PagingManager extends ActiveMQComponent, HierarchicalRepository
       return false;
    }
 
+   /**
+    * The broker wide cache of released pages, or {@code null} if pages are not cached once released.
+    */
+   default SharedPageCache getSharedPageCache() {
+      return null;
+   }
+
 }
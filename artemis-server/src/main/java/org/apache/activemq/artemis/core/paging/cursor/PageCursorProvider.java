@@ -67,4 +67,15 @@ public interface PageCursorProvider {
 
    boolean isRebuildDone();
 
+   /**
+    * Reads the page asynchronously ahead of the subscriptions getting to it. Concurrent requests for the same page are
+    * only read once.
+    */
+   void readAhead(long pageId);
+
+   /**
+    * @return how many pages a subscription reads ahead as it moves to a new page, {@code 0} if read ahead is disabled
+    */
+   int getReadAheadPages();
+
 }
@@ -20,6 +20,7 @@ import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -35,6 +36,7 @@ import org.apache.activemq.artemis.core.paging.cursor.PageSubscriptionCounter;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReferenceImpl;
 import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.transaction.Transaction;
@@ -42,6 +44,7 @@ import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.SimpleFutureImpl;
 import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashSet;
 import org.apache.activemq.artemis.utils.collections.LinkedList;
 import org.apache.activemq.artemis.utils.collections.LongHashSet;
 import org.slf4j.Logger;
@@ -51,6 +54,14 @@ public class PageCursorProviderImpl implements PageCursorProvider {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * Number of pages read ahead of a subscription as it moves to a new page. 0, the default, disables read ahead.
+    * <p>
+    * Read ahead is opt-in, and has to be sized along with the shared page cache: the pages read ahead have to fit in
+    * half of it, so none are read ahead with the default page and cache sizes. See {@link #getReadAheadPages()}.
+    */
+   public static final int READ_AHEAD_PAGES = Integer.parseInt(System.getProperty("artemis.paging.read.ahead.pages", "0"));
+
    /**
     * As an optimization, avoid subsequent schedules as they are unnecessary
     */
@@ -68,10 +79,28 @@ public class PageCursorProviderImpl implements PageCursorProvider {
 
    private final ConcurrentLongHashMap<PageSubscription> activeCursors = new ConcurrentLongHashMap<>();
 
+   // pages with a read ahead scheduled, so subscriptions on the same address won't schedule the same read twice
+   private final ConcurrentLongHashSet pendingReadAhead = new ConcurrentLongHashSet();
+
+   private final Executor readAheadExecutor;
+
+   private volatile int readAheadPages = READ_AHEAD_PAGES;
+
    public PageCursorProviderImpl(final PagingStore pagingStore,
                                  final StorageManager storageManager) {
+      this(pagingStore, storageManager, null);
+   }
+
+   /**
+    * @param readAheadExecutor where the pages are read ahead, so the reads won't hold the store executor. {@code null}
+    *                          disables read ahead
+    */
+   public PageCursorProviderImpl(final PagingStore pagingStore,
+                                 final StorageManager storageManager,
+                                 final Executor readAheadExecutor) {
       this.pagingStore = pagingStore;
       this.storageManager = storageManager;
+      this.readAheadExecutor = readAheadExecutor;
    }
 
    @Override
@@ -114,6 +143,53 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       return new PagedReferenceImpl(msg, subscription);
    }
 
+   @Override
+   public void readAhead(long pageId) {
+      // the page is kept in memory by the shared page cache until the subscription gets to it
+      if (readAheadExecutor == null || pagingStore.getPagingManager().getSharedPageCache() == null || !pendingReadAhead.add(pageId)) {
+         return;
+      }
+      try {
+         // as for the subscriptions reading their pages, a cleanup racing with the read is sorted out by usePage and by
+         // the page cache, which won't keep a deleted page
+         readAheadExecutor.execute(() -> {
+            try {
+               if (pagingStore.isStarted() && pageId >= pagingStore.getFirstPage() && pageId < pagingStore.getCurrentWritingPage()) {
+                  logger.trace("Reading ahead page {} on address {}", pageId, pagingStore.getAddress());
+                  Page page = pagingStore.usePage(pageId, true, false);
+                  if (page != null) {
+                     page.usageDown();
+                  }
+               }
+            } catch (Throwable e) {
+               logger.debug("Error reading ahead page {} on address {}", pageId, pagingStore.getAddress(), e);
+            } finally {
+               pendingReadAhead.remove(pageId);
+            }
+         });
+      } catch (Throwable e) {
+         pendingReadAhead.remove(pageId);
+         logger.debug(e.getMessage(), e);
+      }
+   }
+
+   public void setReadAheadPages(int readAheadPages) {
+      this.readAheadPages = Math.max(0, readAheadPages);
+   }
+
+   @Override
+   public int getReadAheadPages() {
+      final SharedPageCache sharedPageCache = pagingStore.getPagingManager().getSharedPageCache();
+      final int pages = readAheadPages;
+      if (pages == 0 || readAheadExecutor == null || sharedPageCache == null) {
+         return 0;
+      }
+      // a page read ahead must stay in the cache until the subscription gets to it, otherwise it is read twice: its
+      // decoded messages take at least the size of the file, and half of the cache is left to the released pages
+      final long pageSize = Math.max(1, pagingStore.getPageSizeBytes());
+      return (int) Math.min(pages, sharedPageCache.getMaxSize() / 2 / pageSize);
+   }
+
    @Override
    public void processReload() throws Exception {
       Collection<PageSubscription> cursorList = this.activeCursors.values();
@@ -1383,14 +1383,34 @@ public final class PageSubscriptionImpl implements PageSubscription {
                   logger.trace("CursorIterator::internalGetNext:: moving to currentPage {}", nextPage);
                }
                initPage(nextPage);
+               readAhead(nextPage);
             } else {
                return null;
             }
          }
       }
 
+      /**
+       * Called as the subscription moves to a new page, so the reads ahead follow the pace the pages are consumed.
+       */
+      private void readAhead(long page) {
+         final int readAheadPages = cursorProvider.getReadAheadPages();
+         for (int i = 0; i < readAheadPages; i++) {
+            page = getNextPage(page);
+            // the current writing page is already in memory
+            if (page < 0 || page >= pageStore.getCurrentWritingPage()) {
+               return;
+            }
+            cursorProvider.readAhead(page);
+         }
+      }
+
       private long getNextPage() {
-         long page = currentPage.getPageId() + 1;
+         return getNextPage(currentPage.getPageId());
+      }
+
+      private long getNextPage(long currentPageId) {
+         long page = currentPageId + 1;
 
          while (page <= pageStore.getCurrentWritingPage()) {
             PageCursorInfo info = locatePageInfo(page);
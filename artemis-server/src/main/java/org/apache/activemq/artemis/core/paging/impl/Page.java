@@ -83,6 +83,10 @@ public final class Page  {
 
    private volatile long size;
 
+   private volatile boolean deleted;
+
+   private volatile long memoryEstimate = -1;
+
    private final StorageManager storageManager;
 
    private final SimpleString storeName;
@@ -220,6 +224,42 @@ public final class Page  {
       return file != null && file.isOpen();
    }
 
+   public boolean isDeleted() {
+      return deleted;
+   }
+
+   /**
+    * @return {@code true} if the messages were already read (or written) and are held in memory
+    */
+   public boolean isLoaded() {
+      return messages != null;
+   }
+
+   /**
+    * @return the heap used by the messages held in memory, {@code 0} if they weren't read; only meant to be called
+    * once the page is no longer written, as the estimate is computed once
+    */
+   public long getMemoryEstimate() {
+      long memoryEstimate = this.memoryEstimate;
+      if (memoryEstimate < 0) {
+         final LinkedList<PagedMessage> messages = this.messages;
+         if (messages == null) {
+            return 0;
+         }
+         memoryEstimate = 0;
+         try (LinkedListIterator<PagedMessage> iterator = messages.iterator()) {
+            while (iterator.hasNext()) {
+               final PagedMessage message = iterator.next();
+               if (message.getMessage() != null) {
+                  memoryEstimate += message.getMessage().getMemoryEstimate();
+               }
+            }
+         }
+         this.memoryEstimate = memoryEstimate;
+      }
+      return memoryEstimate;
+   }
+
 
    public boolean open(boolean createFile) throws Exception {
       boolean isOpen = false;
@@ -256,6 +296,8 @@ public final class Page  {
    }
 
    public boolean delete(final LinkedList<PagedMessage> messages) throws Exception {
+      deleted = true;
+
       if (storageManager != null) {
          storageManager.pageDeleted(storeName, pageId);
       }
@@ -26,6 +26,9 @@ import java.lang.invoke.MethodHandles;
 
 /**
  * This is a simple cache where we keep Page objects only while they are being used.
+ * <p>
+ * When a {@link SharedPageCache} is available, pages released by their last user are handed over to it and restored
+ * from there if they are used again before being evicted.
  */
 public class PageCache {
 
@@ -33,8 +36,15 @@ public class PageCache {
 
    private final PagingStore owner;
 
+   private final SharedPageCache sharedCache;
+
    public PageCache(PagingStore owner) {
+      this(owner, null);
+   }
+
+   public PageCache(PagingStore owner, SharedPageCache sharedCache) {
       this.owner = owner;
+      this.sharedCache = sharedCache;
    }
 
    private final LongObjectHashMap<Page> usedPages = new LongObjectHashMap<>();
@@ -43,6 +53,40 @@ public class PageCache {
       return usedPages.get(pageID);
    }
 
+   /**
+    * Brings a released page back from the {@link SharedPageCache} into the used pages.
+    *
+    * @return the restored page, or {@code null} if it was not cached
+    */
+   public synchronized Page restore(long pageID) {
+      if (sharedCache == null) {
+         return null;
+      }
+      Page page = sharedCache.take(owner, pageID);
+      if (page != null) {
+         if (page.isDeleted() || !page.getFile().exists()) {
+            return null;
+         }
+         if (logger.isDebugEnabled()) {
+            logger.debug("+++ Restoring page {} from the shared page cache for destination {}", pageID, owner.getAddress());
+         }
+         injectPage(page);
+      }
+      return page;
+   }
+
+   public void invalidate(long pageID) {
+      if (sharedCache != null) {
+         sharedCache.invalidate(owner, pageID);
+      }
+   }
+
+   public void invalidateAll() {
+      if (sharedCache != null) {
+         sharedCache.invalidateAll(owner);
+      }
+   }
+
    public synchronized void forEachUsedPage(Consumer<Page> consumerPage) {
       usedPages.values().forEach(consumerPage);
    }
@@ -65,6 +109,10 @@ public class PageCache {
          if (logger.isDebugEnabled()) {
             logger.debug("--- Releasing page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
          }
+         // the page being written and deleted pages are not kept around
+         if (sharedCache != null && !page.isOpen() && !page.isDeleted() && page.isLoaded()) {
+            sharedCache.put(owner, page);
+         }
       }
    }
 
@@ -93,6 +93,11 @@ public final class PagingManagerImpl implements PagingManager {
          this.globalFull = globalFull;
          checkMemoryRelease();
       }
+      if (globalFull && sharedPageCache != null && sharedPageCache.getMemorySize() > 0) {
+         // the cached pages don't count against the global size, they are released right away to give their memory
+         // back to the addresses
+         sharedPageCache.invalidateAll();
+      }
    }
 
    private final SizeAwareMetric globalSizeMetric;
@@ -119,6 +124,8 @@ public final class PagingManagerImpl implements PagingManager {
 
    private final SimpleString managementAddress;
 
+   private final SharedPageCache sharedPageCache = SharedPageCache.PAGE_CACHE_MAX_SIZE > 0 ? new SharedPageCache(SharedPageCache.PAGE_CACHE_MAX_SIZE) : null;
+
    // for tests.. not part of the API
    public void replacePageStoreFactory(PagingStoreFactory factory) {
       this.pagingStoreFactory = factory;
@@ -484,6 +491,11 @@ public final class PagingManagerImpl implements PagingManager {
    private volatile boolean rebuildingPageCounters;
 
 
+   @Override
+   public SharedPageCache getSharedPageCache() {
+      return sharedPageCache;
+   }
+
    @Override
    public boolean isRebuildingCounters() {
       return rebuildingPageCounters;
@@ -551,6 +563,10 @@ public final class PagingManagerImpl implements PagingManager {
             store.stop();
          }
 
+         if (sharedPageCache != null) {
+            sharedPageCache.invalidateAll();
+         }
+
          pagingStoreFactory.stop();
       } finally {
          unlock();
@@ -84,7 +84,7 @@ public class PagingStoreImpl implements PagingStore {
 
    private final DecimalFormat format = new DecimalFormat("000000000");
 
-   private final PageCache usedPages = new PageCache(this);
+   private final PageCache usedPages;
 
    // This is updated and read by the Page's executor thread
    private long currentPageSize = 0;
@@ -204,6 +204,8 @@ public class PagingStoreImpl implements PagingStore {
 
       this.pagingManager = pagingManager;
 
+      this.usedPages = new PageCache(this, pagingManager.getSharedPageCache());
+
       this.fileFactory = fileFactory;
 
       this.storeFactory = storeFactory;
@@ -660,6 +662,8 @@ public class PagingStoreImpl implements PagingStore {
          page.close(true);
          currentPage = null;
       }
+
+      usedPages.invalidateAll();
    }
 
    @Override
@@ -930,6 +934,9 @@ public class PagingStoreImpl implements PagingStore {
       synchronized (usedPages) {
          try {
             Page page = usedPages.get(pageId);
+            if (createEntry && page == null) {
+               page = usedPages.restore(pageId);
+            }
             if (createEntry && page == null) {
                page = newPageObject(pageId);
                if (page.getFile().exists()) {
@@ -1026,6 +1033,8 @@ public class PagingStoreImpl implements PagingStore {
 
          Page page = usePage(pageId, false);
 
+         usedPages.invalidate(pageId);
+
          if (page == null) {
             page = newPageObject(pageId);
          }
@@ -1124,6 +1133,7 @@ public class PagingStoreImpl implements PagingStore {
             // if non existing, we just create a new one outside of the cache
             // as we should not introduce any extras
             Page usedPage = usePage(pageNR, false);
+            usedPages.invalidate(pageNR);
             if (usedPage == null) {
                returnPage = newPageObject(pageNR);
             } else {
@@ -1544,6 +1554,7 @@ public class PagingStoreImpl implements PagingStore {
    }
 
    private void internalDestroy() {
+      usedPages.invalidateAll();
       try (ArtemisCloseable readLock = storageManager.closeableReadLock()) {
          writeLock();
 
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A broker wide cache for pages that were already read but are no longer in use by any cursor.
+ * <p>
+ * Pages in use are still tracked by each {@link PageCache}. When the last user releases a page it is parked here, so a
+ * cursor coming back to it (e.g. a slow subscription, a browser or a redelivery) won't need to read and decode the file
+ * again. The cache is bounded by the heap used by the decoded messages of the pages it holds and it is shared across
+ * all the {@link PagingStore}s, so a few busy addresses can use the memory left by idle ones.
+ * <p>
+ * The memory held is bounded by the cache alone and is not counted against the global max size, the
+ * {@link PagingManagerImpl} drops the whole cache instead when the broker goes over it.
+ */
+public final class SharedPageCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   /**
+    * Maximum heap, in bytes, used by the messages of the released pages kept in memory. 0 disables the cache.
+    */
+   public static final long PAGE_CACHE_MAX_SIZE = Long.parseLong(System.getProperty("artemis.paging.page.cache.size", String.valueOf(10L * 1024 * 1024)));
+
+   private final Cache<Key, Page> cache;
+
+   private final long maxSize;
+
+   private final AtomicLong memorySize = new AtomicLong();
+
+   public SharedPageCache(long maxSizeBytes) {
+      this.maxSize = maxSizeBytes;
+      this.cache = Caffeine.newBuilder()
+                           .maximumWeight(maxSizeBytes)
+                           .weigher((Key key, Page page) -> weigh(page))
+                           // the memory has to be released on the thread removing the page, not later on a pool
+                           .executor(Runnable::run)
+                           .removalListener((Key key, Page page, RemovalCause cause) -> {
+                              if (page != null) {
+                                 addMemory(-weigh(page));
+                              }
+                           })
+                           .recordStats()
+                           .build();
+      logger.debug("Created shared page cache {} with maxSize={} bytes", cache, maxSizeBytes);
+   }
+
+   private static int weigh(Page page) {
+      return (int) Math.min(Math.max(page.getMemoryEstimate(), 1), Integer.MAX_VALUE);
+   }
+
+   private void addMemory(long delta) {
+      memorySize.addAndGet(delta);
+   }
+
+   /**
+    * @return the maximum heap, in bytes, used by the messages of the cached pages
+    */
+   public long getMaxSize() {
+      return maxSize;
+   }
+
+   /**
+    * @return the heap used by the messages of the cached pages
+    */
+   public long getMemorySize() {
+      return memorySize.get();
+   }
+
+   /**
+    * Removes the page from the cache and returns it, or {@code null} if it was not cached.
+    */
+   public Page take(PagingStore store, long pageId) {
+      Key key = new Key(store, pageId);
+      // getIfPresent is what records the hit/miss statistics
+      Page page = cache.getIfPresent(key);
+      if (page == null || !cache.asMap().remove(key, page)) {
+         return null;
+      }
+      logger.trace("Page {} on {} served from the shared page cache", pageId, store.getAddress());
+      return page;
+   }
+
+   public void put(PagingStore store, Page page) {
+      // accounted before the insert, as the page may be evicted right away
+      final int weight = weigh(page);
+      addMemory(weight);
+      if (cache.asMap().putIfAbsent(new Key(store, page.getPageId()), page) != null) {
+         addMemory(-weight);
+      }
+   }
+
+   public void invalidate(PagingStore store, long pageId) {
+      cache.invalidate(new Key(store, pageId));
+   }
+
+   public void invalidateAll(PagingStore store) {
+      cache.asMap().keySet().removeIf(key -> key.store == store);
+   }
+
+   public void invalidateAll() {
+      cache.invalidateAll();
+   }
+
+   public long size() {
+      return cache.estimatedSize();
+   }
+
+   public Cache<Key, Page> getCache() {
+      return cache;
+   }
+
+   public static final class Key {
+
+      private final PagingStore store;
+
+      private final long pageId;
+
+      Key(PagingStore store, long pageId) {
+         this.store = store;
+         this.pageId = pageId;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) {
+            return true;
+         }
+         if (!(o instanceof Key other)) {
+            return false;
+         }
+         return store == other.store && pageId == other.pageId;
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * System.identityHashCode(store) + Long.hashCode(pageId);
+      }
+
+      @Override
+      public String toString() {
+         return "Key{store=" + store.getAddress() + ", pageId=" + pageId + "}";
+      }
+   }
+}
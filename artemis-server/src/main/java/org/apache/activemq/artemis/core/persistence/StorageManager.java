@@ -427,6 +427,15 @@ public interface StorageManager extends MapStorageManager, IDGenerator, ActiveMQ
 
    void storeKeyValuePair(PersistedKeyValuePair persistedKeyValuePair) throws Exception;
 
+   /**
+    * Stores the given key value pairs, an implementation may sync the storage once for all of them.
+    */
+   default void storeKeyValuePairs(List<PersistedKeyValuePair> persistedKeyValuePairs) throws Exception {
+      for (PersistedKeyValuePair persistedKeyValuePair : persistedKeyValuePairs) {
+         storeKeyValuePair(persistedKeyValuePair);
+      }
+   }
+
    void deleteKeyValuePair(String mapId, String key) throws Exception;
 
    Map<String, PersistedKeyValuePair> getPersistedKeyValuePairs(String mapId);
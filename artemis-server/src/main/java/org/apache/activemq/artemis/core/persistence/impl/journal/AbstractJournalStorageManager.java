@@ -973,6 +973,21 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       }
    }
 
+   @Override
+   public void storeKeyValuePairs(List<PersistedKeyValuePair> persistedKeyValuePairs) throws Exception {
+      for (int i = 0; i < persistedKeyValuePairs.size(); i++) {
+         PersistedKeyValuePair persistedKeyValuePair = persistedKeyValuePairs.get(i);
+         deleteKeyValuePair(persistedKeyValuePair.getMapId(), persistedKeyValuePair.getKey());
+         try (ArtemisCloseable lock = closeableReadLock()) {
+            final long id = idGenerator.generateID();
+            persistedKeyValuePair.setStoreId(id);
+            // syncing the last record syncs the ones appended before
+            bindingsJournal.appendAddRecord(id, JournalRecordIds.KEY_VALUE_PAIR_RECORD, persistedKeyValuePair, i == persistedKeyValuePairs.size() - 1);
+            insertPersistedKeyValuePair(persistedKeyValuePair);
+         }
+      }
+   }
+
    @Override
    public void deleteKeyValuePair(String mapId, String key) throws Exception {
       Map<String, PersistedKeyValuePair> persistedKeyValuePairs = mapPersistedKeyValuePairs.get(mapId);
@@ -1045,8 +1060,10 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
       Map<Long, Message> messages = new HashMap<>();
       try (ArtemisCloseable lock = closeableReadLock()) {
+         final long loadStart = System.nanoTime();
          messageJournal.setRemoveExtraFilesOnLoad(true);
          JournalLoadInformation info = messageJournal.load(records, preparedTransactions, new LargeMessageTXFailureCallback(this));
+         final long journalRead = System.nanoTime();
 
          List<LargeServerMessage> largeMessages = new ArrayList<>();
 
@@ -1398,6 +1415,8 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
          // Release the memory as soon as not needed any longer
          records = null;
 
+         final long recordsDecoded = System.nanoTime();
+
          journalLoader.handleAddMessage(queueMap);
 
          loadPreparedTransactions(postOffice, pagingManager, resourceManager, queueInfos, preparedTransactions, this::failedToPrepareException, pageSubscriptions, pendingLargeMessages, storedLargeMessages, journalLoader);
@@ -1427,10 +1446,19 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
             pagingManager.processReload();
          }
 
+         final long queuesLoaded = System.nanoTime();
+
          journalLoader.postLoad(messageJournal, resourceManager, duplicateIDMap);
 
          checkInvalidPageTransactions(pagingManager, invalidPageTransactions);
 
+         final long loadEnd = System.nanoTime();
+         ActiveMQServerLogger.LOGGER.messageJournalLoaded(totalSize, TimeUnit.NANOSECONDS.toMillis(loadEnd - loadStart),
+                                                          TimeUnit.NANOSECONDS.toMillis(journalRead - loadStart),
+                                                          TimeUnit.NANOSECONDS.toMillis(recordsDecoded - journalRead),
+                                                          TimeUnit.NANOSECONDS.toMillis(queuesLoaded - recordsDecoded),
+                                                          TimeUnit.NANOSECONDS.toMillis(loadEnd - queuesLoaded));
+
          journalLoaded = true;
          return info;
       }
@@ -178,6 +178,17 @@ public interface PostOffice extends ActiveMQComponent {
                        boolean rejectDuplicates,
                        Binding binding) throws Exception;
 
+   /**
+    * Same as {@link #route(Message, RoutingContext, boolean)}, reusing whatever was already resolved by the batch for
+    * the address of the message.
+    */
+   default RoutingStatus route(Message message,
+                               RoutingContext context,
+                               boolean direct,
+                               RoutingBatch batch) throws Exception {
+      return route(message, context, direct);
+   }
+
    /**
     * This method was renamed as reload, use the new method instead
     */
@@ -191,6 +202,14 @@ public interface PostOffice extends ActiveMQComponent {
    Pair<RoutingContext, Message> redistribute(Message message,
                                                     Queue originatingQueue) throws Exception;
 
+   /**
+    * As {@link #redistribute(Message, Queue)}, routing the copy of the message as part of {@code tx} so many
+    * redistributions can be committed at once.
+    */
+   Pair<RoutingContext, Message> redistribute(Message message,
+                                                    Queue originatingQueue,
+                                                    Transaction tx) throws Exception;
+
    void processRoute(Message message, RoutingContext context, boolean direct) throws Exception;
 
    DuplicateIDCache getDuplicateIDCache(SimpleString address);
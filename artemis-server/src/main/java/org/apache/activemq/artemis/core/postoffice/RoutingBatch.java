@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+
+/**
+ * State resolved by the {@link PostOffice} while routing a batch of messages.
+ * <p>
+ * The address settings, the address, its bindings and its duplicate ID caches are looked up for the first message
+ * routed to an address and reused by the following messages of the batch going to the same address, as long as the
+ * routing version of the post office is the same. The post office changes its version whenever an address, a binding
+ * or the address settings are added, updated or removed, so nothing is looked up again for a message unless something
+ * changed meanwhile. Nothing is kept either once the batch moves to another address, so batches are cheaper when
+ * messages to the same address are consecutive.
+ * <p>
+ * A batch is used by the sends of a single transaction, see
+ * {@link org.apache.activemq.artemis.core.transaction.TransactionPropertyIndexes#ROUTING_BATCH}.
+ */
+public final class RoutingBatch {
+
+   private SimpleString address;
+
+   private int version;
+
+   private AddressSettings addressSettings;
+
+   private AddressInfo addressInfo;
+
+   private Bindings bindings;
+
+   private DuplicateIDCache duplicateIDCache;
+
+   private DuplicateIDCache bridgeDuplicateIDCache;
+
+   /**
+    * Moves the batch to the address, forgetting everything resolved for a previous one, or for this one if the routing
+    * version changed since the previous message.
+    *
+    * @param version the routing version of the post office, read before looking up anything for the address
+    */
+   public RoutingBatch select(SimpleString address, int version) {
+      if (this.address == null || this.version != version || !this.address.equals(address)) {
+         this.address = address;
+         this.version = version;
+         this.addressSettings = null;
+         this.addressInfo = null;
+         this.bindings = null;
+         this.duplicateIDCache = null;
+         this.bridgeDuplicateIDCache = null;
+      } else if (this.bindings != null && !this.bindings.hasLocalBinding()) {
+         // the local queues were removed, they may have to be auto-created again
+         this.bindings = null;
+      }
+      return this;
+   }
+
+   public SimpleString getAddress() {
+      return address;
+   }
+
+   public int getVersion() {
+      return version;
+   }
+
+   public AddressSettings getAddressSettings() {
+      return addressSettings;
+   }
+
+   public RoutingBatch setAddressSettings(AddressSettings addressSettings) {
+      this.addressSettings = addressSettings;
+      return this;
+   }
+
+   public AddressInfo getAddressInfo() {
+      return addressInfo;
+   }
+
+   public RoutingBatch setAddressInfo(AddressInfo addressInfo) {
+      this.addressInfo = addressInfo;
+      return this;
+   }
+
+   public Bindings getBindings() {
+      return bindings;
+   }
+
+   public RoutingBatch setBindings(Bindings bindings) {
+      this.bindings = bindings;
+      return this;
+   }
+
+   public DuplicateIDCache getDuplicateIDCache() {
+      return duplicateIDCache;
+   }
+
+   public RoutingBatch setDuplicateIDCache(DuplicateIDCache duplicateIDCache) {
+      this.duplicateIDCache = duplicateIDCache;
+      return this;
+   }
+
+   public DuplicateIDCache getBridgeDuplicateIDCache() {
+      return bridgeDuplicateIDCache;
+   }
+
+   public RoutingBatch setBridgeDuplicateIDCache(DuplicateIDCache bridgeDuplicateIDCache) {
+      this.bridgeDuplicateIDCache = bridgeDuplicateIDCache;
+      return this;
+   }
+
+   @Override
+   public String toString() {
+      return "RoutingBatch{address=" + address + ", version=" + version + ", bindings=" + (bindings != null) + ", duplicateIDCache=" + (duplicateIDCache != null) + "}";
+   }
+}
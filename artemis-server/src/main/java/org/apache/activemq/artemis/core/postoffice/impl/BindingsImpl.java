@@ -62,6 +62,12 @@ public final class BindingsImpl implements Bindings {
    // This is public as we use on test assertions
    public static final int MAX_GROUP_RETRY = 10;
 
+   /**
+    * The minimum number of routing names with an indexable filter to route through a {@link SelectorIndex}: {@code 0}
+    * disables the index.
+    */
+   private static final int SELECTOR_INDEX_THRESHOLD = Integer.parseInt(System.getProperty("artemis.selector.index.threshold", "16"));
+
    private final CopyOnWriteBindings routingNameBindingMap = new CopyOnWriteBindings();
 
    private final Map<Long, Binding> bindingsIdMap = new ConcurrentHashMap<>();
@@ -94,6 +100,8 @@ public final class BindingsImpl implements Bindings {
 
    private volatile boolean hasLocal;
 
+   private volatile SelectorIndex selectorIndex;
+
    public BindingsImpl(final SimpleString name, final GroupingHandler groupingHandler, StorageManager storageManager) {
       this.groupingHandler = groupingHandler;
       this.storageManager = storageManager;
@@ -407,7 +415,7 @@ public final class BindingsImpl implements Bindings {
          logger.trace("Routing message {} on binding={} current context::{}", message, this, context);
       }
 
-      routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
+      final CopyOnWriteBindings.BindingsConsumer<Exception> router = (bindings, nextPosition) -> {
          final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
          if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
             context.setReusable(true, currentVersion);
@@ -421,7 +429,33 @@ public final class BindingsImpl implements Bindings {
                nextBinding.route(message, context);
             }
          }
-      });
+      };
+
+      final SelectorIndex index = getSelectorIndex(currentVersion);
+      if (index != null) {
+         // the indexed bindings have a filter, hence the context cannot be reused even if they are skipped
+         context.setReusable(false, currentVersion);
+         index.forEachCandidate(message, router);
+      } else {
+         routingNameBindingMap.forEachBindings(router);
+      }
+   }
+
+   /**
+    * {@return the index of the current bindings or {@code null} if there are too few filtered bindings to use it}
+    */
+   private SelectorIndex getSelectorIndex(final int currentVersion) {
+      if (SELECTOR_INDEX_THRESHOLD <= 0) {
+         return null;
+      }
+      SelectorIndex index = selectorIndex;
+      if (index == null || index.getVersion() != currentVersion) {
+         // concurrent routers can rebuild it at the same time: it's harmless, given that the index is immutable
+         index = SelectorIndex.build(routingNameBindingMap, currentVersion, SELECTOR_INDEX_THRESHOLD);
+         selectorIndex = index;
+         logger.trace("Built {} for {}", index, this);
+      }
+      return index.isEnabled() ? index : null;
    }
 
    @Override
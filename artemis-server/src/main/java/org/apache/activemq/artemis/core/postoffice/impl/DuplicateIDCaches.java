@@ -22,6 +22,15 @@ import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
 
 public final class DuplicateIDCaches {
 
+   /**
+    * Number of partitions of the duplicate ID caches created by {@link #persistent} and {@link #inMemory}: with
+    * {@code 0} (the default) they use a single lock, otherwise they are {@link #partitioned}.
+    */
+   public static final int PARTITIONS = Integer.parseInt(System.getProperty("artemis.duplicate.id.cache.partitions", "0"));
+
+   // a partition is worth only if it keeps some ids
+   private static final int MIN_PARTITION_SIZE = 64;
+
    private DuplicateIDCaches() {
 
    }
@@ -32,7 +41,7 @@ public final class DuplicateIDCaches {
       if (size == 0) {
          return new NoOpDuplicateIDCache();
       } else {
-         return new PersistentDuplicateIDCache(address, size, storageManager);
+         return PARTITIONS > 0 ? partitioned(address, size, PARTITIONS, storageManager) : new PersistentDuplicateIDCache(address, size, storageManager);
       }
    }
 
@@ -40,7 +49,27 @@ public final class DuplicateIDCaches {
       if (size == 0) {
          return new NoOpDuplicateIDCache();
       } else {
-         return new InMemoryDuplicateIDCache(address, size);
+         return PARTITIONS > 0 ? partitioned(address, size, PARTITIONS, null) : new InMemoryDuplicateIDCache(address, size);
+      }
+   }
+
+   /**
+    * Creates a duplicate ID cache split in partitions by id, keeping the ids in primitive arrays.
+    * <p>
+    * The number of partitions is rounded down to a power of 2 and capped so that each partition keeps at least a few
+    * ids, up to 128.
+    *
+    * @param storageManager where the ids are stored, or {@code null} for an in memory cache
+    */
+   public static DuplicateIDCache partitioned(final SimpleString address,
+                                              final int size,
+                                              final int partitions,
+                                              final StorageManager storageManager) {
+      if (size == 0) {
+         return new NoOpDuplicateIDCache();
       }
+      int actualPartitions = Math.min(Math.max(1, partitions), Math.max(1, size / MIN_PARTITION_SIZE));
+      actualPartitions = Math.min(Integer.highestOneBit(actualPartitions), PartitionedDuplicateIDCache.MAX_PARTITIONS);
+      return new PartitionedDuplicateIDCache(address, size, actualPartitions, storageManager);
    }
 }
@@ -0,0 +1,590 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
+import org.apache.activemq.artemis.api.core.Pair;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
+import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
+import org.apache.activemq.artemis.utils.ByteUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DuplicateIDCache} keeping its ids in primitive arrays, split in partitions by the hash of the ids so that
+ * producers sending to the same address don't contend on a single lock.
+ * <p>
+ * Each partition has an open addressing hash table of {@code int}s pointing to a ring of entries, whose hash, id and
+ * record ID are kept in parallel arrays: looking up an id doesn't allocate anything, differently from the
+ * {@link ByteArray} wrappers of {@link InMemoryDuplicateIDCache} and {@link PersistentDuplicateIDCache}.
+ * <p>
+ * Every id added to the cache takes the next value of a sequence shared by all the partitions, and an id is in the
+ * cache as long as less than {@code size} ids have been added after it: the cache keeps exactly the last {@code size}
+ * ids added, as the other implementations. The entries older than that are removed from their partition (and from
+ * the journal, if persistent) by the next add that overtakes them, in O(1).
+ * <p>
+ * If created without a {@link StorageManager} the cache is in memory only, and no record ID is kept.
+ */
+final class PartitionedDuplicateIDCache implements DuplicateIDCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   static final int MAX_PARTITIONS = 128;
+
+   private static final long NO_RECORD_ID = -1;
+
+   private final SimpleString address;
+
+   private final int cacheSize;
+
+   private final StorageManager storageManager;
+
+   private final Partition[] partitions;
+
+   private final int partitionShift;
+
+   // the next sequence to be assigned to an id added to the cache
+   private final AtomicLong sequence = new AtomicLong();
+
+   // the partition of the id added with each sequence, modulo cacheSize, used to find the partition of the entry
+   // overtaken by an add. It is only a hint: a stale value just delays the removal of the entry, that is already out of
+   // the cache anyway
+   private final byte[] owners;
+
+   PartitionedDuplicateIDCache(final SimpleString address,
+                               final int size,
+                               final int partitions,
+                               final StorageManager storageManager) {
+      if (size <= 0) {
+         throw new IllegalArgumentException("size must be > 0: " + size);
+      }
+      if (partitions <= 0 || partitions > MAX_PARTITIONS || Integer.bitCount(partitions) != 1) {
+         throw new IllegalArgumentException("partitions must be a power of 2 between 1 and " + MAX_PARTITIONS + ": " + partitions);
+      }
+      this.address = address;
+      this.cacheSize = size;
+      this.storageManager = storageManager;
+      this.partitions = new Partition[partitions];
+      final int initialCapacity = Math.max(16, size / partitions);
+      for (int i = 0; i < partitions; i++) {
+         this.partitions[i] = new Partition(i, initialCapacity, storageManager != null);
+      }
+      this.partitionShift = 32 - Integer.numberOfTrailingZeros(partitions);
+      this.owners = partitions > 1 ? new byte[size] : null;
+   }
+
+   int getPartitions() {
+      return partitions.length;
+   }
+
+   private static int hash(final byte[] id) {
+      final int h = ByteUtil.hashCode(id) * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+   private Partition partition(final int hash) {
+      // the high bits choose the partition, the low ones the slot of the partition table
+      return partitions.length == 1 ? partitions[0] : partitions[(hash >>> partitionShift) & (partitions.length - 1)];
+   }
+
+   /**
+    * Entries added with a sequence lower than this are no longer in the cache.
+    */
+   private long oldestSequence() {
+      return sequence.get() - cacheSize;
+   }
+
+   private static String describeID(byte[] duplicateID) {
+      return ByteUtil.bytesToHex(duplicateID, 4) + ", simpleString=" + ByteUtil.toSimpleString(duplicateID);
+   }
+
+   @Override
+   public boolean contains(final byte[] duplicateID) {
+      final int hash = hash(duplicateID);
+      final Partition partition = partition(hash);
+      final boolean contains;
+      synchronized (partition) {
+         contains = partition.find(duplicateID, hash, oldestSequence()) >= 0;
+      }
+      if (contains && logger.isTraceEnabled()) {
+         logger.trace("address = {} found a duplicate {}", address, describeID(duplicateID));
+      }
+      return contains;
+   }
+
+   @Override
+   public boolean atomicVerify(final byte[] duplID, final Transaction tx) throws Exception {
+      final int hash = hash(duplID);
+      final Partition partition = partition(hash);
+      final long overtaken;
+      synchronized (partition) {
+         if (partition.find(duplID, hash, oldestSequence()) >= 0) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("address = {} found a duplicate {}", address, describeID(duplID));
+            }
+            if (tx != null) {
+               tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
+            }
+            return false;
+         }
+         overtaken = addToCache(partition, duplID, hash, tx, true);
+      }
+      removeOvertaken(partition, overtaken);
+      return true;
+   }
+
+   @Override
+   public void addToCache(final byte[] duplicateID) throws Exception {
+      addToCache(duplicateID, null, false);
+   }
+
+   @Override
+   public void addToCache(final byte[] duplicateID, final Transaction tx) throws Exception {
+      addToCache(duplicateID, tx, false);
+   }
+
+   @Override
+   public void addToCache(final byte[] duplicateID, final Transaction tx, final boolean instantAdd) throws Exception {
+      final int hash = hash(duplicateID);
+      final Partition partition = partition(hash);
+      final long overtaken;
+      synchronized (partition) {
+         overtaken = addToCache(partition, duplicateID, hash, tx, instantAdd);
+      }
+      removeOvertaken(partition, overtaken);
+   }
+
+   /**
+    * @return the sequence overtaken by the add, if any, or {@code -1}
+    */
+   private long addToCache(final Partition partition,
+                           final byte[] duplicateID,
+                           final int hash,
+                           final Transaction tx,
+                           final boolean instantAdd) throws Exception {
+      final long recordID;
+      if (storageManager != null) {
+         recordID = storageManager.generateID();
+         if (tx == null) {
+            storageManager.storeDuplicateID(address, duplicateID, recordID);
+         } else {
+            storageManager.storeDuplicateIDTransactional(tx.getID(), address, duplicateID, recordID);
+            tx.setContainsPersistent();
+         }
+      } else {
+         recordID = NO_RECORD_ID;
+      }
+      if (tx == null) {
+         return addToCacheInMemory(partition, duplicateID, hash, recordID);
+      }
+      if (logger.isTraceEnabled()) {
+         logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address, describeID(duplicateID), tx);
+      }
+      if (instantAdd) {
+         final long overtaken = addToCacheInMemory(partition, duplicateID, hash, recordID);
+         tx.addOperation(new AddDuplicateIDOperation(duplicateID, recordID, false));
+         return overtaken;
+      }
+      // For a tx, it's important that the entry is not added to the cache until commit
+      // since if the client fails then resends them tx we don't want it to get rejected
+      tx.afterStore(new AddDuplicateIDOperation(duplicateID, recordID, true));
+      return -1;
+   }
+
+   /**
+    * Needs to hold the lock of {@code partition}.
+    *
+    * @return the sequence overtaken by the add, if any, or {@code -1}
+    */
+   private long addToCacheInMemory(final Partition partition,
+                                   final byte[] duplicateID,
+                                   final int hash,
+                                   final long recordID) {
+      if (logger.isTraceEnabled()) {
+         logger.trace("address = {} adding {}", address, describeID(duplicateID));
+      }
+      final long seq = sequence.getAndIncrement();
+      partition.add(duplicateID, hash, seq, recordID, seq + 1 - cacheSize);
+      final long overtaken = seq - cacheSize;
+      if (owners != null) {
+         final int ownerIndex = (int) (seq % cacheSize);
+         final int overtakenOwner = owners[ownerIndex];
+         owners[ownerIndex] = (byte) partition.index;
+         if (overtaken >= 0 && overtakenOwner != partition.index) {
+            return overtakenOwner;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Removes the entries out of the cache from the partition of the entry overtaken by an add. It can't be done while
+    * holding the lock of the partition of the add, as it would need two locks.
+    */
+   private void removeOvertaken(final Partition addPartition, final long overtakenOwner) {
+      if (overtakenOwner >= 0 && overtakenOwner != addPartition.index) {
+         final Partition partition = partitions[(int) overtakenOwner];
+         synchronized (partition) {
+            partition.removeExpired(oldestSequence());
+         }
+      }
+   }
+
+   @Override
+   public void deleteFromCache(final byte[] duplicateID) throws Exception {
+      if (logger.isTraceEnabled()) {
+         logger.trace("deleting id = {}", describeID(duplicateID));
+      }
+      final int hash = hash(duplicateID);
+      final Partition partition = partition(hash);
+      synchronized (partition) {
+         final int entry = partition.find(duplicateID, hash, oldestSequence());
+         if (entry >= 0) {
+            final long recordID = partition.remove(entry);
+            if (logger.isTraceEnabled()) {
+               logger.trace("address = {} deleting id = {}", address, describeID(duplicateID));
+            }
+            if (storageManager != null) {
+               storageManager.deleteDuplicateID(recordID);
+            }
+         }
+      }
+   }
+
+   @Override
+   public void load(final List<Pair<byte[], Long>> ids) throws Exception {
+      if (storageManager == null) {
+         logger.debug("address = {} ignore loading ids: in memory cache won't load previously stored ids", address);
+         return;
+      }
+      if (sequence.get() != 0) {
+         throw new IllegalStateException("load is valid only on empty cache");
+      }
+      // load only ids that fit this cache:
+      // - in term of remaining capacity
+      // - ignoring (and reporting) ids unpaired with record ID
+      // Then, delete the exceeding ones.
+      long txID = -1;
+      int toNotBeAdded = Math.max(0, ids.size() - cacheSize);
+      for (Pair<byte[], Long> id : ids) {
+         if (id.getB() == null) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("ignoring id = {} because without record ID", describeID(id.getA()));
+            }
+            if (toNotBeAdded > 0) {
+               toNotBeAdded--;
+            }
+            continue;
+         }
+         if (toNotBeAdded > 0) {
+            if (txID == -1) {
+               txID = storageManager.generateID();
+            }
+            storageManager.deleteDuplicateIDTransactional(txID, id.getB());
+            toNotBeAdded--;
+         } else {
+            final int hash = hash(id.getA());
+            final Partition partition = partition(hash);
+            synchronized (partition) {
+               addToCacheInMemory(partition, id.getA(), hash, id.getB());
+            }
+         }
+      }
+      if (txID != -1) {
+         storageManager.commit(txID);
+      }
+   }
+
+   @Override
+   public void load(final Transaction tx, final byte[] duplID) {
+      tx.addOperation(new AddDuplicateIDOperation(duplID, storageManager != null ? tx.getID() : NO_RECORD_ID, true));
+   }
+
+   @Override
+   public void clear() throws Exception {
+      logger.debug("address = {} removing duplicate ID data", address);
+      long txID = -1;
+      for (Partition partition : partitions) {
+         synchronized (partition) {
+            if (storageManager != null) {
+               final long oldest = oldestSequence();
+               for (int i = 0; i < partition.count; i++) {
+                  final int entry = (partition.head + i) & partition.ringMask;
+                  if (partition.ids[entry] != null && partition.sequences[entry] >= oldest) {
+                     if (txID == -1) {
+                        txID = storageManager.generateID();
+                     }
+                     storageManager.deleteDuplicateIDTransactional(txID, partition.recordIDs[entry]);
+                  }
+               }
+            }
+            partition.clear();
+         }
+      }
+      if (txID != -1) {
+         storageManager.commit(txID);
+      }
+   }
+
+   @Override
+   public List<Pair<byte[], Long>> getMap() {
+      final List<Object[]> entries = new ArrayList<>();
+      for (Partition partition : partitions) {
+         synchronized (partition) {
+            final long oldest = oldestSequence();
+            for (int i = 0; i < partition.count; i++) {
+               final int entry = (partition.head + i) & partition.ringMask;
+               if (partition.ids[entry] != null && partition.sequences[entry] >= oldest) {
+                  entries.add(new Object[]{partition.sequences[entry], partition.ids[entry], storageManager != null ? partition.recordIDs[entry] : null});
+               }
+            }
+         }
+      }
+      // in the order they were added, as the other caches
+      entries.sort(Comparator.comparingLong(e -> (Long) e[0]));
+      final List<Pair<byte[], Long>> copy = new ArrayList<>(entries.size());
+      for (Object[] entry : entries) {
+         copy.add(new Pair<>((byte[]) entry[1], (Long) entry[2]));
+      }
+      return copy;
+   }
+
+   @Override
+   public int getSize() {
+      return cacheSize;
+   }
+
+   /**
+    * The entries of a partition are kept in a ring, by sequence, with an open addressing (linear probing) table
+    * pointing to them. All the methods need to hold the lock of the partition.
+    */
+   private final class Partition {
+
+      final int index;
+
+      // ring of entries, from head to head + count
+      int[] hashes;
+      byte[][] ids;
+      long[] sequences;
+      long[] recordIDs;
+      int ringMask;
+      int head;
+      int count;
+
+      // entry + 1, 0 if empty
+      int[] table;
+      int tableMask;
+
+      Partition(int index, int initialCapacity, boolean persistent) {
+         this.index = index;
+         allocate(initialCapacity, persistent);
+      }
+
+      private void allocate(int capacity, boolean persistent) {
+         final int ringCapacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+         hashes = new int[ringCapacity];
+         ids = new byte[ringCapacity][];
+         sequences = new long[ringCapacity];
+         recordIDs = persistent ? new long[ringCapacity] : null;
+         ringMask = ringCapacity - 1;
+         // load factor <= 0.5
+         table = new int[ringCapacity * 2];
+         tableMask = table.length - 1;
+         head = 0;
+         count = 0;
+      }
+
+      /**
+       * @return the entry of the id, if still in the cache, or {@code -1}
+       */
+      int find(byte[] id, int hash, long oldestSequence) {
+         int slot = hash & tableMask;
+         int value;
+         while ((value = table[slot]) != 0) {
+            final int entry = value - 1;
+            // an entry out of the cache could have the same id of a live one, added after
+            if (hashes[entry] == hash && sequences[entry] >= oldestSequence && ByteUtil.equals(ids[entry], id)) {
+               return entry;
+            }
+            slot = (slot + 1) & tableMask;
+         }
+         return -1;
+      }
+
+      void add(byte[] id, int hash, long sequence, long recordID, long oldestSequence) {
+         removeExpired(oldestSequence);
+         if (count == ids.length) {
+            grow();
+         }
+         final int entry = (head + count) & ringMask;
+         hashes[entry] = hash;
+         ids[entry] = id;
+         sequences[entry] = sequence;
+         if (recordIDs != null) {
+            recordIDs[entry] = recordID;
+         }
+         count++;
+         insert(entry);
+      }
+
+      /**
+       * Removes the entries out of the cache from the head of the ring, deleting them from the journal if persistent.
+       */
+      void removeExpired(long oldestSequence) {
+         while (count > 0 && (ids[head] == null || sequences[head] < oldestSequence)) {
+            if (ids[head] != null) {
+               if (logger.isTraceEnabled()) {
+                  logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(ids[head]));
+               }
+               final long recordID = remove(head);
+               if (storageManager != null) {
+                  try {
+                     storageManager.deleteDuplicateID(recordID);
+                  } catch (Exception e) {
+                     ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
+                  }
+               }
+            }
+            head = (head + 1) & ringMask;
+            count--;
+         }
+      }
+
+      /**
+       * Removes the entry from the table, leaving an empty entry on the ring until it gets to the head.
+       *
+       * @return the record ID of the entry
+       */
+      long remove(int entry) {
+         int slot = hashes[entry] & tableMask;
+         while (table[slot] != entry + 1) {
+            slot = (slot + 1) & tableMask;
+         }
+         // backward shift deletion: moves back the following entries of the cluster that would be unreachable
+         int next = (slot + 1) & tableMask;
+         int value;
+         while ((value = table[next]) != 0) {
+            final int ideal = hashes[value - 1] & tableMask;
+            if (((next - ideal) & tableMask) >= ((next - slot) & tableMask)) {
+               table[slot] = value;
+               slot = next;
+            }
+            next = (next + 1) & tableMask;
+         }
+         table[slot] = 0;
+         ids[entry] = null;
+         return recordIDs != null ? recordIDs[entry] : NO_RECORD_ID;
+      }
+
+      private void insert(int entry) {
+         int slot = hashes[entry] & tableMask;
+         while (table[slot] != 0) {
+            slot = (slot + 1) & tableMask;
+         }
+         table[slot] = entry + 1;
+      }
+
+      private void grow() {
+         final int[] oldHashes = hashes;
+         final byte[][] oldIds = ids;
+         final long[] oldSequences = sequences;
+         final long[] oldRecordIDs = recordIDs;
+         final int oldMask = ringMask;
+         final int oldHead = head;
+         final int oldCount = count;
+         allocate(oldIds.length * 2, oldRecordIDs != null);
+         for (int i = 0; i < oldCount; i++) {
+            final int oldEntry = (oldHead + i) & oldMask;
+            // the removed entries are kept too, they are still counted until they get to the head
+            hashes[i] = oldHashes[oldEntry];
+            ids[i] = oldIds[oldEntry];
+            sequences[i] = oldSequences[oldEntry];
+            if (recordIDs != null) {
+               recordIDs[i] = oldRecordIDs[oldEntry];
+            }
+            if (ids[i] != null) {
+               insert(i);
+            }
+         }
+         count = oldCount;
+      }
+
+      void clear() {
+         allocate(Math.max(16, cacheSize / partitions.length), recordIDs != null);
+      }
+   }
+
+   private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
+
+      final byte[] id;
+
+      final long recordID;
+
+      volatile boolean done;
+
+      private final boolean afterCommit;
+
+      AddDuplicateIDOperation(final byte[] id, final long recordID, boolean afterCommit) {
+         this.id = id;
+         this.recordID = recordID;
+         this.afterCommit = afterCommit;
+      }
+
+      private void process() {
+         if (!done) {
+            final int hash = hash(id);
+            final Partition partition = partition(hash);
+            final long overtaken;
+            synchronized (partition) {
+               overtaken = addToCacheInMemory(partition, id, hash, recordID);
+            }
+            removeOvertaken(partition, overtaken);
+            done = true;
+         }
+      }
+
+      @Override
+      public void afterCommit(final Transaction tx) {
+         if (afterCommit) {
+            process();
+         }
+      }
+
+      @Override
+      public void beforeRollback(Transaction tx) throws Exception {
+         if (!afterCommit) {
+            deleteFromCache(id);
+         }
+      }
+
+      @Override
+      public List<MessageReference> getRelatedMessageReferences() {
+         return null;
+      }
+   }
+}
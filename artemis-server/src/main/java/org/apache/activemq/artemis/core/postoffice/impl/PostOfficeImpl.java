@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.stream.Stream;
 
 import org.apache.activemq.artemis.api.core.ActiveMQAddressDoesNotExistException;
@@ -71,6 +72,7 @@ import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
 import org.apache.activemq.artemis.core.postoffice.QueueInfo;
+import org.apache.activemq.artemis.core.postoffice.RoutingBatch;
 import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQScheduledComponent;
@@ -161,6 +163,16 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    private MirrorController mirrorControllerSource;
 
+   /**
+    * Changed after any address, binding or address settings change, so a {@link RoutingBatch} knows whether what it
+    * resolved for an address is still valid with a single read.
+    */
+   private volatile int routingVersion;
+
+   private static final AtomicIntegerFieldUpdater<PostOfficeImpl> ROUTING_VERSION_UPDATER = AtomicIntegerFieldUpdater.newUpdater(PostOfficeImpl.class, "routingVersion");
+
+   private final HierarchicalRepositoryChangeListener routingSettingsListener = this::routingChanged;
+
    public PostOfficeImpl(final ActiveMQServer server,
                          final StorageManager storageManager,
                          final PagingManager pagingManager,
@@ -211,6 +223,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       // Injecting the postoffice (itself) on queueFactory for paging-control
       queueFactory.setPostOffice(this);
 
+      addressSettingsRepository.registerListener(routingSettingsListener);
+
       // The flag started needs to be set before starting the Reaper Thread
       // This is to avoid thread leakages where the Reaper would run beyond the life cycle of the
       // PostOffice
@@ -223,6 +237,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       managementService.removeNotificationListener(this);
 
+      addressSettingsRepository.unRegisterListener(routingSettingsListener);
+
       if (expiryReaperRunnable != null)
          expiryReaperRunnable.stop();
 
@@ -231,9 +247,22 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       addressManager.clear();
 
+      routingChanged();
+
       queueInfos.clear();
    }
 
+   /**
+    * {@return the version {@link RoutingBatch routing batches} check to reuse what they resolved}
+    */
+   public int getRoutingVersion() {
+      return routingVersion;
+   }
+
+   private void routingChanged() {
+      ROUTING_VERSION_UPDATER.incrementAndGet(this);
+   }
+
    @Override
    public boolean isStarted() {
       return started;
@@ -546,6 +575,9 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          } else {
             result = addressManager.addAddressInfo(addressInfo);
          }
+         if (result) {
+            routingChanged();
+         }
          // only register address if it is new
          if (result) {
             if (!reload && mirrorControllerSource != null) {
@@ -862,6 +894,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          }
 
          final AddressInfo address = addressManager.updateAddressInfo(addressName, routingTypes);
+         routingChanged();
          if (server.hasBrokerAddressPlugins()) {
             server.callBrokerAddressPlugins(plugin -> plugin.afterUpdateAddress(address));
          }
@@ -898,6 +931,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          }
          managementService.unregisterAddress(address);
          final AddressInfo addressInfo = addressManager.removeAddressInfo(address);
+         routingChanged();
 
          if (mirrorControllerSource != null && addressInfo != null) {
             mirrorControllerSource.deleteAddress(addressInfo);
@@ -945,6 +979,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       addressManager.addBinding(binding);
 
+      routingChanged();
+
       TypedProperties props = new TypedProperties();
 
       props.putIntProperty(ManagementHelper.HDR_BINDING_TYPE, binding.getType().toInt());
@@ -986,6 +1022,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          server.callBrokerBindingPlugins(plugin -> plugin.beforeRemoveBinding(uniqueName, tx, deleteData));
       }
 
+      SimpleString address = null;
       try {
 
          Binding binding = addressManager.removeBinding(uniqueName, tx);
@@ -994,10 +1031,14 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             throw new ActiveMQNonExistentQueueException();
          }
 
+         address = binding.getAddress();
+
          if (deleteData && addressManager.getExistingBindingsForRoutingAddress(binding.getAddress()) == null) {
             deleteDuplicateCache(binding.getAddress());
          }
 
+         routingChanged();
+
          if (binding.getType() == BindingType.LOCAL_QUEUE) {
             Queue queue = (Queue) binding.getBindable();
             managementService.unregisterQueue(uniqueName, binding.getAddress(), queue.getRoutingType());
@@ -1040,7 +1081,9 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
          return binding;
       } finally {
-         server.clearAddressCache();
+         if (address != null) {
+            server.clearAddressCache(address, uniqueName);
+         }
       }
    }
 
@@ -1136,7 +1179,15 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    public RoutingStatus route(final Message message,
                               final RoutingContext context,
                               final boolean direct) throws Exception {
-      return route(message, context, direct, true, null, false);
+      return route(message, context, direct, true, null, false, null);
+   }
+
+   @Override
+   public RoutingStatus route(final Message message,
+                              final RoutingContext context,
+                              final boolean direct,
+                              final RoutingBatch batch) throws Exception {
+      return route(message, context, direct, true, null, false, batch);
    }
 
    @Override
@@ -1146,18 +1197,21 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                               boolean rejectDuplicates,
                               final Binding bindingMove) throws Exception {
 
-      return route(message, context, direct, rejectDuplicates, bindingMove, false);
+      return route(message, context, direct, rejectDuplicates, bindingMove, false, null);
    }
 
    /**
     * The route can call itelf sending to DLA. if a DLA still not found, it should then use previous semantics.
+    *
+    * @param batch when not {@code null} whatever was resolved for the address is reused and kept for the next messages
     */
    private RoutingStatus route(final Message message,
                                final RoutingContext context,
                                final boolean direct,
                                final boolean rejectDuplicates,
                                final Binding bindingMove,
-                               final boolean sendToDLA) throws Exception {
+                               final boolean sendToDLA,
+                               final RoutingBatch batch) throws Exception {
 
       // Sanity check
       if (message.getRefCount() > 0) {
@@ -1165,14 +1219,17 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
 
       final SimpleString address = context.getAddress(message);
-      final AddressSettings settings = addressSettingsRepository.getMatch(address.toString());
+      if (batch != null) {
+         batch.select(address, routingVersion);
+      }
+      final AddressSettings settings = getAddressSettings(address, batch);
       if (settings != null) {
          applyExpiryDelay(message, settings);
       }
 
       final boolean startedTX;
       if (context.isDuplicateDetection()) {
-         final DuplicateCheckResult duplicateCheckResult = checkDuplicateID(message, context, rejectDuplicates);
+         final DuplicateCheckResult duplicateCheckResult = checkDuplicateID(message, context, rejectDuplicates, batch);
          switch (duplicateCheckResult) {
 
             case DuplicateNotStartedTX:
@@ -1195,7 +1252,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
       message.clearInternalProperties();
       Bindings bindings;
-      final AddressInfo addressInfo = checkAddress(context, address);
+      final AddressInfo addressInfo = checkAddress(context, address, batch);
 
       final RoutingStatus status;
       if (bindingMove != null) {
@@ -1207,7 +1264,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          }
          status = RoutingStatus.OK;
       } else {
-         bindings = simpleRoute(address, context, message, addressInfo);
+         bindings = simpleRoute(address, context, message, addressInfo, batch);
          if (logger.isDebugEnabled()) {
             if (bindings != null) {
                logger.debug("PostOffice::simpleRoute returned bindings with size = {}", bindings.getBindings().size());
@@ -1273,6 +1330,28 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
    }
 
+   private AddressSettings getAddressSettings(SimpleString address, RoutingBatch batch) {
+      if (batch != null && batch.getAddressSettings() != null) {
+         return batch.getAddressSettings();
+      }
+      final AddressSettings settings = addressSettingsRepository.getMatch(address.toString());
+      if (batch != null) {
+         batch.setAddressSettings(settings);
+      }
+      return settings;
+   }
+
+   private AddressInfo checkAddress(RoutingContext context, SimpleString address, RoutingBatch batch) throws Exception {
+      if (batch != null && batch.getAddressInfo() != null) {
+         return batch.getAddressInfo();
+      }
+      AddressInfo addressInfo = checkAddress(context, address);
+      if (batch != null) {
+         batch.setAddressInfo(addressInfo);
+      }
+      return addressInfo;
+   }
+
    private AddressInfo checkAddress(RoutingContext context, SimpleString address) throws Exception {
       AddressInfo addressInfo = addressManager.getAddressInfo(address);
       if (addressInfo == null && context.getServerSession() != null) {
@@ -1291,6 +1370,28 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    }
 
    Bindings simpleRoute(SimpleString address, RoutingContext context, Message message, AddressInfo addressInfo) throws Exception {
+      return simpleRoute(address, context, message, addressInfo, null);
+   }
+
+   private Bindings simpleRoute(SimpleString address, RoutingContext context, Message message, AddressInfo addressInfo, RoutingBatch batch) throws Exception {
+      Bindings bindings = batch != null ? batch.getBindings() : null;
+      if (bindings == null) {
+         bindings = lookupRoutingBindings(address, context);
+         // only bindings that wouldn't need an auto-create check are reused by the next messages
+         if (batch != null && bindings != null && bindings.hasLocalBinding()) {
+            batch.setBindings(bindings);
+         }
+      }
+      if (bindings != null) {
+         bindings.route(message, context);
+         if (addressInfo != null) {
+            addressInfo.incrementRoutedMessageCount();
+         }
+      }
+      return bindings;
+   }
+
+   private Bindings lookupRoutingBindings(SimpleString address, RoutingContext context) throws Exception {
       Bindings bindings = addressManager.getBindingsForRoutingAddress(address);
       if ((bindings == null || !bindings.hasLocalBinding()) && context.getServerSession() != null) {
          AutoCreateResult autoCreateResult = context.getServerSession().checkAutoCreate(QueueConfiguration.of(address).setRoutingType(context.getRoutingType()));
@@ -1304,12 +1405,6 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          }
          bindings = addressManager.getBindingsForRoutingAddress(address);
       }
-      if (bindings != null) {
-         bindings.route(message, context);
-         if (addressInfo != null) {
-            addressInfo.incrementRoutedMessageCount();
-         }
-      }
       return bindings;
    }
 
@@ -1343,7 +1438,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
             message.reencode();
 
-            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, true);
+            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, true, null);
             status = RoutingStatus.NO_BINDINGS_DLA;
          }
       } else {
@@ -1431,13 +1526,20 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    @Override
    public Pair<RoutingContext, Message> redistribute(final Message message,
                                                      final Queue originatingQueue) throws Exception {
+      return redistribute(message, originatingQueue, null);
+   }
+
+   @Override
+   public Pair<RoutingContext, Message> redistribute(final Message message,
+                                                     final Queue originatingQueue,
+                                                     final Transaction tx) throws Exception {
       Bindings bindings = addressManager.getBindingsForRoutingAddress(message.getAddressSimpleString());
 
       if (bindings != null && bindings.allowRedistribute()) {
          if (logger.isDebugEnabled()) {
             logger.debug("Redistributing message {}, originatingQueue={}, bindings={}", message, originatingQueue.getName(), bindings);
          }
-         RoutingContext context = new RoutingContextImpl(null);
+         RoutingContext context = new RoutingContextImpl(tx);
 
          // the redistributor will make a copy of the message if it can be redistributed
          Message redistributedMessage = bindings.redistribute(message, originatingQueue, context);
@@ -1847,11 +1949,12 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    private DuplicateCheckResult checkDuplicateID(final Message message,
                                                  final RoutingContext context,
-                                                 final boolean rejectDuplicates) throws Exception {
+                                                 final boolean rejectDuplicates,
+                                                 final RoutingBatch batch) throws Exception {
       // Check the DuplicateCache for the Bridge first
       final Object bridgeDup = message.removeExtraBytesProperty(Message.HDR_BRIDGE_DUPLICATE_ID);
       if (bridgeDup != null) {
-         return checkBridgeDuplicateID(message, context, (byte[]) bridgeDup);
+         return checkBridgeDuplicateID(message, context, (byte[]) bridgeDup, batch);
       }
       // if used BridgeDuplicate, it's not going to use the regular duplicate
       // since this will would break redistribution (re-setting the duplicateId)
@@ -1859,15 +1962,22 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       if (duplicateIDBytes == null) {
          return DuplicateCheckResult.NoDuplicateNotStartedTX;
       }
-      return checkNotBridgeDuplicateID(message, context, rejectDuplicates, duplicateIDBytes);
+      return checkNotBridgeDuplicateID(message, context, rejectDuplicates, duplicateIDBytes, batch);
    }
 
    private DuplicateCheckResult checkNotBridgeDuplicateID(final Message message,
                                                           final RoutingContext context,
                                                           final boolean rejectDuplicates,
-                                                          final byte[] duplicateIDBytes) throws Exception {
+                                                          final byte[] duplicateIDBytes,
+                                                          final RoutingBatch batch) throws Exception {
       assert duplicateIDBytes != null && Arrays.equals(message.getDuplicateIDBytes(), duplicateIDBytes);
-      final DuplicateIDCache cache = getDuplicateIDCache(context.getAddress(message));
+      DuplicateIDCache cache = batch != null ? batch.getDuplicateIDCache() : null;
+      if (cache == null) {
+         cache = getDuplicateIDCache(context.getAddress(message));
+         if (batch != null) {
+            batch.setDuplicateIDCache(cache);
+         }
+      }
       final boolean isDuplicate = cache.contains(duplicateIDBytes);
       if (rejectDuplicates && isDuplicate) {
          ActiveMQServerLogger.LOGGER.duplicateMessageDetected(message);
@@ -1896,7 +2006,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    private DuplicateCheckResult checkBridgeDuplicateID(final Message message,
                                                        final RoutingContext context,
-                                                       final byte[] bridgeDupBytes) throws Exception {
+                                                       final byte[] bridgeDupBytes,
+                                                       final RoutingBatch batch) throws Exception {
       assert bridgeDupBytes != null;
       boolean startedTX = false;
       if (context.getTransaction() == null) {
@@ -1904,7 +2015,13 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          startedTX = true;
       }
       // if the message is being sent from the bridge, we just ignore the duplicate id, and use the internal one
-      final DuplicateIDCache cacheBridge = getDuplicateIDCache(BRIDGE_CACHE_STR.concat(context.getAddress(message).toString()));
+      DuplicateIDCache cacheBridge = batch != null ? batch.getBridgeDuplicateIDCache() : null;
+      if (cacheBridge == null) {
+         cacheBridge = getDuplicateIDCache(BRIDGE_CACHE_STR.concat(context.getAddress(message).toString()));
+         if (batch != null) {
+            batch.setBridgeDuplicateIDCache(cacheBridge);
+         }
+      }
       if (!cacheBridge.atomicVerify(bridgeDupBytes, context.getTransaction())) {
          logger.trace("Message {} hit a bridge duplicate", message);
          context.getTransaction().rollback();
@@ -2058,6 +2175,10 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       for (SimpleString address : addresses) {
          AddressInfo addressInfo = getAddressInfo(address);
+         if (addressInfo == null) {
+            // removed meanwhile, looking up its settings would only cache them again
+            continue;
+         }
          AddressSettings settings = addressSettingsRepository.getMatch(address.toString());
 
          try {
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.selector.filter.IndexablePredicate;
+
+/**
+ * An immutable index of the filtered bindings of an address, built from a snapshot of {@link CopyOnWriteBindings}.
+ * <p>
+ * Routing names with a single binding whose filter has an {@link IndexablePredicate} are indexed by the value of the
+ * predicate property: a {@code String} value is looked up in a hash map of the expected values while numeric values
+ * are looked up in the ranges sorted by lower bound. This rules out most of the bindings which cannot match a message
+ * without evaluating their filters. Any other routing name is always visited.
+ * <p>
+ * The candidates still need to be matched as usual: the index never rules out a binding which could match.
+ */
+final class SelectorIndex {
+
+   private static final Group[] EMPTY = new Group[0];
+
+   private static final class Group {
+
+      final Binding[] bindings;
+      final CopyOnWriteBindings.BindingIndex position;
+
+      Group(Binding[] bindings, CopyOnWriteBindings.BindingIndex position) {
+         this.bindings = bindings;
+         this.position = position;
+      }
+   }
+
+   private static final class RangeEntry {
+
+      final Group group;
+      final double lowerBound;
+      final double upperBound;
+
+      RangeEntry(Group group, IndexablePredicate predicate) {
+         this.group = group;
+         this.lowerBound = predicate.getLowerBound() == null ? Double.NEGATIVE_INFINITY : predicate.getLowerBound().doubleValue();
+         this.upperBound = predicate.getUpperBound() == null ? Double.POSITIVE_INFINITY : predicate.getUpperBound().doubleValue();
+      }
+   }
+
+   private static final class PropertyIndex {
+
+      final SimpleString property;
+      final Map<String, Group[]> byValue;
+      // String predicates which a non String property could still match, see IndexablePredicate
+      final Group[] byNonStringValue;
+      final Group[] ranges;
+      final double[] lowerBounds;
+      final double[] upperBounds;
+
+      PropertyIndex(SimpleString property, Map<String, List<Group>> byValue, List<Group> byNonStringValue, List<RangeEntry> ranges) {
+         this.property = property;
+         this.byValue = new HashMap<>(byValue.size() * 2);
+         byValue.forEach((value, groups) -> this.byValue.put(value, groups.toArray(EMPTY)));
+         this.byNonStringValue = byNonStringValue.toArray(EMPTY);
+         ranges.sort(Comparator.comparingDouble(range -> range.lowerBound));
+         final int size = ranges.size();
+         this.ranges = new Group[size];
+         this.lowerBounds = new double[size];
+         this.upperBounds = new double[size];
+         for (int i = 0; i < size; i++) {
+            final RangeEntry range = ranges.get(i);
+            this.ranges[i] = range.group;
+            this.lowerBounds[i] = range.lowerBound;
+            this.upperBounds[i] = range.upperBound;
+         }
+      }
+
+      <T extends Throwable> void forEachCandidate(Message message,
+                                                  CopyOnWriteBindings.BindingsConsumer<T> consumer) throws T {
+         final Object value = FilterImpl.getProperty(message, property);
+         if (value == null) {
+            // no predicate can hold on a missing property
+            return;
+         }
+         if (value instanceof String string) {
+            final Group[] groups = byValue.get(string);
+            if (groups != null) {
+               accept(groups, groups.length, consumer);
+            }
+         } else {
+            accept(byNonStringValue, byNonStringValue.length, consumer);
+         }
+         if (ranges.length == 0) {
+            return;
+         }
+         if (value instanceof Double || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            // the selector promotes the operands to long or double: the double comparisons below can only over-select
+            final double number = ((Number) value).doubleValue();
+            final int candidates = upperIndexOf(lowerBounds, number);
+            for (int i = 0; i < candidates; i++) {
+               if (Double.compare(number, upperBounds[i]) <= 0) {
+                  final Group group = ranges[i];
+                  consumer.accept(group.bindings, group.position);
+               }
+            }
+         } else {
+            // any other type (including float and strings with convert_string_expressions) requires a full evaluation
+            accept(ranges, ranges.length, consumer);
+         }
+      }
+
+      /**
+       * {@return the number of leading lower bounds less than or equal to {@code number}}
+       */
+      private static int upperIndexOf(double[] lowerBounds, double number) {
+         int low = 0;
+         int high = lowerBounds.length;
+         while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (Double.compare(lowerBounds[middle], number) <= 0) {
+               low = middle + 1;
+            } else {
+               high = middle;
+            }
+         }
+         return low;
+      }
+   }
+
+   private final int version;
+   private final boolean enabled;
+   private final Group[] unindexed;
+   private final PropertyIndex[] properties;
+
+   private SelectorIndex(int version, boolean enabled, Group[] unindexed, PropertyIndex[] properties) {
+      this.version = version;
+      this.enabled = enabled;
+      this.unindexed = unindexed;
+      this.properties = properties;
+   }
+
+   /**
+    * Indexes the given bindings: the index is {@link #isEnabled() enabled} only if at least {@code threshold} routing
+    * names can be indexed.
+    */
+   static SelectorIndex build(CopyOnWriteBindings routingNameBindingMap, int version, int threshold) {
+      final List<Group> unindexed = new ArrayList<>();
+      final Map<SimpleString, Map<String, List<Group>>> byValue = new LinkedHashMap<>();
+      final Map<SimpleString, List<Group>> byNonStringValue = new HashMap<>();
+      final Map<SimpleString, List<RangeEntry>> ranges = new HashMap<>();
+      final int[] indexed = new int[1];
+      routingNameBindingMap.forEachBindings((bindings, position) -> {
+         final Group group = new Group(bindings, position);
+         final IndexablePredicate predicate = bindings.length == 1 ? selectPredicate(bindings[0].getFilter()) : null;
+         if (predicate == null) {
+            unindexed.add(group);
+            return;
+         }
+         indexed[0]++;
+         final SimpleString property = predicate.getProperty();
+         final Map<String, List<Group>> propertyValues = byValue.computeIfAbsent(property, k -> new HashMap<>());
+         if (predicate.isRange()) {
+            ranges.computeIfAbsent(property, k -> new ArrayList<>()).add(new RangeEntry(group, predicate));
+         } else {
+            for (String value : predicate.getValues()) {
+               propertyValues.computeIfAbsent(value, k -> new ArrayList<>()).add(group);
+            }
+            // a non String property can match an equality but never an IN (single values are treated as equalities)
+            if (predicate.getValues().size() == 1) {
+               byNonStringValue.computeIfAbsent(property, k -> new ArrayList<>()).add(group);
+            }
+         }
+      });
+      if (threshold <= 0 || indexed[0] < threshold) {
+         return new SelectorIndex(version, false, EMPTY, new PropertyIndex[0]);
+      }
+      final PropertyIndex[] properties = new PropertyIndex[byValue.size()];
+      int i = 0;
+      for (Map.Entry<SimpleString, Map<String, List<Group>>> entry : byValue.entrySet()) {
+         final SimpleString property = entry.getKey();
+         properties[i++] = new PropertyIndex(property, entry.getValue(),
+                                             byNonStringValue.getOrDefault(property, new ArrayList<>()),
+                                             ranges.getOrDefault(property, new ArrayList<>()));
+      }
+      return new SelectorIndex(version, true, unindexed.toArray(EMPTY), properties);
+   }
+
+   /**
+    * {@return the most selective predicate of {@code filter} or {@code null} if it cannot be indexed}
+    */
+   private static IndexablePredicate selectPredicate(Filter filter) {
+      if (!(filter instanceof FilterImpl filterImpl)) {
+         return null;
+      }
+      final List<IndexablePredicate> predicates = filterImpl.getIndexablePredicates();
+      if (predicates.isEmpty()) {
+         return null;
+      }
+      // value predicates come first and are more selective than ranges
+      return predicates.get(0);
+   }
+
+   int getVersion() {
+      return version;
+   }
+
+   boolean isEnabled() {
+      return enabled;
+   }
+
+   /**
+    * Feeds {@code consumer} with all the routing names which could match {@code message}.
+    */
+   <T extends Throwable> void forEachCandidate(Message message, CopyOnWriteBindings.BindingsConsumer<T> consumer) throws T {
+      accept(unindexed, unindexed.length, consumer);
+      for (PropertyIndex property : properties) {
+         property.forEachCandidate(message, consumer);
+      }
+   }
+
+   private static <T extends Throwable> void accept(Group[] groups,
+                                                    int length,
+                                                    CopyOnWriteBindings.BindingsConsumer<T> consumer) throws T {
+      for (int i = 0; i < length; i++) {
+         final Group group = groups[i];
+         consumer.accept(group.bindings, group.position);
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "SelectorIndex [version=" + version + ", enabled=" + enabled + ", unindexed=" + unindexed.length +
+         ", properties=" + Arrays.toString(Arrays.stream(properties).map(p -> p.property).toArray()) + "]";
+   }
+}
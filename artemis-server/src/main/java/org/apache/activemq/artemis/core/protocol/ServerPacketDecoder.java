@@ -38,6 +38,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.QuorumVote
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.RemoveProducerMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -99,9 +101,19 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
 
    private final StorageManager storageManager;
 
+   private final boolean offHeapMessageBodies;
+
    public ServerPacketDecoder(StorageManager storageManager) {
+      this(storageManager, false);
+   }
+
+   /**
+    * @param offHeapMessageBodies whether to hold the messages sent by the clients in direct memory
+    */
+   public ServerPacketDecoder(StorageManager storageManager, boolean offHeapMessageBodies) {
       assert storageManager != null;
       this.storageManager = storageManager;
+      this.offHeapMessageBodies = offHeapMessageBodies;
    }
 
    private SessionSendMessage decodeSessionSendMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
@@ -117,6 +129,10 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
          sendMessage = new SessionSendMessage_V3(new CoreMessage(this.coreMessageObjectPools));
       }
 
+      if (offHeapMessageBodies) {
+         sendMessage.setBodyAllocator(CoreMessage.OFF_HEAP_BODY_ALLOCATOR);
+      }
+
       sendMessage.decode(in);
       return sendMessage;
    }
@@ -195,6 +211,14 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
             packet = new ReplicationResponseMessageV2();
             break;
          }
+         case PacketImpl.REPLICATION_BATCH: {
+            packet = new ReplicationBatchMessage();
+            break;
+         }
+         case PacketImpl.REPLICATION_BATCH_RESPONSE: {
+            packet = new ReplicationBatchResponseMessage();
+            break;
+         }
          case REPLICATION_PAGE_WRITE: {
             packet = new ReplicationPageWriteMessage(connection.isVersionUsingLongOnPageReplication(), coreMessageObjectPools);
             break;
@@ -136,7 +136,7 @@ public class CoreProtocolManager implements ProtocolManager<Interceptor, ActiveM
 
       Executor connectionExecutor = server.getExecutorFactory().getExecutor();
 
-      final CoreRemotingConnection rc = new RemotingConnectionImpl(new ServerPacketDecoder(server.getStorageManager()),
+      final CoreRemotingConnection rc = new RemotingConnectionImpl(new ServerPacketDecoder(server.getStorageManager(), config.isOffHeapMessageBodies()),
                                                                    connection, incomingInterceptors, outgoingInterceptors, server.getNodeID(),
                                                                    connectionExecutor);
 
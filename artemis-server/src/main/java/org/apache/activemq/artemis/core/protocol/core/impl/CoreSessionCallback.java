@@ -16,9 +16,13 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import java.io.File;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ServerSessionPacketHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.DisconnectConsumerMessage;
@@ -111,25 +115,73 @@ public final class CoreSessionCallback implements SessionCallback {
       return packet.getPacketSize();
    }
 
+   @Override
+   public boolean supportsFileRegionDelivery() {
+      final CoreRemotingConnection coreConnection = channel.getConnection();
+      // the outgoing interceptors would expect the body within the packet, and a channel with a confirmation window
+      // has to keep every packet it sends in its resend cache for the client to confirm them
+      return channel.getConfirmationWindowSize() == -1 && coreConnection.getTransportConnection().isFileRegionSupported() &&
+         coreConnection instanceof RemotingConnectionImpl remotingConnection && remotingConnection.getOutgoingInterceptors().isEmpty();
+   }
+
+   @Override
+   public int sendLargeMessageContinuation(ServerConsumer consumer,
+                                           File file,
+                                           long position,
+                                           int length,
+                                           boolean continues,
+                                           Runnable onWritten) {
+      final CoreRemotingConnection coreConnection = channel.getConnection();
+      final SessionReceiveContinuationMessage packet = new SessionReceiveContinuationMessage(consumer.getID(), null, continues, false);
+      packet.setChannelID(channel.getID());
+
+      final ActiveMQBuffer header = packet.encodeHeader(coreConnection, length);
+      final ActiveMQBuffer trailer = packet.encodeTrailer(coreConnection);
+      coreConnection.getTransportConnection().write(header, file, position, length, trailer, future -> onWritten.run());
+
+      return packet.getPacketSize();
+   }
+
    @Override
    public int sendMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount)  {
+      Packet packet = createReceiveMessage(ref, consumer, deliveryCount);
 
-      Packet packet;
-      if (channel.getConnection().isVersionBeforeAddressChange()) {
-         packet = new SessionReceiveMessage_1X(consumer.getID(), ref.getMessage().toCore(coreMessageObjectPools), deliveryCount);
-      } else {
-         packet = new SessionReceiveMessage(consumer.getID(), ref.getMessage().toCore(coreMessageObjectPools), deliveryCount);
+      int size = 0;
+
+      if (channel.sendBatched(packet)) {
+         size = packet.getPacketSize();
       }
 
+      return size;
+   }
+
+   @Override
+   public int sendBatchedMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount) {
+      Packet packet = createReceiveMessage(ref, consumer, deliveryCount);
+
       int size = 0;
 
-      if (channel.sendBatched(packet)) {
+      // flushed once for the whole batch
+      if (channel.send(packet, false)) {
          size = packet.getPacketSize();
       }
 
       return size;
    }
 
+   @Override
+   public void flushBatch() {
+      channel.flushConnection();
+   }
+
+   private Packet createReceiveMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount) {
+      if (channel.getConnection().isVersionBeforeAddressChange()) {
+         return new SessionReceiveMessage_1X(consumer.getID(), ref.getMessage().toCore(coreMessageObjectPools), deliveryCount);
+      } else {
+         return new SessionReceiveMessage(consumer.getID(), ref.getMessage().toCore(coreMessageObjectPools), deliveryCount);
+      }
+   }
+
    @Override
    public void sendProducerCreditsMessage(int credits, SimpleString address) {
       Packet packet = new SessionProducerCreditsMessage(credits, address);
@@ -142,6 +194,11 @@ public final class CoreSessionCallback implements SessionCallback {
 
    }
 
+   @Override
+   public boolean supportsBatchedDelivery() {
+      return true;
+   }
+
    @Override
    public void afterDelivery() throws Exception {
 
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Several journal operations replicated as a single packet, each one encoded as its packet type followed by its body.
+ * The backup applies them in order and answers with a single {@link ReplicationBatchResponseMessage}.
+ */
+public final class ReplicationBatchMessage extends PacketImpl {
+
+   private final List<Packet> packets;
+
+   // the size of the encoded packets, without the packet headers
+   private int packetsSize;
+
+   public ReplicationBatchMessage() {
+      super(PacketImpl.REPLICATION_BATCH);
+      this.packets = new ArrayList<>();
+   }
+
+   /**
+    * {@return whether the given packet can be replicated as part of a batch}
+    */
+   public static boolean isBatchable(Packet packet) {
+      return switch (packet.getType()) {
+         case REPLICATION_APPEND, REPLICATION_APPEND_TX, REPLICATION_DELETE, REPLICATION_DELETE_TX, REPLICATION_PREPARE, REPLICATION_COMMIT_ROLLBACK -> true;
+         default -> false;
+      };
+   }
+
+   /**
+    * {@return the number of bytes the given packet would add to a batch}
+    */
+   public static int getEncodeSize(Packet packet) {
+      return packet.expectedEncodeSize() - PACKET_HEADERS_SIZE + DataConstants.SIZE_BYTE;
+   }
+
+   public void addPacket(Packet packet, int encodeSize) {
+      packets.add(packet);
+      packetsSize += encodeSize;
+   }
+
+   public List<Packet> getPackets() {
+      return packets;
+   }
+
+   public int getPacketsSize() {
+      return packetsSize;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE +
+         DataConstants.SIZE_INT + // buffer.writeInt(packets.size());
+         packetsSize;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer, final CoreRemotingConnection connection) {
+      buffer.writeInt(packets.size());
+      for (Packet packet : packets) {
+         buffer.writeByte(packet.getType());
+         ((PacketImpl) packet).encodeRest(buffer, connection);
+      }
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      final int count = buffer.readInt();
+      for (int i = 0; i < count; i++) {
+         final byte type = buffer.readByte();
+         // batches are only sent to backups supporting them, so the record encodings are never the pre 2.18 ones
+         final PacketImpl packet = switch (type) {
+            case REPLICATION_APPEND -> new ReplicationAddMessage(false);
+            case REPLICATION_APPEND_TX -> new ReplicationAddTXMessage(false);
+            case REPLICATION_DELETE -> new ReplicationDeleteMessage();
+            case REPLICATION_DELETE_TX -> new ReplicationDeleteTXMessage();
+            case REPLICATION_PREPARE -> new ReplicationPrepareMessage();
+            case REPLICATION_COMMIT_ROLLBACK -> new ReplicationCommitMessage();
+            default -> throw new IllegalStateException("Invalid packet type " + type + " on a replication batch");
+         };
+         packet.decodeRest(buffer);
+         packets.add(packet);
+      }
+   }
+
+   @Override
+   public void release() {
+      for (Packet packet : packets) {
+         packet.release();
+      }
+   }
+
+   @Override
+   protected String getPacketString() {
+      return super.getPacketString() + ", packets=" + packets.size() + ", packetsSize=" + packetsSize;
+   }
+}
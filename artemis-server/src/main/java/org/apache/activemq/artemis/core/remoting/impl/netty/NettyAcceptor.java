@@ -64,6 +64,8 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
 import io.netty.util.ResourceLeakDetector;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
@@ -74,6 +76,7 @@ import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.core.client.ActiveMQClientLogger;
 import org.apache.activemq.artemis.core.client.impl.ClientSessionFactoryImpl;
 import org.apache.activemq.artemis.core.protocol.ProtocolHandler;
 import org.apache.activemq.artemis.core.remoting.impl.AbstractAcceptor;
@@ -112,6 +115,7 @@ public class NettyAcceptor extends AbstractAcceptor {
    public static final String NIO_ACCEPTOR_TYPE = "NIO";
    public static final String EPOLL_ACCEPTOR_TYPE = "EPOLL";
    public static final String KQUEUE_ACCEPTOR_TYPE = "KQUEUE";
+   public static final String IO_URING_ACCEPTOR_TYPE = "IO_URING";
 
    static {
       // Disable default Netty leak detection if the Netty leak detection level system properties are not in use
@@ -148,6 +152,11 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final boolean useKQueue;
 
+   private final boolean useIoUring;
+
+   // the transport actually in use, null while not started
+   private volatile String acceptorType;
+
    private final ProtocolHandler protocolHandler;
 
    private final String host;
@@ -235,6 +244,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final boolean directDeliver;
 
+   private final boolean zeroCopyLargeMessages;
+
    private final boolean httpUpgradeEnabled;
 
    private final long connectionsAllowed;
@@ -280,6 +291,7 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       useEpoll = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_EPOLL_PROP_NAME, TransportConstants.DEFAULT_USE_EPOLL, configuration);
       useKQueue = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_KQUEUE_PROP_NAME, TransportConstants.DEFAULT_USE_KQUEUE, configuration);
+      useIoUring = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_IO_URING_PROP_NAME, TransportConstants.DEFAULT_USE_IO_URING, configuration);
 
       backlog = ConfigurationHelper.getIntProperty(TransportConstants.BACKLOG_PROP_NAME, -1, configuration);
       useInvm = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_INVM_PROP_NAME, TransportConstants.DEFAULT_USE_INVM, configuration);
@@ -383,6 +395,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       directDeliver = ConfigurationHelper.getBooleanProperty(TransportConstants.DIRECT_DELIVER, TransportConstants.DEFAULT_DIRECT_DELIVER, configuration);
 
+      zeroCopyLargeMessages = ConfigurationHelper.getBooleanProperty(TransportConstants.ZERO_COPY_LARGE_MESSAGES, TransportConstants.DEFAULT_ZERO_COPY_LARGE_MESSAGES, configuration);
+
       httpUpgradeEnabled = ConfigurationHelper.getBooleanProperty(TransportConstants.HTTP_UPGRADE_ENABLED_PROP_NAME, TransportConstants.DEFAULT_HTTP_UPGRADE_ENABLED, configuration);
 
       connectionsAllowed = ConfigurationHelper.getLongProperty(TransportConstants.CONNECTIONS_ALLOWED, TransportConstants.DEFAULT_CONNECTIONS_ALLOWED, configuration);
@@ -434,7 +448,15 @@ public class NettyAcceptor extends AbstractAcceptor {
             remotingThreads = Runtime.getRuntime().availableProcessors() * 3;
          }
 
-         if (useEpoll && CheckDependencies.isEpollAvailable()) {
+         final boolean ioUringAvailable = useIoUring && CheckDependencies.isIoUringAvailable();
+
+         if (ioUringAvailable) {
+            channelClazz = IOUringServerSocketChannel.class;
+            eventLoopGroup = new IOUringEventLoopGroup(remotingThreads, AccessController.doPrivileged((PrivilegedAction<ActiveMQThreadFactory>) () -> new ActiveMQThreadFactory("activemq-netty-threads", true, ClientSessionFactoryImpl.class.getClassLoader())));
+            acceptorType = IO_URING_ACCEPTOR_TYPE;
+
+            logger.debug("Acceptor using native io_uring");
+         } else if (useEpoll && CheckDependencies.isEpollAvailable()) {
             channelClazz = EpollServerSocketChannel.class;
             eventLoopGroup = new EpollEventLoopGroup(remotingThreads, AccessController.doPrivileged((PrivilegedAction<ActiveMQThreadFactory>) () -> new ActiveMQThreadFactory("activemq-netty-threads", true, ClientSessionFactoryImpl.class.getClassLoader())));
             acceptorType = EPOLL_ACCEPTOR_TYPE;
@@ -452,8 +474,14 @@ public class NettyAcceptor extends AbstractAcceptor {
             acceptorType = NIO_ACCEPTOR_TYPE;
             logger.debug("Acceptor using nio");
          }
+
+         if (useIoUring && !ioUringAvailable) {
+            ActiveMQClientLogger.LOGGER.ioUringNotAvailable(name, acceptorType);
+         }
       }
 
+      this.acceptorType = acceptorType;
+
       bootstrap = new ServerBootstrap();
       bootstrap.group(eventLoopGroup);
       bootstrap.channel(channelClazz);
@@ -546,6 +574,14 @@ public class NettyAcceptor extends AbstractAcceptor {
       return name;
    }
 
+   /**
+    * {@return the transport used by this acceptor (e.g. {@link #NIO_ACCEPTOR_TYPE} or {@link #IO_URING_ACCEPTOR_TYPE}),
+    * or {@code null} if it is not started}
+    */
+   public String getAcceptorType() {
+      return acceptorType;
+   }
+
 
    //for test purpose
    public Map<Object, NettyServerConnection> getConnections() {
@@ -783,6 +819,7 @@ public class NettyAcceptor extends AbstractAcceptor {
          }
 
          channelClazz = null;
+         acceptorType = null;
 
          for (Connection connection : connections.values()) {
             listener.connectionDestroyed(connection.getID(), true);
@@ -922,7 +959,7 @@ public class NettyAcceptor extends AbstractAcceptor {
             super.channelActive(ctx);
             Listener connectionListener = new Listener();
 
-            NettyServerConnection nc = new NettyServerConnection(configuration, ctx.channel(), connectionListener, !httpEnabled && batchDelay > 0, directDeliver, router);
+            NettyServerConnection nc = new NettyServerConnection(configuration, ctx.channel(), connectionListener, !httpEnabled && batchDelay > 0, directDeliver, router, zeroCopyLargeMessages);
 
             connectionListener.connectionCreated(NettyAcceptor.this, nc, protocolHandler.getProtocol(protocol));
 
@@ -27,15 +27,25 @@ public class NettyServerConnection extends NettyConnection {
 
    private final String router;
 
+   private final boolean zeroCopyLargeMessages;
+
    public NettyServerConnection(Map<String, Object> configuration,
                                 Channel channel,
                                 ServerConnectionLifeCycleListener listener,
                                 boolean batchingEnabled,
                                 boolean directDeliver,
-                                String router) {
+                                String router,
+                                boolean zeroCopyLargeMessages) {
       super(configuration, channel, listener, batchingEnabled, directDeliver);
 
       this.router = router;
+
+      this.zeroCopyLargeMessages = zeroCopyLargeMessages;
+   }
+
+   @Override
+   public boolean isFileRegionSupported() {
+      return zeroCopyLargeMessages && super.isFileRegionSupported();
    }
 
    @Override
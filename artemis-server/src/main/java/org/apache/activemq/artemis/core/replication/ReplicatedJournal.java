@@ -451,6 +451,31 @@ public class ReplicatedJournal implements Journal {
       return localJournal.getNumberOfRecords();
    }
 
+   @Override
+   public Map<String, Integer> getDataFilesLiveSize() {
+      return localJournal.getDataFilesLiveSize();
+   }
+
+   @Override
+   public long getCompactCount() {
+      return localJournal.getCompactCount();
+   }
+
+   @Override
+   public long getCompactTime() {
+      return localJournal.getCompactTime();
+   }
+
+   @Override
+   public long getCompactedBytes() {
+      return localJournal.getCompactedBytes();
+   }
+
+   @Override
+   public long getCompactStallTime() {
+      return localJournal.getCompactStallTime();
+   }
+
    @Override
    public int getUserVersion() {
       return localJournal.getUserVersion();
@@ -61,6 +61,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQEx
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.BackupReplicationStartFailedMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -217,6 +219,8 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
             handlePrepare((ReplicationPrepareMessage) packet);
          } else if (type == PacketImpl.REPLICATION_COMMIT_ROLLBACK) {
             handleCommitRollback((ReplicationCommitMessage) packet);
+         } else if (type == PacketImpl.REPLICATION_BATCH) {
+            response = handleBatch((ReplicationBatchMessage) packet);
          } else if (type == PacketImpl.REPLICATION_PAGE_WRITE) {
             handlePageWrite((ReplicationPageWriteMessage) packet);
          } else if (type == PacketImpl.REPLICATION_PAGE_EVENT) {
@@ -283,6 +287,25 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       eventListener.onPrimaryStopping(packet.isFinalMessage());
    }
 
+   /**
+    * Applies the journal operations of a batch in order, answering them with a single response.
+    */
+   private ReplicationBatchResponseMessage handleBatch(final ReplicationBatchMessage packet) throws Exception {
+      final List<Packet> packets = packet.getPackets();
+      for (Packet batched : packets) {
+         switch (batched.getType()) {
+            case PacketImpl.REPLICATION_APPEND -> handleAppendAddRecord((ReplicationAddMessage) batched);
+            case PacketImpl.REPLICATION_APPEND_TX -> handleAppendAddTXRecord((ReplicationAddTXMessage) batched);
+            case PacketImpl.REPLICATION_DELETE -> handleAppendDelete((ReplicationDeleteMessage) batched);
+            case PacketImpl.REPLICATION_DELETE_TX -> handleAppendDeleteTX((ReplicationDeleteTXMessage) batched);
+            case PacketImpl.REPLICATION_PREPARE -> handlePrepare((ReplicationPrepareMessage) batched);
+            case PacketImpl.REPLICATION_COMMIT_ROLLBACK -> handleCommitRollback((ReplicationCommitMessage) batched);
+            default -> ActiveMQServerLogger.LOGGER.invalidPacketForReplication(batched);
+         }
+      }
+      return new ReplicationBatchResponseMessage(packets.size());
+   }
+
    @Override
    public boolean isStarted() {
       return started;
@@ -61,6 +61,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.ChannelImpl.CHANNEL_I
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -103,6 +105,18 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * The maximum size in bytes of the journal operations coalesced in a single replication packet, {@code 0} to send
+    * each operation on its own packet.
+    */
+   public static final int DEFAULT_BATCH_SIZE = Integer.parseInt(System.getProperty("artemis.replication.batch.size", "65536"));
+
+   /**
+    * How long in microseconds a batch of journal operations can wait for more operations before being sent, {@code 0}
+    * to send it as soon as no more operations are pending.
+    */
+   public static final long DEFAULT_BATCH_WINDOW = Long.parseLong(System.getProperty("artemis.replication.batch.window", "0"));
+
    public enum ADD_OPERATION_TYPE {
       UPDATE {
          @Override
@@ -182,12 +196,34 @@ public final class ReplicationManager implements ActiveMQComponent {
    private final ReadyListener onResume;
    private boolean isFlushing;
    private boolean awaitingResume;
+   private final int batchSize;
+   private final long batchWindowNanos;
+   // the journal operations not sent yet, only accessed by the replication stream
+   private ReplicationBatchMessage batch;
+   private long batchStart;
+   private boolean batchFlushScheduled;
+   private final Runnable onBatchWindowExpired;
 
    public ReplicationManager(ActiveMQServer server,
                              CoreRemotingConnection remotingConnection,
                              final long timeout,
                              final long initialReplicationSyncTimeout,
                              final ExecutorFactory ioExecutorFactory) {
+      this(server, remotingConnection, timeout, initialReplicationSyncTimeout, ioExecutorFactory, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_WINDOW);
+   }
+
+   /**
+    * @param batchSize   the maximum size in bytes of the journal operations sent as a single packet, {@code 0} to
+    *                    disable batching; ignored if the backup doesn't support batches
+    * @param batchWindow how long in microseconds a batch can wait for more operations before being sent
+    */
+   public ReplicationManager(ActiveMQServer server,
+                             CoreRemotingConnection remotingConnection,
+                             final long timeout,
+                             final long initialReplicationSyncTimeout,
+                             final ExecutorFactory ioExecutorFactory,
+                             final int batchSize,
+                             final long batchWindow) {
       this.server = server;
       this.ioExecutorFactory = ioExecutorFactory;
       this.initialReplicationSyncTimeout = initialReplicationSyncTimeout;
@@ -210,6 +246,10 @@ public final class ReplicationManager implements ActiveMQComponent {
       this.onResume = this::resume;
       this.isFlushing = false;
       this.checkSlowReplication = false;
+      this.batchSize = remotingConnection.isVersionSupportReplicationBatch() ? batchSize : 0;
+      // the window can only be honoured by scheduling on the event loop
+      this.batchWindowNanos = scheduledExecutorService != null ? TimeUnit.MICROSECONDS.toNanos(batchWindow) : 0;
+      this.onBatchWindowExpired = this::batchWindowExpired;
    }
 
    public void appendUpdateRecord(final byte journalID,
@@ -476,6 +516,11 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private void releaseReplicatedPackets(Queue<ReplicatePacketRequest> requests) {
       assert checkEventLoop();
+      // the contexts of the batched operations are already pending, they're completed along with the others
+      if (batch != null) {
+         batch.release();
+         batch = null;
+      }
       ReplicatePacketRequest req;
       while ((req = requests.poll()) != null) {
          req.packet.release();
@@ -537,6 +582,9 @@ public final class ReplicationManager implements ActiveMQComponent {
             checkSlowReplication = false;
             final ReplicatePacketRequest request = replicatePacketRequests.poll();
             if (request == null) {
+               if (!awaitBatchWindow()) {
+                  sendBatch();
+               }
                replicatingChannel.flushConnection();
                // given that there isn't any more work to do, we're not interested
                // to check writability state to trigger the slow connection check
@@ -548,8 +596,15 @@ public final class ReplicationManager implements ActiveMQComponent {
             if (done != null) {
                done.countDown();
             }
-            replicatingChannel.send(pack, false);
+            if (batchSize > 0 && done == null && ReplicationBatchMessage.isBatchable(pack)) {
+               addToBatch(pack);
+            } else {
+               // the batched operations must reach the backup before this one
+               sendBatch();
+               replicatingChannel.send(pack, false);
+            }
          }
+         sendBatch();
          replicatingChannel.flushConnection();
          assert !awaitingResume;
          // we care about writability just if there is some work to do
@@ -582,6 +637,71 @@ public final class ReplicationManager implements ActiveMQComponent {
       }
    }
 
+   private void addToBatch(Packet packet) {
+      final int encodeSize = ReplicationBatchMessage.getEncodeSize(packet);
+      if (batch != null && batch.getPacketsSize() + encodeSize > batchSize) {
+         sendBatch();
+      }
+      if (batch == null) {
+         batch = new ReplicationBatchMessage();
+         batchStart = System.nanoTime();
+      }
+      batch.addPacket(packet, encodeSize);
+      if (batch.getPacketsSize() >= batchSize) {
+         sendBatch();
+      }
+   }
+
+   private void sendBatch() {
+      final ReplicationBatchMessage batch = this.batch;
+      if (batch == null) {
+         return;
+      }
+      this.batch = null;
+      final List<Packet> packets = batch.getPackets();
+      if (packets.size() == 1) {
+         replicatingChannel.send(packets.get(0), false);
+      } else {
+         replicatingChannel.send(batch, false);
+      }
+   }
+
+   /**
+    * @return {@code true} if the pending batch is left waiting for more operations, to be sent once its window expires
+    */
+   private boolean awaitBatchWindow() {
+      if (batch == null || batchWindowNanos == 0) {
+         return false;
+      }
+      final long remainingNanos = batchWindowNanos - (System.nanoTime() - batchStart);
+      if (remainingNanos <= 0) {
+         return false;
+      }
+      if (!batchFlushScheduled) {
+         batchFlushScheduled = true;
+         scheduledExecutorService.schedule(onBatchWindowExpired, remainingNanos, TimeUnit.NANOSECONDS);
+      }
+      return true;
+   }
+
+   private void batchWindowExpired() {
+      assert checkEventLoop();
+      batchFlushScheduled = false;
+      if (!started) {
+         releaseReplicatedPackets(replicatePacketRequests);
+         return;
+      }
+      if (batch == null) {
+         return;
+      }
+      try {
+         sendBatch();
+         replicatingChannel.flushConnection();
+      } catch (Throwable t) {
+         logger.warn("Unexpected error while flushing replicate packets", t);
+      }
+   }
+
    private boolean checkEventLoop() {
       if (!(replicationStream instanceof SingleThreadEventLoop eventLoop)) {
          return true;
@@ -605,6 +725,12 @@ public final class ReplicationManager implements ActiveMQComponent {
       ctx.replicationDone();
    }
 
+   private void replicated(int count) {
+      for (int i = 0; i < count; i++) {
+         replicated();
+      }
+   }
+
 
    private final class ReplicatedSessionFailureListener implements SessionFailureListener {
 
@@ -646,6 +772,8 @@ public final class ReplicationManager implements ActiveMQComponent {
                   synchronizationIsFinishedAcknowledgement.countDown();
                }
             }
+         } else if (packet.getType() == PacketImpl.REPLICATION_BATCH_RESPONSE) {
+            replicated(((ReplicationBatchResponseMessage) packet).getCount());
          }
       }
 
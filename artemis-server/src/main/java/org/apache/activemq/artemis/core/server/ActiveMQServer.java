@@ -437,6 +437,11 @@ public interface ActiveMQServer extends ServiceComponent {
 
    void clearAddressCache();
 
+   /**
+    * Evicts the cached security and address settings of an address and of one of its queues, if not {@code null}.
+    */
+   void clearAddressCache(SimpleString address, SimpleString queueName);
+
    QueueFactory getQueueFactory();
 
    ResourceManager getResourceManager();
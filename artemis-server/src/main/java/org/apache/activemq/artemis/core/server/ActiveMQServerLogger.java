@@ -110,6 +110,9 @@ public interface ActiveMQServerLogger {
    @LogMessage(id = 221014, value = "{}% loaded", level = LogMessage.Level.INFO)
    void percentLoaded(Long percent);
 
+   @LogMessage(id = 221110, value = "Message journal loaded {} records in {} ms: journal read in {} ms, records decoded in {} ms, queues loaded in {} ms, post load in {} ms", level = LogMessage.Level.INFO)
+   void messageJournalLoaded(long records, long totalMillis, long readMillis, long decodeMillis, long queuesMillis, long postLoadMillis);
+
    @LogMessage(id = 221015, value = "Can not find queue {} while reloading ACKNOWLEDGE_CURSOR, deleting record now", level = LogMessage.Level.INFO)
    void journalCannotFindQueueReloading(Long queueID);
 
@@ -35,6 +35,40 @@ public interface Consumer extends PriorityAware {
       return true;
    }
 
+   /**
+    * Whether this {@code Consumer} can {@link #handle(MessageReference) handle} many references before
+    * {@link #proceedDeliver(MessageReference) proceeding} with their delivery.
+    *
+    * @see SessionCallback#supportsBatchedDelivery()
+    */
+   default boolean supportsBatchedDelivery() {
+      return false;
+   }
+
+   /**
+    * How many references this {@code Consumer} would like to be handed at once when it
+    * {@link #supportsBatchedDelivery() supports batched delivery}. The queue's own delivery batch size is used when
+    * greater.
+    */
+   default int getDeliveryBatchSize() {
+      return 1;
+   }
+
+   /**
+    * Called with the queue locked when this {@code Consumer} just handled {@code ref} and is about to be handed the
+    * references following it, up to the effective delivery batch size, i.e. only when that size is greater than 1. The
+    * whole batch is {@link #proceedDeliver(MessageReference) proceeded} before {@link #endBatch()} is called.
+    */
+   default void beginBatch(MessageReference ref) {
+   }
+
+   /**
+    * Called once all the references of the batch started by {@link #beginBatch(MessageReference)} were proceeded, even
+    * if some of their deliveries failed.
+    */
+   default void endBatch() throws Exception {
+   }
+
    /**
     * There was a change on semantic during 2.3 here.
     * <p>
@@ -69,6 +69,8 @@ import org.apache.activemq.artemis.core.server.impl.QueueImpl;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationService;
 import org.apache.activemq.artemis.core.server.transformer.Transformer;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
 import org.apache.activemq.artemis.spi.core.protocol.EmbedMessageUtil;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
@@ -87,6 +89,13 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * How many messages a bridge takes from its queue at once, sending them together once they're all handled and
+    * acknowledging them on the queue in batches as the remote broker confirms them. {@code 1} sends and acknowledges
+    * each message on its own.
+    */
+   public static final int DEFAULT_BATCH_SIZE = Integer.parseInt(System.getProperty("artemis.bridge.batch.size", "1"));
+
    protected final ServerLocatorInternal serverLocator;
 
    protected final Executor executor;
@@ -150,6 +159,18 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
 
    private final OperationContextImpl bridgeContext;
 
+   private int batchSize;
+
+   // the messages handled on the current delivery batch, sent once the queue proceeds with the delivery of all of them
+   private final List<PendingSend> pendingSends = new ArrayList<>();
+
+   private int pendingSendsDelivered;
+
+   // the references confirmed by the remote broker and not acknowledged yet, when batching
+   private final List<MessageReference> confirmedRefs = new ArrayList<>();
+
+   private final Executor ackExecutor;
+
    public BridgeImpl(final ServerLocatorInternal serverLocator,
                      final BridgeConfiguration configuration,
                      final UUID nodeUUID,
@@ -181,6 +202,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       this.server = server;
 
       this.bridgeContext = new OperationContextImpl(executor);
+
+      this.batchSize = DEFAULT_BATCH_SIZE;
+
+      // not the bridge executor, stopping the bridge blocks it until the pending acknowledgements are done
+      this.ackExecutor = server.getExecutorFactory().getExecutor();
    }
 
    public static final byte[] getDuplicateBytes(final UUID nodeUUID, final long messageID) {
@@ -227,6 +253,27 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       this.notificationService = notificationService;
    }
 
+   /**
+    * Overrides {@link #DEFAULT_BATCH_SIZE} for this bridge, before it's started.
+    */
+   public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+   }
+
+   public int getBatchSize() {
+      return batchSize;
+   }
+
+   @Override
+   public boolean supportsBatchedDelivery() {
+      return batchSize > 1;
+   }
+
+   @Override
+   public int getDeliveryBatchSize() {
+      return batchSize;
+   }
+
    @Override
    public void onCreditsFlow(boolean blocked, ClientProducerCredits producerCredits) {
       if (logger.isTraceEnabled()) {
@@ -283,6 +330,8 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
          refs.clear();
       }
 
+      metrics.removeMessagesInFlight(list.size());
+
       if (logger.isTraceEnabled()) {
          logger.trace("BridgeImpl::cancelRefs cancelling {} references", list.size());
       }
@@ -471,7 +520,9 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
                   ref = refs.remove(message.getMessageID());
                }
 
-               if (ref != null) {
+               if (ref != null && batchSize > 1) {
+                  confirmed(ref);
+               } else if (ref != null) {
                   if (logger.isTraceEnabled()) {
                      logger.trace("BridgeImpl::sendAcknowledged bridge {} Acking {} on queue {}", this, ref, ref.getQueue());
                   }
@@ -496,6 +547,51 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       }
    }
 
+   private void confirmed(final MessageReference ref) {
+      final boolean acknowledging;
+      synchronized (confirmedRefs) {
+         acknowledging = !confirmedRefs.isEmpty();
+         confirmedRefs.add(ref);
+      }
+      // the references confirmed meanwhile are acknowledged along with this one
+      if (!acknowledging) {
+         ackExecutor.execute(this::acknowledgeConfirmed);
+      }
+   }
+
+   private void acknowledgeConfirmed() {
+      final List<MessageReference> acknowledged;
+      synchronized (confirmedRefs) {
+         acknowledged = new ArrayList<>(confirmedRefs);
+         confirmedRefs.clear();
+      }
+
+      OperationContext oldContext = OperationContextImpl.getContext();
+
+      try {
+         OperationContextImpl.setContext(bridgeContext);
+         logger.trace("BridgeImpl::acknowledgeConfirmed bridge {} Acking {} references", this, acknowledged.size());
+
+         final Transaction tx = new TransactionImpl(server.getStorageManager());
+         for (MessageReference ref : acknowledged) {
+            ref.getQueue().acknowledge(tx, ref);
+         }
+         tx.commit();
+         metrics.addMessagesAcknowledged(acknowledged.size());
+
+         if (server.hasBrokerBridgePlugins()) {
+            for (MessageReference ref : acknowledged) {
+               server.callBrokerBridgePlugins(plugin -> plugin.afterAcknowledgeBridge(this, ref));
+            }
+         }
+      } catch (Exception e) {
+         ActiveMQServerLogger.LOGGER.bridgeFailedToAck(e);
+      } finally {
+         pendingAcks.countDown(acknowledged.size());
+         OperationContextImpl.setContext(oldContext);
+      }
+   }
+
    @Override
    public void failed(Throwable t) {
       if (t instanceof ActiveMQException activeMQException) {
@@ -593,6 +689,12 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
             return HandleStatus.BUSY;
          }
 
+         if (!pendingSends.isEmpty() && ref.getMessage().isLargeMessage()) {
+            // a large message is sent on its own, once the current batch is sent
+            logger.trace("Bridge {} won't send a large message on a batch", configuration.getName());
+            return HandleStatus.BUSY;
+         }
+
          logger.trace("Bridge {} is handling reference {} ", configuration.getName(), ref);
 
          ref.handled();
@@ -624,6 +726,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
                deliveringLargeMessage = true;
                deliverLargeMessage(dest, ref, (LargeServerMessage) message);
                status = HandleStatus.HANDLED;
+            } else if (batchSize > 1) {
+               pendingSends.add(new PendingSend(dest, ref, message));
+               metrics.incrementMessagesPendingAcknowledgement();
+               // the plugins are called after the delivery once the batch is sent
+               return HandleStatus.HANDLED;
             } else {
                status = deliverStandardMessage(dest, ref, message, ref.getMessage());
             }
@@ -650,7 +757,61 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
 
    @Override
    public void proceedDeliver(MessageReference ref) {
-      // no op
+      if (batchSize > 1) {
+         sendBatch();
+      }
+   }
+
+   /**
+    * Sends the messages of the current batch once the queue proceeded with the delivery of all of them, outside of the
+    * queue lock.
+    */
+   private synchronized void sendBatch() {
+      if (pendingSends.isEmpty() || ++pendingSendsDelivered < pendingSends.size()) {
+         return;
+      }
+
+      logger.trace("Bridge {} is sending a batch of {} messages", configuration.getName(), pendingSends.size());
+
+      ActiveMQException failure = null;
+      for (PendingSend pending : pendingSends) {
+         final MessageReference ref = pending.ref;
+         final boolean cancelled;
+         synchronized (refs) {
+            cancelled = !refs.containsKey(ref.getMessage().getMessageID());
+         }
+         boolean sent = false;
+         // once a send fails the references left go back to the queue along with it, when handling the failure
+         if (failure == null && !cancelled && state == State.STARTED) {
+            try {
+               producer.send(pending.dest, pending.message);
+               sent = true;
+            } catch (final ActiveMQException e) {
+               ActiveMQServerLogger.LOGGER.bridgeUnableToSendMessage(ref, e);
+               failure = e;
+            }
+         }
+         ref.getMessage().usageDown();
+
+         if (!sent) {
+            pendingAcks.countDown();
+         }
+
+         if (server.hasBrokerBridgePlugins()) {
+            final HandleStatus status = sent ? HandleStatus.HANDLED : HandleStatus.BUSY;
+            try {
+               server.callBrokerBridgePlugins(plugin -> plugin.afterDeliverBridge(this, ref, status));
+            } catch (ActiveMQException e) {
+               logger.warn(e.getMessage(), e);
+            }
+         }
+      }
+      pendingSends.clear();
+      pendingSendsDelivered = 0;
+
+      if (failure != null) {
+         connectionFailed(failure, false);
+      }
    }
 
    @Override
@@ -999,6 +1160,21 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       deliveringLargeMessage = false;
    }
 
+   private static final class PendingSend {
+
+      final SimpleString dest;
+
+      final MessageReference ref;
+
+      final Message message;
+
+      PendingSend(SimpleString dest, MessageReference ref, Message message) {
+         this.dest = dest;
+         this.ref = ref;
+         this.message = message;
+      }
+   }
+
    private class ScheduledConnectRunnable implements Runnable {
 
       @Override
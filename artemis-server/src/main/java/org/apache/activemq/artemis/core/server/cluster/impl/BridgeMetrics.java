@@ -18,12 +18,18 @@ package org.apache.activemq.artemis.core.server.cluster.impl;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 public class BridgeMetrics {
 
    public static final String MESSAGES_PENDING_ACKNOWLEDGEMENT_KEY = "messagesPendingAcknowledgement";
    public static final String MESSAGES_ACKNOWLEDGED_KEY = "messagesAcknowledged";
+   public static final String MESSAGES_IN_FLIGHT_KEY = "messagesInFlight";
+   public static final String MESSAGES_ACKNOWLEDGED_RATE_KEY = "messagesAcknowledgedRate";
+
+   // the minimum period the acknowledged messages rate is measured over
+   private static final long RATE_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
 
    private static final AtomicLongFieldUpdater<BridgeMetrics> MESSAGES_PENDING_ACKNOWLEDGEMENT_UPDATER =
          AtomicLongFieldUpdater.newUpdater(BridgeMetrics.class, MESSAGES_PENDING_ACKNOWLEDGEMENT_KEY);
@@ -31,15 +37,43 @@ public class BridgeMetrics {
    private static final AtomicLongFieldUpdater<BridgeMetrics> MESSAGES_ACKNOWLEDGED_UPDATER =
          AtomicLongFieldUpdater.newUpdater(BridgeMetrics.class, MESSAGES_ACKNOWLEDGED_KEY);
 
+   private static final AtomicLongFieldUpdater<BridgeMetrics> MESSAGES_IN_FLIGHT_UPDATER =
+         AtomicLongFieldUpdater.newUpdater(BridgeMetrics.class, MESSAGES_IN_FLIGHT_KEY);
+
+   private static final AtomicLongFieldUpdater<BridgeMetrics> RATE_PERIOD_START_UPDATER =
+         AtomicLongFieldUpdater.newUpdater(BridgeMetrics.class, "ratePeriodStart");
+
    private volatile long messagesPendingAcknowledgement;
    private volatile long messagesAcknowledged;
+   private volatile long messagesInFlight;
+
+   private volatile long ratePeriodStart = System.nanoTime();
+   private volatile long ratePeriodAcknowledged;
+   private volatile double messagesAcknowledgedRate;
 
    public void incrementMessagesPendingAcknowledgement() {
       MESSAGES_PENDING_ACKNOWLEDGEMENT_UPDATER.incrementAndGet(this);
+      MESSAGES_IN_FLIGHT_UPDATER.incrementAndGet(this);
    }
 
    public void incrementMessagesAcknowledged() {
       MESSAGES_ACKNOWLEDGED_UPDATER.incrementAndGet(this);
+      MESSAGES_IN_FLIGHT_UPDATER.decrementAndGet(this);
+      updateRate();
+   }
+
+   public void addMessagesAcknowledged(int count) {
+      MESSAGES_ACKNOWLEDGED_UPDATER.addAndGet(this, count);
+      MESSAGES_IN_FLIGHT_UPDATER.addAndGet(this, -count);
+      updateRate();
+   }
+
+   /**
+    * The given messages won't be acknowledged by the remote broker, e.g. because they were given back to the queue
+    * after a failure.
+    */
+   public void removeMessagesInFlight(int count) {
+      MESSAGES_IN_FLIGHT_UPDATER.addAndGet(this, -count);
    }
 
    public long getMessagesPendingAcknowledgement() {
@@ -50,6 +84,33 @@ public class BridgeMetrics {
       return messagesAcknowledged;
    }
 
+   /**
+    * {@return the number of messages forwarded and not acknowledged by the remote broker yet}
+    */
+   public long getMessagesInFlight() {
+      return messagesInFlight;
+   }
+
+   /**
+    * {@return the number of messages acknowledged by the remote broker per second, measured over the last second or
+    * more}
+    */
+   public double getMessagesAcknowledgedRate() {
+      updateRate();
+      return messagesAcknowledgedRate;
+   }
+
+   private void updateRate() {
+      final long start = ratePeriodStart;
+      final long now = System.nanoTime();
+      final long elapsed = now - start;
+      if (elapsed >= RATE_PERIOD_NANOS && RATE_PERIOD_START_UPDATER.compareAndSet(this, start, now)) {
+         final long acknowledged = messagesAcknowledged;
+         messagesAcknowledgedRate = (acknowledged - ratePeriodAcknowledged) * (double) RATE_PERIOD_NANOS / elapsed;
+         ratePeriodAcknowledged = acknowledged;
+      }
+   }
+
    /**
     * {@return <em>new</em> {@code Map} containing the Bridge metrics}
     */
@@ -57,6 +118,8 @@ public class BridgeMetrics {
       final Map<String, Object> metrics = new HashMap<>();
       metrics.put(MESSAGES_PENDING_ACKNOWLEDGEMENT_KEY, messagesPendingAcknowledgement);
       metrics.put(MESSAGES_ACKNOWLEDGED_KEY, messagesAcknowledged);
+      metrics.put(MESSAGES_IN_FLIGHT_KEY, messagesInFlight);
+      metrics.put(MESSAGES_ACKNOWLEDGED_RATE_KEY, getMessagesAcknowledgedRate());
 
       return metrics;
    }
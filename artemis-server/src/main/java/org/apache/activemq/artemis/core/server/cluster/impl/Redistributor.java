@@ -39,8 +39,21 @@ public class Redistributor implements Consumer {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * How many references the queue hands at once to be redistributed on a single transaction, {@code 1} to commit
+    * each one on its own unless the queue's delivery batch size is greater.
+    */
+   public static final int DEFAULT_BATCH_SIZE = Integer.parseInt(System.getProperty("artemis.redistributor.batch.size", "1"));
+
    private boolean active;
 
+   // the transaction of the batch being redistributed, committed once all of its references are delivered
+   private Transaction batchTx;
+
+   private int batchHandled;
+
+   private int batchDelivered;
+
    private final PostOffice postOffice;
 
    private final Queue queue;
@@ -67,6 +80,16 @@ public class Redistributor implements Consumer {
       return null;
    }
 
+   @Override
+   public boolean supportsBatchedDelivery() {
+      return true;
+   }
+
+   @Override
+   public int getDeliveryBatchSize() {
+      return DEFAULT_BATCH_SIZE;
+   }
+
    @Override
    public String debug() {
       return toString();
@@ -107,7 +130,8 @@ public class Redistributor implements Consumer {
          logger.debug("Redistributing message {}, originatingQueue={}", reference.getMessage(), queue.getName());
       }
 
-      final Pair<RoutingContext, Message> routingInfo = postOffice.redistribute(reference.getMessage(), queue);
+      // the first redistribution of a batch starts its transaction
+      final Pair<RoutingContext, Message> routingInfo = postOffice.redistribute(reference.getMessage(), queue, batchTx);
 
       if (routingInfo == null) {
          logger.debug("postOffice.redistribute return null for message {}", reference);
@@ -116,6 +140,7 @@ public class Redistributor implements Consumer {
 
       RoutingContext context = routingInfo.getA();
       Message message = routingInfo.getB();
+      batchTx = context.getTransaction();
 
       try {
          postOffice.processRoute(message, context, false);
@@ -124,35 +149,57 @@ public class Redistributor implements Consumer {
             RefCountMessage.deferredDebug(reference.getMessage(), "redistributing");
          }
 
-         ackRedistribution(reference, context.getTransaction());
+         reference.handled();
+
+         queue.acknowledge(batchTx, reference);
       } catch (Throwable e) {
-         if (context.getTransaction() != null) {
-            context.getTransaction().setAsync(true).rollback();
-         }
+         // the references redistributed before on the same batch go back to the queue along with this one
+         batchTx.setAsync(true).rollback();
+         batchTx = null;
+         batchHandled = 0;
+         batchDelivered = 0;
          ActiveMQServerLogger.LOGGER.errorRedistributing(String.valueOf(this.queue.getName()), String.valueOf(message), e);
          return HandleStatus.NO_MATCH;
       }
 
+      batchHandled++;
+
       return HandleStatus.HANDLED;
    }
 
+   /**
+    * The redistributions are committed once the queue proceeds with the delivery of every reference it handed on the
+    * same batch.
+    */
    @Override
-   public void proceedDeliver(MessageReference ref) {
-      // no op
-   }
+   public synchronized void proceedDeliver(MessageReference ref) {
+      if (batchTx == null || ++batchDelivered < batchHandled) {
+         return;
+      }
 
+      final Transaction tx = batchTx;
+      final int redistributed = batchHandled;
+      batchTx = null;
+      batchHandled = 0;
+      batchDelivered = 0;
 
-   @Override
-   public void failed(Throwable t) {
-      // no op... there's no proceedDeliver on this class
-   }
-
-   private void ackRedistribution(final MessageReference reference, final Transaction tx) throws Exception {
-      reference.handled();
+      logger.debug("Committing the redistribution of {} messages from {}", redistributed, queue.getName());
 
-      queue.acknowledge(tx, reference);
+      try {
+         tx.commit();
+      } catch (Throwable e) {
+         ActiveMQServerLogger.LOGGER.errorRedistributing(String.valueOf(this.queue.getName()), redistributed + " messages", e);
+         try {
+            tx.setAsync(true).rollback();
+         } catch (Throwable rollbackError) {
+            logger.debug(rollbackError.getMessage(), rollbackError);
+         }
+      }
+   }
 
-      tx.commit();
+   @Override
+   public void failed(Throwable t) {
+      // no op
    }
 
    @Override
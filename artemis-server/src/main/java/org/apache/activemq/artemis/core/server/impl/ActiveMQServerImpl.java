@@ -199,6 +199,7 @@ import org.apache.activemq.artemis.core.settings.impl.ResourceLimitSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.core.transaction.impl.ResourceManagerImpl;
 import org.apache.activemq.artemis.core.version.Version;
+import org.apache.activemq.artemis.jdbc.store.journal.JDBCJournalImpl;
 import org.apache.activemq.artemis.logs.AuditLogger;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManagerFactory;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
@@ -2503,15 +2504,15 @@ public class ActiveMQServerImpl implements ActiveMQServer {
          return;
       }
 
-      try {
-         Binding binding = postOffice.getBinding(queueName);
+      Binding binding = postOffice.getBinding(queueName);
 
-         if (binding == null) {
-            throw ActiveMQMessageBundle.BUNDLE.noSuchQueue(queueName);
-         }
+      if (binding == null) {
+         throw ActiveMQMessageBundle.BUNDLE.noSuchQueue(queueName);
+      }
 
-         SimpleString address = binding.getAddress();
+      SimpleString address = binding.getAddress();
 
+      try {
          Queue queue = (Queue) binding.getBindable();
 
          if (session != null) {
@@ -2560,7 +2561,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
          callPostQueueDeletionCallbacks(address, queueName);
       } finally {
-         clearAddressCache();
+         clearAddressCache(address, queueName);
       }
    }
 
@@ -2570,6 +2571,19 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       addressSettingsRepository.clearCache();
    }
 
+   @Override
+   public void clearAddressCache(SimpleString address, SimpleString queueName) {
+      final String addressName = address.toString();
+      securityRepository.clearCache(addressName);
+      addressSettingsRepository.clearCache(addressName);
+      if (queueName != null) {
+         final String fqqn = CompositeAddress.toFullyQualified(address, queueName).toString();
+         securityRepository.clearCache(queueName.toString());
+         securityRepository.clearCache(fqqn);
+         addressSettingsRepository.clearCache(queueName.toString());
+      }
+   }
+
    @Override
    public void registerActivateCallback(final ActivateCallback callback) {
       activateCallbacks.add(callback);
@@ -3322,6 +3336,21 @@ public class ActiveMQServerImpl implements ActiveMQServer {
        */
       if (configuration.getMetricsConfiguration() != null && configuration.getMetricsConfiguration().getPlugin() != null) {
          metricsManager = new MetricsManager(configuration.getName(), configuration.getMetricsConfiguration(), addressSettingsRepository, securityStore, temp -> getRuntimeTempQueueNamespace(temp));
+         if (pagingManager.getSharedPageCache() != null) {
+            metricsManager.registerCache(pagingManager.getSharedPageCache().getCache(), "paging");
+         }
+         if (addressSettingsRepository instanceof HierarchicalObjectRepository<AddressSettings> repository) {
+            metricsManager.registerCache(repository.getCache(), "address-settings");
+         }
+         if (securityRepository instanceof HierarchicalObjectRepository<Set<Role>> repository) {
+            metricsManager.registerCache(repository.getCache(), "security-settings");
+         }
+         if (storageManager.getMessageJournal() instanceof JDBCJournalImpl messageJournal) {
+            metricsManager.registerJDBCJournal(messageJournal, "messages");
+         }
+         if (storageManager.getBindingsJournal() instanceof JDBCJournalImpl bindingsJournal) {
+            metricsManager.registerJDBCJournal(bindingsJournal, "bindings");
+         }
       }
 
       postOffice = new PostOfficeImpl(this, storageManager, pagingManager, queueFactory, managementService, configuration.getMessageExpiryScanPeriod(), configuration.getAddressQueueScanPeriod(), configuration.getWildcardConfiguration(), configuration.getIDCacheSize(), configuration.isPersistIDCache(), addressSettingsRepository);
@@ -4029,7 +4058,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
          storageManager.commitBindings(txID);
          pagingManager.deletePageStore(address);
       } finally {
-         clearAddressCache();
+         clearAddressCache(address, null);
       }
    }
 
@@ -119,6 +119,12 @@ public class LastValueQueue extends QueueImpl {
       return false;
    }
 
+   @Override
+   protected boolean isConcurrentDelivery() {
+      // the last values are tracked as the references are added to and removed from messageReferences
+      return false;
+   }
+
    @Override
    protected void pruneLastValues() {
       // called with synchronized(this) from super.deliver()
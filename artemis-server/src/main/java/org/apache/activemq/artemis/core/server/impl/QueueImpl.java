@@ -22,6 +22,7 @@ import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -181,6 +182,12 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    // address-settings in broker.xml
    private static final long PAGE_FLOW_CONTROL_PRINT_INTERVAL = Long.parseLong(System.getProperty("ARTEMIS_PAGE_FLOW_CONTROL_PRINT_INTERVAL", "60000"));
 
+   // The maximum number of references handed to a consumer while holding the queue lock once, before proceeding with
+   // their delivery. Only consumers supporting batched delivery are given more than one reference at a time.
+   private static final int DEFAULT_DELIVERY_BATCH_SIZE = Integer.parseInt(System.getProperty("artemis.queue.delivery.batch.size", "1"));
+
+   private volatile int deliveryBatchSize = DEFAULT_DELIVERY_BATCH_SIZE;
+
    // Once we delivered messages from paging we need to call asyncDelivery upon acks if we flow control paging, ack more
    // messages will open the space to deliver more messages hence we will need this flag to determine if it was paging
    // before.
@@ -988,7 +995,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             RefCountMessage.deferredDebug(ref.getMessage(), "add tail queue {}", this.getName());
          }
 
-         if (direct && supportsDirectDeliver && !directDeliver && System.currentTimeMillis() - lastDirectDeliveryCheck > CHECK_QUEUE_SIZE_PERIOD) {
+         // with concurrent delivery the producers never deliver, so they don't need to take the queue lock
+         final boolean tryDirect = direct && !isConcurrentDelivery();
+
+         if (tryDirect && supportsDirectDeliver && !directDeliver && System.currentTimeMillis() - lastDirectDeliveryCheck > CHECK_QUEUE_SIZE_PERIOD) {
             logger.trace("Checking to re-enable direct deliver on queue {}", queueConfiguration.getName());
 
             lastDirectDeliveryCheck = System.currentTimeMillis();
@@ -1014,7 +1024,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             }
          }
 
-         if (direct && supportsDirectDeliver && directDeliver && deliveriesInTransit.getCount() == 0 && deliverDirect(ref)) {
+         if (tryDirect && supportsDirectDeliver && directDeliver && deliveriesInTransit.getCount() == 0 && deliverDirect(ref)) {
             return;
          }
 
@@ -2737,6 +2747,18 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       queueConfiguration.setInternal(internalQueue);
    }
 
+   public int getDeliveryBatchSize() {
+      return deliveryBatchSize;
+   }
+
+   /**
+    * Sets the maximum number of references handed to a consumer supporting batched delivery before proceeding with
+    * their delivery: {@code 1} disables batched delivery.
+    */
+   public void setDeliveryBatchSize(int deliveryBatchSize) {
+      this.deliveryBatchSize = Math.max(1, deliveryBatchSize);
+   }
+
    // Public
    // -----------------------------------------------------------------------------
 
@@ -2844,6 +2866,105 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   /**
+    * Whether the references added to the tail are handed straight to the consumers, see
+    * {@link #deliverIntermediate()}.
+    */
+   protected boolean isConcurrentDelivery() {
+      return cachedAddressSettings.isConcurrentDelivery() && !isNonDestructive() && !isExclusive() && !isInternalQueue() && queueConfiguration.getRingSize() == -1;
+   }
+
+   /**
+    * Hands the references added to the tail straight to the consumers, without moving them to messageReferences. The
+    * queue lock is only held to poll a reference and to choose its consumer, the producers never take it. This only
+    * happens while messageReferences is empty, so the references are still delivered in the order they were added.
+    * The first reference that can't be handed to a consumer goes to messageReferences, and the ones after it are
+    * delivered by the regular loop.
+    *
+    * @return the number of references delivered, up to {@link #MAX_DELIVERIES_IN_LOOP}
+    */
+   // called with the deliverLock held
+   private int deliverIntermediate() {
+      int handled = 0;
+      while (handled < MAX_DELIVERIES_IN_LOOP) {
+         final MessageReference ref;
+         final Consumer consumer;
+
+         synchronized (this) {
+            // a reference cancelled back to messageReferences has to be delivered before the ones polled here
+            if (queueDestroyed || isPaused() || !canDispatch() || !messageReferences.isEmpty()) {
+               break;
+            }
+
+            ref = intermediateMessageReferences.poll();
+            if (ref == null) {
+               break;
+            }
+
+            if (ref.skipDelivery()) {
+               continue;
+            }
+
+            if (!ref.isPaged()) {
+               incrementMesssagesAdded();
+            }
+
+            consumer = chooseConsumer(ref);
+            if (consumer == null) {
+               internalAddTail(ref);
+               break;
+            }
+
+            logger.trace("Queue {} is delivering reference {} concurrently", queueConfiguration.getName(), ref);
+
+            // it never made it to messageReferences, so there's nothing else to remove
+            queueMemorySize.addSize(-ref.getMessageMemoryEstimate());
+
+            ref.setSequence(queueSequence.incrementAndGet());
+            deliveriesInTransit.countUp();
+            ref.setInDelivery(true);
+         }
+
+         proceedDeliver(consumer, ref);
+         handled++;
+      }
+      return handled;
+   }
+
+   /**
+    * @return the consumer that handled {@code ref}, or {@code null} if it has to go through the regular delivery
+    */
+   // called with 'this' locked
+   private Consumer chooseConsumer(final MessageReference ref) {
+      try {
+         if (extractGroupID(ref) != null || ref.getMessage().isExpired()) {
+            // groups and expiry are taken care of by the regular delivery
+            return null;
+         }
+      } catch (Throwable e) {
+         ActiveMQServerLogger.LOGGER.unableToCheckIfMessageExpired(e);
+         return null;
+      }
+
+      consumers.reset();
+
+      while (consumers.hasNext()) {
+         final Consumer consumer = consumers.next().consumer;
+
+         // the redistributor is only used by the regular delivery
+         if (consumer.isClosed() || consumer instanceof Redistributor) {
+            continue;
+         }
+
+         if (handle(ref, consumer) == HandleStatus.HANDLED) {
+            consumers.reset();
+            return consumer;
+         }
+      }
+
+      return null;
+   }
+
    /**
     * This method is to only be used during deliveryAsync when the queue was destroyed and the async process left more
     * messages to be delivered. This is a race between destroying the queue and async sends that came after the
@@ -2887,6 +3008,12 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       scheduledRunners.decrementAndGet();
 
+      if (isConcurrentDelivery() && deliverIntermediate() == MAX_DELIVERIES_IN_LOOP) {
+         // Schedule another one - we do this to prevent a single thread getting caught up in this loop for too long
+         deliverAsync(true);
+         return false;
+      }
+
       doInternalPoll();
 
       // Either the iterator is empty or the consumer is busy
@@ -2898,6 +3025,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       int handled = 0;
 
+      // the references handled by the same consumer after ref, only used on batched delivery
+      final int batchSize = deliveryBatchSize;
+      List<MessageReference> batch = null;
+
       long timeout = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELIVERY_TIMEOUT);
       consumers.reset();
       while (true) {
@@ -2909,6 +3040,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
          MessageReference ref;
          Consumer handledconsumer = null;
+         boolean batched = false;
 
          synchronized (QueueImpl.this) {
 
@@ -3012,6 +3144,18 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                   handledconsumer = consumer;
                   handled++;
                   consumers.reset();
+
+                  if (groupID == null && groupConsumer == null && !queueConfiguration.isExclusive() && consumer.supportsBatchedDelivery()) {
+                     final int consumerBatchSize = Math.max(batchSize, consumer.getDeliveryBatchSize());
+                     if (consumerBatchSize > 1) {
+                        if (batch == null) {
+                           batch = new ArrayList<>(consumerBatchSize - 1);
+                        }
+                        consumer.beginBatch(ref);
+                        batched = true;
+                        handled += handleBatch(holder, consumer, batch, consumerBatchSize - 1, MAX_DELIVERIES_IN_LOOP - handled);
+                     }
+                  }
                } else if (status == HandleStatus.BUSY) {
                   try {
                      holderIterator.repeat();
@@ -3066,13 +3210,65 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          }
 
          if (handledconsumer != null) {
-            proceedDeliver(handledconsumer, ref);
+            if (batched) {
+               proceedBatch(handledconsumer, ref, batch);
+               batch.clear();
+            } else {
+               proceedDeliver(handledconsumer, ref);
+            }
          }
       }
 
       return true;
    }
 
+   /**
+    * Hands to {@code consumer} the references following the one it just handled, until it's busy or the next reference
+    * needs to go through the regular round-robin, e.g. because it doesn't match or it belongs to a group.
+    *
+    * @return the number of references handled or expired, up to {@code limit}
+    */
+   // called with 'this' locked
+   private int handleBatch(ConsumerHolder<? extends Consumer> holder,
+                           Consumer consumer,
+                           List<MessageReference> batch,
+                           int maxBatchSize,
+                           int limit) {
+      final LinkedListIterator<MessageReference> holderIterator = holder.iter;
+      int handled = 0;
+      while (handled < limit && batch.size() < maxBatchSize && holderIterator.hasNext()) {
+         final MessageReference ref = holderIterator.next();
+         if (checkExpired(ref)) {
+            logger.trace("Reference {} being expired", ref);
+
+            removeMessageReference(holder, ref);
+            handled++;
+            continue;
+         }
+
+         if (extractGroupID(ref) != null || handle(ref, consumer) != HandleStatus.HANDLED) {
+            try {
+               holderIterator.repeat();
+            } catch (NoSuchElementException e) {
+               logger.warn(e.getMessage(), e);
+            }
+            break;
+         }
+
+         logger.trace("Queue {} is delivering reference {} on a batch", queueConfiguration.getName(), ref);
+
+         deliveriesInTransit.countUp();
+
+         if (!queueConfiguration.isNonDestructive()) {
+            removeMessageReference(holder, ref);
+         }
+         ref.setInDelivery(true);
+         batch.add(ref);
+         handled++;
+      }
+      return handled;
+   }
+
    // called with 'this' locked
    protected void pruneLastValues() {
       // interception point for LVQ
@@ -3828,6 +4024,34 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   /**
+    * Delivers {@code ref} and the references handled after it in the same batch. They stay in transit until the batch
+    * ended, so that a direct delivery can't get to the consumer in the meantime.
+    */
+   private void proceedBatch(Consumer consumer, MessageReference ref, List<MessageReference> batch) {
+      try {
+         proceedBatchedDeliver(consumer, ref);
+         for (MessageReference batchedRef : batch) {
+            proceedBatchedDeliver(consumer, batchedRef);
+         }
+         try {
+            consumer.endBatch();
+         } catch (Throwable t) {
+            errorProcessing(consumer, t, ref);
+         }
+      } finally {
+         deliveriesInTransit.countDown(batch.size() + 1);
+      }
+   }
+
+   private void proceedBatchedDeliver(Consumer consumer, MessageReference reference) {
+      try {
+         consumer.proceedDeliver(reference);
+      } catch (Throwable t) {
+         errorProcessing(consumer, t, reference);
+      }
+   }
+
    /**
     * This will print errors and decide what to do with the errored consumer from the protocol layer.
     */
@@ -17,14 +17,10 @@
 package org.apache.activemq.artemis.core.server.impl;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -40,19 +36,28 @@ import java.lang.invoke.MethodHandles;
 
 /**
  * Handles scheduling deliveries to a queue at the correct time.
+ * <p>
+ * The scheduled references are kept on a {@link TimingWheel} with a resolution of {@link #TICK} milliseconds, and a
+ * single task is kept on the scheduled executor for the next references due, no matter how many distinct delivery times
+ * are scheduled.
  */
 public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * Resolution in milliseconds of the scheduled deliveries. References due within the same tick are delivered
+    * together, at most one tick late.
+    */
+   public static final long TICK = Long.parseLong(System.getProperty("artemis.scheduled.delivery.tick", "1"));
+
    private final ScheduledExecutorService scheduledExecutor;
 
-   private final Map<Long, Runnable> runnables = new ConcurrentHashMap<>();
+   // Do not forget to call notifyScheduledReferencesUpdated() when updating the wheel.
+   private final TimingWheel scheduledReferences;
 
-   // This contains RefSchedules which are delegates to the real references
-   // just adding some information to keep it in order accordingly to the initial operations
-   // Do not forget to call notifyScheduledReferencesUpdated() when updating the set.
-   private final TreeSet<RefScheduled> scheduledReferences = new TreeSet<>(new MessageReferenceComparator());
+   // time of the next delivery task set on the executor, Long.MAX_VALUE if none
+   private long nextDelivery = Long.MAX_VALUE;
 
    private final QueueMessageMetrics metrics;
 
@@ -61,8 +66,15 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    public ScheduledDeliveryHandlerImpl(final ScheduledExecutorService scheduledExecutor,
          final Queue queue) {
+      this(scheduledExecutor, queue, TICK);
+   }
+
+   public ScheduledDeliveryHandlerImpl(final ScheduledExecutorService scheduledExecutor,
+         final Queue queue,
+         final long tick) {
       this.scheduledExecutor = scheduledExecutor;
       this.metrics = new QueueMessageMetrics(queue, "scheduled");
+      this.scheduledReferences = new TimingWheel(tick, System.currentTimeMillis());
    }
 
    @Override
@@ -76,7 +88,7 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
          addInPlace(deliveryTime, ref, tail);
 
-         scheduleDelivery(deliveryTime);
+         scheduleDelivery();
 
          return true;
       }
@@ -85,7 +97,7 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    public void addInPlace(final long deliveryTime, final MessageReference ref, final boolean tail) {
       synchronized (scheduledReferences) {
-         scheduledReferences.add(new RefScheduled(ref, tail));
+         scheduledReferences.add(ref, tail, deliveryTime, System.currentTimeMillis());
          notifyScheduledReferencesUpdated();
       }
       metrics.incrementMetrics(ref);
@@ -133,33 +145,44 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    @Override
    public List<MessageReference> getScheduledReferences() {
-      List<MessageReference> refs = new LinkedList<>();
+      List<TimingWheel.Entry> entries = new ArrayList<>();
 
       synchronized (scheduledReferences) {
-         for (RefScheduled ref : scheduledReferences) {
-            refs.add(ref.getRef());
-         }
+         scheduledReferences.forEach(entries::add);
+      }
+
+      entries.sort(TimingWheel.DELIVERY_ORDER);
+
+      List<MessageReference> refs = new LinkedList<>();
+      for (TimingWheel.Entry entry : entries) {
+         refs.add(entry.ref);
       }
       return refs;
    }
 
    @Override
    public List<MessageReference> cancel(Predicate<MessageReference> predicate) throws ActiveMQException {
-      List<MessageReference> refs = new ArrayList<>();
+      List<TimingWheel.Entry> cancelled = new ArrayList<>();
 
       synchronized (scheduledReferences) {
-         Iterator<RefScheduled> iter = scheduledReferences.iterator();
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next().getRef();
-            if (predicate.test(ref)) {
-               iter.remove();
-               notifyScheduledReferencesUpdated();
-               refs.add(ref);
-               metrics.decrementMetrics(ref);
+         scheduledReferences.forEach(entry -> {
+            if (predicate.test(entry.ref)) {
+               cancelled.add(entry);
             }
+         });
+         if (!cancelled.isEmpty()) {
+            cancelled.forEach(scheduledReferences::remove);
+            notifyScheduledReferencesUpdated();
          }
       }
+
+      cancelled.sort(TimingWheel.DELIVERY_ORDER);
+
+      List<MessageReference> refs = new ArrayList<>(cancelled.size());
+      for (TimingWheel.Entry entry : cancelled) {
+         refs.add(entry.ref);
+         metrics.decrementMetrics(entry.ref);
+      }
       return refs;
    }
 
@@ -171,47 +194,42 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
    @Override
    public MessageReference removeReferenceWithID(final long id, Transaction tx) throws Exception {
       synchronized (scheduledReferences) {
-         Iterator<RefScheduled> iter = scheduledReferences.iterator();
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next().getRef();
-            if (ref.getMessage().getMessageID() == id) {
-               ref.acknowledge(tx, AckReason.NORMAL, null, false);
-               iter.remove();
-               notifyScheduledReferencesUpdated();
-               metrics.decrementMetrics(ref);
-               return ref;
-            }
+         TimingWheel.Entry entry = scheduledReferences.removeByMessageId(id);
+         if (entry != null) {
+            MessageReference ref = entry.ref;
+            ref.acknowledge(tx, AckReason.NORMAL, null, false);
+            notifyScheduledReferencesUpdated();
+            metrics.decrementMetrics(ref);
+            return ref;
          }
       }
 
       return null;
    }
 
-   private void scheduleDelivery(final long deliveryTime) {
-      final long now = System.currentTimeMillis();
-
-      final long delay = deliveryTime - now;
+   private void scheduleDelivery() {
+      synchronized (scheduledReferences) {
+         final long deliveryTime = scheduledReferences.nextExpiration();
 
-      if (delay < 0) {
-         if (logger.isTraceEnabled()) {
-            logger.trace("calling another scheduler now as deliverTime {} < now={}", deliveryTime, now);
+         if (deliveryTime >= nextDelivery) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("There is already a delivery scheduled at {}, not scheduling {}", nextDelivery, deliveryTime);
+            }
+            return;
          }
-         // if delay == 0 we will avoid races between adding the scheduler and finishing it
-         ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
-         scheduledExecutor.schedule(runnable, 0, TimeUnit.MILLISECONDS);
-      } else if (!runnables.containsKey(deliveryTime)) {
-         ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
+
+         nextDelivery = deliveryTime;
+
+         final long now = System.currentTimeMillis();
+
+         // deliveryTime is Long.MIN_VALUE when there are references already due
+         final long delay = deliveryTime <= now ? 0 : deliveryTime - now;
 
          if (logger.isTraceEnabled()) {
             logger.trace("Setting up scheduler for {} with a delay of {} as now={}", deliveryTime, delay, now);
          }
 
-         runnables.put(deliveryTime, runnable);
-         scheduledExecutor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
-      } else {
-         if (logger.isTraceEnabled()) {
-            logger.trace("Couldn't make another scheduler as {} is already set, now is {}", deliveryTime, now);
-         }
+         scheduledExecutor.schedule(new ScheduledDeliveryRunnable(deliveryTime), delay, TimeUnit.MILLISECONDS);
       }
    }
 
@@ -228,24 +246,23 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
          if (oldestMessage != null) {
             return oldestMessage;
          }
-         MessageReference result = null;
-         long oldestTimestamp = Long.MAX_VALUE;
-         for (RefScheduled scheduledReference : scheduledReferences) {
-            MessageReference ref = scheduledReference.getRef();
-            long refTimestamp = ref.getMessage().getTimestamp();
-            if (refTimestamp < oldestTimestamp) {
-               oldestTimestamp = refTimestamp;
-               result = ref;
+         MessageReference[] result = new MessageReference[1];
+         long[] oldestTimestamp = {Long.MAX_VALUE};
+         scheduledReferences.forEach(entry -> {
+            long refTimestamp = entry.ref.getMessage().getTimestamp();
+            if (refTimestamp < oldestTimestamp[0]) {
+               oldestTimestamp[0] = refTimestamp;
+               result[0] = entry.ref;
             }
-         }
-         oldestMessage = result;
-         return result;
+         });
+         oldestMessage = result[0];
+         return result[0];
       }
    }
 
    private class ScheduledDeliveryRunnable implements Runnable {
 
-      long deliveryTime;
+      final long deliveryTime;
 
       private ScheduledDeliveryRunnable(final long deliveryTime) {
          this.deliveryTime = deliveryTime;
@@ -255,59 +272,49 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       public void run() {
          Map<Queue, LinkedList<MessageReference>> refs = new HashMap<>();
 
-         runnables.remove(deliveryTime);
-
          final long now = System.currentTimeMillis();
 
-         if (now < deliveryTime) {
-            // Ohhhh... blame it on the OS
-            // on some OSes (so far Windows only) the precision of the scheduled executor could eventually give
-            // an executor call earlier than it was supposed...
-            // for that reason we will schedule it again so no messages are lost!
-            // we can't just assume deliveryTime here as we could deliver earlier than what we are supposed to
-            // this is basically a hack to work around an OS or JDK bug!
-            if (logger.isTraceEnabled()) {
-               logger.trace("Scheduler is working around OS imprecisions on timing and re-scheduling an executor. now={} and deliveryTime={}", now, deliveryTime);
-            }
-            ScheduledDeliveryHandlerImpl.this.scheduleDelivery(deliveryTime);
-         }
-
          if (logger.isTraceEnabled()) {
-            logger.trace("It is {} now and we are running deliveryTime = {}", System.currentTimeMillis(), deliveryTime);
+            logger.trace("It is {} now and we are running deliveryTime = {}", now, deliveryTime);
          }
 
+         List<TimingWheel.Entry> released = new ArrayList<>();
+
          synchronized (scheduledReferences) {
+            if (nextDelivery == deliveryTime) {
+               nextDelivery = Long.MAX_VALUE;
+            }
 
-            Iterator<RefScheduled> iter = scheduledReferences.iterator();
-            while (iter.hasNext()) {
-               MessageReference reference = iter.next().getRef();
-               if (reference.getScheduledDeliveryTime() > now) {
-                  // We will delivery as long as there are messages to be delivered
-                  break;
-               }
+            // if the OS woke us up earlier than it was supposed to nothing will be released,
+            // and scheduleDelivery will just set up another task
+            scheduledReferences.advance(now, released::add);
 
-               iter.remove();
+            if (!released.isEmpty()) {
                notifyScheduledReferencesUpdated();
-               metrics.decrementMetrics(reference);
+            }
+         }
 
-               reference.setScheduledDeliveryTime(0);
+         released.sort(TimingWheel.DELIVERY_ORDER);
 
-               LinkedList<MessageReference> references = refs.get(reference.getQueue());
+         for (TimingWheel.Entry entry : released) {
+            MessageReference reference = entry.ref;
 
-               if (references == null) {
-                  references = new LinkedList<>();
-                  refs.put(reference.getQueue(), references);
-               }
+            metrics.decrementMetrics(reference);
 
-               if (logger.isTraceEnabled()) {
-                  logger.trace("sending message {} to delivery, deliveryTime = {}", reference, deliveryTime);
-               }
+            reference.setScheduledDeliveryTime(0);
 
-               references.addFirst(reference);
+            LinkedList<MessageReference> references = refs.get(reference.getQueue());
+
+            if (references == null) {
+               references = new LinkedList<>();
+               refs.put(reference.getQueue(), references);
             }
+
             if (logger.isTraceEnabled()) {
-               logger.trace("Finished loop on deliveryTime = {}", deliveryTime);
+               logger.trace("sending message {} to delivery, deliveryTime = {}", reference, deliveryTime);
             }
+
+            references.addFirst(reference);
          }
 
          for (Map.Entry<Queue, LinkedList<MessageReference>> entry : refs.entrySet()) {
@@ -322,61 +329,8 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
          // Just to speed up GC
          refs.clear();
-      }
-   }
-
-   // We need a treeset ordered, but we need to order tail operations as well.
-   // So, this will serve as a delegate to the object
-   class RefScheduled {
-
-      private final MessageReference ref;
-      private final boolean tail;
-
-      RefScheduled(MessageReference ref, boolean tail) {
-         this.ref = ref;
-         this.tail = tail;
-      }
-
-      public MessageReference getRef() {
-         return ref;
-      }
-
-      public boolean isTail() {
-         return tail;
-      }
-
-   }
-
-   static class MessageReferenceComparator implements Comparator<RefScheduled> {
-
-      @Override
-      public int compare(RefScheduled ref1, RefScheduled ref2) {
-         long diff = ref1.getRef().getScheduledDeliveryTime() - ref2.getRef().getScheduledDeliveryTime();
 
-         if (diff < 0L) {
-            return -1;
-         }
-         if (diff > 0L) {
-            return 1;
-         }
-
-         // Even if ref1 and ref2 have the same delivery time, we only want to return 0 if they are identical
-         if (ref1 == ref2) {
-            return 0;
-         } else {
-
-            if (ref1.isTail() && !ref2.isTail()) {
-               return 1;
-            } else if (!ref1.isTail() && ref2.isTail()) {
-               return -1;
-            }
-            if (!ref1.isTail() && !ref2.isTail()) {
-               return -1;
-            } else {
-               return 1;
-            }
-         }
+         scheduleDelivery();
       }
    }
-
 }
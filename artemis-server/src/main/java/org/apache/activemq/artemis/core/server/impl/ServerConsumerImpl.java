@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
@@ -48,6 +49,7 @@ import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.message.LargeBodyReader;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.persistence.impl.journal.LargeBody;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
@@ -115,6 +117,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private final ReusableLatch pendingDelivery = new ReusableLatch(0);
 
+   // set by the queue between beginBatch and endBatch, when the references handled are delivered together
+   private volatile boolean batching;
+
+   // the credits left for the references of the current batch, which only take their credits once delivered
+   private long batchCredits;
+
    private volatile AtomicInteger availableCredits = new AtomicInteger(0);
 
    private boolean started;
@@ -405,6 +413,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       return callback.supportsDirectDelivery();
    }
 
+   @Override
+   public boolean supportsBatchedDelivery() {
+      final SessionCallback callback = this.callback;
+      return callback != null && callback.supportsBatchedDelivery();
+   }
+
    @Override
    public void errorProcessing(Throwable e, MessageReference deliveryObject) {
       messageQueue.errorProcessing(this, e, deliveryObject);
@@ -414,7 +428,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
    public HandleStatus handle(final MessageReference ref) throws Exception {
       // available credits can be set back to null with a flow control option.
       AtomicInteger checkInteger = availableCredits;
-      if (callback != null && !callback.hasCredits(this, ref) || checkInteger != null && checkInteger.get() <= 0) {
+      if (callback != null && !callback.hasCredits(this, ref) || checkInteger != null && (batching ? batchCredits : checkInteger.get()) <= 0) {
          if (logger.isDebugEnabled()) {
             logger.debug("{} is busy for the lack of credits. Current credits = {} Can't receive reference {}", this, availableCredits, ref);
          }
@@ -447,13 +461,28 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          }
          final Message message = ref.getMessage();
 
+         // a browsed message may be acknowledged and released meanwhile, it is held until proceedDeliver is done
+         final boolean browseUsage = browseOnly && !(message instanceof CoreLargeServerMessage && supportLargeMessage);
+         if (browseUsage && !message.usageUpIfNotReleased()) {
+            message.usageDown();
+            logger.trace("Reference {} was released before being browsed by {}", ref, this);
+
+            return HandleStatus.NO_MATCH;
+         }
+
          if (!message.acceptsConsumer(sequentialID())) {
+            if (browseUsage) {
+               message.usageDown();
+            }
             return HandleStatus.NO_MATCH;
          }
 
          if (filter != null && !filter.match(message)) {
             logger.trace("Reference {} is a noMatch on consumer {}", ref, this);
 
+            if (browseUsage) {
+               message.usageDown();
+            }
             return HandleStatus.NO_MATCH;
          }
 
@@ -489,6 +518,10 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             }
 
             if (preAcknowledge) {
+               if (largeMessageDeliverer == null) {
+                  // the ack may release the message, which is held by the delivery until proceedDeliver is done
+                  message.usageUp();
+               }
                // With pre-ack, we ack *before* sending to the client
                ref.getQueue().acknowledge(ref, this);
                metrics.addAcknowledge(ref.getMessage().getEncodeSize(), null);
@@ -498,10 +531,28 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
          pendingDelivery.countUp();
 
+         if (batching) {
+            batchCredits -= message.getEncodeSize();
+         }
+
          return HandleStatus.HANDLED;
       }
    }
 
+   @Override
+   public void beginBatch(MessageReference ref) {
+      // the credits are checked once for the whole batch, as none is taken before the batch is delivered
+      final AtomicInteger credits = availableCredits;
+      batchCredits = credits == null ? 0 : credits.get() - ref.getMessage().getEncodeSize();
+      batching = true;
+   }
+
+   @Override
+   public void endBatch() {
+      batching = false;
+      callback.flushBatch();
+   }
+
    @Override
    public void proceedDeliver(MessageReference reference) throws Exception {
       try {
@@ -523,7 +574,13 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             // as it would return busy if there is anything pending
             largeMessageDeliverer.deliver();
          } else {
-            deliverStandardMessage(reference);
+            try {
+               deliverStandardMessage(reference);
+            } finally {
+               if (preAcknowledge || browseOnly) {
+                  reference.getMessage().usageDown();
+               }
+            }
          }
       } finally {
          pendingDelivery.countDown();
@@ -1209,7 +1266,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private void deliverStandardMessage(final MessageReference ref) {
       applyPrefixForLegacyConsumer(ref.getMessage());
-      int packetSize = callback.sendMessage(ref, ServerConsumerImpl.this, ref.getDeliveryCount());
+      int packetSize;
+      if (batching) {
+         packetSize = callback.sendBatchedMessage(ref, ServerConsumerImpl.this, ref.getDeliveryCount());
+      } else {
+         packetSize = callback.sendMessage(ref, ServerConsumerImpl.this, ref.getDeliveryCount());
+      }
 
       if (availableCredits != null) {
          availableCredits.addAndGet(-packetSize);
@@ -1279,6 +1341,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       private LargeBodyReader context;
 
+      /**
+       * The file the body is sent from without being read, if supported by the connection
+       */
+      private File bodyFile;
+
       private ByteBuffer chunkBytes;
 
       private CoreLargeMessageDeliverer(final MessageReference ref) {
@@ -1333,7 +1400,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                sizePendingLargeMessage = context.getSize();
 
-               context.open();
+               bodyFile = getBodyFile(currentLargeMessage);
+
+               if (bodyFile == null) {
+                  context.open();
+               }
 
                sentInitialPacket = true;
 
@@ -1367,55 +1438,89 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                final int localChunkLen = (int) Math.min(sizePendingLargeMessage - positionPendingLargeMessage, minLargeMessageSize);
 
-               final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
+               if (bodyFile != null) {
+                  sendFileRegion(currentLargeMessage.toMessage(), localChunkLen);
+               } else {
+                  sendHeapChunk(localChunkLen);
+               }
 
-               assert bodyBuffer.remaining() == localChunkLen;
+               positionPendingLargeMessage += localChunkLen;
 
-               final int readBytes = context.readInto(bodyBuffer);
+               if (positionPendingLargeMessage < sizePendingLargeMessage) {
+                  resumeLargeMessage();
 
-               assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
+                  return false;
+               }
+            }
 
+            logger.trace("Finished deliverLargeMessage");
 
-               final byte[] body = bodyBuffer.array();
+            finish();
 
-               assert body.length == readBytes;
+            return true;
+         } finally {
+            pendingDelivery.countDown();
+         }
+      }
 
-               //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
-               //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
-               //resendCache != null && packet.isRequiresConfirmations()
+      private File getBodyFile(LargeServerMessage message) throws ActiveMQException {
+         final LargeBody largeBody = message.getLargeBody();
+         if (largeBody == null || !callback.supportsFileRegionDelivery()) {
+            return null;
+         }
+         final File file = largeBody.getReadingFile().getJavaFile();
+         return file != null && file.isFile() ? file : null;
+      }
 
-               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
+      private void sendFileRegion(Message message, int chunkLen) {
+         // the file must be kept until the chunk is written, which may be after the delivery is finished
+         message.usageUp();
+         final int packetSize;
+         try {
+            packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, bodyFile, positionPendingLargeMessage, chunkLen, positionPendingLargeMessage + chunkLen < sizePendingLargeMessage, () -> messageQueue.getExecutor().execute(message::usageDown));
+         } catch (Throwable t) {
+            message.usageDown();
+            throw t;
+         }
 
-               int chunkLen = body.length;
+         if (availableCredits != null) {
+            final int credits = availableCredits.addAndGet(-packetSize);
 
-               if (availableCredits != null) {
-                  final int credits = availableCredits.addAndGet(-packetSize);
+            if (logger.isTraceEnabled()) {
+               logger.trace("{}::FlowControl::largeMessage deliver file region, packetSize={} available now={}", this, packetSize, credits);
+            }
+         }
+      }
 
-                  if (credits <= 0) {
-                     releaseHeapBodyBuffer();
-                  }
+      private void sendHeapChunk(int localChunkLen) throws ActiveMQException {
+         final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
 
-                  if (logger.isTraceEnabled()) {
-                     logger.trace("{}::FlowControl::largeMessage deliver continuation, packetSize={} available now={}", this, packetSize, availableCredits);
-                  }
-               }
+         assert bodyBuffer.remaining() == localChunkLen;
 
-               positionPendingLargeMessage += chunkLen;
+         final int readBytes = context.readInto(bodyBuffer);
 
-               if (positionPendingLargeMessage < sizePendingLargeMessage) {
-                  resumeLargeMessage();
+         assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
 
-                  return false;
-               }
-            }
+         final byte[] body = bodyBuffer.array();
 
-            logger.trace("Finished deliverLargeMessage");
+         assert body.length == readBytes;
 
-            finish();
+         //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
+         //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
+         //resendCache != null && packet.isRequiresConfirmations()
 
-            return true;
-         } finally {
-            pendingDelivery.countDown();
+         int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
+
+         if (availableCredits != null) {
+            final int credits = availableCredits.addAndGet(-packetSize);
+
+            if (credits <= 0) {
+               releaseHeapBodyBuffer();
+            }
+
+            if (logger.isTraceEnabled()) {
+               logger.trace("{}::FlowControl::largeMessage deliver continuation, packetSize={} available now={}", this, packetSize, availableCredits);
+            }
          }
       }
 
@@ -1750,4 +1855,4 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          }
       }
    }
-}
\ No newline at end of file
+}
@@ -54,6 +54,7 @@ import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.management.impl.view.ProducerField;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
@@ -63,6 +64,7 @@ import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.BindingType;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
+import org.apache.activemq.artemis.core.postoffice.RoutingBatch;
 import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.remoting.CertificateUtil;
@@ -1902,6 +1904,30 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
                                           RoutingContext routingContext) throws Exception {
       final Message message = LargeServerMessageImpl.checkLargeMessage(messageParameter, storageManager);
 
+      // once routed an off-heap body may be released before the plugins and the audit log are done with it
+      final boolean holdMessage = isBodyOffHeap(message);
+      if (holdMessage) {
+         message.usageUp();
+      }
+      try {
+         return internalSend(tx, message, direct, senderName, noAutoCreateQueue, routingContext);
+      } finally {
+         if (holdMessage) {
+            message.usageDown();
+         }
+      }
+   }
+
+   private static boolean isBodyOffHeap(Message message) {
+      return message instanceof CoreMessage coreMessage && coreMessage.isBodyOffHeap();
+   }
+
+   private RoutingStatus internalSend(Transaction tx,
+                                      Message message,
+                                      boolean direct,
+                                      String senderName,
+                                      boolean noAutoCreateQueue,
+                                      RoutingContext routingContext) throws Exception {
       if (server.hasBrokerMessagePlugins()) {
          server.callBrokerMessagePlugins(plugin -> plugin.beforeSend(this, tx, message, direct, noAutoCreateQueue));
       }
@@ -1966,15 +1992,32 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
          if (AuditLogger.isMessageLoggingEnabled()) {
             if (tx != null && !autoCommitSends) {
                AuditLogger.addSendToTransaction(remotingConnection.getSubject(), remotingConnection.getRemoteAddress(), message.toString(), tx.toString());
+               // the message is logged again once the transaction is done, it is held until then
+               final boolean holdMessage = isBodyOffHeap(message);
+               if (holdMessage) {
+                  message.usageUp();
+               }
                tx.addOperation(new TransactionOperationAbstract() {
                   @Override
                   public void afterCommit(Transaction tx) {
-                     auditLogSend(message, tx);
+                     try {
+                        auditLogSend(message, tx);
+                     } finally {
+                        if (holdMessage) {
+                           message.usageDown();
+                        }
+                     }
                   }
 
                   @Override
                   public void afterRollback(Transaction tx) {
-                     AuditLogger.rolledBackTransaction(remotingConnection.getSubject(), remotingConnection.getRemoteAddress(), tx.toString(), message.toString());
+                     try {
+                        AuditLogger.rolledBackTransaction(remotingConnection.getSubject(), remotingConnection.getRemoteAddress(), tx.toString(), message.toString());
+                     } finally {
+                        if (holdMessage) {
+                           message.usageDown();
+                        }
+                     }
                   }
                });
             } else {
@@ -2356,7 +2399,12 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
          // since large message backing files may be closed once routing completes
          int mSize = msg instanceof LargeServerMessageImpl lsmi ? lsmi.getBodyBufferSize() : msg.getEncodeSize();
 
-         result = postOffice.route(msg, routingContext, direct);
+         final RoutingBatch batch = getRoutingBatch(routingContext.getTransaction());
+         if (batch != null) {
+            result = postOffice.route(msg, routingContext, direct, batch);
+         } else {
+            result = postOffice.route(msg, routingContext, direct);
+         }
 
          logger.debug("Routing result for {} = {}", msg, result);
 
@@ -2370,6 +2418,23 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
       return result;
    }
 
+   /**
+    * The sends of a transaction usually go to the same few addresses, so they reuse what the post office resolved for
+    * the previous send of the same transaction. This covers the transacted sends of every protocol, as they all end up
+    * here with the transaction on the routing context.
+    */
+   private static RoutingBatch getRoutingBatch(Transaction tx) {
+      if (tx == null) {
+         return null;
+      }
+      RoutingBatch batch = (RoutingBatch) tx.getProperty(TransactionPropertyIndexes.ROUTING_BATCH);
+      if (batch == null) {
+         batch = new RoutingBatch();
+         tx.putProperty(TransactionPropertyIndexes.ROUTING_BATCH, batch);
+      }
+      return batch;
+   }
+
    @Override
    public List<MessageReference> getInTXMessagesForConsumer(long consumerId) {
       if (this.tx != null) {
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * A hierarchical timing wheel holding scheduled {@link MessageReference}s.
+ * <p>
+ * The first level has {@link #WHEEL_SIZE} buckets of {@code tick} milliseconds each, and every overflow level has
+ * {@link #WHEEL_SIZE} buckets as wide as the whole level below it. Adding and removing a reference is O(1), while the
+ * buckets holding references are kept on a priority queue by expiration (at most a few buckets per level), so time is
+ * only advanced when there is something to release, instead of ticking through empty buckets.
+ * <p>
+ * References are never released before their delivery time: a bucket of the first level expires at its end, and the
+ * buckets of overflow levels expire at their start, cascading their references into the levels below. All the
+ * references expired by the time the wheel is advanced are released in a single batch.
+ * <p>
+ * This class is not thread safe, callers are supposed to synchronize on it.
+ */
+final class TimingWheel {
+
+   static final int WHEEL_SIZE = 256;
+
+   private static final long NO_EXPIRATION = Long.MIN_VALUE;
+
+   /**
+    * Same order the references used to have on the scheduled TreeSet: by delivery time and then heads (newest first)
+    * before tails (oldest first).
+    */
+   static final Comparator<Entry> DELIVERY_ORDER = (e1, e2) -> {
+      int result = Long.compare(e1.deliveryTime, e2.deliveryTime);
+      if (result != 0) {
+         return result;
+      }
+      if (e1.tail != e2.tail) {
+         return e1.tail ? 1 : -1;
+      }
+      return e1.tail ? Long.compare(e1.sequence, e2.sequence) : Long.compare(e2.sequence, e1.sequence);
+   };
+
+   static final class Entry {
+
+      final MessageReference ref;
+      final boolean tail;
+      final long deliveryTime;
+      final long sequence;
+
+      private Bucket bucket;
+      private Entry prev;
+      private Entry next;
+      // other entries for the same message id
+      private Entry sameId;
+
+      private Entry(MessageReference ref, boolean tail, long deliveryTime, long sequence) {
+         this.ref = ref;
+         this.tail = tail;
+         this.deliveryTime = deliveryTime;
+         this.sequence = sequence;
+      }
+   }
+
+   private static final class Bucket {
+
+      private long expiration = NO_EXPIRATION;
+      private Entry head;
+
+      void add(Entry entry) {
+         entry.bucket = this;
+         entry.prev = null;
+         entry.next = head;
+         if (head != null) {
+            head.prev = entry;
+         }
+         head = entry;
+      }
+
+      void unlink(Entry entry) {
+         if (entry.prev != null) {
+            entry.prev.next = entry.next;
+         } else {
+            head = entry.next;
+         }
+         if (entry.next != null) {
+            entry.next.prev = entry.prev;
+         }
+         entry.bucket = null;
+         entry.prev = null;
+         entry.next = null;
+      }
+
+      Entry poll() {
+         Entry entry = head;
+         if (entry != null) {
+            unlink(entry);
+         }
+         return entry;
+      }
+
+      void forEach(Consumer<Entry> consumer) {
+         for (Entry entry = head; entry != null; entry = entry.next) {
+            consumer.accept(entry);
+         }
+      }
+   }
+
+   private static final class Level {
+
+      private final long tick;
+      // Long.MAX_VALUE on the last possible level
+      private final long interval;
+      private final Bucket[] buckets = new Bucket[WHEEL_SIZE];
+      private long currentTime;
+      private Level overflow;
+
+      private Level(long tick, long startTime) {
+         this.tick = tick;
+         this.interval = tick > Long.MAX_VALUE / WHEEL_SIZE ? Long.MAX_VALUE : tick * WHEEL_SIZE;
+         this.currentTime = startTime - (startTime % tick);
+         for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new Bucket();
+         }
+      }
+
+      void advanceClock(long time) {
+         if (time >= currentTime + tick) {
+            currentTime = time - (time % tick);
+         }
+         if (overflow != null) {
+            overflow.advanceClock(currentTime);
+         }
+      }
+   }
+
+   private final Level root;
+
+   private final PriorityQueue<Bucket> expirations = new PriorityQueue<>(Comparator.comparingLong(b -> b.expiration));
+
+   // references already due but not yet released
+   private final Bucket due = new Bucket();
+
+   private final LongObjectHashMap<Entry> byMessageId = new LongObjectHashMap<>();
+
+   private long sequence;
+
+   private int size;
+
+   TimingWheel(long tick, long startTime) {
+      if (tick <= 0) {
+         throw new IllegalArgumentException("tick must be > 0: " + tick);
+      }
+      this.root = new Level(tick, startTime);
+   }
+
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+
+   Entry add(MessageReference ref, boolean tail, long deliveryTime, long now) {
+      Entry entry = new Entry(ref, tail, deliveryTime, sequence++);
+      if (!insert(entry, now)) {
+         due.add(entry);
+      }
+      entry.sameId = byMessageId.put(ref.getMessage().getMessageID(), entry);
+      size++;
+      return entry;
+   }
+
+   /**
+    * @return the time in milliseconds the next references are due, {@code Long.MIN_VALUE} if some are already due or
+    * {@code Long.MAX_VALUE} if the wheel is empty
+    */
+   long nextExpiration() {
+      if (due.head != null) {
+         return Long.MIN_VALUE;
+      }
+      Bucket bucket = expirations.peek();
+      return bucket == null ? Long.MAX_VALUE : bucket.expiration;
+   }
+
+   /**
+    * Advances the wheel up to {@code now}, removing the references that are due and passing them to the consumer.
+    */
+   void advance(long now, Consumer<Entry> released) {
+      // all the expired buckets are detached before moving the clock, as re-inserting their entries could otherwise
+      // reuse the slot of another expired bucket
+      Entry cascading = null;
+      Bucket bucket;
+      while ((bucket = expirations.peek()) != null && bucket.expiration <= now) {
+         expirations.poll();
+         bucket.expiration = NO_EXPIRATION;
+         Entry entry;
+         while ((entry = bucket.poll()) != null) {
+            entry.next = cascading;
+            cascading = entry;
+         }
+      }
+
+      root.advanceClock(now);
+
+      while (cascading != null) {
+         Entry entry = cascading;
+         cascading = entry.next;
+         entry.next = null;
+         if (!insert(entry, now)) {
+            due.add(entry);
+         }
+      }
+
+      Entry entry;
+      while ((entry = due.poll()) != null) {
+         unindex(entry);
+         size--;
+         released.accept(entry);
+      }
+   }
+
+   void remove(Entry entry) {
+      if (entry.bucket != null) {
+         entry.bucket.unlink(entry);
+         unindex(entry);
+         size--;
+      }
+   }
+
+   /**
+    * @return the entry removed for that message id, or {@code null} if none
+    */
+   Entry removeByMessageId(long id) {
+      Entry entry = byMessageId.get(id);
+      if (entry != null) {
+         remove(entry);
+      }
+      return entry;
+   }
+
+   void forEach(Consumer<Entry> consumer) {
+      due.forEach(consumer);
+      for (Level level = root; level != null; level = level.overflow) {
+         for (Bucket bucket : level.buckets) {
+            bucket.forEach(consumer);
+         }
+      }
+   }
+
+   private boolean insert(Entry entry, long now) {
+      if (entry.deliveryTime <= now) {
+         return false;
+      }
+      Level level = root;
+      while (level.interval != Long.MAX_VALUE && entry.deliveryTime - level.currentTime >= level.interval) {
+         if (level.overflow == null) {
+            level.overflow = new Level(level.interval, level.currentTime);
+         }
+         level = level.overflow;
+      }
+      long virtualId = entry.deliveryTime / level.tick;
+      Bucket bucket = level.buckets[(int) (virtualId % WHEEL_SIZE)];
+      long start = virtualId * level.tick;
+      long expiration;
+      if (level == root) {
+         expiration = start > Long.MAX_VALUE - level.tick ? Long.MAX_VALUE : start + level.tick;
+      } else {
+         expiration = start;
+      }
+      bucket.add(entry);
+      if (bucket.expiration != expiration) {
+         bucket.expiration = expiration;
+         expirations.offer(bucket);
+      }
+      return true;
+   }
+
+   private void unindex(Entry entry) {
+      long id = entry.ref.getMessage().getMessageID();
+      Entry first = byMessageId.get(id);
+      if (first == entry) {
+         if (entry.sameId == null) {
+            byMessageId.remove(id);
+         } else {
+            byMessageId.put(id, entry.sameId);
+         }
+      } else {
+         for (Entry previous = first; previous != null; previous = previous.sameId) {
+            if (previous.sameId == entry) {
+               previous.sameId = entry.sameId;
+               break;
+            }
+         }
+      }
+      entry.sameId = null;
+   }
+}
@@ -34,6 +34,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.ToDoubleFunction;
 import java.util.regex.Pattern;
 
 import io.micrometer.core.instrument.Tag;
@@ -64,6 +65,7 @@ import org.apache.activemq.artemis.api.core.management.RemoteBrokerConnectionCon
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -259,10 +261,22 @@ public class ManagementServiceImpl implements ManagementService {
             builder.build(BrokerMetricNames.AUTHENTICATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthenticationFailureCount(), ActiveMQServerControl.AUTHENTICATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationSuccessCount(), ActiveMQServerControl.AUTHORIZATION_SUCCESS_COUNT, Arrays.asList(Tag.of("result", "success")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationFailureCount(), ActiveMQServerControl.AUTHORIZATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
+            builder.build(BrokerMetricNames.JOURNAL_LIVE_RATIO, messagingServer, metrics -> getMessageJournalMetric(Journal::getLiveRatio, 1), ActiveMQServerControl.JOURNAL_LIVE_RATIO_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_RECLAIMABLE_BYTES, messagingServer, metrics -> getMessageJournalMetric(Journal::getReclaimableBytes, 0), ActiveMQServerControl.JOURNAL_RECLAIMABLE_BYTES_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_COUNT, messagingServer, metrics -> getMessageJournalMetric(Journal::getCompactCount, 0), ActiveMQServerControl.JOURNAL_COMPACT_COUNT_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_TIME, messagingServer, metrics -> getMessageJournalMetric(Journal::getCompactTime, 0), ActiveMQServerControl.JOURNAL_COMPACT_TIME_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACTED_BYTES, messagingServer, metrics -> getMessageJournalMetric(Journal::getCompactedBytes, 0), ActiveMQServerControl.JOURNAL_COMPACTED_BYTES_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_STALL_TIME, messagingServer, metrics -> getMessageJournalMetric(Journal::getCompactStallTime, 0), ActiveMQServerControl.JOURNAL_COMPACT_STALL_TIME_DESCRIPTION, Collections.emptyList());
          });
       }
    }
 
+   private double getMessageJournalMetric(ToDoubleFunction<Journal> metric, double defaultValue) {
+      final StorageManager serverStorageManager = messagingServer.getStorageManager();
+      final Journal journal = serverStorageManager == null ? null : serverStorageManager.getMessageJournal();
+      return journal == null ? defaultValue : metric.applyAsDouble(journal);
+   }
+
    @Override
    public void unregisterServer() throws Exception {
       unregisterFromJMX(objectNameBuilder.getActiveMQServerObjectName());
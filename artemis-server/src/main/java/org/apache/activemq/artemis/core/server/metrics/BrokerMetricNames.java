@@ -29,4 +29,10 @@ public class BrokerMetricNames {
    public static final String ACTIVE = "active";
    public static final String AUTHENTICATION_COUNT = "authentication.count";
    public static final String AUTHORIZATION_COUNT = "authorization.count";
+   public static final String JOURNAL_LIVE_RATIO = "journal.live.ratio";
+   public static final String JOURNAL_RECLAIMABLE_BYTES = "journal.reclaimable.bytes";
+   public static final String JOURNAL_COMPACT_COUNT = "journal.compact.count";
+   public static final String JOURNAL_COMPACT_TIME = "journal.compact.time";
+   public static final String JOURNAL_COMPACTED_BYTES = "journal.compacted.bytes";
+   public static final String JOURNAL_COMPACT_STALL_TIME = "journal.compact.stall.time";
 }
@@ -22,10 +22,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Gauge.Builder;
 import io.micrometer.core.instrument.Meter;
@@ -33,6 +36,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
@@ -49,6 +53,7 @@ import org.apache.activemq.artemis.core.security.impl.SecurityStoreImpl;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.jdbc.store.journal.JDBCJournalImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -113,6 +118,42 @@ public class MetricsManager {
       }
    }
 
+   /**
+    * Exports the hit, miss, eviction and size statistics of a Caffeine cache, tagged by {@code cache=name}.
+    */
+   public void registerCache(Cache<?, ?> cache, String name) {
+      if (meterRegistry != null) {
+         CaffeineCacheMetrics.monitor(meterRegistry, cache, name, commonTags);
+      }
+   }
+
+   /**
+    * Exports histograms of the number of records and of the commit latency of the batches flushed by a JDBC journal,
+    * tagged by {@code journal=name}.
+    */
+   public void registerJDBCJournal(JDBCJournalImpl journal, String name) {
+      if (meterRegistry == null) {
+         return;
+      }
+      final DistributionSummary batchSize = DistributionSummary.builder("artemis.jdbc.journal.batch.size")
+         .description("number of records committed by each JDBC journal batch")
+         .baseUnit("records")
+         .tags(commonTags)
+         .tag("journal", name)
+         .publishPercentileHistogram()
+         .register(meterRegistry);
+      final Timer commitLatency = Timer.builder("artemis.jdbc.journal.commit.latency")
+         .description("time spent executing and committing each JDBC journal batch")
+         .tags(commonTags)
+         .tag("journal", name)
+         .publishPercentileHistogram()
+         .register(meterRegistry);
+      journal.setFlushListener((records, commitNanos) -> {
+         batchSize.record(records);
+         commitLatency.record(commitNanos, TimeUnit.NANOSECONDS);
+      });
+   }
+
    public MeterRegistry getMeterRegistry() {
       return meterRegistry;
    }
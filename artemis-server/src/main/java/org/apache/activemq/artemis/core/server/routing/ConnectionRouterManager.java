@@ -120,7 +120,8 @@ public final class ConnectionRouterManager implements ActiveMQComponent {
 
    private Cache deployCache(CacheConfiguration configuration, String name) throws ClassNotFoundException {
       Cache cache = new LocalCache(CACHE_ID_PREFIX + name, configuration.isPersisted(),
-         configuration.getTimeout(), server.getStorageManager());
+         configuration.getTimeout(), configuration.getMaxSize(), server.getStorageManager(),
+         configuration.isPersisted() ? server.getExecutorFactory().getExecutor() : null);
 
       return cache;
    }
@@ -27,10 +27,16 @@ import com.github.benmanes.caffeine.cache.RemovalListener;
 
 import java.lang.invoke.MethodHandles;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class LocalCache implements Cache, RemovalListener<String, String> {
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -38,7 +44,11 @@ public class LocalCache implements Cache, RemovalListener<String, String> {
    private String id;
    private boolean persisted;
    private int timeout;
+   private int maxSize;
    private StorageManager storageManager;
+   private Executor persistenceExecutor;
+   private final Queue<PersistedKeyValuePair> pendingEntries = new ConcurrentLinkedQueue<>();
+   private final AtomicBoolean flushPending = new AtomicBoolean();
    private com.github.benmanes.caffeine.cache.Cache<String, String> cache;
    private Map<String, PersistedKeyValuePair> persistedCacheEntries;
 
@@ -56,16 +66,39 @@ public class LocalCache implements Cache, RemovalListener<String, String> {
       return timeout;
    }
 
+   public int getMaxSize() {
+      return maxSize;
+   }
+
    public LocalCache(String id, boolean persisted, int timeout, StorageManager storageManager) {
+      this(id, persisted, timeout, 0, storageManager, null);
+   }
+
+   /**
+    * @param maxSize             the maximum number of entries, evicting the least used ones beyond it, or 0 for no
+    *                            limit
+    * @param persistenceExecutor an ordered executor to persist the new entries in batches, syncing the storage once per
+    *                            batch, or {@code null} to persist every new entry on the caller thread
+    */
+   public LocalCache(String id, boolean persisted, int timeout, int maxSize, StorageManager storageManager, Executor persistenceExecutor) {
       this.id = id;
       this.persisted = persisted;
       this.timeout = timeout;
+      this.maxSize = maxSize;
       this.storageManager = storageManager;
+      this.persistenceExecutor = persistenceExecutor;
 
-      if (timeout == 0) {
-         cache = Caffeine.newBuilder().executor(Runnable::run).build();
+      Caffeine<Object, Object> builder = Caffeine.newBuilder().executor(Runnable::run);
+      if (timeout > 0) {
+         builder.expireAfterAccess(timeout, TimeUnit.MILLISECONDS);
+      }
+      if (maxSize > 0) {
+         builder.maximumSize(maxSize);
+      }
+      if (timeout > 0 || maxSize > 0) {
+         cache = builder.removalListener(this).build();
       } else {
-         cache = Caffeine.newBuilder().removalListener(this).expireAfterAccess(timeout, TimeUnit.MILLISECONDS).executor(Runnable::run).build();
+         cache = builder.build();
       }
    }
 
@@ -91,6 +124,8 @@ public class LocalCache implements Cache, RemovalListener<String, String> {
    public void stop() {
       cache.cleanUp();
 
+      flushPendingEntries();
+
       if (persistedCacheEntries != null) {
          persistedCacheEntries.clear();
       }
@@ -111,10 +146,17 @@ public class LocalCache implements Cache, RemovalListener<String, String> {
          if (persistedKeyValuePair == null || !Objects.equals(nodeId, persistedKeyValuePair.getValue())) {
             persistedKeyValuePair = new PersistedKeyValuePair(id, key, nodeId);
 
-            try {
-               storageManager.storeKeyValuePair(persistedKeyValuePair);
-            } catch (Exception e) {
-               throw new RuntimeException(e);
+            if (persistenceExecutor != null) {
+               pendingEntries.add(persistedKeyValuePair);
+               if (flushPending.compareAndSet(false, true)) {
+                  persistenceExecutor.execute(this::flushPendingEntries);
+               }
+            } else {
+               try {
+                  storageManager.storeKeyValuePair(persistedKeyValuePair);
+               } catch (Exception e) {
+                  throw new RuntimeException(e);
+               }
             }
 
             persistedCacheEntries.put(key, persistedKeyValuePair);
@@ -130,12 +172,42 @@ public class LocalCache implements Cache, RemovalListener<String, String> {
          PersistedKeyValuePair persistedKeyValuePair = persistedCacheEntries.remove(key);
 
          if (persistedKeyValuePair != null) {
-            try {
-               storageManager.deleteKeyValuePair(persistedKeyValuePair.getMapId(), persistedKeyValuePair.getKey());
-            } catch (Exception e) {
-               throw new RuntimeException(e);
+            if (persistenceExecutor != null) {
+               // after any pending batch storing it
+               persistenceExecutor.execute(() -> deletePersistedEntry(persistedKeyValuePair));
+            } else {
+               deletePersistedEntry(persistedKeyValuePair);
             }
          }
       }
    }
+
+   private void deletePersistedEntry(PersistedKeyValuePair persistedKeyValuePair) {
+      try {
+         storageManager.deleteKeyValuePair(persistedKeyValuePair.getMapId(), persistedKeyValuePair.getKey());
+      } catch (Exception e) {
+         throw new RuntimeException(e);
+      }
+   }
+
+   private void flushPendingEntries() {
+      // new entries from now on need another flush
+      flushPending.set(false);
+
+      List<PersistedKeyValuePair> batch = new ArrayList<>();
+      PersistedKeyValuePair persistedKeyValuePair;
+      while ((persistedKeyValuePair = pendingEntries.poll()) != null) {
+         batch.add(persistedKeyValuePair);
+      }
+
+      if (!batch.isEmpty()) {
+         logger.debug("Persisting {} cache entries", batch.size());
+
+         try {
+            storageManager.storeKeyValuePairs(batch);
+         } catch (Exception e) {
+            logger.warn("Error on persisting {} cache entries of {}", batch.size(), id, e);
+         }
+      }
+   }
 }
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.routing.policies;
+
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.apache.activemq.artemis.core.server.routing.targets.TargetProbe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consistent hashing with bounded loads: the key is hashed on a ring holding {@code VIRTUAL_NODES} points per target
+ * and the first target clockwise whose load is below {@code LOAD_FACTOR} times the average load is selected.
+ * <p>
+ * The ring is only rebuilt when the ready targets change. The load of a target is its connection count, refreshed by
+ * the target probe and increased on every selection in between, so that a burst of connections is spread before the
+ * next probe.
+ */
+public class ConsistentHashBoundedLoadsPolicy extends ConsistentHashPolicy {
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final String NAME = "CONSISTENT_HASH_BOUNDED_LOADS";
+
+   public static final String UPDATE_CONNECTION_COUNT_PROBE_NAME = "UPDATE_CONNECTION_COUNT_PROBE";
+
+   public static final String VIRTUAL_NODES = "VIRTUAL_NODES";
+
+   public static final String LOAD_FACTOR = "LOAD_FACTOR";
+
+   public static final int DEFAULT_VIRTUAL_NODES = 100;
+
+   public static final double DEFAULT_LOAD_FACTOR = 1.25;
+
+
+   private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+   private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+
+   private double loadFactor = DEFAULT_LOAD_FACTOR;
+
+   private volatile Ring ring;
+
+
+   private final TargetProbe targetProbe = new TargetProbe(UPDATE_CONNECTION_COUNT_PROBE_NAME) {
+      @Override
+      public boolean check(Target target) {
+         try {
+            Integer connectionCount = target.getAttribute("broker", "ConnectionCount", Integer.class, 3000);
+
+            logger.debug("Updating the load to {} for the target {}", connectionCount, target);
+
+            getLoad(target.getNodeID()).set(connectionCount);
+
+            return true;
+         } catch (Exception e) {
+            logger.warn("Error on updating the load for the target {}", target, e);
+
+            return false;
+         }
+      }
+   };
+
+   @Override
+   public TargetProbe getTargetProbe() {
+      return targetProbe;
+   }
+
+   public ConsistentHashBoundedLoadsPolicy() {
+      super(NAME);
+   }
+
+   @Override
+   public void init(Map<String, String> properties) {
+      super.init(properties);
+
+      if (properties != null) {
+         if (properties.containsKey(VIRTUAL_NODES)) {
+            virtualNodes = Integer.parseInt(properties.get(VIRTUAL_NODES));
+            if (virtualNodes <= 0) {
+               throw new IllegalArgumentException(VIRTUAL_NODES + " must be greater than 0");
+            }
+         }
+         if (properties.containsKey(LOAD_FACTOR)) {
+            loadFactor = Double.parseDouble(properties.get(LOAD_FACTOR));
+            if (loadFactor < 1) {
+               throw new IllegalArgumentException(LOAD_FACTOR + " must be greater than or equal to 1");
+            }
+         }
+      }
+   }
+
+   @Override
+   public Target selectTarget(List<Target> targets, String key) {
+      if (targets.size() > 1) {
+         Ring ring = this.ring;
+
+         if (ring == null || !ring.targets.equals(targets)) {
+            ring = new Ring(List.copyOf(targets));
+            this.ring = ring;
+         }
+
+         return ring.select(key);
+      } else if (!targets.isEmpty()) {
+         return targets.get(0);
+      }
+
+      return null;
+   }
+
+   private AtomicInteger getLoad(String nodeID) {
+      return loads.computeIfAbsent(nodeID, id -> new AtomicInteger());
+   }
+
+   // the FNV hash of similar strings differs on the lower bits only, the murmur3 finalizer spreads them on the ring
+   private int getRingHash(String str) {
+      int hash = getHash(str);
+      hash ^= hash >>> 16;
+      hash *= 0x85ebca6b;
+      hash ^= hash >>> 13;
+      hash *= 0xc2b2ae35;
+      hash ^= hash >>> 16;
+      return hash;
+   }
+
+   private final class Ring {
+      final List<Target> targets;
+
+      final AtomicInteger[] targetLoads;
+
+      // the sorted hashes of the ring points and the index of the target owning each of them
+      final int[] hashes;
+
+      final int[] owners;
+
+      Ring(List<Target> targets) {
+         this.targets = targets;
+         this.targetLoads = new AtomicInteger[targets.size()];
+
+         long[] points = new long[targets.size() * virtualNodes];
+         for (int i = 0; i < targets.size(); i++) {
+            String nodeID = targets.get(i).getNodeID();
+            targetLoads[i] = getLoad(nodeID);
+            for (int v = 0; v < virtualNodes; v++) {
+               points[i * virtualNodes + v] = ((long) getRingHash(nodeID + "-" + v) << 32) | i;
+            }
+         }
+         Arrays.sort(points);
+
+         hashes = new int[points.length];
+         owners = new int[points.length];
+         for (int p = 0; p < points.length; p++) {
+            hashes[p] = (int) (points[p] >> 32);
+            owners[p] = (int) points[p];
+         }
+
+         logger.debug("Built a ring of {} points for the targets {}", points.length, targets);
+      }
+
+      Target select(String key) {
+         long totalLoad = 0;
+         for (AtomicInteger load : targetLoads) {
+            totalLoad += load.get();
+         }
+         final long capacity = (long) Math.ceil(loadFactor * (totalLoad + 1) / targets.size());
+
+         int point = Arrays.binarySearch(hashes, getRingHash(key));
+         if (point < 0) {
+            point = -point - 1;
+         }
+
+         // some target is always below the capacity as the capacity is not below the average load
+         for (int i = 0; i < hashes.length; i++, point++) {
+            if (point == hashes.length) {
+               point = 0;
+            }
+            AtomicInteger load = targetLoads[owners[point]];
+            if (load.get() < capacity) {
+               load.incrementAndGet();
+               return targets.get(owners[point]);
+            }
+         }
+
+         // the loads changed meanwhile
+         return targets.get(owners[point % hashes.length]);
+      }
+   }
+}
@@ -36,6 +36,7 @@ public class PolicyFactoryResolver {
 
    private PolicyFactoryResolver() {
       policyFactories.put(ConsistentHashPolicy.NAME, () -> new ConsistentHashPolicy());
+      policyFactories.put(ConsistentHashBoundedLoadsPolicy.NAME, () -> new ConsistentHashBoundedLoadsPolicy());
       policyFactories.put(FirstElementPolicy.NAME, () -> new FirstElementPolicy());
       policyFactories.put(LeastConnectionsPolicy.NAME, () -> new LeastConnectionsPolicy());
       policyFactories.put(RoundRobinPolicy.NAME, () -> new RoundRobinPolicy());
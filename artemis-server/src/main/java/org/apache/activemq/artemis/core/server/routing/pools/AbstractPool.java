@@ -51,6 +51,9 @@ public abstract class AbstractPool implements Pool {
 
    private final List<TargetMonitor> targetMonitors = new CopyOnWriteArrayList<>();
 
+   // only updated when a target monitor reports a change, the policies can rely on it to reuse their selection data
+   private volatile List<Target> readyTargets = Collections.emptyList();
+
    private String username;
 
    private String password;
@@ -119,14 +122,12 @@ public abstract class AbstractPool implements Pool {
 
    @Override
    public List<Target> getTargets() {
-      List<Target> targets = targetMonitors.stream().filter(targetMonitor -> targetMonitor.isTargetReady())
-         .map(targetMonitor -> targetMonitor.getTarget()).collect(Collectors.toList());
+      List<Target> targets = readyTargets;
 
       if (quorumTimeout > 0 && targets.size() < quorumSize) {
          final long deadline = System.nanoTime() + quorumTimeoutNanos;
          while (targets.size() < quorumSize && (System.nanoTime() - deadline) < 0) {
-            targets = targetMonitors.stream().filter(targetMonitor -> targetMonitor.isTargetReady())
-               .map(targetMonitor -> targetMonitor.getTarget()).collect(Collectors.toList());
+            targets = readyTargets;
 
             LockSupport.parkNanos(quorumParkNanos);
          }
@@ -139,6 +140,11 @@ public abstract class AbstractPool implements Pool {
       return targets.size() < quorumSize ? Collections.emptyList() : targets;
    }
 
+   private synchronized void updateReadyTargets() {
+      readyTargets = Collections.unmodifiableList(targetMonitors.stream().filter(targetMonitor -> targetMonitor.isTargetReady())
+         .map(targetMonitor -> targetMonitor.getTarget()).collect(Collectors.toList()));
+   }
+
    @Override
    public List<TargetProbe> getTargetProbes() {
       return targetProbes;
@@ -233,7 +239,7 @@ public abstract class AbstractPool implements Pool {
 
    @Override
    public boolean addTarget(Target target) {
-      TargetMonitor targetMonitor = new TargetMonitor(scheduledExecutor, checkPeriod, target, targetProbes);
+      TargetMonitor targetMonitor = new TargetMonitor(scheduledExecutor, checkPeriod, target, targetProbes, this::updateReadyTargets);
 
       if (targets.putIfAbsent(target, targetMonitor) != null) {
          return false;
@@ -260,6 +266,8 @@ public abstract class AbstractPool implements Pool {
 
       targetMonitor.stop();
 
+      updateReadyTargets();
+
       return true;
    }
 }
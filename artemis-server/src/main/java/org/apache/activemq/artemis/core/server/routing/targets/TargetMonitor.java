@@ -33,6 +33,8 @@ public class TargetMonitor extends ActiveMQScheduledComponent implements TargetL
 
    private final List<TargetProbe> targetProbes;
 
+   private final Runnable readinessListener;
+
    private volatile boolean targetReady = false;
 
 
@@ -46,10 +48,28 @@ public class TargetMonitor extends ActiveMQScheduledComponent implements TargetL
 
 
    public TargetMonitor(ScheduledExecutorService scheduledExecutorService, int checkPeriod, Target target, List<TargetProbe> targetProbes) {
+      this(scheduledExecutorService, checkPeriod, target, targetProbes, null);
+   }
+
+   /**
+    * @param readinessListener called whenever the target becomes ready or stops being ready
+    */
+   public TargetMonitor(ScheduledExecutorService scheduledExecutorService, int checkPeriod, Target target, List<TargetProbe> targetProbes, Runnable readinessListener) {
       super(scheduledExecutorService, 0, checkPeriod, TimeUnit.MILLISECONDS, false);
 
       this.target = target;
       this.targetProbes = targetProbes;
+      this.readinessListener = readinessListener;
+   }
+
+   private void setTargetReady(boolean targetReady) {
+      if (this.targetReady != targetReady) {
+         this.targetReady = targetReady;
+
+         if (readinessListener != null) {
+            readinessListener.run();
+         }
+      }
    }
 
    @Override
@@ -63,7 +83,7 @@ public class TargetMonitor extends ActiveMQScheduledComponent implements TargetL
    public synchronized void stop() {
       super.stop();
 
-      targetReady = false;
+      setTargetReady(false);
 
       target.setListener(null);
 
@@ -83,7 +103,7 @@ public class TargetMonitor extends ActiveMQScheduledComponent implements TargetL
             target.connect();
          }
 
-         targetReady = target.checkReadiness() &&  checkTargetProbes();
+         setTargetReady(target.checkReadiness() &&  checkTargetProbes());
 
          if (targetReady) {
             logger.debug("{} is ready", target);
@@ -93,7 +113,7 @@ public class TargetMonitor extends ActiveMQScheduledComponent implements TargetL
       } catch (Exception e) {
          logger.warn("Error monitoring {}", target, e);
 
-         targetReady = false;
+         setTargetReady(false);
       }
    }
 
@@ -115,7 +135,7 @@ public class TargetMonitor extends ActiveMQScheduledComponent implements TargetL
 
    @Override
    public void targetDisconnected() {
-      targetReady = false;
+      setTargetReady(false);
    }
 
 
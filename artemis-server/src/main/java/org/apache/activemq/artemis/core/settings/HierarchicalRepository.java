@@ -115,6 +115,12 @@ public interface HierarchicalRepository<T> {
     */
    void clearCache();
 
+   /**
+    * Evicts from the cache the values of the keys the match applies to, i.e. every key matched by a wildcard match or
+    * else the match itself.
+    */
+   void clearCache(String match);
+
    int getCacheSize();
 
    boolean containsExactMatch(String match);
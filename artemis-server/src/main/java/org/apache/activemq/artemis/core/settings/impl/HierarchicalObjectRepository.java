@@ -26,11 +26,14 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.activemq.artemis.core.config.WildcardConfiguration;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
@@ -48,6 +51,12 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
    private static final WildcardConfiguration DEFAULT_WILDCARD_CONFIGURATION = new WildcardConfiguration();
+
+   /**
+    * Maximum number of values cached by a repository, beyond which the least frequently used are evicted.
+    */
+   public static final long CACHE_MAX_SIZE = Long.parseLong(System.getProperty("artemis.settings.cache.size", "10000"));
+
    private boolean listenersEnabled = true;
    /**
     * The default Match to fall back to
@@ -84,7 +93,10 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
 
    private final char literalMatchMarkerEnd;
 
-   private final Map<String, T> cache = new ConcurrentHashMap<>();
+   /**
+    * The values of the keys already looked up. A change to a match only evicts the keys the match applies to.
+    */
+   private final Cache<String, T> cache;
 
    /**
     * Need a lock instead of using multiple {@link ConcurrentHashMap}s.
@@ -114,6 +126,11 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
    }
 
    public HierarchicalObjectRepository(final WildcardConfiguration wildcardConfiguration, final MatchModifier matchModifier, final String literalMatchMarkers) {
+      this(wildcardConfiguration, matchModifier, literalMatchMarkers, CACHE_MAX_SIZE);
+   }
+
+   public HierarchicalObjectRepository(final WildcardConfiguration wildcardConfiguration, final MatchModifier matchModifier, final String literalMatchMarkers, final long cacheMaxSize) {
+      this.cache = Caffeine.newBuilder().maximumSize(cacheMaxSize).executor(Runnable::run).recordStats().build();
       this.wildcardConfiguration = wildcardConfiguration == null ? DEFAULT_WILDCARD_CONFIGURATION : wildcardConfiguration;
       this.matchComparator = new MatchComparator(this.wildcardConfiguration);
       this.matchModifier = matchModifier;
@@ -185,6 +202,21 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
 
    @Override
    public void addMatch(final String match, final T value, final boolean immutableMatch, final boolean notifyListeners) {
+      lock.writeLock().lock();
+      try {
+         // only the keys this match applies to are impacted, i.e. just itself when exact
+         clearCache(putMatch(match, value, immutableMatch));
+      } finally {
+         lock.writeLock().unlock();
+      }
+
+      // Calling the onChange outside of the wrieLock as some listeners may be doing reads on the matches
+      if (notifyListeners) {
+         onChange();
+      }
+   }
+
+   private Match<T> putMatch(final String match, final T value, final boolean immutableMatch) {
       String modifiedMatch = match;
       boolean literal = false;
       if (checkLiteral) {
@@ -194,40 +226,31 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
          }
       }
       modifiedMatch = matchModifier.modify(modifiedMatch);
-      lock.writeLock().lock();
-      try {
-         // an exact match (i.e. one without wildcards) won't impact any other matches so no need to clear the cache
-         if (wildcardConfiguration.isWild(modifiedMatch)) {
-            clearCache();
-         } else if (modifiedMatch != null && cache.containsKey(modifiedMatch)) {
-            cache.remove(modifiedMatch);
-         }
-
-         if (immutableMatch) {
-            immutables.add(modifiedMatch);
-         }
-         Match.verify(modifiedMatch, wildcardConfiguration);
-         Match<T> match1 = new Match<>(modifiedMatch, value, wildcardConfiguration, literal);
-         if (literal) {
-            literalMatches.put(modifiedMatch, match1);
-         } else if (wildcardConfiguration.isWild(modifiedMatch)) {
-            wildcardMatches.put(modifiedMatch, match1);
-         } else {
-            exactMatches.put(modifiedMatch, match1);
-         }
-      } finally {
-         lock.writeLock().unlock();
+      if (immutableMatch) {
+         immutables.add(modifiedMatch);
       }
-
-      // Calling the onChange outside of the wrieLock as some listeners may be doing reads on the matches
-      if (notifyListeners) {
-         onChange();
+      Match.verify(modifiedMatch, wildcardConfiguration);
+      Match<T> match1 = new Match<>(modifiedMatch, value, wildcardConfiguration, literal);
+      if (literal) {
+         literalMatches.put(modifiedMatch, match1);
+      } else if (wildcardConfiguration.isWild(modifiedMatch)) {
+         wildcardMatches.put(modifiedMatch, match1);
+      } else {
+         exactMatches.put(modifiedMatch, match1);
       }
+      return match1;
    }
 
    @Override
    public int getCacheSize() {
-      return cache.size();
+      return (int) cache.estimatedSize();
+   }
+
+   /**
+    * {@return the cache of the values already looked up, recording its hit and miss statistics}
+    */
+   public Cache<String, T> getCache() {
+      return cache;
    }
 
    /**
@@ -237,7 +260,7 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
    @Override
    public T getMatch(final String match) {
       String modifiedMatch = matchModifier.modify(match);
-      T cacheResult = cache.get(modifiedMatch);
+      T cacheResult = cache.getIfPresent(modifiedMatch);
       if (cacheResult != null) {
          return cacheResult;
       }
@@ -300,14 +323,16 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
             logger.debug("Cannot remove match {} since it came from a main config", modMatch);
          } else {
             /*
-             * Clear the cache before removing the match, but only if the match used wildcards. This will force any
-             * thread at {@link #getMatch(String)} to get the lock to recompute.
+             * Evict the keys the match applied to before removing it. This will force any thread at
+             * {@link #getMatch(String)} to get the lock to recompute them.
              */
             if (wildcardConfiguration.isWild(modMatch)) {
-               clearCache();
-               wildcardMatches.remove(modMatch);
+               Match<T> removed = wildcardMatches.remove(modMatch);
+               if (removed != null) {
+                  clearCache(removed);
+               }
             } else {
-               clearCache();
+               cache.invalidate(modMatch);
                exactMatches.remove(modMatch);
                literalMatches.remove(modMatch);
             }
@@ -366,12 +391,18 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
    public void swap(Set<Map.Entry<String, T>> entries) {
       lock.writeLock().lock();
       try {
-         clearCache();
+         final Map<String, Match<T>> previousWildcardMatches = new HashMap<>(wildcardMatches);
+         final Map<String, Match<T>> previousExactMatches = new HashMap<>(exactMatches);
+         final Map<String, Match<T>> previousLiteralMatches = new HashMap<>(literalMatches);
          immutables.clear();
          clearMatches();
          for (Map.Entry<String, T> entry : entries) {
-            addMatch(entry.getKey(), entry.getValue(), true, false);
+            putMatch(entry.getKey(), entry.getValue(), true);
          }
+         // a reload usually changes a few matches if any, only the keys they apply to are evicted
+         clearChangedMatches(previousWildcardMatches, wildcardMatches);
+         clearChangedMatches(previousExactMatches, exactMatches);
+         clearChangedMatches(previousLiteralMatches, literalMatches);
       } finally {
          lock.writeLock().unlock();
       }
@@ -386,7 +417,42 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
 
    @Override
    public void clearCache() {
-      cache.clear();
+      cache.invalidateAll();
+   }
+
+   @Override
+   public void clearCache(String match) {
+      final String modifiedMatch = matchModifier.modify(match);
+      lock.writeLock().lock();
+      try {
+         if (wildcardConfiguration.isWild(modifiedMatch)) {
+            clearCache(new Match<>(modifiedMatch, null, wildcardConfiguration));
+         } else {
+            cache.invalidate(modifiedMatch);
+         }
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   private void clearCache(Match<T> match) {
+      final String key = match.getMatch();
+      if (match.isLiteral() || !wildcardConfiguration.isWild(key)) {
+         cache.invalidate(key);
+      } else {
+         final Pattern pattern = match.getPattern();
+         cache.asMap().keySet().removeIf(cachedKey -> pattern.matcher(cachedKey).matches());
+      }
+   }
+
+   private void clearChangedMatches(Map<String, Match<T>> previousMatches, Map<String, Match<T>> currentMatches) {
+      currentMatches.forEach((key, match) -> {
+         Match<T> previous = previousMatches.remove(key);
+         if (previous == null || !Objects.equals(previous.getValue(), match.getValue())) {
+            clearCache(match);
+         }
+      });
+      previousMatches.values().forEach(this::clearCache);
    }
 
    private void clearMatches() {
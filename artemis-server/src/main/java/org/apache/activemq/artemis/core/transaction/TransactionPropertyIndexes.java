@@ -43,4 +43,8 @@ public class TransactionPropertyIndexes {
    public static final int MIRROR_SEND_OPERATION = 12;
 
    public static final int MIRROR_DELIVERY_ASYNC = 13;
+
+   public static final int MIRROR_ACK_BATCH_OPERATION = 14;
+
+   public static final int ROUTING_BATCH = 15;
 }
@@ -16,6 +16,14 @@
  */
 package org.apache.activemq.artemis.spi.core.protocol;
 
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
@@ -33,6 +41,15 @@ public interface SessionCallback {
       return true;
    }
 
+   /**
+    * Whether the queue can hand many messages to a consumer of this session before proceeding with their delivery. It
+    * requires the protocol layer to account for the credits of the messages still pending delivery, as
+    * {@link ServerConsumer} does for the core credits.
+    */
+   default boolean supportsBatchedDelivery() {
+      return false;
+   }
+
    /**
     * This one gives a chance for Proton to have its own flow control.
     */
@@ -63,6 +80,20 @@ public interface SessionCallback {
 
    int sendMessage(MessageReference ref, ServerConsumer consumerID, int deliveryCount);
 
+   /**
+    * Same as {@link #sendMessage(MessageReference, ServerConsumer, int)}, for a message delivered in a batch: it doesn't
+    * need to reach the wire before {@link #flushBatch()} is called, once the whole batch was sent.
+    */
+   default int sendBatchedMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount) {
+      return sendMessage(ref, consumer, deliveryCount);
+   }
+
+   /**
+    * Flushes the messages sent through {@link #sendBatchedMessage(MessageReference, ServerConsumer, int)}.
+    */
+   default void flushBatch() {
+   }
+
    int sendLargeMessage(MessageReference ref,
                         ServerConsumer consumerID,
                         long bodySize,
@@ -73,6 +104,47 @@ public interface SessionCallback {
                                     boolean continues,
                                     boolean requiresResponse);
 
+   /**
+    * Whether {@link #sendLargeMessageContinuation(ServerConsumer, File, long, int, boolean, Runnable)} can send the body
+    * of a large message straight from its file, without copying it through the heap.
+    */
+   default boolean supportsFileRegionDelivery() {
+      return false;
+   }
+
+   /**
+    * Sends {@code length} bytes of {@code file} from {@code position} as a chunk of the body of a large message. Unless
+    * this method throws, {@code onWritten} is called once the chunk is written or failed to be, as the file must exist
+    * until then.
+    * <p>
+    * Unless {@link #supportsFileRegionDelivery()} the chunk is read from the file and sent through
+    * {@link #sendLargeMessageContinuation(ServerConsumer, byte[], boolean, boolean)} instead.
+    *
+    * @throws UncheckedIOException if the chunk couldn't be read from the file
+    */
+   default int sendLargeMessageContinuation(ServerConsumer consumerID,
+                                            File file,
+                                            long position,
+                                            int length,
+                                            boolean continues,
+                                            Runnable onWritten) {
+      final byte[] body = new byte[length];
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+         final ByteBuffer buffer = ByteBuffer.wrap(body);
+         while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+               throw new EOFException("Missing " + buffer.remaining() + " bytes of " + file);
+            }
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      // the chunk was copied, the file isn't needed anymore
+      final int packetSize = sendLargeMessageContinuation(consumerID, body, continues, false);
+      onWritten.run();
+      return packetSize;
+   }
+
    void closed();
 
    void disconnect(ServerConsumer consumerId, String errorMessage);
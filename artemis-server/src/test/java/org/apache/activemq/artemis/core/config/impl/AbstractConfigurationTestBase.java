@@ -466,6 +466,7 @@ public abstract class AbstractConfigurationTestBase extends ServerTestBase {
       insertionOrderedProperties.put("connectionRouters.symmetricRedirect.poolConfiguration.discoveryGroupName", "discovery-group-1");
       insertionOrderedProperties.put("connectionRouters.symmetricRedirect.cacheConfiguration.persisted", Boolean.TRUE.toString());
       insertionOrderedProperties.put("connectionRouters.symmetricRedirect.cacheConfiguration.timeout", "1234");
+      insertionOrderedProperties.put("connectionRouters.symmetricRedirect.cacheConfiguration.maxSize", "5678");
 
       configuration.parsePrefixedProperties(insertionOrderedProperties, null);
 
@@ -492,5 +493,6 @@ public abstract class AbstractConfigurationTestBase extends ServerTestBase {
       assertNotNull(symmetricRedirectConfig.getCacheConfiguration());
       assertEquals(Boolean.TRUE, symmetricRedirectConfig.getCacheConfiguration().isPersisted());
       assertEquals(1234, symmetricRedirectConfig.getCacheConfiguration().getTimeout());
+      assertEquals(5678, symmetricRedirectConfig.getCacheConfiguration().getMaxSize());
    }
 }
@@ -395,6 +395,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
             assertNotNull(bc.getCacheConfiguration());
             assertTrue(bc.getCacheConfiguration().isPersisted());
             assertEquals(60000, bc.getCacheConfiguration().getTimeout());
+            assertEquals(10000, bc.getCacheConfiguration().getMaxSize());
             assertEquals(LeastConnectionsPolicy.NAME, bc.getPolicyConfiguration().getName());
             assertEquals(3000, bc.getPoolConfiguration().getCheckPeriod());
             assertEquals(2, bc.getPoolConfiguration().getQuorumSize());
@@ -549,6 +550,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(configInstance.getAddressSettings().get("a1").isEnableIngressTimestamp());
       assertNull(configInstance.getAddressSettings().get("a1").getIDCacheSize());
       assertNull(configInstance.getAddressSettings().get("a1").getInitialQueueBufferSize());
+      assertFalse(configInstance.getAddressSettings().get("a1").isConcurrentDelivery());
 
       assertEquals("a2.1", configInstance.getAddressSettings().get("a2").getDeadLetterAddress().toString());
       assertTrue(configInstance.getAddressSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -592,6 +594,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(configInstance.getAddressSettings().get("a2").isEnableIngressTimestamp());
       assertEquals(Integer.valueOf(500), configInstance.getAddressSettings().get("a2").getIDCacheSize());
       assertEquals(Integer.valueOf(128), configInstance.getAddressSettings().get("a2").getInitialQueueBufferSize());
+      assertTrue(configInstance.getAddressSettings().get("a2").isConcurrentDelivery());
 
       assertEquals(111, configInstance.getMirrorAckManagerQueueAttempts());
       assertTrue(configInstance.isMirrorAckManagerWarnUnacked());
@@ -650,6 +653,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(a2Role.isManage());
       assertEquals(1234567, configInstance.getGlobalMaxSize());
       assertEquals(30, configInstance.getGlobalMaxSizePercentOfJvmMaxMemory());
+      assertTrue(configInstance.isOffHeapMessageBodies());
       assertEquals(37, configInstance.getMaxDiskUsage());
       assertEquals(123, configInstance.getDiskScanPeriod());
 
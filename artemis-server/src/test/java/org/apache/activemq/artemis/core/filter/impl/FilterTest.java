@@ -16,12 +16,16 @@
  */
 package org.apache.activemq.artemis.core.filter.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInvalidFilterExpressionException;
@@ -703,6 +707,50 @@ public class FilterTest extends SilentTestCase {
       assertTrue(filter.match(message));
    }
 
+   @Test
+   public void testCompiledFilter() throws Exception {
+      filter = FilterImpl.createFilter(SimpleString.of("color = 'RED' AND AMQPriority > 3 AND fooprop LIKE 'hello%'"), true);
+      assertTrue(((FilterImpl) filter).isCompiled());
+
+      message.setPriority((byte) 4);
+      message.putStringProperty(SimpleString.of("color"), SimpleString.of("RED"));
+      message.putStringProperty(SimpleString.of("fooprop"), SimpleString.of("hello1234"));
+      assertTrue(filter.match(message));
+
+      message.setPriority((byte) 3);
+      assertFalse(filter.match(message));
+   }
+
+   @Test
+   public void testCompiledFilterConcurrentMatch() throws Exception {
+      final Filter compiled = FilterImpl.createFilter(SimpleString.of("id >= 0 AND id % 2 = 0"), true);
+      final int threads = 4;
+      final int messages = 1000;
+      final AtomicInteger matched = new AtomicInteger();
+      final AtomicInteger errors = new AtomicInteger();
+      final CountDownLatch done = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+         new Thread(() -> {
+            try {
+               for (int i = 0; i < messages; i++) {
+                  Message m = new CoreMessage().initBuffer(1024).setMessageID(i);
+                  m.putIntProperty(SimpleString.of("id"), i);
+                  if (compiled.match(m)) {
+                     matched.incrementAndGet();
+                  }
+               }
+            } catch (Throwable e) {
+               errors.incrementAndGet();
+            } finally {
+               done.countDown();
+            }
+         }).start();
+      }
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+      assertEquals(0, errors.get());
+      assertEquals(threads * messages / 2, matched.get());
+   }
+
    // TODO: re-implement this.
    //
    //   @Test
@@ -17,11 +17,28 @@
 package org.apache.activemq.artemis.core.postoffice.impl;
 
 import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.postoffice.RoutingBatch;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.QueueFactory;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.core.server.management.ManagementService;
+import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.settings.impl.HierarchicalObjectRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -235,6 +252,68 @@ public class PostOfficeImplTest {
       assertExpirationSetAsExpected(expectedExpirationLow, expectedExpirationHigh, actualExpirationSet);
    }
 
+   @Test
+   public void testRoutingBatchSkipsLookupsUntilRoutingChanges() throws Exception {
+      final SimpleString address = SimpleString.of("test");
+      final HierarchicalRepository<AddressSettings> addressSettingsRepository = Mockito.spy(new HierarchicalObjectRepository<>());
+      addressSettingsRepository.setDefault(new AddressSettings());
+      final PostOfficeImpl postOffice = new PostOfficeImpl(Mockito.mock(ActiveMQServer.class), new NullStorageManager(), Mockito.mock(PagingManager.class), Mockito.mock(QueueFactory.class), Mockito.mock(ManagementService.class), -1, -1, new WildcardConfiguration(), 100, false, addressSettingsRepository);
+      postOffice.start();
+      postOffice.addBinding(new LocalQueueBinding(address, mockQueue(1, "queue1"), SimpleString.of("node")));
+
+      // every message is looked up on its own without a batch
+      Mockito.clearInvocations(addressSettingsRepository);
+      for (int i = 0; i < 10; i++) {
+         assertEquals(RoutingStatus.OK, postOffice.route(createMessage(i, address), new RoutingContextImpl(null), false));
+      }
+      Mockito.verify(addressSettingsRepository, Mockito.times(10)).getMatch(address.toString());
+
+      // the batch looks up the first message only
+      final RoutingBatch batch = new RoutingBatch();
+      Mockito.clearInvocations(addressSettingsRepository);
+      for (int i = 0; i < 10; i++) {
+         assertEquals(RoutingStatus.OK, postOffice.route(createMessage(i, address), new RoutingContextImpl(null), false, batch));
+      }
+      Mockito.verify(addressSettingsRepository, Mockito.times(1)).getMatch(address.toString());
+      assertEquals(postOffice.getRoutingVersion(), batch.getVersion());
+      assertNotNull(batch.getBindings());
+
+      // changing the address settings or the bindings makes the batch look up the next message again
+      int version = postOffice.getRoutingVersion();
+      addressSettingsRepository.addMatch(address.toString(), new AddressSettings().setExpiryDelay(1000L));
+      assertNotEquals(version, postOffice.getRoutingVersion());
+      Mockito.clearInvocations(addressSettingsRepository);
+      for (int i = 0; i < 10; i++) {
+         assertEquals(RoutingStatus.OK, postOffice.route(createMessage(i, address), new RoutingContextImpl(null), false, batch));
+      }
+      Mockito.verify(addressSettingsRepository, Mockito.times(1)).getMatch(address.toString());
+      assertEquals(1000L, batch.getAddressSettings().getExpiryDelay());
+
+      version = postOffice.getRoutingVersion();
+      postOffice.addBinding(new LocalQueueBinding(address, mockQueue(2, "queue2"), SimpleString.of("node")));
+      assertNotEquals(version, postOffice.getRoutingVersion());
+      Mockito.clearInvocations(addressSettingsRepository);
+      for (int i = 0; i < 10; i++) {
+         assertEquals(RoutingStatus.OK, postOffice.route(createMessage(i, address), new RoutingContextImpl(null), false, batch));
+      }
+      Mockito.verify(addressSettingsRepository, Mockito.times(1)).getMatch(address.toString());
+      assertEquals(2, batch.getBindings().getBindings().size());
+
+      postOffice.stop();
+   }
+
+   private static Queue mockQueue(long id, String name) {
+      Queue queue = Mockito.mock(Queue.class);
+      Mockito.when(queue.getID()).thenReturn(id);
+      Mockito.when(queue.getName()).thenReturn(SimpleString.of(name));
+      Mockito.when(queue.getRoutingType()).thenReturn(RoutingType.ANYCAST);
+      return queue;
+   }
+
+   private static Message createMessage(long id, SimpleString address) {
+      return new CoreMessage(id, 50).setAddress(address);
+   }
+
    private void assertExpirationSetAsExpected(final long expectedExpirationLow, final long expectedExpirationHigh, final Long actualExpirationSet) {
       assertNotNull(actualExpirationSet);
 
@@ -18,11 +18,14 @@ package org.apache.activemq.artemis.core.server.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -245,6 +248,99 @@ public class ScheduledDeliveryHandlerTest {
       }
    }
 
+   @Test
+   public void testTimingWheelNeverReleasesEarly() throws Exception {
+      final long start = 1_000_000L;
+      TimingWheel wheel = new TimingWheel(5, start);
+
+      Map<Long, Long> deliveryTimes = new HashMap<>();
+      for (long i = 0; i < 10000; i++) {
+         // from already due up to a few levels of the wheel
+         long deliveryTime = start - 10 + RandomUtil.randomPositiveInt() % 10_000_000;
+         deliveryTimes.put(i, deliveryTime);
+         wheel.add(newReference(i, deliveryTime), RandomUtil.randomBoolean(), deliveryTime, start);
+      }
+
+      // a few cancellations
+      for (long i = 0; i < 100; i++) {
+         assertNotNull(wheel.removeByMessageId(i));
+         deliveryTimes.remove(i);
+      }
+      assertNull(wheel.removeByMessageId(0));
+
+      AtomicInteger released = new AtomicInteger();
+      long now = start;
+      while (!wheel.isEmpty()) {
+         final long time = now;
+         wheel.advance(time, entry -> {
+            assertTrue(entry.deliveryTime <= time, "released " + entry.deliveryTime + " at " + time);
+            assertEquals(deliveryTimes.remove(entry.ref.getMessage().getMessageID()), entry.deliveryTime);
+            released.incrementAndGet();
+         });
+         long next = wheel.nextExpiration();
+         // the next expiration is never more than one tick after the next delivery time
+         for (Long deliveryTime : deliveryTimes.values()) {
+            assertTrue(next <= deliveryTime + 5, "next expiration " + next + " after " + deliveryTime);
+         }
+         now = Math.max(now + 1, next);
+      }
+
+      assertEquals(9900, released.get());
+      assertTrue(deliveryTimes.isEmpty());
+      assertEquals(Long.MAX_VALUE, wheel.nextExpiration());
+   }
+
+   @Test
+   public void testRemoveReferenceWithID() throws Exception {
+      FakeQueueForScheduleUnitTest fakeQueue = new FakeQueueForScheduleUnitTest(0);
+      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, fakeQueue);
+
+      long time = System.currentTimeMillis() + 60_000;
+      for (int i = 0; i < 100; i++) {
+         MessageReferenceImpl refImpl = new MessageReferenceImpl(new FakeMessage(i), fakeQueue);
+         refImpl.setScheduledDeliveryTime(time + i);
+         handler.addInPlace(time + i, refImpl, RandomUtil.randomBoolean());
+      }
+
+      assertEquals(50, handler.removeReferenceWithID(50).getMessage().getMessageID());
+      assertNull(handler.removeReferenceWithID(50));
+      assertEquals(99, handler.getScheduledReferences().size());
+
+      assertEquals(10, handler.cancel(ref -> ref.getMessage().getMessageID() < 10).size());
+      assertEquals(89, handler.getScheduledReferences().size());
+      assertEquals(10, handler.getScheduledReferences().get(0).getMessage().getMessageID());
+   }
+
+   @Test
+   public void testManyDeliveryTimesSingleTask() throws Exception {
+      ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try {
+         final int numberOfMessages = 10000;
+         final FakeQueueForScheduleUnitTest fakeQueue = new FakeQueueForScheduleUnitTest(numberOfMessages);
+         final ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(scheduler, fakeQueue, 10);
+
+         long now = System.currentTimeMillis();
+         for (int i = 0; i < numberOfMessages; i++) {
+            // 1000 distinct delivery times, all within the first level of the wheel
+            checkAndSchedule(handler, i, now + 500 + (i % 1000), false, fakeQueue);
+         }
+
+         // only the task for the earliest delivery is kept on the executor
+         assertEquals(1, scheduler.getQueue().size());
+
+         assertTrue(fakeQueue.waitCompletion(30, TimeUnit.SECONDS));
+         assertEquals(0, handler.getScheduledCount());
+      } finally {
+         scheduler.shutdownNow();
+      }
+   }
+
+   private MessageReference newReference(long messageID, long deliveryTime) {
+      MessageReferenceImpl refImpl = new MessageReferenceImpl(new FakeMessage(messageID), null);
+      refImpl.setScheduledDeliveryTime(deliveryTime);
+      return refImpl;
+   }
+
    private void validateSequence(ScheduledDeliveryHandlerImpl handler) throws Exception {
       long lastSequence = -1;
       for (MessageReference ref : handler.getScheduledReferences()) {
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.server.routing.caches;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.config.PersistedKeyValuePair;
@@ -26,8 +27,12 @@ import org.apache.activemq.artemis.utils.Wait;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class LocalCacheTest {
    private static final String CACHE_NAME = "TEST";
@@ -126,14 +131,106 @@ public class LocalCacheTest {
       assertNull(storageManager.getPersistedKeyValuePairs(CACHE_NAME).get(CACHE_ENTRY_KEY));
    }
 
+   @Test
+   public void testMaxSize() throws Exception {
+      LocalCache cache = new LocalCache(CACHE_NAME, false, 0, 10, null, null);
+
+      cache.start();
+
+      try {
+         for (int i = 0; i < 100; i++) {
+            cache.put(CACHE_ENTRY_KEY + i, CACHE_ENTRY_VALUE);
+         }
+         Wait.assertTrue(() -> {
+            int entries = 0;
+            for (int i = 0; i < 100; i++) {
+               if (cache.get(CACHE_ENTRY_KEY + i) != null) {
+                  entries++;
+               }
+            }
+            return entries <= 10;
+         });
+      } finally {
+         cache.stop();
+      }
+   }
+
+   @Test
+   public void testPersistedBatches() throws Exception {
+      DummyKeyValuePairStorageManager storageManager = new DummyKeyValuePairStorageManager();
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+
+      try {
+         LocalCache cache = new LocalCache(CACHE_NAME, true, 0, 0, storageManager, executor);
+
+         cache.start();
+
+         try {
+            for (int i = 0; i < 100; i++) {
+               cache.put(CACHE_ENTRY_KEY + i, CACHE_ENTRY_VALUE);
+            }
+            Wait.assertEquals(100, () -> storageManager.getPersistedKeyValuePairs(CACHE_NAME).size());
+            assertTrue(storageManager.batches.get() <= 100);
+         } finally {
+            cache.stop();
+         }
+
+         LocalCache cacheAfterStop = new LocalCache(CACHE_NAME, true, 0, 0, storageManager, executor);
+
+         cacheAfterStop.start();
+
+         try {
+            for (int i = 0; i < 100; i++) {
+               assertEquals(CACHE_ENTRY_VALUE, cacheAfterStop.get(CACHE_ENTRY_KEY + i));
+            }
+         } finally {
+            cacheAfterStop.stop();
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   public void testPersistedEviction() throws Exception {
+      DummyKeyValuePairStorageManager storageManager = new DummyKeyValuePairStorageManager();
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+
+      try {
+         LocalCache cache = new LocalCache(CACHE_NAME, true, 0, 10, storageManager, executor);
+
+         cache.start();
+
+         try {
+            for (int i = 0; i < 100; i++) {
+               cache.put(CACHE_ENTRY_KEY + i, CACHE_ENTRY_VALUE);
+            }
+            // the evicted entries are removed from the storage too
+            Wait.assertTrue(() -> storageManager.getPersistedKeyValuePairs(CACHE_NAME).size() <= 10);
+         } finally {
+            cache.stop();
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+
    static class DummyKeyValuePairStorageManager extends NullStorageManager {
+      private final AtomicInteger batches = new AtomicInteger();
+
+      @Override
+      public void storeKeyValuePairs(List<PersistedKeyValuePair> persistedKeyValuePairs) throws Exception {
+         batches.incrementAndGet();
+         super.storeKeyValuePairs(persistedKeyValuePairs);
+      }
+
       private Map<String, Map<String, PersistedKeyValuePair>> mapPersistedKeyValuePairs = new ConcurrentHashMap<>();
 
       @Override
       public void storeKeyValuePair(PersistedKeyValuePair persistedKeyValuePair) throws Exception {
          Map<String, PersistedKeyValuePair> persistedKeyValuePairs = mapPersistedKeyValuePairs.get(persistedKeyValuePair.getMapId());
          if (persistedKeyValuePairs == null) {
-            persistedKeyValuePairs = new HashMap<>();
+            persistedKeyValuePairs = new ConcurrentHashMap<>();
             mapPersistedKeyValuePairs.put(persistedKeyValuePair.getMapId(), persistedKeyValuePairs);
          }
          persistedKeyValuePairs.put(persistedKeyValuePair.getKey(), persistedKeyValuePair);
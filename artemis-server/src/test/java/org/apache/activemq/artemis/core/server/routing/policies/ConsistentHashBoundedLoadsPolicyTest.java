@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.routing.policies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.core.server.routing.targets.MockTarget;
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConsistentHashBoundedLoadsPolicyTest extends PolicyTestBase {
+
+   @Override
+   protected AbstractPolicy createPolicy() {
+      return new ConsistentHashBoundedLoadsPolicy();
+   }
+
+   @Test
+   public void testPolicyWithMultipleTargets() {
+      AbstractPolicy policy = createPolicy();
+      Target selectedTarget;
+      Target previousTarget;
+
+      List<Target> targets = new ArrayList<>();
+      for (int i = 0; i < MULTIPLE_TARGETS; i++) {
+         targets.add(new MockTarget());
+      }
+
+      selectedTarget = policy.selectTarget(targets, "test");
+      previousTarget = selectedTarget;
+
+      // every selection increases the load of the selected target, a policy with the same loads selects the same target
+      selectedTarget = createPolicy().selectTarget(targets, "test");
+      assertEquals(previousTarget, selectedTarget);
+
+      targets.remove(previousTarget);
+      selectedTarget = policy.selectTarget(targets, "test");
+      assertNotEquals(previousTarget, selectedTarget);
+   }
+
+   @Test
+   public void testBoundedLoads() {
+      final int keys = 10000;
+      AbstractPolicy policy = createPolicy();
+      Map<String, String> properties = new HashMap<>();
+      properties.put(ConsistentHashBoundedLoadsPolicy.LOAD_FACTOR, "1.1");
+      policy.init(properties);
+
+      List<Target> targets = new ArrayList<>();
+      for (int i = 0; i < MULTIPLE_TARGETS; i++) {
+         targets.add(new MockTarget());
+      }
+
+      Map<Target, Integer> counts = new HashMap<>();
+      for (int i = 0; i < keys; i++) {
+         counts.merge(policy.selectTarget(targets, "client-" + i), 1, Integer::sum);
+      }
+
+      assertEquals(MULTIPLE_TARGETS, counts.size());
+      for (int count : counts.values()) {
+         assertTrue(count <= Math.ceil(1.1 * keys / MULTIPLE_TARGETS), "a target got " + count + " of " + keys);
+      }
+   }
+
+   @Test
+   public void testMinimalDisruption() {
+      final int keys = 1000;
+      AbstractPolicy policy = createPolicy();
+
+      List<Target> targets = new ArrayList<>();
+      for (int i = 0; i < MULTIPLE_TARGETS; i++) {
+         targets.add(new MockTarget());
+      }
+
+      Map<String, Target> selected = new HashMap<>();
+      for (int i = 0; i < keys; i++) {
+         selected.put("client-" + i, policy.selectTarget(targets, "client-" + i));
+      }
+
+      // a new policy sees the loads from scratch, as the probe would report them after the clients reconnected
+      policy = createPolicy();
+      Target removed = targets.remove(0);
+      int moved = 0;
+      for (int i = 0; i < keys; i++) {
+         Target target = policy.selectTarget(targets, "client-" + i);
+         assertNotEquals(removed, target);
+         if (selected.get("client-" + i) != removed && selected.get("client-" + i) != target) {
+            moved++;
+         }
+      }
+
+      // only some of the keys of the other targets move to take the share of the removed one
+      assertTrue(moved < keys / 2, moved + " keys moved");
+   }
+}
@@ -102,6 +102,7 @@ public class AddressSettingsTest extends ServerTestBase {
       addressSettingsToMerge.setMaxExpiryDelay(777L);
       addressSettingsToMerge.setIDCacheSize(5);
       addressSettingsToMerge.setInitialQueueBufferSize(256);
+      addressSettingsToMerge.setConcurrentDelivery(true);
       addressSettingsToMerge.setNoExpiry(true);
 
       if (copy) {
@@ -125,6 +126,7 @@ public class AddressSettingsTest extends ServerTestBase {
       assertEquals(Long.valueOf(777), addressSettings.getMaxExpiryDelay());
       assertEquals(Integer.valueOf(5), addressSettings.getIDCacheSize());
       assertEquals(Integer.valueOf(256), addressSettings.getInitialQueueBufferSize());
+      assertTrue(addressSettings.isConcurrentDelivery());
       assertTrue(addressSettings.isNoExpiry());
    }
 
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.settings;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
@@ -113,6 +114,90 @@ public class RepositoryTest extends ServerTestBase {
       assertEquals("leaf", repo.getMatch("b"));
    }
 
+   @Test
+   public void testCacheBounded() {
+      HierarchicalObjectRepository<String> repo = new HierarchicalObjectRepository<>(null, new HierarchicalObjectRepository.MatchModifier() { }, null, 10);
+      repo.addMatch("a.#", "a");
+      repo.setDefault("default");
+
+      for (int i = 0; i < 1000; i++) {
+         assertEquals("a", repo.getMatch("a." + i));
+         assertEquals("default", repo.getMatch("b." + i));
+      }
+      repo.getCache().cleanUp();
+      assertTrue(repo.getCacheSize() <= 10, "cache size = " + repo.getCacheSize());
+
+      assertEquals(2000, repo.getCache().stats().missCount());
+      // an evicted match is computed again
+      assertEquals("a", repo.getMatch("a.0"));
+      assertEquals(2001, repo.getCache().stats().requestCount());
+   }
+
+   @Test
+   public void testCacheSelectiveInvalidation() {
+      HierarchicalObjectRepository<String> repo = new HierarchicalObjectRepository<>();
+      repo.addMatch("a.#", "a");
+      repo.addMatch("b.#", "b");
+      repo.setDefault("default");
+
+      assertEquals("a", repo.getMatch("a.1"));
+      assertEquals("a", repo.getMatch("a.1.2"));
+      assertEquals("b", repo.getMatch("b.1"));
+      assertEquals("default", repo.getMatch("c"));
+      assertEquals(4, repo.getCacheSize());
+
+      // a wildcard match only evicts the keys it matches
+      repo.addMatch("a.*", "a2");
+      assertEquals(3, repo.getCacheSize());
+      assertEquals("a2", repo.getMatch("a.1"));
+      assertEquals("a", repo.getMatch("a.1.2"));
+
+      // an exact match only evicts itself
+      repo.addMatch("b.1", "b1");
+      assertEquals(3, repo.getCacheSize());
+      assertEquals("b1", repo.getMatch("b.1"));
+
+      repo.removeMatch("a.*");
+      assertEquals(3, repo.getCacheSize());
+      assertEquals("a", repo.getMatch("a.1"));
+
+      repo.removeMatch("b.1");
+      assertEquals(3, repo.getCacheSize());
+      assertEquals("b", repo.getMatch("b.1"));
+
+      repo.clearCache("b.#");
+      assertEquals(3, repo.getCacheSize());
+      repo.clearCache("c");
+      assertEquals(2, repo.getCacheSize());
+   }
+
+   @Test
+   public void testSwapOnlyInvalidatesChangedMatches() {
+      HierarchicalObjectRepository<String> repo = new HierarchicalObjectRepository<>();
+      Map<String, String> matches = new HashMap<>();
+      matches.put("a.#", "a");
+      matches.put("b.#", "b");
+      matches.put("c", "c");
+      repo.swap(matches.entrySet());
+
+      assertEquals("a", repo.getMatch("a.1"));
+      assertEquals("b", repo.getMatch("b.1"));
+      assertEquals("c", repo.getMatch("c"));
+      assertEquals(3, repo.getCacheSize());
+
+      // a reload of the same matches
+      repo.swap(new HashMap<>(matches).entrySet());
+      assertEquals(3, repo.getCacheSize());
+
+      matches.put("b.#", "b2");
+      matches.remove("c");
+      repo.swap(matches.entrySet());
+      assertEquals(1, repo.getCacheSize());
+      assertEquals("a", repo.getMatch("a.1"));
+      assertEquals("b2", repo.getMatch("b.1"));
+      assertNull(repo.getMatch("c"));
+   }
+
    @Test
    public void testMultipleMatchesHasRightOrder() {
       HierarchicalRepository<String> repository = new HierarchicalObjectRepository<>();
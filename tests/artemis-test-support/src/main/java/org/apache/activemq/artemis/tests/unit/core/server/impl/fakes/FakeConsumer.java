@@ -37,6 +37,10 @@ public class FakeConsumer implements Consumer {
 
    private final Filter filter;
 
+   private boolean batchedDelivery;
+
+   private int batches;
+
    public FakeConsumer() {
       filter = null;
    }
@@ -77,6 +81,24 @@ public class FakeConsumer implements Consumer {
       return references.removeFirst();
    }
 
+   public void setBatchedDelivery(final boolean batchedDelivery) {
+      this.batchedDelivery = batchedDelivery;
+   }
+
+   @Override
+   public boolean supportsBatchedDelivery() {
+      return batchedDelivery;
+   }
+
+   @Override
+   public void endBatch() {
+      batches++;
+   }
+
+   public int getBatches() {
+      return batches;
+   }
+
    public synchronized void setStatusImmediate(final HandleStatus newStatus) {
       statusToReturn = newStatus;
    }
@@ -256,6 +256,13 @@ public class FakePostOffice implements PostOffice {
       return null;
    }
 
+   @Override
+   public Pair<RoutingContext, Message> redistribute(final Message message,
+                                                     final Queue originatingQueue,
+                                                     final Transaction tx) throws Exception {
+      return null;
+   }
+
    @Override
    public MessageReference reload(final Message message,
                                    final Queue queue,
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.tests.integration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -34,6 +35,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
@@ -52,6 +54,7 @@ import org.apache.activemq.artemis.tests.extensions.parameterized.Parameter;
 import org.apache.activemq.artemis.tests.extensions.parameterized.ParameterizedTestExtension;
 import org.apache.activemq.artemis.tests.extensions.parameterized.Parameters;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
 import org.apache.activemq.artemis.utils.UUIDGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestTemplate;
@@ -142,6 +145,95 @@ public class DuplicateDetectionTest extends ActiveMQTestBase {
       assertNull(message2);
    }
 
+   @TestTemplate
+   public void testTransactedSendsToSeveralAddresses() throws Exception {
+      final SimpleString address1 = SimpleString.of("DuplicateDetectionTestAddress1");
+      final SimpleString address2 = SimpleString.of("DuplicateDetectionTestAddress2");
+      final SimpleString otherQueue1 = SimpleString.of("DuplicateDetectionTestOtherQueue1");
+      final SimpleString dupID = SimpleString.of("abcdefg");
+
+      ClientSession session = addClientSession(sf.createSession(false, false, false));
+      session.createQueue(QueueConfiguration.of(address1).setRoutingType(RoutingType.MULTICAST).setDurable(false));
+      session.createQueue(QueueConfiguration.of(address2).setRoutingType(RoutingType.ANYCAST).setDurable(false));
+      ClientProducer producer = session.createProducer();
+
+      // the sends of a transaction reuse what was resolved for their address by the previous ones
+      producer.send(address1, createMessage(session, 0));
+      producer.send(address1, createMessage(session, 1, dupID));
+      producer.send(address2, createMessage(session, 2, dupID));
+      producer.send(address2, createMessage(session, 3));
+      // a queue created while the transaction is open still gets the next messages
+      session.createQueue(QueueConfiguration.of(otherQueue1).setAddress(address1).setRoutingType(RoutingType.MULTICAST).setDurable(false));
+      producer.send(address1, createMessage(session, 4));
+      session.commit();
+
+      Wait.assertEquals(3L, () -> server.locateQueue(address1).getMessageCount());
+      Wait.assertEquals(1L, () -> server.locateQueue(otherQueue1).getMessageCount());
+      Wait.assertEquals(2L, () -> server.locateQueue(address2).getMessageCount());
+
+      // the duplicate IDs were recorded in the cache of each address
+      producer.send(address2, createMessage(session, 5));
+      producer.send(address1, createMessage(session, 6, dupID));
+      assertThrows(ActiveMQDuplicateIdException.class, session::commit);
+      session.rollback();
+
+      producer.send(address2, createMessage(session, 7, dupID));
+      assertThrows(ActiveMQDuplicateIdException.class, session::commit);
+      session.rollback();
+
+      producer.send(address2, createMessage(session, 8));
+      session.commit();
+      Wait.assertEquals(3L, () -> server.locateQueue(address2).getMessageCount());
+      assertEquals(3L, server.locateQueue(address1).getMessageCount());
+   }
+
+   @TestTemplate
+   public void testTransactedSendsAfterQueueRemoved() throws Exception {
+      final SimpleString address = SimpleString.of("DuplicateDetectionTestAutoCreated");
+
+      ClientSession session = addClientSession(sf.createSession(false, false, false));
+      ClientProducer producer = session.createProducer(address);
+
+      producer.send(createMessage(session, 0).setRoutingType(RoutingType.ANYCAST));
+      Wait.assertTrue(() -> server.locateQueue(address) != null);
+
+      // a queue removed while the transaction is open is auto-created again by the next send
+      server.destroyQueue(address, null, false);
+      producer.send(createMessage(session, 1).setRoutingType(RoutingType.ANYCAST));
+      Wait.assertTrue(() -> server.locateQueue(address) != null);
+
+      // and so is a removed address
+      server.destroyQueue(address, null, false);
+      server.removeAddressInfo(address, null);
+      producer.send(createMessage(session, 2).setRoutingType(RoutingType.ANYCAST));
+      Wait.assertTrue(() -> server.locateQueue(address) != null);
+
+      // the next send sees the address settings changed meanwhile
+      server.getAddressSettingsRepository().addMatch(address.toString(), new AddressSettings().setExpiryDelay(60_000L));
+      producer.send(createMessage(session, 3).setRoutingType(RoutingType.ANYCAST));
+      session.commit();
+
+      Wait.assertEquals(2L, () -> server.locateQueue(address).getMessageCount());
+
+      session.start();
+      ClientConsumer consumer = session.createConsumer(address);
+      ClientMessage message = consumer.receive(5000);
+      assertNotNull(message);
+      assertEquals(2, message.getIntProperty(propKey));
+      assertEquals(0L, message.getExpiration());
+      message = consumer.receive(5000);
+      assertNotNull(message);
+      assertEquals(3, message.getIntProperty(propKey));
+      assertTrue(message.getExpiration() > 0);
+      assertNull(consumer.receiveImmediate());
+   }
+
+   private ClientMessage createMessage(final ClientSession session, final int i, final SimpleString dupID) {
+      ClientMessage message = createMessage(session, i);
+      message.putBytesProperty(Message.HDR_DUPLICATE_DETECTION_ID, dupID.getData());
+      return message;
+   }
+
    @TestTemplate
    public void testDisabledDuplicateDetection() throws Exception {
       server.stop();
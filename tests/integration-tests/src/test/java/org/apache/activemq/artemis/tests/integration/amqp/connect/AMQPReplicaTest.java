@@ -613,6 +613,72 @@ public class AMQPReplicaTest extends AmqpClientTestSupport {
 
    }
 
+   @Test
+   public void testAckBatching() throws Exception {
+      final String QUEUE = "batchedAcks";
+      final int NUMBER_OF_MESSAGES = 1000;
+
+      server.start();
+
+      server_2 = createServer(AMQP_PORT_2, false);
+      server_2.setIdentity("server_2");
+      server_2.getConfiguration().setName("server_2");
+
+      AMQPBrokerConnectConfiguration amqpConnection = new AMQPBrokerConnectConfiguration("mirror-source", "tcp://localhost:" + AMQP_PORT).setReconnectAttempts(-1).setRetryInterval(100);
+      AMQPMirrorBrokerConnectionElement replica = new AMQPMirrorBrokerConnectionElement().setDurable(true);
+      replica.addProperty(AMQPMirrorControllerSource.ACK_BATCH_SIZE, 100).addProperty(AMQPMirrorControllerSource.ACK_BATCH_WINDOW, 50);
+      amqpConnection.addElement(replica);
+      server_2.getConfiguration().addAMQPConnection(amqpConnection);
+
+      server_2.start();
+
+      server_2.addAddressInfo(new AddressInfo(QUEUE).addRoutingType(RoutingType.ANYCAST));
+      server_2.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+      Wait.assertTrue(() -> server.locateQueue(QUEUE) != null);
+
+      Queue snf = server_2.locateQueue(replica.getMirrorSNF());
+      // the link is attached when the queue creation reached the target
+      Wait.assertEquals(0L, snf::getMessageCount);
+
+      try (Connection connection = CFUtil.createConnectionFactory("CORE", "tcp://localhost:" + AMQP_PORT_2).createConnection()) {
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         MessageProducer producer = session.createProducer(session.createQueue(QUEUE));
+         producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            producer.send(session.createTextMessage("message " + i));
+         }
+
+         Queue targetQueue = server.locateQueue(QUEUE);
+         Wait.assertEquals((long) NUMBER_OF_MESSAGES, targetQueue::getMessageCount);
+         final long sent = snf.getMessagesAdded();
+
+         connection.start();
+
+         // half acked on transactions, half one by one
+         Session transactedSession = connection.createSession(true, Session.SESSION_TRANSACTED);
+         MessageConsumer transactedConsumer = transactedSession.createConsumer(transactedSession.createQueue(QUEUE));
+         for (int i = 0; i < NUMBER_OF_MESSAGES / 2; i++) {
+            assertNotNull(transactedConsumer.receive(5000));
+            if (i % 10 == 9) {
+               transactedSession.commit();
+            }
+         }
+         transactedSession.commit();
+         transactedConsumer.close();
+
+         MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE));
+         for (int i = NUMBER_OF_MESSAGES / 2; i < NUMBER_OF_MESSAGES; i++) {
+            assertNotNull(consumer.receive(5000));
+         }
+         assertNull(consumer.receiveNoWait());
+
+         Wait.assertEquals(0L, targetQueue::getMessageCount, 5000);
+         Wait.assertEquals(0L, snf::getMessageCount);
+         long ackCommands = snf.getMessagesAdded() - sent;
+         assertTrue(ackCommands < NUMBER_OF_MESSAGES / 10, "acks were not batched: " + ackCommands + " commands");
+      }
+   }
+
    @Test
    public void testRouteSurviving() throws Exception {
       testRouteSurvivor(false);
@@ -51,8 +51,12 @@ import org.apache.activemq.artemis.core.postoffice.Bindings;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Consumer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.server.ServerSession;
+import org.apache.activemq.artemis.core.server.impl.QueueImpl;
 import org.apache.activemq.artemis.core.server.impl.ServerConsumerImpl;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugin;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.apache.activemq.artemis.tests.util.Wait;
@@ -1371,6 +1375,91 @@ public class ConsumerWindowSizeTest extends ActiveMQTestBase {
       }
    }
 
+   /**
+    * The messages handed to the consumer in a batch shrink before being delivered: the size accounted for the pending
+    * deliveries must still go back to 0, or the consumer would stay busy without credits.
+    */
+   @Test
+   public void testMessageChangedBeforeDelivery() throws Exception {
+      ActiveMQServer server = createServer(false, isNetty());
+      server.registerBrokerPlugin(new ActiveMQServerMessagePlugin() {
+         @Override
+         public void beforeDeliver(ServerConsumer consumer, MessageReference reference) {
+            // the rest of the batch is handled already, waiting for its delivery
+            for (MessageReference handled : consumer.scanDeliveringReferences(false, ref -> true, ref -> false)) {
+               handled.getMessage().removeProperty(SimpleString.of("padding"));
+            }
+         }
+      });
+      server.start();
+      ((QueueImpl) server.createQueue(QueueConfiguration.of(queueA).setRoutingType(RoutingType.ANYCAST))).setDeliveryBatchSize(16);
+
+      final int numberOfMessages = 200;
+      locator.setConsumerWindowSize(10 * 1024);
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+      ClientProducer producer = session.createProducer(queueA);
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = session.createMessage(false);
+         message.putStringProperty("padding", "x".repeat(1024));
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+
+      ClientConsumer consumer = session.createConsumer(queueA);
+      session.start();
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = consumer.receive(TIMEOUT * 1000);
+         assertNotNull(message, "consumer stuck at message " + i);
+         assertEquals(i, message.getIntProperty("i"));
+         assertFalse(message.containsProperty("padding"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+
+   /**
+    * The credits are checked once for a whole batch, as none is taken before the batch is delivered: a batch still
+    * can't overrun the consumer window by more than the message going over it.
+    */
+   @Test
+   public void testBatchedDeliveryWithinWindow() throws Exception {
+      ActiveMQServer server = createServer(false, isNetty());
+      server.start();
+      QueueImpl queue = (QueueImpl) server.createQueue(QueueConfiguration.of(queueA).setRoutingType(RoutingType.ANYCAST));
+      queue.setDeliveryBatchSize(16);
+
+      final int numberOfMessages = 100;
+      final int messageSize = 1024;
+      final int windowSize = 10 * messageSize;
+      locator.setConsumerWindowSize(windowSize);
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+      ClientProducer producer = session.createProducer(queueA);
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = session.createMessage(false);
+         message.getBodyBuffer().writeBytes(new byte[messageSize]);
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+
+      ClientConsumer consumer = session.createConsumer(queueA);
+      session.start();
+
+      // nothing is received yet, so the consumer doesn't get any credits back
+      Wait.assertTrue(() -> queue.getDeliveringCount() > 0);
+      Thread.sleep(100);
+      assertTrue(queue.getDeliveringCount() <= windowSize / messageSize + 1, "delivering " + queue.getDeliveringCount());
+
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = consumer.receive(TIMEOUT * 1000);
+         assertNotNull(message, "consumer stuck at message " + i);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+
    @Test
    public void testDefaultConsumerWindowSize() throws Exception {
       ActiveMQServer messagingService = createServer(false, isNetty());
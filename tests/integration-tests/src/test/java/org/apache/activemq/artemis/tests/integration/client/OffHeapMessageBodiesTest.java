@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.ServerConsumer;
+import org.apache.activemq.artemis.core.server.ServerSession;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugin;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapMessageBodiesTest extends ActiveMQTestBase {
+
+   private static final int NUMBER_OF_MESSAGES = 20;
+
+   private final SimpleString address = SimpleString.of("OffHeapMessageBodiesTestAddress");
+
+   private final SimpleString durableQueue = SimpleString.of("OffHeapMessageBodiesTestDurable");
+
+   private final SimpleString nonDurableQueue = SimpleString.of("OffHeapMessageBodiesTestNonDurable");
+
+   private ActiveMQServer server;
+
+   private ClientSession session;
+
+   @BeforeEach
+   @Override
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true, createDefaultConfig(true).setOffHeapMessageBodies(true));
+      server.start();
+      server.createQueue(QueueConfiguration.of(durableQueue).setAddress(address).setRoutingType(RoutingType.MULTICAST));
+      server.createQueue(QueueConfiguration.of(nonDurableQueue).setAddress(address).setRoutingType(RoutingType.MULTICAST).setDurable(false));
+
+      ServerLocator locator = createNettyNonHALocator();
+      ClientSessionFactory sf = createSessionFactory(locator);
+      session = addClientSession(sf.createSession(false, true, true));
+   }
+
+   @Test
+   public void testBodiesReleasedOnAcknowledge() throws Exception {
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         ClientMessage message = session.createMessage(i % 2 == 0);
+         message.getBodyBuffer().writeString("message " + i);
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+
+      Queue queue = server.locateQueue(durableQueue);
+      Wait.assertEquals((long) NUMBER_OF_MESSAGES, queue::getMessageCount);
+      Wait.assertEquals((long) NUMBER_OF_MESSAGES, server.locateQueue(nonDurableQueue)::getMessageCount);
+
+      List<ByteBuf> bodies = new ArrayList<>();
+      try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+         while (iterator.hasNext()) {
+            CoreMessage message = assertInstanceOf(CoreMessage.class, iterator.next().getMessage());
+            assertTrue(message.getBuffer().isDirect());
+            bodies.add(message.getBuffer());
+         }
+      }
+      assertEquals(NUMBER_OF_MESSAGES, bodies.size());
+
+      PagingStore pagingStore = server.getPagingManager().getPageStore(address);
+      assertTrue(pagingStore.getAddressSize() > 0);
+
+      session.start();
+      consume(durableQueue);
+
+      // the messages are still referenced by the other queue
+      bodies.forEach(body -> assertEquals(1, body.refCnt()));
+
+      consume(nonDurableQueue);
+
+      for (ByteBuf body : bodies) {
+         Wait.assertEquals(0, body::refCnt);
+      }
+      Wait.assertEquals(0L, pagingStore::getAddressSize);
+   }
+
+   @Test
+   public void testBrowsedMessagesAcknowledgedConcurrently() throws Exception {
+      send(true);
+      Wait.assertEquals((long) NUMBER_OF_MESSAGES, server.locateQueue(durableQueue)::getMessageCount);
+      Wait.assertEquals((long) NUMBER_OF_MESSAGES, server.locateQueue(nonDurableQueue)::getMessageCount);
+
+      // every message is removed from both queues as it is being browsed
+      server.registerBrokerPlugin(new ActiveMQServerMessagePlugin() {
+         @Override
+         public void beforeDeliver(ServerConsumer consumer, MessageReference reference) throws ActiveMQException {
+            if (consumer.isBrowseOnly()) {
+               removeFromQueues(reference.getMessage());
+            }
+         }
+      });
+
+      List<ByteBuf> bodies = getBodies(durableQueue);
+
+      session.start();
+      try (ClientConsumer browser = session.createConsumer(durableQueue, true)) {
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            ClientMessage message = browser.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+            assertEquals("message " + i, message.getBodyBuffer().readString());
+         }
+         assertNull(browser.receiveImmediate());
+      }
+
+      // the bodies are released once browsed
+      for (ByteBuf body : bodies) {
+         Wait.assertEquals(0, body::refCnt);
+      }
+   }
+
+   @Test
+   public void testSentMessagesAcknowledgedBeforeAfterSend() throws Exception {
+      final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+      final List<ByteBuf> bodies = Collections.synchronizedList(new ArrayList<>());
+
+      // every message is removed from both queues before the plugins are done with it
+      server.registerBrokerPlugin(new ActiveMQServerMessagePlugin() {
+         @Override
+         public void afterSend(ServerSession session, Transaction tx, Message message, boolean direct, boolean noAutoCreateQueue, RoutingStatus result) throws ActiveMQException {
+            removeFromQueues(message);
+            bodies.add(((CoreMessage) message).getBuffer());
+            sent.add(((CoreMessage) message).getReadOnlyBodyBuffer().readString());
+         }
+      });
+
+      send(false);
+
+      Wait.assertEquals(NUMBER_OF_MESSAGES, sent::size);
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         assertEquals("message " + i, sent.get(i));
+      }
+      for (ByteBuf body : bodies) {
+         Wait.assertEquals(0, body::refCnt);
+      }
+   }
+
+   private void send(boolean durable) throws Exception {
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         ClientMessage message = session.createMessage(durable);
+         message.getBodyBuffer().writeString("message " + i);
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+   }
+
+   private List<ByteBuf> getBodies(SimpleString queueName) throws Exception {
+      List<ByteBuf> bodies = new ArrayList<>();
+      try (LinkedListIterator<MessageReference> iterator = server.locateQueue(queueName).browserIterator()) {
+         while (iterator.hasNext()) {
+            bodies.add(((CoreMessage) iterator.next().getMessage()).getBuffer());
+         }
+      }
+      return bodies;
+   }
+
+   /**
+    * Removes the message from both queues, it is released as soon as nothing else holds it.
+    */
+   private void removeFromQueues(Message message) {
+      final CoreMessage coreMessage = (CoreMessage) message;
+      try {
+         for (SimpleString queueName : new SimpleString[]{durableQueue, nonDurableQueue}) {
+            final Queue queue = server.locateQueue(queueName);
+            Wait.assertTrue(() -> queue.deleteReference(message.getMessageID()));
+         }
+         Wait.assertTrue(() -> coreMessage.getRefCount() == 0 && coreMessage.getDurableCount() == 0);
+      } catch (Exception e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private void consume(SimpleString queue) throws Exception {
+      try (ClientConsumer consumer = session.createConsumer(queue)) {
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+            assertEquals("message " + i, message.getBodyBuffer().readString());
+            message.acknowledge();
+         }
+      }
+   }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.ActiveMQNotConnectedException;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.client.impl.ClientSessionInternal;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.logs.AssertionLoggerHandler;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+public class ZeroCopyLargeMessageTest extends ActiveMQTestBase {
+
+   private static final int MESSAGE_SIZE = 1024 * 1024 + 17;
+
+   private static final int NUMBER_OF_MESSAGES = 5;
+
+   private final SimpleString address = SimpleString.of("ZeroCopyLargeMessageTestAddress");
+
+   @Test
+   public void testDeliveryFromFile() throws Exception {
+      testDelivery(true, 1024 * 1024);
+   }
+
+   @Test
+   public void testDeliveryFromFileWithoutFlowControl() throws Exception {
+      testDelivery(true, -1);
+   }
+
+   @Test
+   public void testDeliveryFromHeap() throws Exception {
+      testDelivery(false, 1024 * 1024);
+   }
+
+   @Test
+   public void testDeliveryWithConfirmationWindow() throws Exception {
+      Configuration config = createDefaultConfig(true).clearAcceptorConfigurations()
+         .addAcceptorConfiguration("netty", "tcp://localhost:61616?zeroCopyLargeMessages=true");
+      ActiveMQServer server = createServer(true, config);
+      server.start();
+
+      final SimpleString queue = SimpleString.of("ZeroCopyLargeMessageTestQueue");
+      server.createQueue(QueueConfiguration.of(queue).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+
+      // the continuations sent to a client confirming the packets it receives must be kept in the resend cache
+      ServerLocator locator = createNettyNonHALocator().setConfirmationWindowSize(10 * 1024).setReconnectAttempts(-1).setRetryInterval(100);
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.setBodyInputStream(createFakeLargeStream(MESSAGE_SIZE));
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+
+      try (AssertionLoggerHandler loggerHandler = new AssertionLoggerHandler()) {
+         session.start();
+         try (ClientConsumer consumer = session.createConsumer(queue)) {
+            for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+               ClientMessage message = consumer.receive(5000);
+               assertNotNull(message);
+               assertEquals(i, message.getIntProperty("i"));
+               assertEquals(MESSAGE_SIZE, message.getBodySize());
+               for (int position = 0; position < MESSAGE_SIZE; position++) {
+                  assertEquals(getSamplebyte(position), message.getBodyBuffer().readByte());
+               }
+               message.acknowledge();
+
+               if (i == 1) {
+                  // the session reattaches and the server resends the packets the client didn't confirm
+                  RemotingConnection connection = ((ClientSessionInternal) session).getConnection();
+                  connection.fail(new ActiveMQNotConnectedException());
+               }
+            }
+            assertNull(consumer.receiveImmediate());
+         }
+         assertFalse(loggerHandler.findText("AMQ212036"));
+      }
+
+      validateNoFilesOnLargeDir();
+   }
+
+   private void testDelivery(boolean zeroCopy, int consumerWindowSize) throws Exception {
+      Configuration config = createDefaultConfig(true).clearAcceptorConfigurations()
+         .addAcceptorConfiguration("netty", "tcp://localhost:61616?zeroCopyLargeMessages=" + zeroCopy);
+      ActiveMQServer server = createServer(true, config);
+      server.start();
+
+      final SimpleString[] queues = {SimpleString.of("ZeroCopyLargeMessageTestQueue1"), SimpleString.of("ZeroCopyLargeMessageTestQueue2")};
+      for (SimpleString queue : queues) {
+         server.createQueue(QueueConfiguration.of(queue).setAddress(address).setRoutingType(RoutingType.MULTICAST));
+      }
+
+      ServerLocator locator = createNettyNonHALocator().setConsumerWindowSize(consumerWindowSize);
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.setBodyInputStream(createFakeLargeStream(MESSAGE_SIZE));
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+
+      RemotingConnection serverConnection = server.getRemotingService().getConnections().iterator().next();
+      if (zeroCopy) {
+         assertTrue(serverConnection.getTransportConnection().isFileRegionSupported());
+      } else {
+         assertFalse(serverConnection.getTransportConnection().isFileRegionSupported());
+      }
+
+      session.start();
+      for (SimpleString queue : queues) {
+         try (ClientConsumer consumer = session.createConsumer(queue)) {
+            for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+               ClientMessage message = consumer.receive(5000);
+               assertNotNull(message);
+               assertEquals(i, message.getIntProperty("i"));
+               assertEquals(MESSAGE_SIZE, message.getBodySize());
+               for (int position = 0; position < MESSAGE_SIZE; position++) {
+                  assertEquals(getSamplebyte(position), message.getBodyBuffer().readByte());
+               }
+               message.acknowledge();
+            }
+         }
+      }
+
+      validateNoFilesOnLargeDir();
+   }
+}
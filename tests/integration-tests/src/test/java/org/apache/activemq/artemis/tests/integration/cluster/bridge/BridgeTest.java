@@ -527,6 +527,89 @@ public class BridgeTest extends ActiveMQTestBase {
       }
    }
 
+   @TestTemplate
+   public void testBatchedBridge() throws Exception {
+      Map<String, Object> server0Params = new HashMap<>();
+      server0 = createClusteredServerWithParams(isNetty(), 0, true, server0Params);
+
+      Map<String, Object> server1Params = new HashMap<>();
+      addTargetParameters(server1Params);
+      server1 = createClusteredServerWithParams(isNetty(), 1, true, server1Params);
+
+      final String testAddress = "testAddress";
+      final String queueName0 = "queue0";
+      final String forwardAddress = "forwardAddress";
+      final String queueName1 = "queue1";
+      final int numMessages = 500;
+
+      TransportConfiguration server0tc = new TransportConfiguration(getConnector(), server0Params);
+      TransportConfiguration server1tc = new TransportConfiguration(getConnector(), server1Params);
+
+      server0.getConfiguration()
+             .setConnectorConfigurations(Map.of(server1tc.getName(), server1tc))
+             .setBridgeConfigurations(Arrays.asList(new BridgeConfiguration()
+                                                       .setName("bridge1")
+                                                       .setQueueName(queueName0)
+                                                       .setForwardingAddress(forwardAddress)
+                                                       .setRetryInterval(100)
+                                                       .setReconnectAttemptsOnSameNode(-1)
+                                                       .setUseDuplicateDetection(true)
+                                                       .setConfirmationWindowSize(1024 * 1024)
+                                                       .setStaticConnectors(Arrays.asList(server1tc.getName()))));
+      server0.getConfiguration().setQueueConfigs(Arrays.asList(QueueConfiguration.of(queueName0).setAddress(testAddress)));
+      server1.getConfiguration().setQueueConfigs(Arrays.asList(QueueConfiguration.of(queueName1).setAddress(forwardAddress)));
+
+      // the bridge can't connect until the target is started, so the messages pile up on its queue
+      server0.start();
+      BridgeImpl bridge = (BridgeImpl) server0.getClusterManager().getBridges().get("bridge1");
+      bridge.setBatchSize(100);
+
+      locator = addServerLocator(ActiveMQClient.createServerLocatorWithoutHA(server0tc, server1tc)).setMinLargeMessageSize(1024);
+      ClientSessionFactory sf0 = addSessionFactory(locator.createSessionFactory(server0tc));
+      ClientSession session0 = addClientSession(sf0.createSession(false, true, true));
+      ClientProducer producer0 = session0.createProducer(SimpleString.of(testAddress));
+
+      final SimpleString propKey = SimpleString.of("testkey");
+
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = session0.createMessage(true);
+         message.putIntProperty(propKey, i);
+         if (i % 50 == 0) {
+            // large messages are sent on their own, in between the batches
+            message.setBodyInputStream(ActiveMQTestBase.createFakeLargeStream(10 * 1024));
+         } else {
+            message.getBodyBuffer().writeBytes(new byte[512]);
+         }
+         producer0.send(message);
+      }
+
+      server1.start();
+
+      ClientSessionFactory sf1 = addSessionFactory(locator.createSessionFactory(server1tc));
+      ClientSession session1 = addClientSession(sf1.createSession(false, true, true));
+      ClientConsumer consumer1 = session1.createConsumer(queueName1);
+      session1.start();
+
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = consumer1.receive(5000);
+         assertNotNull(message);
+         assertEquals(i, message.getObjectProperty(propKey));
+         if (i % 50 == 0) {
+            readLargeMessages(message, 10);
+         }
+         message.acknowledge();
+      }
+      assertNull(consumer1.receiveImmediate());
+
+      BridgeMetrics bridgeMetrics = bridge.getMetrics();
+      Wait.assertEquals((long) numMessages, bridgeMetrics::getMessagesAcknowledged, 5000, 100);
+      assertEquals(numMessages, bridgeMetrics.getMessagesPendingAcknowledgement());
+      assertEquals(0L, bridgeMetrics.getMessagesInFlight());
+      assertEquals(0L, bridgeMetrics.convertToMap().get(BridgeMetrics.MESSAGES_IN_FLIGHT_KEY));
+      Wait.assertEquals(0L, () -> server0.locateQueue(queueName0).getMessageCount(), 2000, 100);
+      Wait.assertEquals(0L, () -> server0.locateQueue(queueName0).getDeliveringCount(), 2000, 100);
+   }
+
    @TestTemplate
    public void testClientSessionFactoryLeak() throws Exception {
       Map<String, Object> server0Params = new HashMap<>();
@@ -902,6 +902,47 @@ public class MessageRedistributionTest extends ClusterTestBase {
       verifyNotReceive(1);
    }
 
+   @Test
+   public void testRedistributionInBatches() throws Exception {
+      setupCluster(MessageLoadBalancingType.ON_DEMAND);
+
+      startServers(0, 1, 2);
+
+      setupSessionFactory(0, isNetty());
+      setupSessionFactory(1, isNetty());
+      setupSessionFactory(2, isNetty());
+
+      createQueue(0, "queues.testaddress", "queue0", null, true);
+      createQueue(1, "queues.testaddress", "queue0", null, true);
+      createQueue(2, "queues.testaddress", "queue0", null, true);
+
+      // the redistributor is handed batches of references, each batch redistributed on a single transaction
+      QueueImpl queue = (QueueImpl) servers[0].locateQueue("queue0");
+      queue.setDeliveryBatchSize(50);
+
+      addConsumer(0, 0, "queue0", null);
+
+      waitForBindings(0, "queues.testaddress", 1, 1, true);
+      waitForBindings(1, "queues.testaddress", 1, 0, true);
+      waitForBindings(2, "queues.testaddress", 1, 0, true);
+
+      waitForBindings(0, "queues.testaddress", 2, 0, false);
+      waitForBindings(1, "queues.testaddress", 2, 1, false);
+      waitForBindings(2, "queues.testaddress", 2, 1, false);
+
+      send(0, "queues.testaddress", 500, true, null);
+
+      removeConsumer(0);
+
+      addConsumer(1, 1, "queue0", null);
+
+      verifyReceiveAll(500, 1);
+      verifyNotReceive(1);
+
+      Wait.assertEquals(0L, queue::getMessageCount);
+      Wait.assertEquals(0L, queue::getDeliveringCount);
+   }
+
    @Test
    public void testRedistributionWithFqqnAnycast() throws Exception {
       internalTestRedistributionWithFqqn(RoutingType.ANYCAST);
@@ -27,6 +27,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.core.config.storage.DatabaseStorageConfiguration;
 import org.apache.activemq.artemis.core.journal.IOCompletion;
@@ -39,6 +40,7 @@ import org.apache.activemq.artemis.tests.extensions.parameterized.Parameter;
 import org.apache.activemq.artemis.tests.extensions.parameterized.ParameterizedTestExtension;
 import org.apache.activemq.artemis.tests.extensions.parameterized.Parameters;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestTemplate;
@@ -234,4 +236,89 @@ public class JDBCJournalTest extends ActiveMQTestBase {
       assertEquals(noRecords + (noTxRecords * noTx), recordInfos.size());
    }
 
+   @TestTemplate
+   public void testPipelinedSync() throws Exception {
+      journal.stop();
+      journal.setPipelineDepth(4);
+      final AtomicInteger flushedRecords = new AtomicInteger();
+      final AtomicInteger flushes = new AtomicInteger();
+      journal.setFlushListener((records, commitNanos) -> {
+         assertTrue(commitNanos >= 0);
+         flushedRecords.addAndGet(records);
+         flushes.incrementAndGet();
+      });
+      journal.start();
+
+      final List<Integer> completed = new ArrayList<>();
+      final int noRecords = 1000;
+      final int noTx = 10;
+      final int total = noRecords + noRecords / 2 + noTx * 2;
+      final CountDownLatch done = new CountDownLatch(total);
+
+      int order = 0;
+      for (int i = 0; i < noRecords; i++) {
+         journal.appendAddRecord(i, (byte) 1, new FakeEncodingSupportImpl(new byte[10]), false, new OrderedCompletion(order++, completed, done));
+         if (i % 2 == 1) {
+            // deleting some records right away, possibly within the same batch
+            journal.appendDeleteRecord(i - 1, false, new OrderedCompletion(order++, completed, done));
+         }
+      }
+      for (int tx = 0; tx < noTx; tx++) {
+         // deleting the remaining records transactionally
+         journal.appendDeleteRecordTransactional(10_000 + tx, 1 + tx * 2);
+         journal.appendCommitRecord(10_000 + tx, false, new OrderedCompletion(order++, completed, done));
+         journal.appendAddRecordTransactional(20_000 + tx, 2_000 + tx, (byte) 1, new byte[10]);
+         journal.appendRollbackRecord(20_000 + tx, false, new OrderedCompletion(order++, completed, done));
+      }
+      assertEquals(total, order);
+
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      synchronized (completed) {
+         for (int i = 0; i < total; i++) {
+            assertEquals(i, completed.get(i).intValue());
+         }
+      }
+      Wait.assertEquals(noRecords / 2 - noTx, journal::getNumberOfRecords, 5000, 10);
+      Wait.assertEquals(total + noTx * 2, flushedRecords::get, 5000, 10);
+      assertTrue(flushes.get() > 0);
+
+      journal.stop();
+      journal.start();
+      List<RecordInfo> recordInfos = new ArrayList<>();
+      List<PreparedTransactionInfo> txInfos = new ArrayList<>();
+      journal.load(recordInfos, txInfos, null);
+      assertEquals(noRecords / 2 - noTx, recordInfos.size());
+      assertEquals(0, txInfos.size());
+   }
+
+   private static final class OrderedCompletion implements IOCompletion {
+
+      private final int order;
+      private final List<Integer> completed;
+      private final CountDownLatch done;
+
+      OrderedCompletion(int order, List<Integer> completed, CountDownLatch done) {
+         this.order = order;
+         this.completed = completed;
+         this.done = done;
+      }
+
+      @Override
+      public void storeLineUp() {
+      }
+
+      @Override
+      public void done() {
+         synchronized (completed) {
+            completed.add(order);
+         }
+         done.countDown();
+      }
+
+      @Override
+      public void onError(int errorCode, String errorMessage) {
+         fail(errorMessage);
+      }
+   }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compacts the same journal files reading them ahead, in parallel, and one after the other: both must keep the very
+ * same records and transactions, which are the ones loaded before compacting.
+ */
+public class JournalCompactReadAheadTest extends ActiveMQTestBase {
+
+   private static final int FILE_SIZE = 64 * 1024;
+
+   private static final int RECORD_SIZE = 300;
+
+   private static final int NUMBER_OF_RECORDS = 2000;
+
+   private static final byte RECORD_TYPE = 3;
+
+   private static final int READ_AHEAD = 3;
+
+   @Test
+   public void testCompact() throws Exception {
+      File folder = writeJournal();
+
+      // the first load drops the transactions left open, as the one before compacting does
+      File loaded = copy(folder);
+      load(loaded);
+      List<String> beforeCompact = load(loaded);
+
+      File sequential = copy(folder);
+      File readAhead = copy(folder);
+      int filesBefore = countDataFiles(sequential);
+      compact(sequential, 0);
+      compact(readAhead, READ_AHEAD);
+
+      // the files holding deleted and updated records only were dropped
+      assertTrue(countDataFiles(readAhead) < filesBefore, countDataFiles(readAhead) + " files after compacting " + filesBefore);
+      assertEquals(countDataFiles(sequential), countDataFiles(readAhead));
+
+      List<String> compactedSequential = load(sequential);
+      assertEquals(compactedSequential, load(readAhead));
+
+      // the compacted files may keep the records in a different order
+      Collections.sort(beforeCompact);
+      Collections.sort(compactedSequential);
+      assertEquals(beforeCompact, compactedSequential);
+   }
+
+   /**
+    * Writes adds, updates and deletes across several data files, most of the early records being deleted or updated
+    * later on, along with transactions committed, rolled back, prepared and left open.
+    */
+   private File writeJournal() throws Exception {
+      File folder = new File(getTestDirfile(), "journal-" + System.nanoTime());
+      folder.mkdirs();
+
+      JournalImpl journal = createJournal(folder);
+      journal.start();
+      journal.loadInternalOnly();
+
+      long txID = NUMBER_OF_RECORDS * 10L;
+      for (long id = 0; id < NUMBER_OF_RECORDS; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, generateRecord(id, 0), false);
+         if (id % 3 == 1) {
+            journal.appendUpdateRecord(id - 1, RECORD_TYPE, generateRecord(id - 1, 1), false);
+         }
+         if (id % 4 != 3) {
+            journal.appendDeleteRecord(id / 2, false);
+         }
+         if (id % 100 == 99) {
+            txID++;
+            for (long txRecord = 0; txRecord < 5; txRecord++) {
+               journal.appendAddRecordTransactional(txID, NUMBER_OF_RECORDS + txID * 10 + txRecord, RECORD_TYPE, generateRecord(txID, (int) txRecord));
+            }
+            journal.appendUpdateRecordTransactional(txID, id, RECORD_TYPE, generateRecord(id, 2));
+            switch ((int) (txID % 4)) {
+               case 0 -> journal.appendCommitRecord(txID, false);
+               case 1 -> journal.appendRollbackRecord(txID, false);
+               case 2 -> journal.appendPrepareRecord(txID, generateRecord(txID, 3), false);
+               default -> {
+                  // left open
+               }
+            }
+         }
+      }
+      journal.flush();
+      journal.stop();
+      return folder;
+   }
+
+   private static JournalImpl createJournal(File folder) {
+      return new JournalImpl(FILE_SIZE, 2, 2, 0, 0, new NIOSequentialFileFactory(folder, true, 1), "amq", "amq", 1);
+   }
+
+   private static byte[] generateRecord(long id, int version) {
+      byte[] record = new byte[RECORD_SIZE];
+      for (int i = 0; i < record.length; i++) {
+         record[i] = (byte) (id + version * 13 + i);
+      }
+      return record;
+   }
+
+   private File copy(File folder) throws Exception {
+      File copy = new File(getTestDirfile(), "copy-" + System.nanoTime());
+      copy.mkdirs();
+      for (File file : folder.listFiles()) {
+         Files.copy(file.toPath(), new File(copy, file.getName()).toPath());
+      }
+      return copy;
+   }
+
+   private void compact(File folder, int readAhead) throws Exception {
+      JournalImpl journal = createJournal(folder);
+      journal.setCompactReadAhead(readAhead);
+      journal.start();
+      try {
+         journal.load(new ArrayList<>(), new ArrayList<>(), (transactionID, records, recordsToDelete) -> { });
+         journal.scheduleCompactAndBlock(60);
+         assertEquals(1, journal.getCompactCount());
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private int countDataFiles(File folder) throws Exception {
+      JournalImpl journal = createJournal(folder);
+      journal.setAutoReclaim(false);
+      journal.start();
+      try {
+         journal.load(new ArrayList<>(), new ArrayList<>(), (transactionID, records, recordsToDelete) -> { });
+         return journal.getDataFilesCount();
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private List<String> load(File folder) throws Exception {
+      JournalImpl journal = createJournal(folder);
+      journal.start();
+      try {
+         List<RecordInfo> records = new ArrayList<>();
+         List<PreparedTransactionInfo> preparedTransactions = new ArrayList<>();
+         List<String> loaded = new ArrayList<>();
+         journal.load(records, preparedTransactions, (transactionID, txRecords, recordsToDelete) -> {
+            loaded.add("failed " + transactionID + " " + describe(txRecords) + " " + describe(recordsToDelete));
+         });
+         loaded.addAll(describe(records));
+         for (PreparedTransactionInfo transaction : preparedTransactions) {
+            loaded.add("prepared " + transaction.getId() + " " + Base64.getEncoder().encodeToString(transaction.getExtraData()) + " " +
+                          describe(transaction.getRecords()) + " " + describe(transaction.getRecordsToDelete()));
+         }
+         return loaded;
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private static List<String> describe(List<RecordInfo> records) {
+      List<String> described = new ArrayList<>(records.size());
+      for (RecordInfo record : records) {
+         described.add(record.id + ":" + record.userRecordType + ":" + record.isUpdate + ":" + Base64.getEncoder().encodeToString(record.data));
+      }
+      return described;
+   }
+}
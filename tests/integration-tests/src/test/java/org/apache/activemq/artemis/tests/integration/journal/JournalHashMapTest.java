@@ -18,11 +18,16 @@
 package org.apache.activemq.artemis.tests.integration.journal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -148,6 +153,82 @@ public class JournalHashMapTest extends ActiveMQTestBase {
    }
 
 
+   @Test
+   public void testConcurrentUpdates() throws Exception {
+      ExecutorService service = Executors.newFixedThreadPool(10);
+      runAfter(service::shutdownNow);
+      OrderedExecutorFactory executorFactory = new OrderedExecutorFactory(service);
+
+      NIOSequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+
+      JournalImpl journal = new JournalImpl(executorFactory, 10 * 1024, 10, 10, 3, 0, 50_000, factory, "coll", "data", 1, 0);
+
+      journal.start();
+      runAfter(journal::stop);
+
+      journal.loadInternalOnly();
+
+      AtomicLong sequence = new AtomicLong(1);
+      AtomicInteger errors = new AtomicInteger(0);
+
+      JournalHashMapProvider<Long, Long, Object> journalHashMapProvider = new JournalHashMapProvider(sequence::incrementAndGet, new JournalManager(journal), new LongPersister(), (byte)3, OperationContextImpl::getContext, l -> null, (e, m, f) -> {
+         errors.incrementAndGet();
+      });
+
+      final int threads = 4;
+      final int keys = 500;
+      ExecutorService producers = Executors.newFixedThreadPool(threads);
+      runAfter(producers::shutdownNow);
+      CountDownLatch done = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+         final long threadID = t;
+         producers.execute(() -> {
+            try {
+               // every thread updates the same keys on the same maps
+               for (long collection = 1; collection <= 3; collection++) {
+                  JournalHashMap<Long, Long, Object> map = journalHashMapProvider.getMap(collection);
+                  for (long i = 0; i < keys; i++) {
+                     map.put(i, threadID);
+                  }
+                  for (long i = 0; i < keys; i += 2) {
+                     map.remove(i);
+                  }
+               }
+            } catch (Throwable e) {
+               errors.incrementAndGet();
+            } finally {
+               done.countDown();
+            }
+         });
+      }
+      assertTrue(done.await(1, TimeUnit.MINUTES));
+      assertEquals(0, errors.get());
+
+      List<JournalHashMap<Long, Long, Object>> maps = journalHashMapProvider.getMaps();
+      assertEquals(3, maps.size());
+      maps.forEach(map -> assertTrue(map.size() <= keys));
+
+      journal.flush();
+      journal.stop();
+      journalHashMapProvider.clear();
+      journal.start();
+
+      List<RecordInfo> recordInfos = new ArrayList<>();
+      List<PreparedTransactionInfo> preparedTransactions = new ArrayList<>();
+      journal.load(recordInfos, preparedTransactions, (a, b, c) -> { }, true);
+      recordInfos.forEach(journalHashMapProvider::reload);
+
+      // the journal has exactly the records of the entries left on the maps
+      for (JournalHashMap<Long, Long, Object> map : maps) {
+         JournalHashMap<Long, Long, Object> reloaded = journalHashMapProvider.getMap(map.getCollectionId());
+         assertEquals(map.size(), reloaded.size());
+         map.forEach((a, b) -> assertEquals(b, reloaded.get(a)));
+      }
+
+      // removing a missing key is a no-op
+      assertNull(journalHashMapProvider.getMap(1).remove(-1L));
+   }
+
    private static class LongPersister extends AbstractHashMapPersister<Long, Long> {
 
       @Override
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.Journal.JournalState;
+import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalFile;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Loads the same journal files reading them ahead, in parallel, and one after the other: both loads must find the very
+ * same records and transactions.
+ */
+public class JournalLoadReadAheadTest extends ActiveMQTestBase {
+
+   private static final int FILE_SIZE = 64 * 1024;
+
+   private static final int RECORD_SIZE = 300;
+
+   private static final int NUMBER_OF_RECORDS = 2000;
+
+   private static final byte RECORD_TYPE = 7;
+
+   private static final int READ_AHEAD = 4;
+
+   @Test
+   public void testLoad() throws Exception {
+      File folder = writeJournal();
+
+      assertEquals(load(copy(folder), 0), load(copy(folder), READ_AHEAD));
+   }
+
+   @Test
+   public void testLoadDamagedFiles() throws Exception {
+      File folder = writeJournal();
+
+      List<File> dataFiles = listDataFiles(folder);
+      assertTrue(dataFiles.size() > 4, "only " + dataFiles.size() + " data files");
+
+      // garbage in the middle of a file, e.g. a bad sector
+      try (RandomAccessFile file = new RandomAccessFile(dataFiles.get(1), "rw")) {
+         file.seek(FILE_SIZE / 3);
+         byte[] garbage = new byte[RECORD_SIZE * 2];
+         for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = (byte) (i * 31 + 17);
+         }
+         file.write(garbage);
+      }
+
+      // a file whose tail was never written, e.g. a crash before the page cache got flushed
+      try (RandomAccessFile file = new RandomAccessFile(dataFiles.get(dataFiles.size() / 2), "rw")) {
+         file.seek(FILE_SIZE / 2);
+         file.write(new byte[FILE_SIZE / 2]);
+      }
+
+      LoadedJournal sequential = load(copy(folder), 0);
+      LoadedJournal readAhead = load(copy(folder), READ_AHEAD);
+      assertEquals(sequential, readAhead);
+
+      // the damaged records are gone, the others are still there
+      LoadedJournal undamaged = load(copy(writeJournal()), 0);
+      assertTrue(sequential.records.size() < undamaged.records.size());
+      assertFalse(sequential.records.isEmpty());
+   }
+
+   @Test
+   public void testLoadReplicationSync() throws Exception {
+      File folder = writeJournal();
+
+      JournalLoadInformation expected = loadSyncOnly(copy(folder), 0, JournalState.SYNCING_UP_TO_DATE);
+      JournalLoadInformation actual = loadSyncOnly(copy(folder), READ_AHEAD, JournalState.SYNCING_UP_TO_DATE);
+
+      assertEquals(expected.getNumberOfRecords(), actual.getNumberOfRecords());
+      assertEquals(expected.getMaxID(), actual.getMaxID());
+      assertTrue(actual.getNumberOfRecords() > 0);
+
+      // the backup starting the synchronization with the primary, after moving its old files away
+      File empty = new File(getTestDirfile(), "empty-" + System.nanoTime());
+      empty.mkdirs();
+      actual = loadSyncOnly(empty, READ_AHEAD, JournalState.SYNCING);
+      assertEquals(0, actual.getNumberOfRecords());
+      assertEquals(-1, actual.getMaxID());
+   }
+
+   /**
+    * Writes adds, updates and deletes, along with transactions committed, rolled back, prepared and left open, across
+    * several data files.
+    */
+   private File writeJournal() throws Exception {
+      File folder = new File(getTestDirfile(), "journal-" + System.nanoTime());
+      folder.mkdirs();
+
+      JournalImpl journal = createJournal(new NIOSequentialFileFactory(folder, true, 1));
+      journal.start();
+      journal.loadInternalOnly();
+
+      long txID = NUMBER_OF_RECORDS * 10L;
+      for (long id = 0; id < NUMBER_OF_RECORDS; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, generateRecord(id, 0), false);
+         if (id % 5 == 1) {
+            journal.appendUpdateRecord(id - 1, RECORD_TYPE, generateRecord(id - 1, 1), false);
+         }
+         if (id % 7 == 2) {
+            journal.appendDeleteRecord(id - 2, false);
+         }
+         if (id % 50 == 49) {
+            // a transaction over the last records, which may span two files
+            txID++;
+            for (long txRecord = 0; txRecord < 5; txRecord++) {
+               journal.appendAddRecordTransactional(txID, NUMBER_OF_RECORDS + txID * 10 + txRecord, RECORD_TYPE, generateRecord(txID, (int) txRecord));
+            }
+            journal.appendDeleteRecordTransactional(txID, id - 3);
+            switch ((int) (txID % 4)) {
+               case 0 -> journal.appendCommitRecord(txID, false);
+               case 1 -> journal.appendRollbackRecord(txID, false);
+               case 2 -> journal.appendPrepareRecord(txID, generateRecord(txID, 2), false);
+               default -> {
+                  // left open
+               }
+            }
+         }
+      }
+      journal.flush();
+      journal.stop();
+      return folder;
+   }
+
+   private static JournalImpl createJournal(SequentialFileFactory factory) {
+      return new JournalImpl(FILE_SIZE, 2, 2, 0, 0, factory, "amq", "amq", 1);
+   }
+
+   private static byte[] generateRecord(long id, int version) {
+      byte[] record = new byte[RECORD_SIZE];
+      for (int i = 0; i < record.length; i++) {
+         record[i] = (byte) (id + version * 13 + i);
+      }
+      return record;
+   }
+
+   private File copy(File folder) throws Exception {
+      File copy = new File(getTestDirfile(), "copy-" + System.nanoTime());
+      copy.mkdirs();
+      for (File file : folder.listFiles()) {
+         Files.copy(file.toPath(), new File(copy, file.getName()).toPath());
+      }
+      return copy;
+   }
+
+   private List<File> listDataFiles(File folder) throws Exception {
+      SequentialFileFactory factory = new NIOSequentialFileFactory(folder, true, 1);
+      JournalImpl journal = createJournal(factory);
+      journal.start();
+      try {
+         journal.loadInternalOnly();
+         List<File> files = new ArrayList<>();
+         for (JournalFile file : journal.getDataFiles()) {
+            files.add(file.getFile().getJavaFile());
+         }
+         return files;
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private LoadedJournal load(File folder, int readAhead) throws Exception {
+      JournalImpl journal = createJournal(new NIOSequentialFileFactory(folder, true, 1));
+      journal.setLoadReadAhead(readAhead);
+      journal.start();
+      try {
+         LoadedJournal loaded = new LoadedJournal();
+         List<RecordInfo> records = new ArrayList<>();
+         List<PreparedTransactionInfo> preparedTransactions = new ArrayList<>();
+         JournalLoadInformation info = journal.load(records, preparedTransactions, (transactionID, txRecords, recordsToDelete) -> {
+            loaded.failedTransactions.add(transactionID + " " + describe(txRecords) + " " + describe(recordsToDelete));
+         });
+         loaded.records.addAll(describe(records));
+         for (PreparedTransactionInfo transaction : preparedTransactions) {
+            loaded.preparedTransactions.add(transaction.getId() + " " + Base64.getEncoder().encodeToString(transaction.getExtraData()) + " " +
+                                               describe(transaction.getRecords()) + " " + describe(transaction.getRecordsToDelete()));
+         }
+         loaded.numberOfRecords = info.getNumberOfRecords();
+         loaded.maxID = info.getMaxID();
+         return loaded;
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private JournalLoadInformation loadSyncOnly(File folder, int readAhead, JournalState syncState) throws Exception {
+      JournalImpl journal = createJournal(new NIOSequentialFileFactory(folder, true, 1));
+      journal.setLoadReadAhead(readAhead);
+      journal.start();
+      try {
+         return journal.loadSyncOnly(syncState);
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private static List<String> describe(List<RecordInfo> records) {
+      List<String> described = new ArrayList<>(records.size());
+      for (RecordInfo record : records) {
+         described.add(record.id + ":" + record.userRecordType + ":" + record.isUpdate + ":" + Base64.getEncoder().encodeToString(record.data));
+      }
+      return described;
+   }
+
+   private static final class LoadedJournal {
+
+      final List<String> records = new ArrayList<>();
+
+      final List<String> preparedTransactions = new ArrayList<>();
+
+      final List<String> failedTransactions = new ArrayList<>();
+
+      int numberOfRecords;
+
+      long maxID;
+
+      @Override
+      public boolean equals(Object other) {
+         if (!(other instanceof LoadedJournal loaded)) {
+            return false;
+         }
+         return records.equals(loaded.records) && preparedTransactions.equals(loaded.preparedTransactions) &&
+            failedTransactions.equals(loaded.failedTransactions) && numberOfRecords == loaded.numberOfRecords &&
+            maxID == loaded.maxID;
+      }
+
+      @Override
+      public int hashCode() {
+         return records.hashCode();
+      }
+
+      @Override
+      public String toString() {
+         return "LoadedJournal(records=" + records.size() + ", prepared=" + preparedTransactions + ", failed=" + failedTransactions +
+            ", numberOfRecords=" + numberOfRecords + ", maxID=" + maxID + ")";
+      }
+   }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
@@ -1001,6 +1002,50 @@ public class NIOJournalCompactTest extends JournalImplTestBase {
       loadAndCheck();
    }
 
+   @Test
+   public void testCompactStatistics() throws Exception {
+      setup(2, 60 * 1024, false);
+
+      createJournal();
+      journal.setAutoReclaim(false);
+      startJournal();
+      load();
+
+      List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+         long id = idGenerator.generateID();
+         ids.add(id);
+         add(id);
+         if (i > 0 && i % 100 == 0) {
+            journal.forceMoveNextFile();
+         }
+      }
+
+      for (int i = 0; i < ids.size(); i += 2) {
+         delete(ids.get(i));
+      }
+
+      journal.forceMoveNextFile();
+
+      Map<String, Integer> dataFilesLiveSize = journal.getDataFilesLiveSize();
+      assertEquals(journal.getDataFilesCount(), dataFilesLiveSize.size());
+      assertTrue(journal.getLiveRatio() > 0 && journal.getLiveRatio() < 1, "live ratio " + journal.getLiveRatio());
+      assertTrue(journal.getReclaimableBytes() > 0);
+      assertEquals(0, journal.getCompactCount());
+      assertEquals(0, journal.getCompactedBytes());
+
+      journal.testCompact();
+
+      assertEquals(1, journal.getCompactCount());
+      assertTrue(journal.getCompactedBytes() > 0);
+      assertTrue(journal.getCompactStallTime() <= journal.getCompactTime());
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
    @Test
    public void testStressAppends() throws Exception {
       setup(2, 60 * 1024, true);
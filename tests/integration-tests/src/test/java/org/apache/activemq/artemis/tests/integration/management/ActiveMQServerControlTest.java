@@ -98,6 +98,7 @@ import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.persistence.config.PersistedDivertConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.invm.InVMAcceptorFactory;
 import org.apache.activemq.artemis.core.remoting.impl.invm.TransportConstants;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
 import org.apache.activemq.artemis.core.security.CheckType;
 import org.apache.activemq.artemis.core.security.Role;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
@@ -448,6 +449,29 @@ public class ActiveMQServerControlTest extends ManagementTestBase {
       assertFalse(createManagementControl().isReplicaSync());
    }
 
+   @TestTemplate
+   public void testJournalStatistics() throws Exception {
+      ActiveMQServerControl serverControl = createManagementControl();
+
+      JsonArray dataFiles = JsonUtil.readJsonArray(serverControl.listJournalDataFilesAsJSON());
+      long reclaimableBytes = 0;
+      for (int i = 0; i < dataFiles.size(); i++) {
+         JsonObject dataFile = dataFiles.getJsonObject(i);
+         assertNotNull(dataFile.getString("fileName"));
+         assertTrue(dataFile.getInt("liveSize") <= dataFile.getInt("fileSize"));
+         reclaimableBytes += dataFile.getInt("fileSize") - dataFile.getInt("liveSize");
+      }
+      assertEquals(reclaimableBytes, serverControl.getJournalReclaimableBytes());
+      assertTrue(serverControl.getJournalLiveRatio() >= 0 && serverControl.getJournalLiveRatio() <= 1);
+
+      if (server.getConfiguration().isPersistenceEnabled()) {
+         long compactCount = serverControl.getJournalCompactCount();
+         server.getStorageManager().getMessageJournal().scheduleCompactAndBlock(60);
+         assertEquals(compactCount + 1, serverControl.getJournalCompactCount());
+      }
+      assertTrue(serverControl.getJournalCompactStallTime() <= serverControl.getJournalCompactTime());
+   }
+
    @TestTemplate
    public void testGetConnectorsAsJSON() throws Exception {
       ActiveMQServerControl serverControl = createManagementControl();
@@ -476,6 +500,16 @@ public class ActiveMQServerControlTest extends ManagementTestBase {
       }
    }
 
+   @TestTemplate
+   public void testGetAcceptorTransportsAsJSON() throws Exception {
+      ActiveMQServerControl serverControl = createManagementControl();
+
+      JsonObject transports = JsonUtil.readJsonObject(serverControl.getAcceptorTransportsAsJSON());
+      // the invm acceptor is not a netty acceptor
+      assertEquals(1, transports.size());
+      assertEquals(((NettyAcceptor) server.getRemotingService().getAcceptor("netty")).getAcceptorType(), transports.getString("netty"));
+   }
+
    @TestTemplate
    public void testCreateAndDestroyQueue() throws Exception {
       SimpleString address = RandomUtil.randomUUIDSimpleString();
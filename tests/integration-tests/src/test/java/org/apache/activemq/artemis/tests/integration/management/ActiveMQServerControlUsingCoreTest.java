@@ -456,6 +456,11 @@ public class ActiveMQServerControlUsingCoreTest extends ActiveMQServerControlTes
             return (String) proxy.retrieveAttributeValue("acceptorsAsJSON");
          }
 
+         @Override
+         public String getAcceptorTransportsAsJSON() throws Exception {
+            return (String) proxy.retrieveAttributeValue("acceptorTransportsAsJSON");
+         }
+
          @Override
          public int getAddressCount() {
             return (Integer) proxy.retrieveAttributeValue("addressCount", Integer.class);
@@ -903,6 +908,41 @@ public class ActiveMQServerControlUsingCoreTest extends ActiveMQServerControlTes
             return 0;
          }
 
+         @Override
+         public double getJournalLiveRatio() {
+            return (Double) proxy.retrieveAttributeValue("journalLiveRatio", Double.class);
+         }
+
+         @Override
+         public long getJournalReclaimableBytes() {
+            return (Long) proxy.retrieveAttributeValue("journalReclaimableBytes", Long.class);
+         }
+
+         @Override
+         public long getJournalCompactCount() {
+            return (Long) proxy.retrieveAttributeValue("journalCompactCount", Long.class);
+         }
+
+         @Override
+         public long getJournalCompactTime() {
+            return (Long) proxy.retrieveAttributeValue("journalCompactTime", Long.class);
+         }
+
+         @Override
+         public long getJournalCompactedBytes() {
+            return (Long) proxy.retrieveAttributeValue("journalCompactedBytes", Long.class);
+         }
+
+         @Override
+         public long getJournalCompactStallTime() {
+            return (Long) proxy.retrieveAttributeValue("journalCompactStallTime", Long.class);
+         }
+
+         @Override
+         public String listJournalDataFilesAsJSON() throws Exception {
+            return (String) proxy.invokeOperation("listJournalDataFilesAsJSON");
+         }
+
          @Override
          public long getAuthenticationCacheSize() {
             return (Long) proxy.retrieveAttributeValue("AuthenticationCacheSize", Long.class);
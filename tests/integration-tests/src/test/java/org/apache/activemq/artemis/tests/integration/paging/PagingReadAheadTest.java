@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.paging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.impl.PageCursorProviderImpl;
+import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.logs.AssertionLoggerHandler;
+import org.apache.activemq.artemis.logs.AssertionLoggerHandler.LogLevel;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Consumes a backlog paged before a restart, so every page has to be read from disk, with pages of the sizes used in
+ * production: pages read ahead must not be evicted from the shared page cache before the subscription gets to them,
+ * which would read them twice.
+ * <p>
+ * The page reads are traced with their stack, so the reads of the subscription and of the read ahead are told apart
+ * from the ones of the counter rebuild and of the cleanup.
+ */
+public class PagingReadAheadTest extends ActiveMQTestBase {
+
+   private static final String PAGE_LOGGER_NAME = Page.class.getName();
+
+   private static final SimpleString ADDRESS = SimpleString.of("PagingReadAheadTest");
+
+   private static final int MESSAGE_SIZE = 10 * 1024;
+
+   private static final int READ_AHEAD_PAGES = 2;
+
+   private static LogLevel previousLevel;
+
+   @BeforeAll
+   public static void prepareLogger() {
+      previousLevel = AssertionLoggerHandler.setLevel(PAGE_LOGGER_NAME, LogLevel.TRACE);
+   }
+
+   @AfterAll
+   public static void clearLogger() throws Exception {
+      AssertionLoggerHandler.setLevel(PAGE_LOGGER_NAME, previousLevel);
+   }
+
+   @Test
+   public void testReadAheadSmallPages() throws Exception {
+      // pages read ahead fit in the shared page cache
+      PagingStore store = consumeAfterRestart(1024 * 1024, 8);
+      assertEquals(READ_AHEAD_PAGES, store.getCursorProvider().getReadAheadPages());
+      // the subscription found the pages already read ahead
+      assertTrue(store.getPagingManager().getSharedPageCache().getCache().stats().hitCount() > 0);
+   }
+
+   @Test
+   public void testReadAheadDefaultPageSize() throws Exception {
+      // pages as large as the default shared page cache would be evicted before use, so they are not read ahead
+      PagingStore store = consumeAfterRestart((int) SharedPageCache.PAGE_CACHE_MAX_SIZE, 3);
+      assertEquals(0, store.getCursorProvider().getReadAheadPages());
+   }
+
+   private PagingStore consumeAfterRestart(int pageSize, int numberOfPages) throws Exception {
+      // the queue depages as the messages are acked, instead of reading the whole backlog when it starts
+      ActiveMQServer server = createServer(true, createDefaultInVMConfig(), pageSize, 100 * 1024, -1, pageSize / 2);
+      server.start();
+      server.createQueue(QueueConfiguration.of(ADDRESS).setRoutingType(RoutingType.ANYCAST));
+
+      final int numberOfMessages = numberOfPages * pageSize / MESSAGE_SIZE;
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory sf = createSessionFactory(locator);
+           ClientSession session = sf.createSession(false, false)) {
+         ClientProducer producer = session.createProducer(ADDRESS);
+         for (int i = 0; i < numberOfMessages; i++) {
+            ClientMessage message = session.createMessage(true);
+            message.getBodyBuffer().writeBytes(new byte[MESSAGE_SIZE]);
+            message.putIntProperty("i", i);
+            producer.send(message);
+            if (i % 100 == 99) {
+               session.commit();
+            }
+         }
+         session.commit();
+      }
+
+      PagingStore store = server.getPagingManager().getPageStore(ADDRESS);
+      assertTrue(store.getNumberOfPages() >= numberOfPages, store.getNumberOfPages() + " pages");
+
+      // nothing is left in memory
+      server.stop();
+      server.start();
+
+      store = server.getPagingManager().getPageStore(ADDRESS);
+      ((PageCursorProviderImpl) store.getCursorProvider()).setReadAheadPages(READ_AHEAD_PAGES);
+      final long firstPage = store.getFirstPage();
+      final long lastPage = store.getCurrentWritingPage();
+
+      // the pages read by the counter rebuild are not in memory anymore
+      Wait.assertTrue(store.getCursorProvider()::isRebuildDone);
+      store.flushExecutors();
+      server.getPagingManager().getSharedPageCache().invalidateAll();
+
+      try (AssertionLoggerHandler loggerHandler = new AssertionLoggerHandler(true);
+           ServerLocator locator = createInVMNonHALocator().setAckBatchSize(0);
+           ClientSessionFactory sf = createSessionFactory(locator);
+           ClientSession session = sf.createSession(false, true, true)) {
+         session.start();
+         ClientConsumer consumer = session.createConsumer(ADDRESS);
+         for (int i = 0; i < numberOfMessages; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message, "message " + i);
+            assertEquals(i, message.getIntProperty("i").intValue());
+            message.acknowledge();
+         }
+         assertNull(consumer.receiveImmediate());
+
+         // the first page may have been depaged as the queue started
+         for (long page = firstPage + 1; page < lastPage; page++) {
+            assertEquals(1, countReads(loggerHandler, page, "CursorIterator") + countReads(loggerHandler, page, "readAhead"), "reads of page " + page);
+         }
+         if (store.getCursorProvider().getReadAheadPages() > 0) {
+            assertTrue(countReads(loggerHandler, lastPage - 1, "readAhead") > 0);
+         }
+      }
+
+      return store;
+   }
+
+   private static long countReads(AssertionLoggerHandler loggerHandler, long page, String reader) {
+      final String reading = "reading page " + page + " on address";
+      return loggerHandler.getLogEntries().stream()
+         .filter(entry -> entry.getMessage().contains(reading) && entry.getStackTrace().contains(reader))
+         .count();
+   }
+}
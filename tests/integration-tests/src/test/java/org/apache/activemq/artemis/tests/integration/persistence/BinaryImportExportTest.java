@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.cli.commands.tools.binary.BinaryDataConstants;
+import org.apache.activemq.artemis.cli.commands.tools.binary.BinaryDataExporter;
+import org.apache.activemq.artemis.cli.commands.tools.binary.BinaryDataImporter;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test of the binary export/import functionality
+ */
+public class BinaryImportExportTest extends ActiveMQTestBase {
+
+   private static final int CONSUMER_TIMEOUT = 5000;
+
+   private static final int LARGE_MESSAGE_SIZE = 300 * 1024 + 7;
+
+   private static final int NUMBER_OF_ADDRESSES = 4;
+
+   private static final int NUMBER_OF_MESSAGES = 100;
+
+   private static final String PAGED_ADDRESS = "pagedAddress";
+
+   private static final String TOPIC = "topic";
+
+   private ActiveMQServer server;
+
+   @Test
+   public void testExportImportCompressed() throws Exception {
+      testExportImport(true, 4, BinaryDataConstants.DEFAULT_CHUNK_SIZE);
+   }
+
+   @Test
+   public void testExportImportSmallChunks() throws Exception {
+      testExportImport(false, 1, 4 * 1024);
+   }
+
+   private void testExportImport(boolean compress, int threads, int chunkSize) throws Exception {
+      server = createServer(true);
+      server.getAddressSettingsRepository().addMatch(PAGED_ADDRESS, new AddressSettings().setPageSizeBytes(10 * 1024).setMaxSizeBytes(20 * 1024).setMaxReadPageBytes(-1).setMaxReadPageMessages(-1));
+      server.start();
+
+      ServerLocator locator = createInVMNonHALocator().setBlockOnDurableSend(true);
+      ClientSessionFactory factory = createSessionFactory(locator);
+      ClientSession session = addClientSession(factory.createSession(false, true, true));
+
+      for (int i = 0; i < NUMBER_OF_ADDRESSES; i++) {
+         session.createQueue(QueueConfiguration.of("queue" + i).setAddress("address" + i).setRoutingType(RoutingType.ANYCAST));
+         sendMessages(session, "address" + i, NUMBER_OF_MESSAGES);
+      }
+
+      session.createQueue(QueueConfiguration.of(PAGED_ADDRESS).setRoutingType(RoutingType.ANYCAST));
+      sendMessages(session, PAGED_ADDRESS, 2 * NUMBER_OF_MESSAGES);
+      assertTrue(server.getPagingManager().getPageStore(SimpleString.of(PAGED_ADDRESS)).isPaging());
+
+      session.createQueue(QueueConfiguration.of("topicA").setAddress(TOPIC).setRoutingType(RoutingType.MULTICAST));
+      session.createQueue(QueueConfiguration.of("topicB").setAddress(TOPIC).setRoutingType(RoutingType.MULTICAST).setFilterString("i >= 0"));
+      sendMessages(session, TOPIC, NUMBER_OF_MESSAGES);
+
+      // the acknowledged messages must not be exported
+      session.start();
+      receiveMessages(session, "topicA", 0, NUMBER_OF_MESSAGES / 2, false);
+
+      session.close();
+      locator.close();
+      server.stop();
+
+      Configuration configuration = new ConfigurationImpl()
+         .setBindingsDirectory(server.getConfiguration().getBindingsDirectory())
+         .setJournalDirectory(server.getConfiguration().getJournalDirectory())
+         .setPagingDirectory(server.getConfiguration().getPagingDirectory())
+         .setLargeMessagesDirectory(server.getConfiguration().getLargeMessagesDirectory())
+         .setJournalType(JournalType.NIO);
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      new BinaryDataExporter().setCompress(compress).setThreads(threads).setChunkSize(chunkSize).process(outputStream, configuration);
+
+      clearDataRecreateServerDirs();
+      server.start();
+      locator = createInVMNonHALocator();
+      factory = createSessionFactory(locator);
+
+      BinaryDataImporter importer = new BinaryDataImporter();
+      importer.threads = threads;
+      importer.commitInterval = 7;
+      importer.process(new ByteArrayInputStream(outputStream.toByteArray()), factory);
+
+      session = addClientSession(factory.createSession(false, true, true));
+      session.start();
+
+      for (int i = 0; i < NUMBER_OF_ADDRESSES; i++) {
+         receiveMessages(session, "queue" + i, 0, NUMBER_OF_MESSAGES, true);
+      }
+      receiveMessages(session, PAGED_ADDRESS, 0, 2 * NUMBER_OF_MESSAGES, true);
+      receiveMessages(session, "topicA", NUMBER_OF_MESSAGES / 2, NUMBER_OF_MESSAGES, true);
+      receiveMessages(session, "topicB", 0, NUMBER_OF_MESSAGES, true);
+      assertEquals("i >= 0", session.queueQuery(SimpleString.of("topicB")).getFilterString().toString());
+   }
+
+   private void sendMessages(ClientSession session, String address, int count) throws Exception {
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < count; i++) {
+         ClientMessage message = session.createMessage(true);
+         if (i % 25 == 0) {
+            message.setBodyInputStream(createFakeLargeStream(LARGE_MESSAGE_SIZE));
+         } else {
+            message.getBodyBuffer().writeString("message " + i);
+            message.getBodyBuffer().writeBytes(new byte[1024]);
+         }
+         message.putIntProperty("i", i);
+         producer.send(message);
+      }
+      producer.close();
+   }
+
+   private void receiveMessages(ClientSession session, String queue, int from, int to, boolean last) throws Exception {
+      try (ClientConsumer consumer = session.createConsumer(queue)) {
+         for (int i = from; i < to; i++) {
+            ClientMessage message = consumer.receive(CONSUMER_TIMEOUT);
+            assertNotNull(message, "missing message " + i + " on " + queue);
+            assertEquals(i, message.getIntProperty("i"));
+            if (i % 25 == 0) {
+               assertEquals(LARGE_MESSAGE_SIZE, message.getBodySize());
+               for (int position = 0; position < LARGE_MESSAGE_SIZE; position++) {
+                  assertEquals(getSamplebyte(position), message.getBodyBuffer().readByte());
+               }
+            } else {
+               assertEquals("message " + i, message.getBodyBuffer().readString());
+            }
+            message.acknowledge();
+         }
+         if (last) {
+            assertNull(consumer.receiveImmediate());
+         }
+      }
+   }
+}
@@ -18,9 +18,11 @@ package org.apache.activemq.artemis.tests.integration.persistence;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.config.StoreConfiguration;
 import org.apache.activemq.artemis.core.io.IOCallback;
@@ -35,6 +37,8 @@ import org.apache.activemq.artemis.utils.RandomUtil;
 import org.junit.jupiter.api.TestTemplate;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -145,4 +149,108 @@ public class DuplicateCacheTest extends StorageManagerTestBase {
       // Previously this would throw an ArrayIndexOutOfBoundsException
       cache.addToCache(bytes);
    }
+
+   @TestTemplate
+   public void testPartitionedDuplicate() throws Exception {
+      final int size = 2000;
+      DuplicateIDCache cache = DuplicateIDCaches.partitioned(SimpleString.of("test"), size, 16, journal);
+
+      byte[][] ids = new byte[size * 2][];
+      TransactionImpl tx = new TransactionImpl(journal);
+      for (int i = 0; i < size; i++) {
+         ids[i] = RandomUtil.randomBytes();
+         cache.addToCache(ids[i], tx);
+         // not until commit
+         assertFalse(cache.contains(ids[i]));
+      }
+      tx.commit();
+      waitForStorage();
+
+      for (int i = size; i < ids.length; i++) {
+         ids[i] = RandomUtil.randomBytes();
+         assertTrue(cache.atomicVerify(ids[i], null));
+         assertFalse(cache.atomicVerify(ids[i], null));
+         // FIFO: the oldest id is gone, whatever partition it was
+         assertFalse(cache.contains(ids[i - size]));
+         assertTrue(cache.contains(ids[i - size + 1]));
+      }
+
+      List<Pair<byte[], Long>> map = cache.getMap();
+      assertEquals(size, map.size());
+      for (int i = 0; i < size; i++) {
+         assertArrayEquals(ids[size + i], map.get(i).getA());
+      }
+
+      cache.deleteFromCache(ids[ids.length - 1]);
+      assertFalse(cache.contains(ids[ids.length - 1]));
+      assertEquals(size - 1, cache.getMap().size());
+
+      // a reload keeps the ids as they were
+      DuplicateIDCache reloaded = DuplicateIDCaches.partitioned(SimpleString.of("test"), size, 16, journal);
+      reloaded.load(cache.getMap());
+      for (int i = size; i < ids.length - 1; i++) {
+         assertTrue(reloaded.contains(ids[i]));
+      }
+
+      cache.clear();
+      assertFalse(cache.contains(ids[size]));
+      assertEquals(0, cache.getMap().size());
+   }
+
+   private static void waitForStorage() throws InterruptedException {
+      final CountDownLatch latch = new CountDownLatch(1);
+      OperationContextImpl.getContext().executeOnCompletion(new IOCallback() {
+         @Override
+         public void done() {
+            latch.countDown();
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+
+         }
+      }, OperationConsistencyLevel.STORAGE);
+      assertTrue(latch.await(1, TimeUnit.MINUTES));
+   }
+
+   @TestTemplate
+   public void testPartitionedDuplicateConcurrentProducers() throws Exception {
+      final int size = 1000;
+      final int producers = 4;
+      final int idsPerProducer = 5000;
+      DuplicateIDCache cache = DuplicateIDCaches.partitioned(SimpleString.of("test"), size, 8, null);
+
+      byte[][][] ids = new byte[producers][idsPerProducer][];
+      Thread[] threads = new Thread[producers];
+      CountDownLatch done = new CountDownLatch(producers);
+      for (int p = 0; p < producers; p++) {
+         final byte[][] producerIds = ids[p];
+         threads[p] = new Thread(() -> {
+            try {
+               for (int i = 0; i < producerIds.length; i++) {
+                  producerIds[i] = RandomUtil.randomBytes();
+                  assertTrue(cache.atomicVerify(producerIds[i], null));
+               }
+            } catch (Exception e) {
+               throw new RuntimeException(e);
+            } finally {
+               done.countDown();
+            }
+         });
+         threads[p].start();
+      }
+      assertTrue(done.await(1, TimeUnit.MINUTES));
+
+      // exactly the last size ids added are kept
+      assertEquals(size, cache.getMap().size());
+      int contained = 0;
+      for (byte[][] producerIds : ids) {
+         for (byte[] id : producerIds) {
+            if (cache.contains(id)) {
+               contained++;
+            }
+         }
+      }
+      assertEquals(size, contained);
+   }
 }
@@ -19,6 +19,7 @@
 package org.apache.activemq.artemis.tests.integration.plugin;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,6 +53,21 @@ public class CacheMetricsTest extends ActiveMQTestBase {
       testCacheMetrics(false);
    }
 
+   @Test
+   public void testPagingCacheMetrics() throws Exception {
+      ActiveMQServer server = createServer(false, createDefaultInVMConfig()
+         .setMetricsConfiguration(new MetricsConfiguration()
+                                     .setPlugin(new SimpleMetricsPlugin().init(null))));
+      server.start();
+      Tags defaultTags = Tags.of(Tag.of("broker", "localhost"), Tag.of("cache", "paging"));
+      List<Meter.Id> metersToMatch = new ArrayList<>();
+      metersToMatch.add(new Meter.Id("cache.size", defaultTags, null, null, null));
+      metersToMatch.add(new Meter.Id("cache.gets", defaultTags.and(Tag.of("result", "miss")), null, null, null));
+      metersToMatch.add(new Meter.Id("cache.gets", defaultTags.and(Tag.of("result", "hit")), null, null, null));
+      metersToMatch.add(new Meter.Id("cache.evictions", defaultTags, null, null, null));
+      assertTrue(MetricsPluginTest.getMetrics(server).keySet().containsAll(metersToMatch));
+   }
+
    private void testCacheMetrics(boolean enabled) throws Exception {
       ActiveMQServer server = createServer(false, createDefaultInVMConfig().setSecurityEnabled(true)
          .setMetricsConfiguration(new MetricsConfiguration()
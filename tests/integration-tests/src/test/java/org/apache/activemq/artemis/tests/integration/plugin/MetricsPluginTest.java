@@ -149,6 +149,12 @@ public class MetricsPluginTest extends ActiveMQTestBase {
               new Metric("artemis.authentication.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "failure"))),
               new Metric("artemis.authorization.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "success"))),
               new Metric("artemis.authorization.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "failure"))),
+              new Metric("artemis.journal.live.ratio", 1.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.reclaimable.bytes", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compact.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compact.time", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compacted.bytes", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compact.stall.time", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
               // simpleQueue metrics
               new Metric("artemis.message.count", 0.0, Arrays.asList(Tag.of("address", "simpleAddress"), Tag.of("broker", "localhost"), Tag.of("queue", "simpleQueue"))),
               new Metric("artemis.durable.message.count", 0.0, Arrays.asList(Tag.of("address", "simpleAddress"), Tag.of("broker", "localhost"), Tag.of("queue", "simpleQueue"))),
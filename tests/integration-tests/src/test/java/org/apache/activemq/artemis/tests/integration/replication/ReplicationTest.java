@@ -88,6 +88,7 @@ import org.apache.activemq.artemis.core.persistence.impl.journal.LargeServerMess
 import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
 import org.apache.activemq.artemis.core.replication.ReplicatedJournal;
 import org.apache.activemq.artemis.core.replication.ReplicationManager;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
@@ -320,6 +321,31 @@ public final class ReplicationTest extends ActiveMQTestBase {
       assertEquals(0, store.getNumberOfPages());
    }
 
+   @TestTemplate
+   public void testSendBatchedPackets() throws Exception {
+      final int records = 1000;
+      BatchCountingInterceptor.batchedPackets.set(0);
+      setupServer(true, true, (primaryConfig, backupConfig) -> primaryConfig.getOutgoingInterceptorClassNames().add(BatchCountingInterceptor.class.getName()));
+
+      JournalStorageManager storage = getStorage();
+
+      manager = liveServer.getReplicationManager();
+      waitForComponent(manager);
+
+      Journal replicatedJournal = new ReplicatedJournal((byte) 1, new FakeJournal(), manager);
+
+      for (int i = 0; i < records; i++) {
+         replicatedJournal.appendAddRecordTransactional(i, i, (byte) 1, new FakeData());
+         replicatedJournal.appendCommitRecord(i, false);
+      }
+
+      blockOnReplication(storage, manager);
+
+      assertTrue(manager.getActiveTokens().isEmpty(), "Expecting no active tokens:" + manager.getActiveTokens());
+      // the records are appended faster than they're sent, so some of them are sent together
+      assertTrue(BatchCountingInterceptor.batchedPackets.get() > 0);
+   }
+
    @TestTemplate
    public void testSendPacketsWithFailure() throws Exception {
       final int nMsg = 100;
@@ -732,6 +758,19 @@ public final class ReplicationTest extends ActiveMQTestBase {
 
    }
 
+   public static final class BatchCountingInterceptor implements Interceptor {
+
+      static AtomicInteger batchedPackets = new AtomicInteger();
+
+      @Override
+      public boolean intercept(final Packet packet, final RemotingConnection connection) throws ActiveMQException {
+         if (packet instanceof ReplicationBatchMessage batch) {
+            batchedPackets.addAndGet(batch.getPackets().size());
+         }
+         return true;
+      }
+   }
+
    static final class FakeJournal implements Journal {
 
       @Override
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.server.routing.ConnectionRouter;
+import org.apache.activemq.artemis.core.server.routing.KeyType;
+import org.apache.activemq.artemis.core.server.routing.caches.Cache;
+import org.apache.activemq.artemis.core.server.routing.caches.LocalCache;
+import org.apache.activemq.artemis.core.server.routing.policies.Policy;
+import org.apache.activemq.artemis.core.server.routing.policies.PolicyFactoryResolver;
+import org.apache.activemq.artemis.core.server.routing.pools.StaticPool;
+import org.apache.activemq.artemis.core.server.routing.targets.AbstractTarget;
+import org.apache.activemq.artemis.core.server.routing.targets.AbstractTargetFactory;
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.apache.activemq.artemis.core.server.routing.targets.TargetResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class ConnectionRouterBenchmark {
+
+   @Param({"CONSISTENT_HASH", "CONSISTENT_HASH_BOUNDED_LOADS"})
+   private String policyName;
+   @Param({"3", "16"})
+   private int targets;
+   @Param({"false", "true"})
+   private boolean cache;
+
+   private static final int KEYS = 1 << 14;
+
+   private ScheduledExecutorService scheduledExecutor;
+   private ConnectionRouter router;
+   private String[] keys;
+   private int nextKey;
+
+   @Setup
+   public void init() throws Exception {
+      scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+
+      List<TransportConfiguration> connectors = new ArrayList<>();
+      for (int i = 0; i < targets; i++) {
+         connectors.add(new TransportConfiguration("benchmark-" + i));
+      }
+      StaticPool pool = new StaticPool(new BenchmarkTargetFactory(), scheduledExecutor, 100, connectors);
+
+      Policy policy = PolicyFactoryResolver.getInstance().resolve(policyName).create();
+      policy.init(Collections.emptyMap());
+
+      Cache localCache = cache ? new LocalCache("benchmark", false, 0, KEYS, null, null) : null;
+
+      router = new ConnectionRouter("benchmark", KeyType.CLIENT_ID, null,
+         new BenchmarkTarget(new TransportConfiguration("local"), "local"), null, localCache, pool, policy);
+      router.start();
+
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      while (pool.getTargets().size() < targets) {
+         if (System.nanoTime() > deadline) {
+            throw new IllegalStateException("The targets are not ready");
+         }
+         Thread.sleep(10);
+      }
+
+      keys = new String[KEYS];
+      for (int i = 0; i < KEYS; i++) {
+         keys[i] = UUID.randomUUID().toString();
+      }
+      nextKey = 0;
+   }
+
+   @Benchmark
+   public TargetResult getTarget() {
+      final String key = keys[nextKey];
+      nextKey = (nextKey + 1) & (KEYS - 1);
+      return router.getTarget(key);
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      router.stop();
+      scheduledExecutor.shutdownNow();
+   }
+
+   private static final class BenchmarkTargetFactory extends AbstractTargetFactory {
+      @Override
+      public Target createTarget(TransportConfiguration connector, String nodeID) {
+         return new BenchmarkTarget(connector, nodeID != null ? nodeID : connector.getName());
+      }
+   }
+
+   private static final class BenchmarkTarget extends AbstractTarget {
+      private volatile boolean connected;
+
+      BenchmarkTarget(TransportConfiguration connector, String nodeID) {
+         super(connector, nodeID);
+      }
+
+      @Override
+      public boolean isLocal() {
+         return false;
+      }
+
+      @Override
+      public boolean isConnected() {
+         return connected;
+      }
+
+      @Override
+      public void connect() throws Exception {
+         connected = true;
+         fireConnectedEvent();
+      }
+
+      @Override
+      public void disconnect() throws Exception {
+         connected = false;
+         fireDisconnectedEvent();
+      }
+
+      @Override
+      public boolean checkReadiness() {
+         return connected;
+      }
+
+      @Override
+      public <T> T getAttribute(String resourceName, String attributeName, Class<T> attributeClass, int timeout) {
+         return null;
+      }
+
+      @Override
+      public <T> T invokeOperation(String resourceName, String operationName, Object[] operationParams, Class<T> operationClass, int timeout) {
+         return null;
+      }
+   }
+}
@@ -31,6 +31,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
 @State(Scope.Benchmark)
@@ -43,6 +44,9 @@ public class DuplicateIDCacheBenchmark {
    private int size;
    @Param({"false", "true"})
    private boolean persist;
+   // 0 means the default (single lock) caches
+   @Param({"0", "16"})
+   private int partitions;
 
    private DuplicateIDCache cache;
 
@@ -54,9 +58,13 @@ public class DuplicateIDCacheBenchmark {
 
    @Setup
    public void init() throws Exception {
-      cache = persist ?
-         DuplicateIDCaches.persistent(SimpleString.of("benchmark"), size, new NullStorageManager()) :
-         DuplicateIDCaches.inMemory(SimpleString.of("benchmark"), size);
+      if (partitions > 0) {
+         cache = DuplicateIDCaches.partitioned(SimpleString.of("benchmark"), size, partitions, persist ? new NullStorageManager() : null);
+      } else {
+         cache = persist ?
+            DuplicateIDCaches.persistent(SimpleString.of("benchmark"), size, new NullStorageManager()) :
+            DuplicateIDCaches.inMemory(SimpleString.of("benchmark"), size);
+      }
       final int idSize = findNextHigherPowerOf2(size);
       idsMask = idSize - 1;
       nextId = 0;
@@ -132,6 +140,40 @@ public class DuplicateIDCacheBenchmark {
       return cache.contains(nextMissingId());
    }
 
+   /**
+    * Ids of a producer sending to the cache address concurrently with others.
+    */
+   @State(Scope.Thread)
+   public static class ProducerIds {
+
+      private static final int IDS = 1024;
+
+      private byte[][] ids;
+      private int next;
+
+      @Setup
+      public void init() {
+         ids = new byte[IDS][];
+         for (int i = 0; i < IDS; i++) {
+            ids[i] = RandomUtil.randomBytes();
+         }
+      }
+
+      // a new id each time: the previous ones are rotated, as they're evicted by the concurrent producers anyway
+      private byte[] nextId() {
+         final int index = next++ & (IDS - 1);
+         final byte[] id = ids[index];
+         id[0]++;
+         return id.clone();
+      }
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean concurrentAtomicVerify(ProducerIds producer) throws Exception {
+      return cache.atomicVerify(producer.nextId(), null);
+   }
+
    @TearDown
    public void clear() throws Exception {
       cache.clear();
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the interpreted {@link FilterImpl} with the compiled one, both uncontended and shared by many threads.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class FilterBenchmark {
+
+   @Param({"false", "true"})
+   private boolean compiled;
+
+   @Param({
+      "region = 'EU'",
+      "region IN ('US', 'EU', 'APAC', 'LATAM', 'MEA') AND priority > 3",
+      "(tenantId = 42 OR tenantId BETWEEN 100 AND 200) AND symbol LIKE 'ACME%' AND 1 = 1",
+      "AMQPriority >= 4 AND price * 2 < 200.5 AND region IS NOT NULL"})
+   private String selector;
+
+   private Filter filter;
+
+   private Message[] messages;
+
+   private int next;
+
+   @Setup
+   public void init() throws Exception {
+      filter = FilterImpl.createFilter(SimpleString.of(selector), compiled);
+      final String[] regions = {"US", "EU", "APAC", "NONE"};
+      messages = new Message[64];
+      for (int i = 0; i < messages.length; i++) {
+         CoreMessage message = new CoreMessage().initBuffer(1024).setMessageID(i);
+         message.setPriority((byte) (i % 10));
+         message.putStringProperty(SimpleString.of("region"), SimpleString.of(regions[i % regions.length]));
+         message.putStringProperty(SimpleString.of("symbol"), SimpleString.of(i % 3 == 0 ? "ACME" + i : "INIT" + i));
+         message.putIntProperty(SimpleString.of("priority"), i % 10);
+         message.putLongProperty(SimpleString.of("tenantId"), i * 5L);
+         message.putDoubleProperty(SimpleString.of("price"), i * 3.5);
+         messages[i] = message;
+      }
+   }
+
+   private Message nextMessage() {
+      // racy on purpose: any message is fine
+      final int index = next;
+      next = (index + 1) & (messages.length - 1);
+      return messages[index];
+   }
+
+   @Benchmark
+   public boolean match() {
+      return filter.match(nextMessage());
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean sharedMatch() {
+      return filter.match(nextMessage());
+   }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class TypedPropertiesBenchmark {
+
+   @Param({"3", "5", "20"})
+   private int size;
+
+   private TypedProperties properties;
+   private SimpleString[] keys;
+   private SimpleString longKey;
+   private ByteBuf encoded;
+   private ByteBuf encodeBuffer;
+   private int nextKey;
+
+   @Setup
+   public void init() {
+      properties = new TypedProperties();
+      keys = new SimpleString[size];
+      for (int i = 0; i < size; i++) {
+         // the same mix of types of the headers of a message
+         keys[i] = SimpleString.of("_AMQ_PROPERTY_" + i);
+         switch (i % 3) {
+            case 0:
+               properties.putLongProperty(keys[i], i * 1000L);
+               break;
+            case 1:
+               properties.putSimpleStringProperty(keys[i], SimpleString.of("value-" + i));
+               break;
+            default:
+               properties.putBooleanProperty(keys[i], true);
+         }
+      }
+      longKey = keys[0];
+      encoded = Unpooled.buffer(properties.getEncodeSize());
+      properties.encode(encoded);
+      encodeBuffer = Unpooled.buffer(properties.getEncodeSize());
+      nextKey = 0;
+   }
+
+   @Benchmark
+   public ByteBuf encode() {
+      encodeBuffer.clear();
+      properties.encode(encodeBuffer);
+      return encodeBuffer;
+   }
+
+   @Benchmark
+   public TypedProperties decode() {
+      final TypedProperties decoded = new TypedProperties();
+      decoded.decode(encoded.resetReaderIndex());
+      return decoded;
+   }
+
+   @Benchmark
+   public Object getProperty() {
+      final int key = nextKey;
+      nextKey = key + 1 == size ? 0 : key + 1;
+      return properties.getProperty(keys[key]);
+   }
+
+   @Benchmark
+   public long getUnboxedLongProperty() {
+      return properties.getLongProperty(longKey, 0L);
+   }
+}
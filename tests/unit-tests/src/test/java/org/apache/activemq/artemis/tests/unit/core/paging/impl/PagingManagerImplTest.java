@@ -30,6 +30,7 @@ import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.impl.Page;
 import org.apache.activemq.artemis.core.paging.impl.PagingManagerImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreFactoryNIO;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
 import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
@@ -47,6 +48,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -106,6 +108,60 @@ public class PagingManagerImplTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testSharedPageCacheDroppedWhenGlobalFull() throws Exception {
+      HierarchicalRepository<AddressSettings> addressSettings = new HierarchicalObjectRepository<>();
+      addressSettings.setDefault(new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE));
+
+      OrderedExecutorFactory orderedExecutorFactory = getOrderedExecutor();
+
+      final StorageManager storageManager = new NullStorageManager().setContextSupplier(() -> OperationContextImpl.getContext(orderedExecutorFactory));
+
+      ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
+      runAfter(scheduledExecutorService::shutdownNow);
+
+      PagingStoreFactoryNIO storeFactory = new PagingStoreFactoryNIO(storageManager, getPageDirFile(), 100, scheduledExecutorService, orderedExecutorFactory, true, null);
+
+      final long globalMaxSize = 1024 * 1024;
+      PagingManagerImpl managerImpl = new PagingManagerImpl(storeFactory, addressSettings, globalMaxSize, -1, null, null);
+      managerImpl.start();
+      runAfter(managerImpl::stop);
+
+      SharedPageCache sharedPageCache = managerImpl.getSharedPageCache();
+      assertNotNull(sharedPageCache);
+
+      PagingStore store = managerImpl.getPageStore(SimpleString.of("simple-test"));
+      store.startPaging();
+      for (int i = 0; i < 10; i++) {
+         final RoutingContextImpl ctx = new RoutingContextImpl(null);
+         assertTrue(store.page(createMessage(i, SimpleString.of("simple-test"), createRandomBuffer(1024)), ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+      }
+      syncOperationContext();
+      store.forceAnotherPage(true);
+
+      Page page = store.usePage(store.getFirstPage());
+      assertEquals(10, page.getMessages().size());
+      final long globalSize = managerImpl.getGlobalSize();
+      page.usageDown();
+      assertEquals(1, sharedPageCache.size());
+
+      // weighted by the decoded messages, not by the file
+      assertTrue(page.getMemoryEstimate() > 0);
+      assertEquals(page.getMemoryEstimate(), sharedPageCache.getMemorySize());
+      // bounded by the cache alone
+      assertEquals(globalSize, managerImpl.getGlobalSize());
+
+      // going over the global max size drops the cache right away
+      managerImpl.addSize((int) globalMaxSize, true);
+      assertTrue(managerImpl.isGlobalFull());
+      assertEquals(0L, sharedPageCache.getMemorySize());
+      assertEquals(0, sharedPageCache.size());
+      assertEquals(globalSize + globalMaxSize, managerImpl.getGlobalSize());
+      managerImpl.addSize((int) -globalMaxSize, true);
+      assertEquals(globalSize, managerImpl.getGlobalSize());
+      assertFalse(managerImpl.isGlobalFull());
+   }
+
    @Override
    @BeforeEach
    public void setUp() throws Exception {
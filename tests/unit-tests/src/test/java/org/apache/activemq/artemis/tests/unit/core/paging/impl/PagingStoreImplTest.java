@@ -21,6 +21,7 @@ import java.lang.invoke.MethodHandles;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -54,6 +55,7 @@ import org.apache.activemq.artemis.core.paging.impl.PageReadWriter;
 import org.apache.activemq.artemis.core.paging.impl.PageTransactionInfoImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreTestAccessor;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
@@ -89,6 +91,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PagingStoreImplTest extends ActiveMQTestBase {
@@ -659,6 +662,133 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testSharedPageCache() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+      SimpleString destination = SimpleString.of("test");
+
+      SharedPageCache sharedPageCache = new SharedPageCache(10 * 1024 * 1024);
+
+      PagingManager pagingManager = new FakePagingManager() {
+         @Override
+         public SharedPageCache getSharedPageCache() {
+            return sharedPageCache;
+         }
+      };
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, pagingManager, nullStorageManager, factory, new FakeStoreFactory(factory), PagingStoreImplTest.destinationTestName, new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE), orderedExecutorFactory.getExecutor(), true);
+
+      store.start();
+      try {
+         store.startPaging();
+
+         for (int i = 0; i < 10; i++) {
+            if (i == 5) {
+               store.forceAnotherPage(true);
+            }
+            Message msg = createMessage(i, store, destination, createRandomBuffer(i + 1L, 10));
+            final RoutingContextImpl ctx = new RoutingContextImpl(null);
+            assertTrue(store.page(msg, ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+            syncOperationContext();
+         }
+
+         long firstPage = store.getFirstPage();
+
+         Page page = store.usePage(firstPage);
+         assertEquals(5, page.getMessages().size());
+         assertEquals(0, sharedPageCache.size());
+
+         // once released the page is parked on the shared cache
+         page.usageDown();
+         assertEquals(1, sharedPageCache.size());
+         assertEquals(page.getMemoryEstimate(), sharedPageCache.getMemorySize());
+
+         // and it is served from there without being read again
+         long hits = sharedPageCache.getCache().stats().hitCount();
+         Page cachedPage = store.usePage(firstPage);
+         assertSame(page, cachedPage);
+         assertEquals(0, sharedPageCache.size());
+         assertEquals(0, sharedPageCache.getMemorySize());
+         assertEquals(hits + 1, sharedPageCache.getCache().stats().hitCount());
+
+         // the current page is still being written, so it is not cached
+         Page currentPage = store.usePage(store.getCurrentWritingPage());
+         currentPage.usageDown();
+         assertEquals(0, sharedPageCache.size());
+
+         cachedPage.usageDown();
+         assertEquals(1, sharedPageCache.size());
+
+         // depaging the page removes it from the cache
+         Page depaged = depageOnExecutor(store);
+         assertEquals(firstPage, depaged.getPageId());
+         sharedPageCache.getCache().cleanUp();
+         assertEquals(0, sharedPageCache.size());
+      } finally {
+         store.stop();
+      }
+   }
+
+   @Test
+   public void testReadAhead() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+      SimpleString destination = SimpleString.of("test");
+
+      SharedPageCache sharedPageCache = new SharedPageCache(10 * 1024 * 1024);
+
+      PagingManager pagingManager = new FakePagingManager() {
+         @Override
+         public SharedPageCache getSharedPageCache() {
+            return sharedPageCache;
+         }
+      };
+
+      ArtemisExecutor readAheadExecutor = orderedExecutorFactory.getExecutor();
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, pagingManager, nullStorageManager, factory, new FakeStoreFactory(factory, readAheadExecutor), PagingStoreImplTest.destinationTestName, new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE), orderedExecutorFactory.getExecutor(), true);
+
+      store.start();
+      try {
+         store.startPaging();
+
+         for (int i = 0; i < 15; i++) {
+            if (i > 0 && i % 5 == 0) {
+               store.forceAnotherPage(true);
+            }
+            Message msg = createMessage(i, store, destination, createRandomBuffer(i + 1L, 10));
+            final RoutingContextImpl ctx = new RoutingContextImpl(null);
+            assertTrue(store.page(msg, ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+            syncOperationContext();
+         }
+
+         long secondPage = store.getFirstPage() + 1;
+
+         store.flushExecutors();
+         sharedPageCache.invalidateAll();
+         sharedPageCache.getCache().cleanUp();
+         assertEquals(0, sharedPageCache.size());
+
+         store.getCursorProvider().readAhead(secondPage);
+         store.getCursorProvider().readAhead(secondPage);
+         // the current writing page is never read ahead
+         store.getCursorProvider().readAhead(store.getCurrentWritingPage());
+         assertTrue(readAheadExecutor.flush(10, TimeUnit.SECONDS));
+
+         sharedPageCache.getCache().cleanUp();
+         assertEquals(1, sharedPageCache.size());
+
+         long hits = sharedPageCache.getCache().stats().hitCount();
+         Page page = store.usePage(secondPage);
+         assertEquals(5, page.getNumberOfMessages());
+         assertEquals(hits + 1, sharedPageCache.getCache().stats().hitCount());
+         page.usageDown();
+      } finally {
+         store.stop();
+      }
+   }
+
    @Test
    public void testRestartPage() throws Throwable {
       clearDataRecreateServerDirs();
@@ -1156,12 +1286,19 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
 
       final SequentialFileFactory factory;
 
+      final Executor readAheadExecutor;
+
       FakeStoreFactory() {
-         factory = new FakeSequentialFileFactory();
+         this(new FakeSequentialFileFactory());
       }
 
       FakeStoreFactory(final SequentialFileFactory factory) {
+         this(factory, null);
+      }
+
+      FakeStoreFactory(final SequentialFileFactory factory, final Executor readAheadExecutor) {
          this.factory = factory;
+         this.readAheadExecutor = readAheadExecutor;
       }
 
       @Override
@@ -1188,7 +1325,7 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
                                                   StorageManager storageManager,
                                                   AddressSettings addressSettings,
                                                   ArtemisExecutor executor) {
-         return new PageCursorProviderImpl(store, storageManager);
+         return new PageCursorProviderImpl(store, storageManager, readAheadExecutor);
       }
 
       @Override
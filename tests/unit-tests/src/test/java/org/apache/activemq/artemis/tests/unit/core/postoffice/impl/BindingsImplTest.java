@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.tests.unit.core.postoffice.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import javax.transaction.xa.Xid;
 import java.util.Collections;
@@ -30,6 +31,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
@@ -86,6 +88,55 @@ public class BindingsImplTest extends ActiveMQTestBase {
       assertEquals(0, fake.routedCount.get());
    }
 
+   @Test
+   public void testRouteWithManyFilteredBindings() throws Exception {
+      final Bindings bind = new BindingsImpl(null, null, new NullStorageManager(1000));
+      final String[] filters = new String[64];
+      for (int i = 0; i < filters.length; i++) {
+         filters[i] = switch (i % 8) {
+            case 0, 1 -> "region = 'R" + (i % 5) + "'";
+            case 2 -> "region IN ('R1', 'R" + (i % 7) + "') AND price > 5";
+            case 3 -> "price BETWEEN " + i + " AND " + (i + 10);
+            case 4 -> "price > " + i + ".5 AND " + (i + 20) + " >= price";
+            case 5 -> "tenant = " + (i % 3);
+            case 6 -> "region LIKE 'R%' OR price < 3";
+            default -> null;
+         };
+      }
+      final FakeBinding[] bindings = new FakeBinding[filters.length];
+      for (int i = 0; i < bindings.length; i++) {
+         bindings[i] = new FakeBinding(SimpleString.of("q" + i));
+         bindings[i].filter = FilterImpl.createFilter(filters[i]);
+         bind.addBinding(bindings[i]);
+      }
+
+      final Object[] prices = {null, 2, 7L, 30.5d, 31.5f, "40", true};
+      final Object[] regions = {null, "R0", "R1", "R4", "R6", 1};
+      final Object[] tenants = {null, 1, 2L, "0"};
+      int routed = 0;
+      for (Object price : prices) {
+         for (Object region : regions) {
+            for (Object tenant : tenants) {
+               final CoreMessage message = new CoreMessage(0, 100);
+               message.putObjectProperty("price", price);
+               message.putObjectProperty("region", region);
+               message.putObjectProperty("tenant", tenant);
+               final int[] expected = new int[bindings.length];
+               for (int i = 0; i < bindings.length; i++) {
+                  final Filter filter = bindings[i].filter;
+                  expected[i] = bindings[i].routedCount.get() + (filter == null || filter.match(message) ? 1 : 0);
+               }
+               bind.route(message, new RoutingContextImpl(new FakeTransaction()));
+               for (int i = 0; i < bindings.length; i++) {
+                  assertEquals(expected[i], bindings[i].routedCount.get(), filters[i] + " with " + message);
+                  routed += bindings[i].routedCount.get();
+               }
+            }
+         }
+      }
+      assertTrue(routed > 0);
+   }
+
    @Test
    public void testRemoveWhileRouting() throws Exception {
       // It would require many iterations before getting a failure
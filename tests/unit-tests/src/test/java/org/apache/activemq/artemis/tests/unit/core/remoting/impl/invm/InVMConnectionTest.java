@@ -16,20 +16,35 @@
  */
 package org.apache.activemq.artemis.tests.unit.core.remoting.impl.invm;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.invm.InVMConnection;
 import org.apache.activemq.artemis.core.remoting.impl.invm.InVMConnectorFactory;
 import org.apache.activemq.artemis.core.remoting.impl.invm.TransportConstants;
+import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class InVMConnectionTest {
 
+   @TempDir
+   public File temporaryFolder;
+
    @Test
    public void testIsTargetNode() throws Exception {
 
@@ -55,4 +70,43 @@ public class InVMConnectionTest {
       assertTrue(conn.isSameTarget(tf2, tf0));
       assertFalse(conn.isSameTarget(tf2, tf1));
    }
+
+   @Test
+   public void testWriteFileWithoutFileRegion() throws Exception {
+      byte[] contents = new byte[1024];
+      for (int i = 0; i < contents.length; i++) {
+         contents[i] = (byte) i;
+      }
+      File file = new File(temporaryFolder, "contents");
+      Files.write(file.toPath(), contents);
+
+      AtomicReference<byte[]> received = new AtomicReference<>();
+      AtomicBoolean written = new AtomicBoolean();
+      InVMConnection conn = new InVMConnection(0, (connectionID, buffer) -> {
+         byte[] bytes = new byte[buffer.readableBytes()];
+         buffer.readBytes(bytes);
+         received.set(bytes);
+      }, null, ArtemisExecutor.delegate(Runnable::run));
+
+      assertFalse(conn.isFileRegionSupported());
+
+      ActiveMQBuffer header = ActiveMQBuffers.fixedBuffer(8);
+      header.writeInt(0);
+      header.writeInt(1);
+      ActiveMQBuffer trailer = ActiveMQBuffers.fixedBuffer(4);
+      trailer.writeInt(2);
+      conn.write(header, file, 100, 200, trailer, future -> written.set(true));
+
+      assertTrue(written.get());
+      byte[] bytes = received.get();
+      assertNotNull(bytes);
+      // the first int of the header is discarded by the in VM connection
+      assertEquals(4 + 200 + 4, bytes.length);
+      ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(bytes);
+      assertEquals(1, buffer.readInt());
+      byte[] body = new byte[200];
+      buffer.readBytes(body);
+      assertArrayEquals(Arrays.copyOfRange(contents, 100, 300), body);
+      assertEquals(2, buffer.readInt());
+   }
 }
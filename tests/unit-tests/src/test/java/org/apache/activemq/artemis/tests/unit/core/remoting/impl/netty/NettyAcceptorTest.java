@@ -24,10 +24,17 @@ import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.json.JsonObject;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
 import org.apache.activemq.artemis.spi.core.remoting.BufferHandler;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
@@ -41,7 +48,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -124,6 +134,40 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
       assertFalse(server.getRemotingService().getAcceptor("noStart").isStarted());
    }
 
+   @Test
+   public void testIoUring() throws Exception {
+      ActiveMQServer server = createServer(false, createDefaultInVMConfig());
+      server.getConfiguration().addAcceptorConfiguration("ioUring", "tcp://127.0.0.1:61617?useIoUring=true");
+      server.getConfiguration().addAcceptorConfiguration("default", "tcp://127.0.0.1:61618");
+      server.start();
+
+      final String expectedType;
+      if (CheckDependencies.isIoUringAvailable()) {
+         expectedType = NettyAcceptor.IO_URING_ACCEPTOR_TYPE;
+      } else if (CheckDependencies.isEpollAvailable()) {
+         expectedType = NettyAcceptor.EPOLL_ACCEPTOR_TYPE;
+      } else if (CheckDependencies.isKQueueAvailable()) {
+         expectedType = NettyAcceptor.KQUEUE_ACCEPTOR_TYPE;
+      } else {
+         expectedType = NettyAcceptor.NIO_ACCEPTOR_TYPE;
+      }
+      NettyAcceptor acceptor = (NettyAcceptor) server.getRemotingService().getAcceptor("ioUring");
+      assertEquals(expectedType, acceptor.getAcceptorType());
+      assertNotEquals(NettyAcceptor.IO_URING_ACCEPTOR_TYPE, ((NettyAcceptor) server.getRemotingService().getAcceptor("default")).getAcceptorType());
+
+      JsonObject transports = JsonUtil.readJsonObject(server.getActiveMQServerControl().getAcceptorTransportsAsJSON());
+      assertEquals(expectedType, transports.getString("ioUring"));
+
+      try (ServerLocator locator = ActiveMQClient.createServerLocator("tcp://127.0.0.1:61617?useIoUring=true");
+           ClientSessionFactory factory = locator.createSessionFactory();
+           ClientSession session = factory.createSession()) {
+         session.start();
+      }
+
+      acceptor.stop();
+      assertNull(acceptor.getAcceptorType());
+   }
+
    @Test
    public void testActualPort() throws Exception {
       String firstPort0 = RandomUtil.randomUUIDString();
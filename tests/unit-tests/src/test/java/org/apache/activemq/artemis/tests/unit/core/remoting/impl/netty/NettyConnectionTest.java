@@ -21,14 +21,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.FileRegion;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
@@ -68,6 +72,34 @@ public class NettyConnectionTest extends ActiveMQTestBase {
       assertEquals(1, channel.outboundMessages().size());
    }
 
+   @Test
+   public void testWriteFileRegion() throws Exception {
+      File file = new File(getTestDir(), "file-region");
+      Files.write(file.toPath(), new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+      EmbeddedChannel channel = createChannel();
+      NettyConnection conn = new NettyConnection(emptyMap, channel, new MyListener(), false, false);
+
+      // not a socket channel
+      assertFalse(conn.isFileRegionSupported());
+
+      ActiveMQBuffer header = conn.createTransportBuffer(1);
+      header.writeByte((byte) 10);
+      ActiveMQBuffer trailer = conn.createTransportBuffer(1);
+      trailer.writeByte((byte) 20);
+      AtomicBoolean written = new AtomicBoolean();
+      conn.write(header, file, 2, 4, trailer, future -> written.set(future.isSuccess()));
+      channel.runPendingTasks();
+
+      assertEquals(3, channel.outboundMessages().size());
+      assertEquals(header.byteBuf(), channel.readOutbound());
+      FileRegion region = channel.readOutbound();
+      assertEquals(2, region.position());
+      assertEquals(4, region.count());
+      region.release();
+      assertEquals(trailer.byteBuf(), channel.readOutbound());
+      assertTrue(written.get());
+   }
+
    @Test
    public void testCreateBuffer() throws Exception {
       EmbeddedChannel channel = createChannel();
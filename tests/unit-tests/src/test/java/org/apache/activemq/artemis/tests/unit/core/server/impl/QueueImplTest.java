@@ -24,15 +24,20 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -53,7 +58,9 @@ import org.apache.activemq.artemis.core.server.HandleStatus;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.settings.impl.HierarchicalObjectRepository;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.tests.unit.core.server.impl.fakes.FakeConsumer;
 import org.apache.activemq.artemis.tests.unit.core.server.impl.fakes.FakeFilter;
@@ -61,6 +68,7 @@ import org.apache.activemq.artemis.tests.unit.core.server.impl.fakes.FakePostOff
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.FutureLatch;
+import org.apache.activemq.artemis.utils.Wait;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.junit.jupiter.api.AfterEach;
@@ -388,6 +396,243 @@ public class QueueImplTest extends ActiveMQTestBase {
       assertEquals(30, queue.getDeliveringCount());
    }
 
+   @Test
+   public void testConcurrentDelivery() throws Exception {
+      QueueImpl queue = getConcurrentDeliveryQueue();
+
+      Thread producer = Thread.currentThread();
+      AtomicInteger producerHandles = new AtomicInteger();
+
+      FakeConsumer consumer = new FakeConsumer() {
+         @Override
+         public synchronized HandleStatus handle(MessageReference reference) {
+            if (Thread.currentThread() == producer) {
+               producerHandles.incrementAndGet();
+            }
+            return super.handle(reference);
+         }
+      };
+
+      queue.addConsumer(consumer);
+
+      final int numMessages = 10;
+
+      List<MessageReference> refs = new ArrayList<>();
+
+      for (int i = 0; i < numMessages; i++) {
+         MessageReference ref = generateReference(queue, i);
+
+         refs.add(ref);
+
+         queue.addTail(ref, true);
+      }
+
+      queue.deliverNow();
+
+      assertRefListsIdenticalRefs(refs, consumer.getReferences());
+      assertEquals(0, producerHandles.get());
+      assertEquals(numMessages, getMessageCount(queue));
+      assertEquals(numMessages, queue.getDeliveringCount());
+      assertEquals(numMessages, queue.getMessagesAdded());
+   }
+
+   @Test
+   public void testConcurrentDeliveryBusyConsumerThenAddMoreMessages() throws Exception {
+      QueueImpl queue = getConcurrentDeliveryQueue();
+
+      FakeConsumer consumer = new FakeConsumer();
+
+      consumer.setStatusImmediate(HandleStatus.BUSY);
+
+      queue.addConsumer(consumer);
+
+      final int numMessages = 10;
+
+      List<MessageReference> refs = new ArrayList<>();
+
+      for (int i = 0; i < numMessages; i++) {
+         MessageReference ref = generateReference(queue, i);
+
+         refs.add(ref);
+
+         queue.addTail(ref);
+      }
+
+      queue.deliverNow();
+
+      assertEquals(numMessages, getMessageCount(queue));
+      assertEquals(0, queue.getDeliveringCount());
+      assertTrue(consumer.getReferences().isEmpty());
+
+      consumer.setStatusImmediate(HandleStatus.HANDLED);
+
+      for (int i = numMessages; i < numMessages * 2; i++) {
+         MessageReference ref = generateReference(queue, i);
+
+         refs.add(ref);
+
+         queue.addTail(ref);
+      }
+
+      queue.deliverNow();
+
+      assertRefListsIdenticalRefs(refs, consumer.getReferences());
+      assertEquals(numMessages * 2, getMessageCount(queue));
+      assertEquals(numMessages * 2, queue.getDeliveringCount());
+      assertEquals(numMessages * 2, queue.getMessagesAdded());
+   }
+
+   @Test
+   public void testConcurrentDeliveryAddingAndRemovingConsumers() throws Exception {
+      QueueImpl queue = getConcurrentDeliveryQueue();
+
+      AtomicInteger detachedHandles = new AtomicInteger();
+
+      class AttachedConsumer extends FakeConsumer {
+
+         volatile boolean attached;
+
+         @Override
+         public synchronized HandleStatus handle(MessageReference reference) {
+            if (!attached) {
+               detachedHandles.incrementAndGet();
+            }
+            return super.handle(reference);
+         }
+      }
+
+      AttachedConsumer consumer = new AttachedConsumer();
+      consumer.attached = true;
+      queue.addConsumer(consumer);
+
+      final int numProducers = 4;
+      final int numMessages = 1000;
+
+      List<AttachedConsumer> consumers = Collections.synchronizedList(new ArrayList<>());
+      consumers.add(consumer);
+
+      CountDownLatch start = new CountDownLatch(1);
+      AtomicBoolean producing = new AtomicBoolean(true);
+      List<Thread> producers = new ArrayList<>();
+
+      for (int p = 0; p < numProducers; p++) {
+         List<MessageReference> producerRefs = new ArrayList<>();
+         for (int i = 0; i < numMessages; i++) {
+            producerRefs.add(generateReference(queue, p * numMessages + i));
+         }
+
+         Thread producer = new Thread(() -> {
+            try {
+               start.await();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return;
+            }
+            producerRefs.forEach(ref -> queue.addTail(ref, true));
+         });
+         producer.start();
+         producers.add(producer);
+      }
+
+      Thread consumerChanges = new Thread(() -> {
+         try {
+            start.await();
+            while (producing.get()) {
+               AttachedConsumer transientConsumer = new AttachedConsumer();
+               consumers.add(transientConsumer);
+               transientConsumer.attached = true;
+               queue.addConsumer(transientConsumer);
+               Thread.yield();
+               queue.removeConsumer(transientConsumer);
+               transientConsumer.attached = false;
+            }
+         } catch (Exception e) {
+            detachedHandles.incrementAndGet();
+         }
+      });
+      consumerChanges.start();
+
+      start.countDown();
+
+      for (Thread producer : producers) {
+         producer.join(TimeUnit.SECONDS.toMillis(10));
+      }
+
+      producing.set(false);
+      consumerChanges.join(TimeUnit.SECONDS.toMillis(10));
+
+      Wait.assertEquals(numProducers * numMessages, () -> {
+         synchronized (consumers) {
+            return consumers.stream().mapToInt(c -> c.getReferences().size()).sum();
+         }
+      });
+
+      // every reference is delivered once, and only to the consumers attached to the queue
+      Set<MessageReference> delivered = Collections.newSetFromMap(new IdentityHashMap<>());
+      synchronized (consumers) {
+         consumers.forEach(c -> delivered.addAll(c.getReferences()));
+      }
+      assertEquals(numProducers * numMessages, delivered.size());
+      assertEquals(0, detachedHandles.get());
+      assertEquals(numProducers * numMessages, queue.getMessagesAdded());
+   }
+
+   @Test
+   public void testConcurrentDeliveryFromManyProducers() throws Exception {
+      QueueImpl queue = getConcurrentDeliveryQueue();
+
+      FakeConsumer consumer = new FakeConsumer();
+
+      queue.addConsumer(consumer);
+
+      final int numProducers = 4;
+      final int numMessages = 1000;
+
+      List<List<MessageReference>> refs = new ArrayList<>();
+      CountDownLatch start = new CountDownLatch(1);
+      List<Thread> producers = new ArrayList<>();
+
+      for (int p = 0; p < numProducers; p++) {
+         List<MessageReference> producerRefs = new ArrayList<>();
+         for (int i = 0; i < numMessages; i++) {
+            producerRefs.add(generateReference(queue, p * numMessages + i));
+         }
+         refs.add(producerRefs);
+
+         Thread producer = new Thread(() -> {
+            try {
+               start.await();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return;
+            }
+            producerRefs.forEach(ref -> queue.addTail(ref, true));
+         });
+         producer.start();
+         producers.add(producer);
+      }
+
+      start.countDown();
+
+      for (Thread producer : producers) {
+         producer.join(TimeUnit.SECONDS.toMillis(10));
+      }
+
+      // the delivery is rescheduled every MAX_DELIVERIES_IN_LOOP references
+      Wait.assertEquals(numProducers * numMessages, () -> consumer.getReferences().size());
+
+      List<MessageReference> delivered = consumer.getReferences();
+      assertEquals(numProducers * numMessages, queue.getMessagesAdded());
+      assertEquals(numProducers * numMessages, queue.getDeliveringCount());
+
+      // each producer's references are delivered in the order they were added
+      for (List<MessageReference> producerRefs : refs) {
+         List<MessageReference> deliveredFromProducer = new ArrayList<>(delivered);
+         deliveredFromProducer.retainAll(producerRefs);
+         assertRefListsIdenticalRefs(producerRefs, deliveredFromProducer);
+      }
+   }
+
    @Test
    public void testaddHeadadd() throws Exception {
       QueueImpl queue = getTemporaryQueue();
@@ -646,6 +891,56 @@ public class QueueImplTest extends ActiveMQTestBase {
       }
    }
 
+   @Test
+   public void testBatchedDelivery() throws Exception {
+      QueueImpl queue = getTemporaryQueue();
+      queue.setDeliveryBatchSize(4);
+
+      final int numMessages = 10;
+
+      List<MessageReference> refs = new ArrayList<>();
+
+      FakeConsumer cons1 = new FakeConsumer();
+      cons1.setBatchedDelivery(true);
+
+      FakeConsumer cons2 = new FakeConsumer();
+      cons2.setBatchedDelivery(true);
+
+      FakeConsumer cons3 = new FakeConsumer();
+
+      queue.addConsumer(cons1);
+
+      queue.addConsumer(cons2);
+
+      queue.addConsumer(cons3);
+
+      // nothing is delivered before all the references are added
+      queue.pause();
+
+      for (int i = 0; i < numMessages; i++) {
+         MessageReference ref = generateReference(queue, i);
+
+         refs.add(ref);
+
+         queue.addTail(ref);
+      }
+
+      queue.resume();
+
+      queue.deliverNow();
+
+      // the batched consumers get up to 4 references at a time, the other one a single reference
+      assertRefListsIdenticalRefs(List.of(refs.get(0), refs.get(1), refs.get(2), refs.get(3), refs.get(9)), cons1.getReferences());
+      assertRefListsIdenticalRefs(refs.subList(4, 8), cons2.getReferences());
+      assertRefListsIdenticalRefs(refs.subList(8, 9), cons3.getReferences());
+      assertEquals(numMessages, queue.getDeliveringCount());
+
+      // each batch ended once delivered
+      assertEquals(2, cons1.getBatches());
+      assertEquals(1, cons2.getBatches());
+      assertEquals(0, cons3.getBatches());
+   }
+
    @Test
    public void testWithPriorities() throws Exception {
       QueueImpl queue = getTemporaryQueue();
@@ -1487,6 +1782,20 @@ public class QueueImplTest extends ActiveMQTestBase {
       return getQueue(QueueImplTest.queue1, false, true, null);
    }
 
+   private QueueImpl getConcurrentDeliveryQueue() {
+      HierarchicalRepository<AddressSettings> addressSettingsRepository = new HierarchicalObjectRepository<>();
+      addressSettingsRepository.setDefault(new AddressSettings());
+      addressSettingsRepository.addMatch("address1", new AddressSettings().setConcurrentDelivery(true));
+      return new QueueImpl(QueueConfiguration.of(QueueImplTest.queue1)
+                              .setAddress("address1")
+                              .setRoutingType(RoutingType.MULTICAST)
+                              .setId(1L)
+                              .setDurable(false)
+                              .setTemporary(true),
+                           null, null, null, scheduledExecutor, new FakePostOffice(), null,
+                           addressSettingsRepository, ArtemisExecutor.delegate(executor), defaultServer, null);
+   }
+
    private QueueImpl getQueue(SimpleString name, boolean durable, boolean temporary, Filter filter) {
       return new QueueImpl(QueueConfiguration.of(name)
                               .setAddress("address1")